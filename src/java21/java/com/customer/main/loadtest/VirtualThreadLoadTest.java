@@ -0,0 +1,167 @@
+package com.customer.main.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.customer.main.dto.CustomerEnquiryRequestDto;
+import com.customer.main.repository.CustomerRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 2,000 concurrent clients registering through POST /api/customers/enquiry on the running app in
+ * the virtual-threads profile, with that profile's Hikari pool (H2 in MySQL mode stands in for
+ * MySQL, Kafka is unreachable, request-level DEBUG logging is off so the console is not what is
+ * measured). Logs throughput, p50 / p99 latency and the status mix: requests that wait out the
+ * pool's connection-timeout come back as 500s. Nothing timing-dependent is asserted, only that
+ * every request was answered and exactly the created ones were stored. Java 21 and soak only:
+ *   mvn -Pjava21,soak test -Dtest=VirtualThreadLoadTest
+ * Add -Dspring.threads.virtual.enabled=false for the same run on Tomcat's 200 platform workers.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:virtual-thread-load;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.kafka.bootstrap-servers=localhost:1",
+        "spring.kafka.producer.properties.max.block.ms=1000",
+        "customer.cache.invalidation.enabled=false",
+        "customer.cache.warmup.enabled=false",
+        "logging.level.com.customer.main.controller=INFO",
+        "logging.level.com.customer.main.serviceImpl=INFO",
+        "logging.level.org.springframework.cache=INFO"
+})
+@ActiveProfiles("virtual-threads")
+@Tag("soak")
+class VirtualThreadLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadLoadTest.class);
+
+    private static final int CLIENTS = 2_000;
+    private static final int REQUESTS_PER_CLIENT = 5;
+    private static final int WARM_UP_CLIENTS = 50;
+    private static final int WARM_UP_REQUESTS_PER_CLIENT = 10;
+    private static final int NO_RESPONSE = -1;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size}")
+    private int poolSize;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Test
+    void reportsEnquiryThroughputForTwoThousandConcurrentClients() throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        int warmUpRequests = WARM_UP_CLIENTS * WARM_UP_REQUESTS_PER_CLIENT;
+        Result warmUp = run(http, 0, WARM_UP_CLIENTS, WARM_UP_REQUESTS_PER_CLIENT);
+        Result load = run(http, warmUpRequests, CLIENTS, REQUESTS_PER_CLIENT);
+
+        log.info("Enquiry load | virtualThreads={} | poolSize={} | clients={} | requests={} | throughputPerSec={} "
+                        + "| p50Ms={} | p99Ms={} | statuses={}", virtualThreads, poolSize, CLIENTS,
+                CLIENTS * REQUESTS_PER_CLIENT, Math.round(load.throughputPerSecond()), load.percentileMs(50),
+                load.percentileMs(99), load.statusCounts());
+        assertThat(warmUp.statusCounts()).doesNotContainKey(NO_RESPONSE);
+        assertThat(load.statusCounts()).doesNotContainKey(NO_RESPONSE);
+        assertThat(customerRepository.count()).isEqualTo(warmUp.created() + load.created());
+    }
+
+    /**
+     * Closed loop: every client sends an enquiry, waits for the response, and sends the next one.
+     * Enquiries are numbered from firstEnquiry so no two share an identity value.
+     */
+    private Result run(HttpClient http, int firstEnquiry, int clients, int requestsPerClient) throws Exception {
+        int requests = clients * requestsPerClient;
+        int[] statuses = new int[requests];
+        long[] latencyNanos = new long[requests];
+        long start = System.nanoTime();
+        try (ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                clientThreads.submit(() -> {
+                    for (int r = 0; r < requestsPerClient; r++) {
+                        int i = client * requestsPerClient + r;
+                        HttpRequest request = enquiry(firstEnquiry + i);
+                        long sent = System.nanoTime();
+                        try {
+                            statuses[i] = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        } catch (IOException e) {
+                            statuses[i] = NO_RESPONSE;
+                        }
+                        latencyNanos[i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                });
+            }
+        }
+        return new Result(statuses, latencyNanos, System.nanoTime() - start);
+    }
+
+    private HttpRequest enquiry(int n) throws IOException {
+        String pan = "ABCD" + (char) ('A' + n / 10_000) + String.format("%04d", n % 10_000) + "F";
+        CustomerEnquiryRequestDto dto = new CustomerEnquiryRequestDto("Asha", "Rao", "F", LocalDate.of(1990, 5, 17),
+                "load" + n + "@mail.com", String.valueOf(9_000_000_000L + n), pan, String.format("%012d", n));
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/customers/enquiry"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(dto)))
+                .build();
+    }
+
+    private record Result(int[] statuses, long[] latencyNanos, long elapsedNanos) {
+
+        double throughputPerSecond() {
+            return statuses.length * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        double percentileMs(int percentile) {
+            long[] sorted = latencyNanos.clone();
+            Arrays.sort(sorted);
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(sorted.length * percentile / 100.0) - 1);
+            return sorted[Math.max(0, index)] / 1_000_000.0;
+        }
+
+        long created() {
+            return Arrays.stream(statuses).filter(status -> status == 201).count();
+        }
+
+        Map<Integer, Long> statusCounts() {
+            return Arrays.stream(statuses).boxed()
+                    .collect(Collectors.groupingBy(Function.identity(), TreeMap::new, Collectors.counting()));
+        }
+    }
+}
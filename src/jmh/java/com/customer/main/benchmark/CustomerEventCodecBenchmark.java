@@ -0,0 +1,104 @@
+package com.customer.main.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerStatus;
+import com.customer.main.event.CustomerEventCodec;
+import com.customer.main.event.CustomerEventPayload;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Outbox payload cost per event: the old path (entity JSON into a String column, then that String
+ * JSON-encoded again by the producer's JsonSerializer) vs CustomerEventCodec bytes sent as is.
+ * Bytes per event are printed by main and asserted in CustomerEventCodecTest; run with the GC
+ * profiler for gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerEventCodecBenchmark {
+
+    private static final LocalDateTime OCCURRED_AT = LocalDateTime.of(2024, 1, 1, 10, 0, 1);
+
+    private ObjectMapper objectMapper;
+    private Customer customer;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        // Same settings Spring Boot applies to the injected ObjectMapper
+        objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        customer = enquiryCustomer();
+        encoded = CustomerEventCodec.encode(CustomerEventPayload.from(customer, "CUSTOMER_REGISTERED", OCCURRED_AT));
+    }
+
+    /** Enquiry-shaped customer (no address/employment), as written to the outbox on registration. */
+    private static Customer enquiryCustomer() {
+        Customer customer = new Customer();
+        customer.setCustomerId(42L);
+        customer.setCustomerUuid("6f1c2d7e-9b0a-4c55-8e8f-0f3a1b2c3d4e");
+        customer.setFirstName("Asha");
+        customer.setLastName("Rao");
+        customer.setGender("F");
+        customer.setDateOfBirth(LocalDate.of(1990, 5, 17));
+        customer.setEmail("asha.rao@mail.com");
+        customer.setMobile(9876543210L);
+        customer.setPanNumber("ABCDE1234F");
+        customer.setAadhaarNumber("123412341234");
+        customer.setStatus(CustomerStatus.PENDING_KYC);
+        customer.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        customer.setUpdatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        return customer;
+    }
+
+    /** Old saveOutboxEvent + processor: String payload, re-encoded by JsonSerializer on send. */
+    @Benchmark
+    public byte[] jsonEntityPayload() throws JsonProcessingException {
+        String payload = objectMapper.writeValueAsString(customer);
+        return objectMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] binaryEventPayload() {
+        return CustomerEventCodec.encode(CustomerEventPayload.from(customer, "CUSTOMER_REGISTERED", OCCURRED_AT));
+    }
+
+    @Benchmark
+    public CustomerEventPayload binaryEventDecode() {
+        return CustomerEventCodec.decode(encoded);
+    }
+
+    public static void main(String[] args) throws Exception {
+        CustomerEventCodecBenchmark state = new CustomerEventCodecBenchmark();
+        state.setUp();
+        System.out.printf("Bytes per event: json entity=%d binary event=%d%n",
+                state.jsonEntityPayload().length, state.binaryEventPayload().length);
+        new Runner(new OptionsBuilder()
+                .include(CustomerEventCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.customer.main.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerStatus;
+import com.customer.main.event.CustomerOutboxSignal;
+import com.customer.main.repository.CustomerOutboxEventRepository;
+import com.customer.main.serviceImpl.CustomerEventPublisher;
+import com.customer.main.serviceImpl.CustomerEventPublisher.OverflowPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Latency distribution of the registration path's publish call while the broker acks only after
+ * {@value #ACK_LATENCY_MS}ms, so the publisher queue stays full and every call takes the overflow
+ * policy: SPILL (outbox insert, a mock here) vs BLOCK (waits up to offer-timeout-ms, then drops).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerEventPublisherBenchmark {
+
+    private static final long ACK_LATENCY_MS = 50;
+
+    @Param({"SPILL", "BLOCK"})
+    public OverflowPolicy overflow;
+
+    private CustomerEventPublisher publisher;
+    private Customer customer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // stubOnly: the mocks would otherwise record every call the benchmark makes
+        publisher = new CustomerEventPublisher(throttledBroker(),
+                mock(CustomerOutboxEventRepository.class, withSettings().stubOnly()),
+                mock(CustomerOutboxSignal.class, withSettings().stubOnly()),
+                new SimpleMeterRegistry(), "customer.registered", 32, 8, 4, overflow, 20);
+        customer = new Customer();
+        customer.setCustomerId(42L);
+        customer.setCustomerUuid("6f1c2d7e-9b0a-4c55-8e8f-0f3a1b2c3d4e");
+        customer.setFirstName("Asha");
+        customer.setLastName("Rao");
+        customer.setPanNumber("ABCDE1234F");
+        customer.setAadhaarNumber("123412341234");
+        customer.setMobile(9876543210L);
+        customer.setStatus(CustomerStatus.PENDING_KYC);
+        customer.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        publisher.shutdown();
+    }
+
+    @Benchmark
+    public void publishCustomerRegistered() {
+        publisher.publishCustomerRegisteredAsync(customer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static KafkaTemplate<String, Object> throttledBroker() {
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class, withSettings().stubOnly());
+        Executor delayed = CompletableFuture.delayedExecutor(ACK_LATENCY_MS, TimeUnit.MILLISECONDS);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+            delayed.execute(() -> future.complete(null));
+            return future;
+        });
+        return kafkaTemplate;
+    }
+}
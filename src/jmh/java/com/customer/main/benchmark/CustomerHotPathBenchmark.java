@@ -0,0 +1,98 @@
+package com.customer.main.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+
+import com.customer.main.cache.CustomerIndexedCache;
+import com.customer.main.config.CacheConfig;
+import com.customer.main.dto.CustomerResponseDto;
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerStatus;
+import com.customer.main.entity.MaskingUtil;
+import com.customer.main.mapper.CustomerMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Per-request hot paths: PAN/Aadhaar masking and the customers cache built by CacheConfig.
+ * Outbox payload encoding is measured in CustomerEventCodecBenchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerHotPathBenchmark {
+
+    private static final int CACHED_CUSTOMERS = 1000;
+
+    private Customer customer;
+    private CustomerIndexedCache cache;
+    private CustomerResponseDto[] responses;
+    private long next;
+
+    @Setup
+    public void setUp() {
+        customer = new Customer();
+        customer.setCustomerId(42L);
+        customer.setCustomerUuid("6f1c2d7e-9b0a-4c55-8e8f-0f3a1b2c3d4e");
+        customer.setFirstName("Asha");
+        customer.setLastName("Rao");
+        customer.setGender("F");
+        customer.setDateOfBirth(LocalDate.of(1990, 5, 17));
+        customer.setEmail("asha.rao@mail.com");
+        customer.setMobile(9876543210L);
+        customer.setPanNumber("ABCDE1234F");
+        customer.setAadhaarNumber("123412341234");
+        customer.setStatus(CustomerStatus.PENDING_KYC);
+        customer.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        customer.setUpdatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+
+        // Same Caffeine settings as CacheConfig.customerCache, without the remote tier and metrics
+        cache = new CustomerIndexedCache(CacheConfig.CACHE_CUSTOMERS, Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(15, TimeUnit.MINUTES)
+                .recordStats());
+        responses = new CustomerResponseDto[CACHED_CUSTOMERS];
+        for (int i = 0; i < CACHED_CUSTOMERS; i++) {
+            customer.setCustomerId((long) i);
+            responses[i] = CustomerMapper.toResponse(customer);
+            cache.put(CustomerIndexedCache.idKey((long) i), responses[i]);
+        }
+        customer.setCustomerId(42L);
+    }
+
+    @Benchmark
+    public String maskPan() {
+        return MaskingUtil.maskPan(customer.getPanNumber());
+    }
+
+    @Benchmark
+    public String maskAadhaar() {
+        return MaskingUtil.maskAadhaar(customer.getAadhaarNumber());
+    }
+
+    @Benchmark
+    public Cache.ValueWrapper cacheGetHit() {
+        return cache.get(CustomerIndexedCache.idKey(next++ % CACHED_CUSTOMERS));
+    }
+
+    @Benchmark
+    public void cachePut() {
+        int i = (int) (next++ % CACHED_CUSTOMERS);
+        cache.put(CustomerIndexedCache.idKey((long) i), responses[i]);
+    }
+}
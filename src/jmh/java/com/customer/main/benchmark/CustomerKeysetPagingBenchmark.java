@@ -0,0 +1,91 @@
+package com.customer.main.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.customer.main.constant.CustomerConstants;
+
+/**
+ * Page latency by depth (size 20) for offset paging and for the keyset query in
+ * {@link CustomerConstants}, on an in-memory H2 table shaped like customer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerKeysetPagingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int ROWS = PAGE_SIZE * 10_001;
+
+    // What findAll(PageRequest.of(page, size, Sort.by("createdDate").descending())) issues
+    private static final String OFFSET_PAGE =
+            "SELECT * FROM customer ORDER BY created_date DESC, customer_id DESC LIMIT :limit OFFSET :offset";
+
+    @Param({"1", "10000"})
+    public int page;
+
+    private NamedParameterJdbcTemplate jdbc;
+    private Map<String, Object> offsetParams;
+    private Map<String, Object> keysetParams;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jdbc = new NamedParameterJdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:keyset-jmh;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.getJdbcOperations().execute("CREATE TABLE customer (customer_id BIGINT PRIMARY KEY, customer_uuid VARCHAR(36), "
+                + "first_name VARCHAR(50), last_name VARCHAR(50), gender VARCHAR(10), date_of_birth DATE, email VARCHAR(100), "
+                + "mobile BIGINT, pan_number VARCHAR(10), aadhaar_number VARCHAR(12), status VARCHAR(20), "
+                + "created_date TIMESTAMP, updated_date TIMESTAMP)");
+        jdbc.getJdbcOperations().execute("CREATE INDEX idx_customer_created ON customer (created_date DESC, customer_id DESC)");
+        // Ten rows share each timestamp so the customer_id tie-break is exercised
+        jdbc.getJdbcOperations().execute("INSERT INTO customer (customer_id, first_name, status, created_date) SELECT X, CONCAT('name', X), "
+                + "CASE WHEN MOD(X, 2) = 0 THEN 'ACTIVE' ELSE 'PENDING_KYC' END, "
+                + "DATEADD('SECOND', X / 10, TIMESTAMP '2024-01-01 00:00:00') FROM SYSTEM_RANGE(1, " + ROWS + ")");
+
+        int offset = (page - 1) * PAGE_SIZE;
+        offsetParams = Map.of("limit", PAGE_SIZE, "offset", offset);
+        // The keyset request carries the last row of the previous page, as the API's cursor does
+        Map<String, Object> lastRow = jdbc.queryForList(OFFSET_PAGE, Map.of("limit", 1, "offset", Math.max(0, offset - 1))).get(0);
+        Object createdDate = lastRow.get("CREATED_DATE");
+        keysetParams = Map.of(
+                "createdDate", createdDate instanceof java.sql.Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) createdDate,
+                "customerId", ((Number) lastRow.get("CUSTOMER_ID")).longValue(),
+                "limit", PAGE_SIZE + 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbc.getJdbcOperations().execute("DROP TABLE customer");
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> offsetPage() {
+        return jdbc.queryForList(OFFSET_PAGE, offsetParams);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> keysetPage() {
+        return jdbc.queryForList(CustomerConstants.FIND_PAGE_AFTER, keysetParams);
+    }
+}
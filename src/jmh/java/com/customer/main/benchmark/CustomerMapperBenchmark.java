@@ -0,0 +1,116 @@
+package com.customer.main.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.customer.main.dto.AddressDto;
+import com.customer.main.dto.CustomerRequestDto;
+import com.customer.main.dto.CustomerResponseDto;
+import com.customer.main.dto.EmploymentDetailsDto;
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerStatus;
+import com.customer.main.entity.MaskingUtil;
+import com.customer.main.mapper.CustomerMapper;
+
+/**
+ * CustomerMapper vs the ModelMapper path it replaced (same post-processing as the old
+ * mapEntityToResponse / mapRequestToEntity). Run with the GC profiler to compare
+ * gc.alloc.rate.norm (bytes per call).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerMapperBenchmark {
+
+    private ModelMapper modelMapper;
+    private Customer customer;
+    private CustomerRequestDto request;
+
+    @Setup
+    public void setUp() {
+        modelMapper = new ModelMapper();
+
+        customer = new Customer();
+        customer.setCustomerId(42L);
+        customer.setCustomerUuid("6f1c2d7e-9b0a-4c55-8e8f-0f3a1b2c3d4e");
+        customer.setFirstName("Asha");
+        customer.setLastName("Rao");
+        customer.setGender("F");
+        customer.setDateOfBirth(LocalDate.of(1990, 5, 17));
+        customer.setEmail("asha.rao@mail.com");
+        customer.setMobile(9876543210L);
+        customer.setPanNumber("ABCDE1234F");
+        customer.setAadhaarNumber("123412341234");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        customer.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        customer.setUpdatedDate(LocalDateTime.of(2024, 2, 1, 10, 0));
+
+        AddressDto address = new AddressDto();
+        address.setHouseNo("12B");
+        address.setCity("Pune");
+        address.setState("MH");
+        address.setPincode("411001");
+        EmploymentDetailsDto employment = new EmploymentDetailsDto();
+        employment.setEmploymentType("SALARIED");
+        employment.setCompanyName("Acme");
+        employment.setMonthlyIncome(85_000.0);
+        employment.setTotalExperience(8);
+        request = new CustomerRequestDto("Asha", "Rao", "F", LocalDate.of(1990, 5, 17), "asha.rao@mail.com",
+                "9876543210", "ABCDE1234F", "123412341234", address, employment);
+    }
+
+    @Benchmark
+    public CustomerResponseDto toResponseHandWritten() {
+        return CustomerMapper.toResponse(customer);
+    }
+
+    @Benchmark
+    public CustomerResponseDto toResponseModelMapper() {
+        CustomerResponseDto dto = modelMapper.map(customer, CustomerResponseDto.class);
+        dto.setMobileNumber(customer.getMobile() != null ? customer.getMobile().toString() : null);
+        dto.setActive(customer.getStatus() == CustomerStatus.ACTIVE);
+        dto.setPanNumber(MaskingUtil.maskPan(customer.getPanNumber()));
+        dto.setAadhaarNumber(MaskingUtil.maskAadhaar(customer.getAadhaarNumber()));
+        return dto;
+    }
+
+    @Benchmark
+    public Customer toEntityHandWritten() {
+        return CustomerMapper.toEntity(request);
+    }
+
+    @Benchmark
+    public Customer toEntityModelMapper() {
+        Customer entity = modelMapper.map(request, Customer.class);
+        entity.setMobile(Long.parseLong(request.getMobileNumber()));
+        CustomerMapper.applyAddressAndEmployment(request, entity);
+        return entity;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CustomerMapperBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,172 @@
+package com.customer.main.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import com.customer.main.entity.CustomerOutboxEvent;
+import com.customer.main.event.CustomerOutboxCompactor;
+import com.customer.main.event.CustomerOutboxProcessor;
+import com.customer.main.event.CustomerOutboxRetryPolicy;
+import com.customer.main.repository.CustomerOutboxClaimRepository;
+import com.customer.main.repository.CustomerOutboxClaimRepository.OutboxRetry;
+import com.customer.main.repository.CustomerOutboxEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Time to drain a fixed outbox through CustomerOutboxProcessor against a broker that acks after
+ * {@value #ACK_LATENCY_MS}ms, one op per full drain. {@code maxInFlight=1} is one send at a time;
+ * higher values pipeline sends within a batch. {@code workers} processors with their own worker ids
+ * drain the same outbox concurrently, as separate replicas would. {@code poison} rows the broker
+ * always rejects sit ahead of the healthy ones; they are backed off after one attempt, so they
+ * should cost about one ack round, not stall the drain.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerOutboxDrainBenchmark {
+
+    private static final int EVENTS = 400;
+    private static final long ACK_LATENCY_MS = 2;
+
+    @Param({"1", "50"})
+    public int maxInFlight;
+
+    @Param({"1", "4"})
+    public int workers;
+
+    @Param({"0", "50"})
+    public int poison;
+
+    private final List<CustomerOutboxEvent> events = new ArrayList<>();
+    private final List<CustomerOutboxProcessor> processors = new ArrayList<>();
+    private QueueOutbox outbox;
+    private ExecutorService pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        for (long id = 1; id <= EVENTS + poison; id++) {
+            String aggregateId = id <= poison ? id + "-poison" : "agg-" + id;
+            events.add(new CustomerOutboxEvent(id, aggregateId, "CUSTOMER_UPDATED", new byte[16], "NEW", LocalDateTime.now()));
+        }
+        outbox = new QueueOutbox();
+        KafkaTemplate<String, byte[]> broker = broker();
+        // Every acked row is still held by its worker: the rows are never reclaimed mid-drain
+        CustomerOutboxEventRepository repository = mock(CustomerOutboxEventRepository.class, withSettings().stubOnly());
+        when(repository.updateStatusByIds(anyCollection(), anyString(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).size());
+        for (int w = 0; w < workers; w++) {
+            processors.add(new CustomerOutboxProcessor(repository, outbox, broker, "customer.registered",
+                    new CustomerOutboxRetryPolicy(1_000, 300_000, 10),
+                    new CustomerOutboxCompactor(new SimpleMeterRegistry(), false, new String[0]),
+                    new SimpleMeterRegistry(), "jmh-worker-" + w, 50, maxInFlight, 30_000, 1, 60_000));
+        }
+        pool = Executors.newFixedThreadPool(workers);
+    }
+
+    @Setup(Level.Invocation)
+    public void refill() {
+        outbox.pending.addAll(events);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        processors.forEach(CustomerOutboxProcessor::shutdown);
+        pool.shutdownNow();
+    }
+
+    @Benchmark
+    public void drain() throws Exception {
+        List<Future<?>> running = new ArrayList<>(workers);
+        for (CustomerOutboxProcessor processor : processors) {
+            // processOutboxEvents returns after a claim with nothing acked; the drainer would call it again on its next wake-up
+            running.add(pool.submit(() -> {
+                while (!outbox.pending.isEmpty()) {
+                    processor.processOutboxEvents();
+                }
+            }));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static KafkaTemplate<String, byte[]> broker() {
+        KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class, withSettings().stubOnly());
+        Executor delayed = CompletableFuture.delayedExecutor(ACK_LATENCY_MS, TimeUnit.MILLISECONDS);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenAnswer(invocation -> {
+            String key = invocation.getArgument(1);
+            CompletableFuture<SendResult<String, byte[]>> future = new CompletableFuture<>();
+            delayed.execute(() -> {
+                if (key.endsWith("-poison")) {
+                    future.completeExceptionally(new IllegalStateException("broker unavailable"));
+                } else {
+                    future.complete(null);
+                }
+            });
+            return future;
+        });
+        return kafkaTemplate;
+    }
+
+    /**
+     * Hands out pending rows in id order; every row is its own aggregate, so no ordering hold-back
+     * applies. Rescheduled rows are not handed out again: their backoff outlasts the drain.
+     */
+    private static class QueueOutbox extends CustomerOutboxClaimRepository {
+
+        private final Queue<CustomerOutboxEvent> pending = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public List<CustomerOutboxEvent> claimBatch(String workerId, int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+            List<CustomerOutboxEvent> claimed = new ArrayList<>(limit);
+            CustomerOutboxEvent event;
+            while (claimed.size() < limit && (event = pending.poll()) != null) {
+                claimed.add(event);
+            }
+            return claimed;
+        }
+
+        @Override
+        public int scheduleRetries(String workerId, List<OutboxRetry> retries) {
+            return retries.size();
+        }
+    }
+}
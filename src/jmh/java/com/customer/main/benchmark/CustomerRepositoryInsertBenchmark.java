@@ -0,0 +1,121 @@
+package com.customer.main.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.customer.main.constant.CustomerConstants;
+import com.customer.main.entity.MaskingUtil;
+import com.customer.main.repository.CustomerRepositoryImpl;
+import com.customer.main.repository.RepositoryInstrumentation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * CustomerRepositoryImpl.saveCustomerNative (NamedParameterJdbcTemplate INSERT plus its logging)
+ * against an in-memory H2 table in MySQL mode. {@code legacyLoggingInsert} is the same INSERT
+ * with the per-call INFO logging and SQL formatting the repository used to do, for comparison
+ * with the sampled instrumentation in {@code saveCustomerNative}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerRepositoryInsertBenchmark {
+
+    // Same logger name as the repository so both variants write through the same appender
+    private static final Logger legacyLog = LoggerFactory.getLogger(CustomerRepositoryImpl.class);
+
+    private NamedParameterJdbcTemplate jdbc;
+    private CustomerRepositoryImpl repository;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jdbc = new NamedParameterJdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:jmh;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.getJdbcOperations().execute("CREATE TABLE IF NOT EXISTS customer ("
+                + "customer_id BIGINT AUTO_INCREMENT PRIMARY KEY, customer_uuid VARCHAR(36) NOT NULL UNIQUE, "
+                + "first_name VARCHAR(255), last_name VARCHAR(255), gender VARCHAR(255), date_of_birth DATE, "
+                + "email VARCHAR(255) UNIQUE, mobile BIGINT UNIQUE, pan_number VARCHAR(255) UNIQUE, "
+                + "aadhaar_number VARCHAR(255) UNIQUE, status VARCHAR(32) NOT NULL, "
+                + "created_date TIMESTAMP, updated_date TIMESTAMP)");
+        repository = new CustomerRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "namedParameterJdbcTemplate", jdbc);
+        // Production defaults: 200ms slow-query threshold, one sampled line per 1000 calls
+        ReflectionTestUtils.setField(repository, "instrumentation", new RepositoryInstrumentation(new SimpleMeterRegistry(), 200, 1000));
+    }
+
+    // Keeps the unique indexes the same size from one iteration to the next
+    @Setup(Level.Iteration)
+    public void truncate() {
+        jdbc.getJdbcOperations().execute("TRUNCATE TABLE customer");
+    }
+
+    @Benchmark
+    public void saveCustomerNative() {
+        long n = sequence++;
+        LocalDateTime now = LocalDateTime.now();
+        repository.saveCustomerNative("Asha", "Rao", "F", LocalDate.of(1990, 5, 17),
+                "asha" + n + "@mail.com", 6_000_000_000L + n,
+                String.format("ABCDE%04dF", n % 10_000) + n, String.format("%012d", n),
+                "uuid-" + n, "PENDING_KYC", now, now);
+    }
+
+    @Benchmark
+    public void legacyLoggingInsert() {
+        long n = sequence++;
+        LocalDateTime now = LocalDateTime.now();
+        String email = "asha" + n + "@mail.com";
+        long mobile = 6_000_000_000L + n;
+        String pan = String.format("ABCDE%04dF", n % 10_000) + n;
+        String aadhaar = String.format("%012d", n);
+        String uuid = "uuid-" + n;
+
+        legacyLog.info("========== REPOSITORY: saveCustomerNative EXECUTED ==========");
+        legacyLog.info("Query: INSERT_CUSTOMER");
+        legacyLog.info("SQL Query: {}", CustomerConstants.INSERT_CUSTOMER.replaceAll("\\s+", " ").trim());
+        legacyLog.info("Parameters: firstName={}, lastName={}, gender={}, dateOfBirth={}, email={}, mobile={}, panNumber={}, aadhaarNumber={}, customerUuid={}, status={}, createdDate={}, updatedDate={}",
+                "Asha", "Rao", "F", LocalDate.of(1990, 5, 17), email, mobile,
+                MaskingUtil.maskPan(pan), MaskingUtil.maskAadhaar(aadhaar), uuid, "PENDING_KYC", now, now);
+        long startTime = System.currentTimeMillis();
+        Map<String, Object> params = new HashMap<>();
+        params.put("firstName", "Asha");
+        params.put("lastName", "Rao");
+        params.put("gender", "F");
+        params.put("dateOfBirth", LocalDate.of(1990, 5, 17));
+        params.put("email", email);
+        params.put("mobile", mobile);
+        params.put("panNumber", pan);
+        params.put("aadhaarNumber", aadhaar);
+        params.put("customerUuid", uuid);
+        params.put("status", "PENDING_KYC");
+        params.put("createdDate", now);
+        params.put("updatedDate", now);
+        jdbc.update(CustomerConstants.INSERT_CUSTOMER, params);
+        legacyLog.info("Status: SUCCESS | Execution Time: {}ms | customerUuid: {} | Record Inserted",
+                System.currentTimeMillis() - startTime, uuid);
+        legacyLog.info("========== REPOSITORY: saveCustomerNative END ==========");
+    }
+}
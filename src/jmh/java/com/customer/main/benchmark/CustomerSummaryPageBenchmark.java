@@ -0,0 +1,131 @@
+package com.customer.main.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.EmploymentDetails;
+import com.customer.main.repository.CustomerRepositoryImpl;
+import com.customer.main.repository.CustomerSummary;
+import com.customer.main.repository.RepositoryInstrumentation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A list page of 100 through the CustomerSummary projection vs the entity path (page select plus
+ * one employment_details select per row), on H2 tables shaped like customer and
+ * employment_details. Statement counts are asserted in CustomerSummaryProjectionTest; run with
+ * the GC profiler for gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomerSummaryPageBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int ROWS = 2_000;
+    private static final int OFFSET = PAGE_SIZE * 5;
+
+    // What findAll(PageRequest.of(page, 100, Sort.by("createdDate").descending())) on Customer issues
+    private static final String ENTITY_PAGE =
+            "SELECT * FROM customer ORDER BY created_date DESC, customer_id DESC LIMIT :limit OFFSET :offset";
+    private static final String ENTITY_EMPLOYMENT =
+            "SELECT * FROM employment_details WHERE customer_id = :customerId";
+
+    private NamedParameterJdbcTemplate jdbc;
+    private CustomerRepositoryImpl repository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jdbc = new NamedParameterJdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:summary-jmh;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.getJdbcOperations().execute("CREATE TABLE customer (customer_id BIGINT PRIMARY KEY, customer_uuid VARCHAR(36), "
+                + "first_name VARCHAR(50), last_name VARCHAR(50), gender VARCHAR(10), date_of_birth DATE, email VARCHAR(100), "
+                + "mobile BIGINT, pan_number VARCHAR(10), aadhaar_number VARCHAR(12), status VARCHAR(20), "
+                + "created_date TIMESTAMP, updated_date TIMESTAMP)");
+        jdbc.getJdbcOperations().execute("CREATE TABLE employment_details (employment_id BIGINT PRIMARY KEY, customer_id BIGINT, "
+                + "employment_type VARCHAR(20), company_name VARCHAR(100), monthly_income DOUBLE, total_experience INT)");
+        jdbc.getJdbcOperations().execute("CREATE INDEX idx_employment_customer ON employment_details (customer_id)");
+        jdbc.getJdbcOperations().execute("INSERT INTO customer SELECT X, CONCAT('uuid-', X), CONCAT('first', X), "
+                + "CONCAT('last', X), 'F', DATE '1990-01-01', CONCAT('c', X, '@mail.com'), 9000000000 + X, "
+                + "CONCAT('ABCDE', LPAD(X, 4, '0'), 'F'), LPAD(X, 12, '0'), "
+                + "CASE WHEN MOD(X, 2) = 0 THEN 'ACTIVE' ELSE 'PENDING_KYC' END, "
+                + "DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00'), NULL FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbc.getJdbcOperations().execute("INSERT INTO employment_details SELECT X, X, 'SALARIED', 'Acme', 50000, 5 "
+                + "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+
+        repository = new CustomerRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "namedParameterJdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(repository, "instrumentation", new RepositoryInstrumentation(new SimpleMeterRegistry(), 200, 0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbc.getJdbcOperations().execute("DROP TABLE customer");
+        jdbc.getJdbcOperations().execute("DROP TABLE employment_details");
+    }
+
+    /** Replays the entity path over JDBC: page of customers, then each row's employment details. */
+    @Benchmark
+    public List<Customer> entityPage() {
+        List<Customer> customers = jdbc.query(ENTITY_PAGE, Map.of("limit", PAGE_SIZE, "offset", OFFSET), (rs, rowNum) -> {
+            Customer customer = new Customer();
+            customer.setCustomerId(rs.getLong("customer_id"));
+            customer.setCustomerUuid(rs.getString("customer_uuid"));
+            customer.setFirstName(rs.getString("first_name"));
+            customer.setLastName(rs.getString("last_name"));
+            customer.setEmail(rs.getString("email"));
+            customer.setPanNumber(rs.getString("pan_number"));
+            customer.setCreatedDate(rs.getObject("created_date", LocalDateTime.class));
+            return customer;
+        });
+        for (Customer customer : customers) {
+            List<EmploymentDetails> details = jdbc.query(ENTITY_EMPLOYMENT, Map.of("customerId", customer.getCustomerId()),
+                    (rs, rowNum) -> {
+                        EmploymentDetails employment = new EmploymentDetails();
+                        employment.setEmploymentId(rs.getLong("employment_id"));
+                        employment.setCompanyName(rs.getString("company_name"));
+                        employment.setCustomer(customer);
+                        return employment;
+                    });
+            customer.setEmploymentDetails(details.isEmpty() ? null : details.get(0));
+        }
+        return customers;
+    }
+
+    @Benchmark
+    public List<CustomerSummary> projectionPage() {
+        return repository.findSummaryPage(OFFSET, PAGE_SIZE);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(CustomerSummaryPageBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
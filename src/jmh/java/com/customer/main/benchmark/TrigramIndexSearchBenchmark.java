@@ -0,0 +1,106 @@
+package com.customer.main.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.customer.main.util.TrigramIndex;
+
+/**
+ * Customer search over 200,000 rows: a TrigramIndex lookup vs the full scan that
+ * SEARCH_PREDICATE's leading-wildcard LIKEs amount to. Queries are the selective lookups the
+ * back-office UI issues (PAN fragments and email local parts); recall against the LIKE
+ * semantics is asserted in TrigramIndexTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrigramIndexSearchBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final String[] FIRST_NAMES = {"Asha", "Rahul", "Priya", "Vikram", "Sneha", "Arjun", "Meera", "Karan", "Divya", "Rohan"};
+    private static final String[] LAST_NAMES = {"Rao", "Sharma", "Iyer", "Patel", "Khan", "Reddy", "Nair", "Gupta", "Singh", "Das"};
+    private static final String[] DOMAINS = {"mail.com", "example.in", "bank.co.in"};
+
+    private String[][] rows;
+    private TrigramIndex index;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(3);
+        rows = new String[ROWS][];
+        index = new TrigramIndex();
+        for (int i = 0; i < ROWS; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + (char) ('a' + random.nextInt(26));
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            StringBuilder pan = new StringBuilder();
+            for (int c = 0; c < 5; c++) {
+                pan.append((char) ('A' + random.nextInt(26)));
+            }
+            pan.append(String.format("%04d", random.nextInt(10_000))).append((char) ('A' + random.nextInt(26)));
+            String email = first.toLowerCase(Locale.ROOT) + "." + last.toLowerCase(Locale.ROOT) + i + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+            rows[i] = new String[] {first, last, pan.toString(), email};
+            index.put("uuid-" + i, first + " " + last, rows[i]);
+        }
+        List<String> selective = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String[] row = rows[random.nextInt(ROWS)];
+            selective.add(i % 2 == 0 ? row[2].substring(2, 8) : row[3].substring(0, row[3].indexOf('@')));
+        }
+        queries = selective.toArray(String[]::new);
+    }
+
+    @Benchmark
+    public List<String> indexSearch() {
+        return index.search(nextQuery());
+    }
+
+    /** SEARCH_PREDICATE under MySQL's case-insensitive collation, row by row. */
+    @Benchmark
+    public int fullScan() {
+        String needle = nextQuery().toLowerCase(Locale.ROOT);
+        int found = 0;
+        for (String[] row : rows) {
+            for (String field : row) {
+                if (field.toLowerCase(Locale.ROOT).contains(needle)) {
+                    found++;
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    private String nextQuery() {
+        return queries[next++ % queries.length];
+    }
+
+    public static void main(String[] args) throws Exception {
+        TrigramIndexSearchBenchmark state = new TrigramIndexSearchBenchmark();
+        state.setUp();
+        System.out.printf("Postings for %d customers: %dKB%n", ROWS, state.index.postingBytes() / 1024);
+        new Runner(new OptionsBuilder()
+                .include(TrigramIndexSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,14 @@
+package com.customer.main.cache;
+
+import java.util.List;
+
+/**
+ * Broadcast after a write so other nodes drop their local copies of a customer.
+ *
+ * @param origin     node id of the sender (a node ignores its own messages)
+ * @param customerId customer whose indexed keys must go, or null if only {@code keys} are known
+ * @param keys       cache keys to evict in addition to the customer's indexed keys
+ * @param all        true to clear the whole local cache
+ */
+public record CacheInvalidation(String origin, Long customerId, List<String> keys, boolean all) {
+}
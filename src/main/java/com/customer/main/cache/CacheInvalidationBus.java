@@ -0,0 +1,26 @@
+package com.customer.main.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Fan-out channel for {@link CacheInvalidation} messages between service nodes.
+ * Delivery is at-most-once and may be delayed; the local cache's expiry bounds staleness
+ * when a message is lost.
+ */
+public interface CacheInvalidationBus {
+
+    /** Single node: nothing to tell. */
+    CacheInvalidationBus LOCAL = new CacheInvalidationBus() {
+        @Override
+        public void publish(CacheInvalidation invalidation) {
+        }
+
+        @Override
+        public void subscribe(Consumer<CacheInvalidation> listener) {
+        }
+    };
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
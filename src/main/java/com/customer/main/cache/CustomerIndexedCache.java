@@ -0,0 +1,382 @@
+package com.customer.main.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import com.customer.main.dto.CustomerResponseDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caffeine-backed "customers" cache that remembers every key a customer is cached under
+ * ("id:", "uuid:", "pan:", "email:"), so a write evicts only that customer's entries
+ * instead of clearing the whole cache.
+ *
+ * Index maintenance never calls into Caffeine while holding an index lock: a put records the
+ * key first, stores the value, then re-checks that the customer was not evicted meanwhile.
+ *
+ * Evictions leave a short-lived tombstone per key, stamped with an eviction sequence. A put
+ * carries the sequence seen before its database read ({@link #readToken()}) and is dropped if the
+ * key was tombstoned after that, so a read that loaded the pre-update row cannot re-cache it
+ * after the writer's eviction. For @Cacheable the token is taken on the lookup miss: Spring
+ * looks up, invokes and puts on the same thread.
+ *
+ * Hits, misses and size/expiry evictions are also counted per key prefix (Caffeine's own stats
+ * only cover the cache as a whole); CacheConfig exports them as metrics.
+ */
+public class CustomerIndexedCache extends CaffeineCache {
+
+    public static final String KEY_ID = "id:";
+    public static final String KEY_UUID = "uuid:";
+    public static final String KEY_PAN = "pan:";
+    public static final String KEY_EMAIL = "email:";
+    public static final String KEY_OTHER = "other";
+    public static final List<String> KEY_PREFIXES = List.of(KEY_ID, KEY_UUID, KEY_PAN, KEY_EMAIL, KEY_OTHER);
+
+    // Longer than any customer read transaction; a put this late after an eviction is dropped
+    private static final Duration TOMBSTONE_TTL = Duration.ofSeconds(30);
+
+    private final ConcurrentMap<Long, Set<Object>> keysByCustomer;
+    private final Map<String, PrefixStats> statsByPrefix;
+    private final AtomicLong evictionSequence = new AtomicLong();
+    private final Cache<Object, Long> tombstones = Caffeine.newBuilder().expireAfterWrite(TOMBSTONE_TTL).build();
+    private final ThreadLocal<PendingRead> pendingRead = new ThreadLocal<>();
+    private volatile long clearedAt;
+
+    public CustomerIndexedCache(String name, Caffeine<Object, Object> builder) {
+        this(name, builder, new ConcurrentHashMap<>(), newPrefixStats());
+    }
+
+    private CustomerIndexedCache(String name, Caffeine<Object, Object> builder,
+                                 ConcurrentMap<Long, Set<Object>> keysByCustomer,
+                                 Map<String, PrefixStats> statsByPrefix) {
+        // Size/expiry evictions must also drop the key from the index, otherwise it only grows
+        super(name, builder
+                .evictionListener((key, value, cause) -> {
+                    unindex(keysByCustomer, key, value);
+                    statsOf(statsByPrefix, key).evictions.increment();
+                })
+                .build(), false);
+        this.keysByCustomer = keysByCustomer;
+        this.statsByPrefix = statsByPrefix;
+    }
+
+    // ---------- Key helpers (must match the @Cacheable keys in CustomerServiceImpl) ----------
+    public static String idKey(Long id) {
+        return KEY_ID + id;
+    }
+
+    public static String uuidKey(String uuid) {
+        return KEY_UUID + uuid;
+    }
+
+    public static String panKey(String pan) {
+        return KEY_PAN + normalizePan(pan);
+    }
+
+    /**
+     * The one PAN form used for cache keys and PAN lookups: trimmed, upper case, as stored.
+     * MySQL matches PANs case-insensitively, so without this "abcde1234f" would be cached under
+     * a key that evictions (built from the stored PAN) never reach.
+     */
+    public static String normalizePan(String pan) {
+        return pan == null ? null : pan.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public static String emailKey(String email) {
+        return KEY_EMAIL + email;
+    }
+
+    // ---------- Cache overrides that keep the index in sync ----------
+    @Override
+    protected Object lookup(Object key) {
+        long token = readToken();
+        Object value = super.lookup(key);
+        PrefixStats stats = statsOf(statsByPrefix, key);
+        if (value != null) {
+            stats.hits.increment();
+        } else {
+            stats.misses.increment();
+            pendingRead.set(new PendingRead(key, token));
+        }
+        return value;
+    }
+
+    /**
+     * Call before the database read whose result will be put; pass the result to the put.
+     */
+    public long readToken() {
+        return evictionSequence.get();
+    }
+
+    /** Uses the token of this thread's lookup miss on the same key, as @Cacheable does. */
+    @Override
+    public void put(Object key, Object value) {
+        put(key, value, pendingReadToken(key));
+    }
+
+    public void put(Object key, Object value, long readToken) {
+        Long customerId = customerIdOf(value);
+        if (customerId == null) {
+            super.put(key, value);
+        } else {
+            Set<Object> keys = keysByCustomer.computeIfAbsent(customerId, id -> ConcurrentHashMap.newKeySet());
+            keys.add(key);
+            super.put(key, value);
+            revalidate(customerId, keys, key);
+        }
+        dropIfStale(key, readToken);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return putIfAbsent(key, value, pendingReadToken(key));
+    }
+
+    public ValueWrapper putIfAbsent(Object key, Object value, long readToken) {
+        Long customerId = customerIdOf(value);
+        ValueWrapper existing;
+        if (customerId == null) {
+            existing = super.putIfAbsent(key, value);
+        } else {
+            Set<Object> keys = keysByCustomer.computeIfAbsent(customerId, id -> ConcurrentHashMap.newKeySet());
+            keys.add(key);
+            existing = super.putIfAbsent(key, value);
+            revalidate(customerId, keys, key);
+        }
+        if (existing == null) {
+            dropIfStale(key, readToken);
+        }
+        return existing;
+    }
+
+    /**
+     * Bulk read of the given keys in one Caffeine call; the result holds the hits only.
+     */
+    public Map<Object, Object> getAllPresent(Collection<?> keys) {
+        Map<Object, Object> hits = getNativeCache().getAllPresent(keys);
+        for (Object key : keys) {
+            PrefixStats stats = statsOf(statsByPrefix, key);
+            (hits.containsKey(key) ? stats.hits : stats.misses).increment();
+        }
+        return hits;
+    }
+
+    /**
+     * Caches {@code value} under the customer's id, uuid, PAN and email keys without replacing
+     * entries already present. The DTO carries a masked PAN, so the raw PAN is passed separately.
+     */
+    public void putIfAbsentUnderAllKeys(CustomerResponseDto value, String panNumber, long readToken) {
+        putIfAbsent(idKey(value.getCustomerId()), value, readToken);
+        if (value.getCustomerUuid() != null) {
+            putIfAbsent(uuidKey(value.getCustomerUuid()), value, readToken);
+        }
+        if (panNumber != null) {
+            putIfAbsent(panKey(panNumber), value, readToken);
+        }
+        if (value.getEmail() != null) {
+            putIfAbsent(emailKey(value.getEmail()), value, readToken);
+        }
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long token = readToken();
+        T value = super.get(key, valueLoader);
+        Long customerId = customerIdOf(value);
+        if (customerId != null) {
+            Set<Object> keys = keysByCustomer.computeIfAbsent(customerId, id -> ConcurrentHashMap.newKeySet());
+            keys.add(key);
+            revalidate(customerId, keys, key);
+        }
+        dropIfStale(key, token);
+        return value;
+    }
+
+    @Override
+    public void evict(Object key) {
+        tombstone(List.of(key));
+        Object value = getNativeCache().getIfPresent(key);
+        super.evict(key);
+        unindex(keysByCustomer, key, value);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        tombstone(List.of(key));
+        Object value = getNativeCache().getIfPresent(key);
+        boolean evicted = super.evictIfPresent(key);
+        unindex(keysByCustomer, key, value);
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        clearedAt = evictionSequence.incrementAndGet();
+        super.clear();
+        keysByCustomer.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        clearedAt = evictionSequence.incrementAndGet();
+        boolean notEmpty = super.invalidate();
+        keysByCustomer.clear();
+        return notEmpty;
+    }
+
+    /**
+     * Evicts every entry indexed for the customer plus the given keys (e.g. old PAN/email,
+     * or keys of a customer whose id is not known yet). Returns the number of keys invalidated.
+     */
+    public int evictCustomer(Long customerId, Collection<?> knownKeys) {
+        List<Object> keys = new ArrayList<>();
+        if (customerId != null) {
+            Set<Object> indexed = keysByCustomer.remove(customerId);
+            if (indexed != null) {
+                keys.addAll(indexed);
+            }
+            keys.add(idKey(customerId));
+        }
+        if (knownKeys != null) {
+            keys.addAll(knownKeys);
+        }
+        tombstone(keys);
+        keys.forEach(getNativeCache()::invalidate);
+        return keys.size();
+    }
+
+    /**
+     * False when the key was evicted after {@code readToken} was taken: a value read from the
+     * database under that token may predate the write that evicted it.
+     */
+    public boolean isFresh(Object key, long readToken) {
+        if (readToken < clearedAt) {
+            return false;
+        }
+        Long evictedAt = tombstones.getIfPresent(key);
+        return evictedAt == null || evictedAt <= readToken;
+    }
+
+    /**
+     * Keys currently indexed for the customer (snapshot, for diagnostics and tests).
+     */
+    public Set<Object> indexedKeys(Long customerId) {
+        Set<Object> keys = keysByCustomer.get(customerId);
+        return keys == null ? Set.of() : Set.copyOf(keys);
+    }
+
+    public int indexedCustomerCount() {
+        return keysByCustomer.size();
+    }
+
+    // ---------- Per-prefix statistics (prefix is one of KEY_PREFIXES) ----------
+    public long hitCount(String prefix) {
+        return statsByPrefix.get(prefix).hits.sum();
+    }
+
+    public long missCount(String prefix) {
+        return statsByPrefix.get(prefix).misses.sum();
+    }
+
+    public long evictionCount(String prefix) {
+        return statsByPrefix.get(prefix).evictions.sum();
+    }
+
+    public double hitRatio(String prefix) {
+        long hits = hitCount(prefix);
+        long requests = hits + missCount(prefix);
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    /**
+     * If the customer's key set was swapped out by a concurrent evictCustomer while we were
+     * writing, the value we just stored may be stale: drop it rather than leave it unindexed.
+     */
+    private void revalidate(Long customerId, Set<Object> keys, Object key) {
+        if (keysByCustomer.get(customerId) != keys) {
+            getNativeCache().invalidate(key);
+        }
+    }
+
+    // Tombstones first: a put that re-checks after this sees them, one that re-checked before is invalidated below
+    private void tombstone(Collection<?> keys) {
+        long sequence = evictionSequence.incrementAndGet();
+        for (Object key : keys) {
+            tombstones.put(key, sequence);
+        }
+    }
+
+    private void dropIfStale(Object key, long readToken) {
+        if (!isFresh(key, readToken)) {
+            getNativeCache().invalidate(key);
+        }
+    }
+
+    /**
+     * Token of this thread's last lookup miss if it was for {@code key}; otherwise 0, which only
+     * lets the put stand if the key has no live tombstone.
+     */
+    private long pendingReadToken(Object key) {
+        PendingRead read = pendingRead.get();
+        if (read == null || !read.key().equals(key)) {
+            return 0;
+        }
+        pendingRead.remove();
+        return read.token();
+    }
+
+    private static void unindex(ConcurrentMap<Long, Set<Object>> keysByCustomer, Object key, Object value) {
+        Long customerId = customerIdOf(value);
+        if (customerId == null) {
+            return;
+        }
+        keysByCustomer.computeIfPresent(customerId, (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static Map<String, PrefixStats> newPrefixStats() {
+        Map<String, PrefixStats> stats = new HashMap<>();
+        KEY_PREFIXES.forEach(prefix -> stats.put(prefix, new PrefixStats()));
+        return Map.copyOf(stats);
+    }
+
+    private static PrefixStats statsOf(Map<String, PrefixStats> statsByPrefix, Object key) {
+        if (key instanceof String k) {
+            for (String prefix : KEY_PREFIXES) {
+                if (k.startsWith(prefix)) {
+                    return statsByPrefix.get(prefix);
+                }
+            }
+        }
+        return statsByPrefix.get(KEY_OTHER);
+    }
+
+    private static Long customerIdOf(Object value) {
+        return value instanceof CustomerResponseDto dto ? dto.getCustomerId() : null;
+    }
+
+    private record PendingRead(Object key, long token) {
+    }
+
+    private static final class PrefixStats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+    }
+}
@@ -0,0 +1,59 @@
+package com.customer.main.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded stand-in for a shared cache tier: one map in this JVM, with per-entry expiry.
+ * Several cache instances (simulated nodes) can share one instance in tests; in a real
+ * deployment it is only shared by the caches of a single process.
+ */
+public class InMemoryRemoteCacheTier implements RemoteCacheTier {
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder gets = new LongAdder();
+
+    @Override
+    public Object get(String key) {
+        gets.increment();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAtNanos - System.nanoTime() < 0) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void put(String key, Object value, Duration ttl) {
+        entries.put(key, new Entry(value, System.nanoTime() + ttl.toNanos()));
+    }
+
+    @Override
+    public void evict(Collection<String> keys) {
+        keys.forEach(entries::remove);
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /** Number of lookups that reached this tier (i.e. local misses). */
+    public long getCount() {
+        return gets.sum();
+    }
+
+    private record Entry(Object value, long expiresAtNanos) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.customer.main.cache;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.KafkaMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+/**
+ * Cache invalidation over a Kafka topic. Every node consumes the topic in its own consumer
+ * group (named after the node id) starting at the latest offset, so each message reaches every
+ * running node once; messages sent while a node is down are irrelevant to it because its local
+ * cache starts empty.
+ */
+public class KafkaCacheInvalidationBus implements CacheInvalidationBus, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaCacheInvalidationBus.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topic;
+    private final KafkaMessageListenerContainer<String, CacheInvalidation> container;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    public KafkaCacheInvalidationBus(KafkaTemplate<String, Object> kafkaTemplate, Map<String, Object> consumerProperties,
+                                     String topic, String nodeId) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+
+        Map<String, Object> properties = new HashMap<>(consumerProperties);
+        properties.put(ConsumerConfig.GROUP_ID_CONFIG, "customer-cache-" + nodeId);
+        properties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "latest");
+        properties.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, true);
+        DefaultKafkaConsumerFactory<String, CacheInvalidation> consumerFactory = new DefaultKafkaConsumerFactory<>(
+                properties, new StringDeserializer(), new JsonDeserializer<>(CacheInvalidation.class, false));
+
+        ContainerProperties containerProperties = new ContainerProperties(topic);
+        containerProperties.setMessageListener((MessageListener<String, CacheInvalidation>) record -> {
+            CacheInvalidation invalidation = record.value();
+            if (invalidation != null) {
+                listeners.forEach(listener -> listener.accept(invalidation));
+            }
+        });
+        this.container = new KafkaMessageListenerContainer<>(consumerFactory, containerProperties);
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        // Keyed by customer so one customer's invalidations stay ordered on one partition
+        String key = invalidation.customerId() != null ? invalidation.customerId().toString() : null;
+        kafkaTemplate.send(topic, key, invalidation).whenComplete((result, ex) -> {
+            if (ex != null) {
+                log.warn("Cache invalidation not delivered | topic={} | customerId={} | message={}",
+                        topic, invalidation.customerId(), ex.getMessage());
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public void start() {
+        container.start();
+    }
+
+    @Override
+    public void stop() {
+        container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return container.isRunning();
+    }
+}
@@ -0,0 +1,99 @@
+package com.customer.main.cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Bounded, short-TTL record of lookups that found no customer ("pan:", "uuid:", "email:" keys,
+ * same format as CustomerIndexedCache). A known miss answers not-found without MySQL.
+ *
+ * Entries are dropped when a customer with that key is written (CustomerServiceImpl evicts the
+ * customer's keys here next to the customers cache, and other nodes do so from the invalidation
+ * bus). A miss is only recorded if no invalidation happened while it was being looked up, so a
+ * lookup racing a registration cannot store a stale "not found". Keys compare case-insensitively,
+ * like MySQL's default collation.
+ */
+public class NegativeLookupCache {
+
+    private final Cache<String, Boolean> misses;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final Map<String, LongAdder> absorbedByPrefix;
+
+    public NegativeLookupCache(Caffeine<Object, Object> builder) {
+        this.misses = builder.build();
+        Map<String, LongAdder> absorbed = new HashMap<>();
+        CustomerIndexedCache.KEY_PREFIXES.forEach(prefix -> absorbed.put(prefix, new LongAdder()));
+        this.absorbedByPrefix = Map.copyOf(absorbed);
+    }
+
+    /**
+     * Call before the database lookup; pass the result to {@link #recordMiss}.
+     */
+    public long lookupToken() {
+        return invalidations.get();
+    }
+
+    /** True when the key is a recent, still valid miss; counted as absorbed traffic. */
+    public boolean isKnownMiss(String key) {
+        if (key == null || misses.getIfPresent(normalize(key)) == null) {
+            return false;
+        }
+        absorbedOf(key).increment();
+        return true;
+    }
+
+    public void recordMiss(String key, long token) {
+        if (key == null) {
+            return;
+        }
+        String normalized = normalize(key);
+        misses.put(normalized, Boolean.TRUE);
+        // An invalidation may have run between the database read and the put: undo ours
+        if (invalidations.get() != token) {
+            misses.invalidate(normalized);
+        }
+    }
+
+    public void invalidate(Collection<?> keys) {
+        invalidations.incrementAndGet();
+        for (Object key : keys) {
+            if (key instanceof String k) {
+                misses.invalidate(normalize(k));
+            }
+        }
+    }
+
+    public void clear() {
+        invalidations.incrementAndGet();
+        misses.invalidateAll();
+    }
+
+    public long size() {
+        return misses.estimatedSize();
+    }
+
+    /** Lookups with the given key prefix (one of CustomerIndexedCache.KEY_PREFIXES) answered without MySQL. */
+    public long absorbedCount(String prefix) {
+        return absorbedByPrefix.get(prefix).sum();
+    }
+
+    private LongAdder absorbedOf(String key) {
+        for (String prefix : CustomerIndexedCache.KEY_PREFIXES) {
+            if (key.startsWith(prefix)) {
+                return absorbedByPrefix.get(prefix);
+            }
+        }
+        return absorbedByPrefix.get(CustomerIndexedCache.KEY_OTHER);
+    }
+
+    private static String normalize(String key) {
+        return key.toLowerCase(Locale.ROOT);
+    }
+}
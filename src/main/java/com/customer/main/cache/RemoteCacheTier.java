@@ -0,0 +1,55 @@
+package com.customer.main.cache;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Shared (far) cache tier behind the per-node Caffeine cache, e.g. Redis or Memcached.
+ * Implementations must be thread-safe and should fail soft: a remote outage must degrade to
+ * cache misses, never to request failures.
+ */
+public interface RemoteCacheTier {
+
+    /** No shared tier: the node runs on its local cache only. */
+    RemoteCacheTier NONE = new RemoteCacheTier() {
+        @Override
+        public Object get(String key) {
+            return null;
+        }
+
+        @Override
+        public void put(String key, Object value, Duration ttl) {
+        }
+
+        @Override
+        public void evict(Collection<String> keys) {
+        }
+
+        @Override
+        public void clear() {
+        }
+    };
+
+    /** Cached value, or null on a miss. */
+    Object get(String key);
+
+    /** Hits among {@code keys}; stores with a multi-get (Redis MGET) should override this. */
+    default Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> hits = new HashMap<>();
+        for (String key : keys) {
+            Object value = get(key);
+            if (value != null) {
+                hits.put(key, value);
+            }
+        }
+        return hits;
+    }
+
+    void put(String key, Object value, Duration ttl);
+
+    void evict(Collection<String> keys);
+
+    void clear();
+}
@@ -0,0 +1,255 @@
+package com.customer.main.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Near/far "customers" cache: the per-node CustomerIndexedCache (Caffeine) in front of a shared
+ * {@link RemoteCacheTier}, with writes broadcast on a {@link CacheInvalidationBus}.
+ *
+ * A local miss reads the remote tier and, on a hit, fills the local cache, so a cold node is
+ * warmed by its peers instead of MySQL. Puts go to both tiers. Evictions remove the keys from
+ * both tiers and tell every other node to drop its local copies. A put that the local tier
+ * treats as stale (see {@link CustomerIndexedCache#isFresh}) is not written to the remote tier
+ * either. The remote tier and the bus fail soft: errors are logged and treated as misses.
+ */
+public class TwoLevelCustomerCache extends CustomerIndexedCache {
+
+    private static final Logger log = LoggerFactory.getLogger(TwoLevelCustomerCache.class);
+
+    private final RemoteCacheTier remote;
+    private final Duration remoteTtl;
+    private final CacheInvalidationBus bus;
+    private final String nodeId;
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final LongAdder invalidationsReceived = new LongAdder();
+
+    public TwoLevelCustomerCache(String name, Caffeine<Object, Object> builder, RemoteCacheTier remote,
+                                 Duration remoteTtl, CacheInvalidationBus bus, String nodeId) {
+        super(name, builder);
+        this.remote = remote;
+        this.remoteTtl = remoteTtl;
+        this.bus = bus;
+        this.nodeId = nodeId;
+        bus.subscribe(this::onInvalidation);
+    }
+
+    // ---------- Reads: local, then remote ----------
+    @Override
+    protected Object lookup(Object key) {
+        long token = readToken();
+        Object value = super.lookup(key);
+        if (value != null || !(key instanceof String remoteKey)) {
+            return value;
+        }
+        Object remoteValue = remoteGet(remoteKey);
+        if (remoteValue != null) {
+            super.put(key, remoteValue, token);
+        }
+        return remoteValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long token = readToken();
+        return super.get(key, () -> {
+            Object remoteValue = key instanceof String remoteKey ? remoteGet(remoteKey) : null;
+            if (remoteValue != null) {
+                return (T) remoteValue;
+            }
+            T loaded = valueLoader.call();
+            remotePut(key, loaded, token);
+            return loaded;
+        });
+    }
+
+    @Override
+    public Map<Object, Object> getAllPresent(Collection<?> keys) {
+        long token = readToken();
+        Map<Object, Object> hits = new HashMap<>(super.getAllPresent(keys));
+        List<String> remoteKeys = new ArrayList<>();
+        for (Object key : keys) {
+            if (!hits.containsKey(key) && key instanceof String remoteKey) {
+                remoteKeys.add(remoteKey);
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return hits;
+        }
+        Map<String, Object> found;
+        try {
+            found = remote.getAll(remoteKeys);
+        } catch (Exception e) {
+            log.warn("Remote cache read failed | cache={} | keys={} | message={}", getName(), remoteKeys.size(), e.getMessage());
+            found = Map.of();
+        }
+        remoteHits.add(found.size());
+        remoteMisses.add(remoteKeys.size() - found.size());
+        found.forEach((key, value) -> {
+            super.put(key, value, token);
+            hits.put(key, value);
+        });
+        return hits;
+    }
+
+    // ---------- Writes: both tiers ----------
+    @Override
+    public void put(Object key, Object value, long readToken) {
+        super.put(key, value, readToken);
+        remotePut(key, value, readToken);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value, long readToken) {
+        ValueWrapper existing = super.putIfAbsent(key, value, readToken);
+        if (existing == null) {
+            remotePut(key, value, readToken);
+        }
+        return existing;
+    }
+
+    // ---------- Evictions: both tiers plus a broadcast ----------
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        evictRemoteAndBroadcast(null, List.of(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = super.evictIfPresent(key);
+        evictRemoteAndBroadcast(null, List.of(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        clearRemoteAndBroadcast();
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean notEmpty = super.invalidate();
+        clearRemoteAndBroadcast();
+        return notEmpty;
+    }
+
+    @Override
+    public int evictCustomer(Long customerId, Collection<?> knownKeys) {
+        Set<Object> keys = new LinkedHashSet<>();
+        if (customerId != null) {
+            keys.addAll(indexedKeys(customerId));
+            keys.add(idKey(customerId));
+        }
+        if (knownKeys != null) {
+            keys.addAll(knownKeys);
+        }
+        int evicted = super.evictCustomer(customerId, knownKeys);
+        evictRemoteAndBroadcast(customerId, keys);
+        return evicted;
+    }
+
+    // ---------- Messages from other nodes: local tier only ----------
+    void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        invalidationsReceived.increment();
+        if (invalidation.all()) {
+            super.clear();
+        } else {
+            super.evictCustomer(invalidation.customerId(), invalidation.keys());
+        }
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public long remoteHitCount() {
+        return remoteHits.sum();
+    }
+
+    public long remoteMissCount() {
+        return remoteMisses.sum();
+    }
+
+    public long invalidationsReceived() {
+        return invalidationsReceived.sum();
+    }
+
+    private Object remoteGet(String key) {
+        Object value;
+        try {
+            value = remote.get(key);
+        } catch (Exception e) {
+            log.warn("Remote cache read failed | cache={} | message={}", getName(), e.getMessage());
+            value = null;
+        }
+        (value != null ? remoteHits : remoteMisses).increment();
+        return value;
+    }
+
+    // Same put-then-recheck as the local tier: an eviction that ran in between is re-applied
+    private void remotePut(Object key, Object value, long readToken) {
+        if (!(key instanceof String remoteKey) || value == null || !isFresh(key, readToken)) {
+            return;
+        }
+        try {
+            remote.put(remoteKey, value, remoteTtl);
+            if (!isFresh(key, readToken)) {
+                remote.evict(List.of(remoteKey));
+            }
+        } catch (Exception e) {
+            log.warn("Remote cache write failed | cache={} | message={}", getName(), e.getMessage());
+        }
+    }
+
+    private void evictRemoteAndBroadcast(Long customerId, Collection<?> keys) {
+        List<String> stringKeys = new ArrayList<>(keys.size());
+        for (Object key : keys) {
+            if (key instanceof String stringKey) {
+                stringKeys.add(stringKey);
+            }
+        }
+        try {
+            remote.evict(stringKeys);
+        } catch (Exception e) {
+            log.warn("Remote cache evict failed | cache={} | keys={} | message={}", getName(), stringKeys.size(), e.getMessage());
+        }
+        publish(new CacheInvalidation(nodeId, customerId, stringKeys, false));
+    }
+
+    private void clearRemoteAndBroadcast() {
+        try {
+            remote.clear();
+        } catch (Exception e) {
+            log.warn("Remote cache clear failed | cache={} | message={}", getName(), e.getMessage());
+        }
+        publish(new CacheInvalidation(nodeId, null, List.of(), true));
+    }
+
+    private void publish(CacheInvalidation invalidation) {
+        try {
+            bus.publish(invalidation);
+        } catch (Exception e) {
+            log.warn("Cache invalidation broadcast failed | cache={} | message={}", getName(), e.getMessage());
+        }
+    }
+}
@@ -1,18 +1,47 @@
 package com.customer.main.config;
 
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.boot.ssl.SslBundles;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.core.KafkaTemplate;
 
+import com.customer.main.cache.CacheInvalidationBus;
+import com.customer.main.cache.CustomerIndexedCache;
+import com.customer.main.cache.InMemoryRemoteCacheTier;
+import com.customer.main.cache.KafkaCacheInvalidationBus;
+import com.customer.main.cache.NegativeLookupCache;
+import com.customer.main.cache.RemoteCacheTier;
+import com.customer.main.cache.TwoLevelCustomerCache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Cache configuration for Customer Service (real-time home loan).
- * Uses Caffeine in-memory cache; can switch to Redis for distributed cache.
+ * The customers cache is two-level: a per-node Caffeine cache that indexes keys per customer
+ * (so writes evict only that customer's entries) in front of an optional shared tier.
+ *
+ * customer.cache.remote.type=embedded uses the in-process stand-in; any other RemoteCacheTier bean
+ * (e.g. Redis-backed) plugs in the same way. customer.cache.invalidation.enabled=true broadcasts
+ * evictions to the other replicas over Kafka. With neither, the cache behaves as a local cache.
+ * Whole-cache Caffeine stats are bound by Spring Boot's cache metrics; the per key prefix
+ * hit/miss/eviction counts and remote-tier counts are registered here.
  */
 @Configuration
 @EnableCaching
@@ -20,13 +49,114 @@ public class CacheConfig {
 
     public static final String CACHE_CUSTOMERS = "customers";
 
+    private final String nodeId;
+
+    public CacheConfig(@Value("${customer.cache.node-id:}") String nodeId) {
+        this.nodeId = nodeId == null || nodeId.isBlank() ? defaultNodeId() : nodeId;
+    }
+
     @Bean
-    public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CACHE_CUSTOMERS);
-        cacheManager.setCaffeine(Caffeine.newBuilder()
+    public TwoLevelCustomerCache customerCache(MeterRegistry meterRegistry,
+                                               ObjectProvider<RemoteCacheTier> remoteCacheTier,
+                                               ObjectProvider<CacheInvalidationBus> cacheInvalidationBus,
+                                               @Value("${customer.cache.remote.ttl-ms:900000}") long remoteTtlMs) {
+        TwoLevelCustomerCache cache = new TwoLevelCustomerCache(CACHE_CUSTOMERS, Caffeine.newBuilder()
                 .maximumSize(1000)
                 .expireAfterWrite(15, TimeUnit.MINUTES)
-                .recordStats());
+                .recordStats(),
+                remoteCacheTier.getIfAvailable(() -> RemoteCacheTier.NONE),
+                Duration.ofMillis(remoteTtlMs),
+                cacheInvalidationBus.getIfAvailable(() -> CacheInvalidationBus.LOCAL),
+                nodeId);
+        bindPrefixMetrics(cache, meterRegistry);
+        FunctionCounter.builder("customer.cache.remote.gets", cache, TwoLevelCustomerCache::remoteHitCount)
+                .description("Remote tier lookups after a local miss")
+                .tag("cache", cache.getName()).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("customer.cache.remote.gets", cache, TwoLevelCustomerCache::remoteMissCount)
+                .tag("cache", cache.getName()).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("customer.cache.invalidations.received", cache, TwoLevelCustomerCache::invalidationsReceived)
+                .description("Invalidation messages applied from other nodes")
+                .tag("cache", cache.getName()).register(meterRegistry);
+        return cache;
+    }
+
+    /**
+     * Not-found answers for PAN/uuid/email lookups; cleared per key on writes here and, via the
+     * invalidation bus, on the other nodes.
+     */
+    @Bean
+    public NegativeLookupCache negativeLookupCache(MeterRegistry meterRegistry,
+                                                   ObjectProvider<CacheInvalidationBus> cacheInvalidationBus,
+                                                   @Value("${customer.cache.negative.max-size:10000}") long maxSize,
+                                                   @Value("${customer.cache.negative.ttl-ms:30000}") long ttlMs) {
+        NegativeLookupCache cache = new NegativeLookupCache(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS));
+        cacheInvalidationBus.getIfAvailable(() -> CacheInvalidationBus.LOCAL).subscribe(invalidation -> {
+            if (invalidation.all()) {
+                cache.clear();
+            } else {
+                cache.invalidate(invalidation.keys());
+            }
+        });
+        Gauge.builder("customer.cache.negative.size", cache, NegativeLookupCache::size)
+                .description("Not-found lookups currently remembered")
+                .register(meterRegistry);
+        for (String prefix : CustomerIndexedCache.KEY_PREFIXES) {
+            FunctionCounter.builder("customer.cache.negative.absorbed", cache, c -> c.absorbedCount(prefix))
+                    .description("Not-found lookups answered without MySQL, by key prefix")
+                    .tag("prefix", prefix.replace(":", "").toLowerCase(Locale.ROOT)).register(meterRegistry);
+        }
+        return cache;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "customer.cache.remote.type", havingValue = "embedded")
+    public RemoteCacheTier embeddedRemoteCacheTier() {
+        return new InMemoryRemoteCacheTier();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "customer.cache.invalidation.enabled", havingValue = "true")
+    public KafkaCacheInvalidationBus cacheInvalidationBus(KafkaTemplate<String, Object> kafkaTemplate,
+                                                          KafkaProperties kafkaProperties,
+                                                          ObjectProvider<SslBundles> sslBundles,
+                                                          @Value("${customer.cache.invalidation.topic:customer.cache.invalidation}") String topic) {
+        return new KafkaCacheInvalidationBus(kafkaTemplate,
+                kafkaProperties.buildConsumerProperties(sslBundles.getIfAvailable()), topic, nodeId);
+    }
+
+    @Bean
+    public CacheManager cacheManager(CustomerIndexedCache customerCache) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(customerCache));
         return cacheManager;
     }
+
+    static void bindPrefixMetrics(CustomerIndexedCache cache, MeterRegistry meterRegistry) {
+        for (String prefix : CustomerIndexedCache.KEY_PREFIXES) {
+            String tag = prefix.replace(":", "").toLowerCase(Locale.ROOT);
+            FunctionCounter.builder("customer.cache.prefix.gets", cache, c -> c.hitCount(prefix))
+                    .description("Cache lookups by key prefix and result")
+                    .tag("cache", cache.getName()).tag("prefix", tag).tag("result", "hit").register(meterRegistry);
+            FunctionCounter.builder("customer.cache.prefix.gets", cache, c -> c.missCount(prefix))
+                    .tag("cache", cache.getName()).tag("prefix", tag).tag("result", "miss").register(meterRegistry);
+            FunctionCounter.builder("customer.cache.prefix.evictions", cache, c -> c.evictionCount(prefix))
+                    .description("Size/expiry evictions by key prefix")
+                    .tag("cache", cache.getName()).tag("prefix", tag).register(meterRegistry);
+            Gauge.builder("customer.cache.prefix.hit.ratio", cache, c -> c.hitRatio(prefix))
+                    .description("Hits / (hits + misses) since startup, by key prefix")
+                    .tag("cache", cache.getName()).tag("prefix", tag).register(meterRegistry);
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "customer-service";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
 }
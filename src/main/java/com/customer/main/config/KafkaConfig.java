@@ -0,0 +1,45 @@
+package com.customer.main.config;
+
+import java.util.Map;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+/**
+ * Kafka templates.
+ *
+ * kafkaTemplate is the JSON template Spring Boot would otherwise auto-configure (it backs off as
+ * soon as any KafkaTemplate bean exists). outboxKafkaTemplate shares the same producer settings
+ * but sends values with ByteArraySerializer, so outbox payloads (CustomerEventCodec bytes) reach
+ * the broker without an intermediate String or JSON pass.
+ */
+@Configuration
+public class KafkaConfig {
+
+    public static final String OUTBOX_KAFKA_TEMPLATE = "outboxKafkaTemplate";
+
+    @Bean
+    @Primary
+    public KafkaTemplate<?, ?> kafkaTemplate(ProducerFactory<Object, Object> producerFactory,
+                                             KafkaProperties kafkaProperties) {
+        KafkaTemplate<Object, Object> kafkaTemplate = new KafkaTemplate<>(producerFactory);
+        if (kafkaProperties.getTemplate().getDefaultTopic() != null) {
+            kafkaTemplate.setDefaultTopic(kafkaProperties.getTemplate().getDefaultTopic());
+        }
+        return kafkaTemplate;
+    }
+
+    @Bean(OUTBOX_KAFKA_TEMPLATE)
+    @SuppressWarnings("unchecked")
+    public KafkaTemplate<String, byte[]> outboxKafkaTemplate(ProducerFactory<Object, Object> producerFactory) {
+        ProducerFactory<?, ?> bytesProducerFactory = producerFactory.copyWithConfigurationOverride(
+                Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class));
+        return new KafkaTemplate<>((ProducerFactory<String, byte[]>) bytesProducerFactory);
+    }
+}
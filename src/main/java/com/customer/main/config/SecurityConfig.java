@@ -30,6 +30,8 @@ public class SecurityConfig {
                 // Public: customer enquiry (pre-KYC, first touch)
                 .requestMatchers("/api/customers/enquiry").permitAll()
                 .requestMatchers("/actuator/**", "/error").permitAll()
+                // Operator endpoints (outbox dead-letter requeue)
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
                 // All other endpoints require JWT
                 .anyRequest().authenticated()
             )
@@ -17,6 +17,67 @@ public final class CustomerConstants {
     	    "(:firstName, :lastName, :gender, :dateOfBirth, :email, :mobile, " +
     	    ":panNumber, :aadhaarNumber, :customerUuid, :status, :createdDate, :updatedDate)";
 
+    // ---------- Insert outbox event (table: customer_outbox_event) ----------
+    public static final String INSERT_OUTBOX_EVENT =
+            "INSERT INTO customer_outbox_event " +
+            "(aggregate_id, event_type, payload, status, retry_count, created_at) " +
+            "VALUES (:aggregateId, :eventType, :payload, :status, :retryCount, :createdAt)";
+
+    // ---------- Mark a drained outbox batch in one statement (only rows this worker still holds) ----------
+    public static final String UPDATE_OUTBOX_STATUS_BY_IDS =
+            "UPDATE customer_outbox_event SET status = :status, processed_at = :processedAt, " +
+            "claimed_by = NULL, lease_until = NULL WHERE id IN (:ids) AND claimed_by = :workerId";
+
+    // ---------- Outbox row claiming (several drainers; MySQL 8 SKIP LOCKED) ----------
+    public static final String FIND_CLAIMABLE_OUTBOX_EVENTS =
+            "SELECT id, aggregate_id, event_type, payload, status, retry_count, next_attempt_at, created_at " +
+            "FROM customer_outbox_event " +
+            "WHERE status = 'NEW' AND (lease_until IS NULL OR lease_until < :now) " +
+            "AND (next_attempt_at IS NULL OR next_attempt_at <= :now) " +
+            "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED";
+
+    // FAILED (dead-lettered) rows still hold back their aggregate until requeued
+    public static final String FIND_PENDING_OUTBOX_IDS_FOR_AGGREGATES =
+            "SELECT id, aggregate_id FROM customer_outbox_event " +
+            "WHERE status IN ('NEW', 'FAILED') AND aggregate_id IN (:aggregateIds) AND id <= :maxId ORDER BY id";
+
+    public static final String CLAIM_OUTBOX_EVENTS =
+            "UPDATE customer_outbox_event SET claimed_by = :workerId, lease_until = :leaseUntil WHERE id IN (:ids)";
+
+    public static final String RELEASE_OUTBOX_CLAIMS =
+            "UPDATE customer_outbox_event SET claimed_by = NULL, lease_until = NULL " +
+            "WHERE id IN (:ids) AND claimed_by = :workerId";
+
+    // ---------- Outbox retries: backoff (status NEW + next_attempt_at) or dead-letter (status FAILED) ----------
+    public static final String RESCHEDULE_OUTBOX_EVENT =
+            "UPDATE customer_outbox_event SET status = :status, retry_count = :retryCount, " +
+            "next_attempt_at = :nextAttemptAt, last_error = :lastError, claimed_by = NULL, lease_until = NULL " +
+            "WHERE id = :id AND claimed_by = :workerId";
+
+    public static final String REQUEUE_FAILED_OUTBOX_EVENTS_BY_IDS =
+            "UPDATE customer_outbox_event SET status = 'NEW', retry_count = 0, next_attempt_at = NULL, " +
+            "last_error = NULL, claimed_by = NULL, lease_until = NULL WHERE id IN (:ids) AND status = 'FAILED'";
+
+    public static final String REQUEUE_FAILED_OUTBOX_EVENTS =
+            "UPDATE customer_outbox_event SET status = 'NEW', retry_count = 0, next_attempt_at = NULL, " +
+            "last_error = NULL, claimed_by = NULL, lease_until = NULL WHERE status = 'FAILED' ORDER BY id LIMIT :limit";
+
+    public static final String COUNT_FAILED_OUTBOX_EVENTS =
+            "SELECT COUNT(*) FROM customer_outbox_event WHERE status = 'FAILED'";
+
+    // ---------- Outbox backlog (metrics): NEW rows and the oldest one's age ----------
+    public static final String FIND_OUTBOX_BACKLOG =
+            "SELECT COUNT(*) AS depth, MIN(created_at) AS oldest_created_at " +
+            "FROM customer_outbox_event WHERE status = 'NEW'";
+
+    // ---------- Outbox retention: expired rows in small batches (idx_outbox_status_created) ----------
+    public static final String FIND_EXPIRED_OUTBOX_IDS =
+            "SELECT id FROM customer_outbox_event WHERE status = :status AND created_at < :cutoff " +
+            "ORDER BY created_at LIMIT :limit";
+
+    public static final String DELETE_OUTBOX_EVENTS_BY_IDS =
+            "DELETE FROM customer_outbox_event WHERE id IN (:ids) AND status = :status";
+
     // ---------- Update Customer ----------
     public static final String UPDATE_CUSTOMER =
             "UPDATE customer SET " +
@@ -44,6 +105,49 @@ public final class CustomerConstants {
     public static final String COUNT_BY_MOBILE =
             "SELECT COUNT(*) FROM customer WHERE mobile = :mobile";
 
+    // ---------- All identity collisions in one round-trip (index merge over the unique keys) ----------
+    public static final String FIND_IDENTITY_CONFLICTS =
+            "SELECT " +
+            "COALESCE(SUM(CASE WHEN pan_number = :panNumber THEN 1 ELSE 0 END), 0) AS pan_count, " +
+            "COALESCE(SUM(CASE WHEN aadhaar_number = :aadhaarNumber THEN 1 ELSE 0 END), 0) AS aadhaar_count, " +
+            "COALESCE(SUM(CASE WHEN email = :email THEN 1 ELSE 0 END), 0) AS email_count, " +
+            "COALESCE(SUM(CASE WHEN mobile = :mobile THEN 1 ELSE 0 END), 0) AS mobile_count " +
+            "FROM customer " +
+            "WHERE pan_number = :panNumber OR aadhaar_number = :aadhaarNumber OR email = :email OR mobile = :mobile";
+
+    // Same check for an update: the customer's own row is not a conflict
+    public static final String FIND_IDENTITY_CONFLICTS_EXCLUDING =
+            "SELECT " +
+            "COALESCE(SUM(CASE WHEN pan_number = :panNumber THEN 1 ELSE 0 END), 0) AS pan_count, " +
+            "COALESCE(SUM(CASE WHEN aadhaar_number = :aadhaarNumber THEN 1 ELSE 0 END), 0) AS aadhaar_count, " +
+            "COALESCE(SUM(CASE WHEN email = :email THEN 1 ELSE 0 END), 0) AS email_count, " +
+            "COALESCE(SUM(CASE WHEN mobile = :mobile THEN 1 ELSE 0 END), 0) AS mobile_count " +
+            "FROM customer " +
+            "WHERE (pan_number = :panNumber OR aadhaar_number = :aadhaarNumber OR email = :email OR mobile = :mobile) " +
+            "AND customer_id <> :customerId";
+
+    // ---------- Bulk duplicate check (enquiry batch); expand each list with IN ----------
+    public static final String FIND_IDENTITY_KEYS_IN =
+            "SELECT pan_number, aadhaar_number, email, mobile FROM customer WHERE " +
+            "pan_number IN (:panNumbers) OR aadhaar_number IN (:aadhaarNumbers) OR " +
+            "email IN (:emails) OR mobile IN (:mobiles)";
+
+    // ---------- Identity keys in keyset batches (loads the uniqueness filter) ----------
+    public static final String FIND_IDENTITY_KEYS_AFTER_ID =
+            "SELECT customer_id, pan_number, aadhaar_number, email, mobile FROM customer " +
+            "WHERE customer_id > :lastId ORDER BY customer_id LIMIT :limit";
+
+    // ---------- Searchable columns in keyset batches (loads the search index) ----------
+    public static final String FIND_SEARCH_FIELDS_AFTER_ID =
+            "SELECT customer_id, customer_uuid, first_name, last_name, pan_number, email FROM customer " +
+            "WHERE customer_id > :lastId ORDER BY customer_id LIMIT :limit";
+
+    // ---------- Searchable columns changed since a point in time, keyset on (updated_date, customer_id) ----------
+    public static final String FIND_SEARCH_FIELDS_UPDATED_AFTER =
+            "SELECT customer_id, customer_uuid, first_name, last_name, pan_number, email, updated_date FROM customer " +
+            "WHERE updated_date >= :updatedDate AND (updated_date > :updatedDate OR customer_id > :lastId) " +
+            "ORDER BY updated_date, customer_id LIMIT :limit";
+
     // ---------- Find by unique keys ----------
     public static final String FIND_BY_PAN_NUMBER =
             "SELECT * FROM customer WHERE pan_number = :panNumber";
@@ -54,29 +158,80 @@ public final class CustomerConstants {
     public static final String FIND_BY_CUSTOMER_UUID =
             "SELECT * FROM customer WHERE customer_uuid = :customerUuid";
 
+    public static final String FIND_BY_CUSTOMER_UUIDS =
+            "SELECT * FROM customer WHERE customer_uuid IN (:customerUuids)";
+
+    public static final String FIND_BY_PAN_NUMBERS =
+            "SELECT * FROM customer WHERE pan_number IN (:panNumbers)";
+
     public static final String FIND_BY_ID =
             "SELECT * FROM customer WHERE customer_id = :id";
 
-    // ---------- Find by status (paginated; use with Pageable) ----------
-    public static final String FIND_BY_STATUS =
-            "SELECT * FROM customer WHERE status = :status ORDER BY created_date DESC";
+    // ---------- Cache warm-up ----------
+    public static final String FIND_RECENTLY_UPDATED_IDS_BY_STATUS =
+            "SELECT customer_id FROM customer WHERE status = :status " +
+            "ORDER BY updated_date DESC, customer_id DESC LIMIT :limit";
 
-    public static final String COUNT_BY_STATUS =
-            "SELECT COUNT(*) FROM customer WHERE status = :status";
+    public static final String FIND_BY_IDS_AND_STATUS =
+            "SELECT * FROM customer WHERE customer_id IN (:customerIds) AND status = :status";
 
-    // ---------- Search by name, PAN, or email ----------
-    public static final String SEARCH_BY_NAME_PAN_EMAIL =
-            "SELECT * FROM customer WHERE " +
-            "LOWER(first_name) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-            "LOWER(last_name) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
-            "pan_number LIKE CONCAT('%', :q, '%') OR " +
-            "email LIKE CONCAT('%', :q, '%') " +
-            "ORDER BY first_name, last_name";
+    // ---------- List / search projections (CustomerSummary) ----------
+    // Only the columns CustomerResponseDto shows; read over JDBC, so no entity, address or
+    // employment_details row is ever loaded for a list page
+    public static final String CUSTOMER_SUMMARY_COLUMNS =
+            "customer_id, customer_uuid, first_name, last_name, gender, date_of_birth, email, mobile, " +
+            "pan_number, aadhaar_number, status, created_date, updated_date";
 
-    public static final String COUNT_SEARCH_BY_NAME_PAN_EMAIL =
-            "SELECT COUNT(*) FROM customer WHERE " +
+    public static final String SEARCH_PREDICATE =
             "LOWER(first_name) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
             "LOWER(last_name) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
             "pan_number LIKE CONCAT('%', :q, '%') OR " +
             "email LIKE CONCAT('%', :q, '%')";
+
+    // ---------- Offset pages (page number + COUNT) ----------
+    public static final String FIND_SUMMARY_PAGE =
+            "SELECT " + CUSTOMER_SUMMARY_COLUMNS + " FROM customer " +
+            "ORDER BY created_date DESC, customer_id DESC LIMIT :limit OFFSET :offset";
+
+    public static final String COUNT_CUSTOMERS =
+            "SELECT COUNT(*) FROM customer";
+
+    public static final String FIND_SUMMARY_PAGE_BY_STATUS =
+            "SELECT " + CUSTOMER_SUMMARY_COLUMNS + " FROM customer WHERE status = :status " +
+            "ORDER BY created_date DESC, customer_id DESC LIMIT :limit OFFSET :offset";
+
+    public static final String COUNT_BY_STATUS =
+            "SELECT COUNT(*) FROM customer WHERE status = :status";
+
+    // ---------- Keyset (seek) pages: newest first, LIMIT = page size + 1, no COUNT ----------
+    // "created_date <= :createdDate" keeps the predicate an index range on (created_date, customer_id)
+    public static final String FIND_FIRST_PAGE =
+            "SELECT " + CUSTOMER_SUMMARY_COLUMNS + " FROM customer " +
+            "ORDER BY created_date DESC, customer_id DESC LIMIT :limit";
+
+    public static final String FIND_PAGE_AFTER =
+            "SELECT " + CUSTOMER_SUMMARY_COLUMNS + " FROM customer " +
+            "WHERE created_date <= :createdDate AND (created_date < :createdDate OR customer_id < :customerId) " +
+            "ORDER BY created_date DESC, customer_id DESC LIMIT :limit";
+
+    public static final String FIND_FIRST_PAGE_BY_STATUS =
+            "SELECT " + CUSTOMER_SUMMARY_COLUMNS + " FROM customer WHERE status = :status " +
+            "ORDER BY created_date DESC, customer_id DESC LIMIT :limit";
+
+    public static final String FIND_PAGE_BY_STATUS_AFTER =
+            "SELECT " + CUSTOMER_SUMMARY_COLUMNS + " FROM customer WHERE status = :status " +
+            "AND created_date <= :createdDate AND (created_date < :createdDate OR customer_id < :customerId) " +
+            "ORDER BY created_date DESC, customer_id DESC LIMIT :limit";
+
+    // ---------- Search by name, PAN, or email ----------
+    public static final String SEARCH_SUMMARIES =
+            "SELECT " + CUSTOMER_SUMMARY_COLUMNS + " FROM customer WHERE " + SEARCH_PREDICATE + " " +
+            "ORDER BY first_name, last_name, customer_id LIMIT :limit OFFSET :offset";
+
+    public static final String COUNT_SEARCH_BY_NAME_PAN_EMAIL =
+            "SELECT COUNT(*) FROM customer WHERE " + SEARCH_PREDICATE;
+
+    // Ranked search-index hits for one page
+    public static final String FIND_SUMMARIES_BY_UUIDS =
+            "SELECT " + CUSTOMER_SUMMARY_COLUMNS + " FROM customer WHERE customer_uuid IN (:customerUuids)";
 }
@@ -1,5 +1,7 @@
 package com.customer.main.controller;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,8 +18,11 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.customer.main.dto.CustomerEnquiryRequestDto;
+import com.customer.main.dto.CustomerLookupRequestDto;
+import com.customer.main.dto.CustomerLookupResponseDto;
 import com.customer.main.dto.CustomerRequestDto;
 import com.customer.main.dto.CustomerResponseDto;
+import com.customer.main.dto.EnquiryBatchResponseDto;
 import com.customer.main.dto.PageResponseDto;
 import com.customer.main.entity.CustomerStatus;
 import com.customer.main.service.CustomerService;
@@ -46,6 +51,16 @@ public class CustomerController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    // ---------- Bulk enquiry (partner channels): per-row CREATED / DUPLICATE / INVALID ----------
+    @PostMapping("/enquiry/batch")
+    public ResponseEntity<EnquiryBatchResponseDto> createCustomerEnquiries(@RequestBody List<CustomerEnquiryRequestDto> dtos) {
+        log.info("POST /api/customers/enquiry/batch | rows={}", dtos != null ? dtos.size() : 0);
+        EnquiryBatchResponseDto response = customerService.createCustomerEnquiries(dtos);
+        log.debug("POST /api/customers/enquiry/batch | created={} | duplicates={} | invalid={}",
+                response.getCreated(), response.getDuplicates(), response.getInvalid());
+        return ResponseEntity.ok(response);
+    }
+
     // ---------- Step 2: Complete KYC & enrich customer ----------
     @PutMapping("/{id}/kyc")
     public ResponseEntity<CustomerResponseDto> completeKyc(
@@ -101,11 +116,24 @@ public class CustomerController {
         return ResponseEntity.ok(customerService.getCustomerByEmail(email));
     }
 
-    // ---------- List all (paginated) ----------
+    // ---------- Multi-get by ids / uuids / pans: per-key FOUND / NOT_FOUND in request order ----------
+    @PostMapping("/lookup")
+    public ResponseEntity<CustomerLookupResponseDto> lookupCustomers(@RequestBody CustomerLookupRequestDto request) {
+        CustomerLookupResponseDto response = customerService.lookupCustomers(request);
+        log.debug("POST /api/customers/lookup | keys={} | found={}", response.getTotal(), response.getFound());
+        return ResponseEntity.ok(response);
+    }
+
+    // ---------- List all (paginated; pass cursor, even empty, for keyset pages without COUNT) ----------
     @GetMapping
     public ResponseEntity<PageResponseDto<CustomerResponseDto>> getAllCustomers(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            log.debug("GET /api/customers | cursor={} size={}", cursor, size);
+            return ResponseEntity.ok(customerService.getAllCustomersAfter(cursor, size));
+        }
         log.debug("GET /api/customers | page={} size={}", page, size);
         return ResponseEntity.ok(customerService.getAllCustomers(page, size));
     }
@@ -115,7 +143,12 @@ public class CustomerController {
     public ResponseEntity<PageResponseDto<CustomerResponseDto>> getCustomersByStatus(
             @PathVariable CustomerStatus status,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        if (cursor != null) {
+            log.debug("GET /api/customers/status/{} | cursor={} size={}", status, cursor, size);
+            return ResponseEntity.ok(customerService.getCustomersByStatusAfter(status, cursor, size));
+        }
         log.debug("GET /api/customers/status/{} | page={} size={}", status, page, size);
         return ResponseEntity.ok(customerService.getCustomersByStatus(status, page, size));
     }
@@ -0,0 +1,65 @@
+package com.customer.main.controller;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.customer.main.dto.OutboxRequeueResponseDto;
+import com.customer.main.event.CustomerOutboxSignal;
+import com.customer.main.exception.BusinessException;
+import com.customer.main.repository.CustomerOutboxClaimRepository;
+
+/**
+ * Operator endpoints for the outbox dead letter (events FAILED after max-attempts publishes).
+ * Requeued events get a fresh retry budget and the drainer is woken right away. While an event is
+ * dead-lettered its aggregate's newer events wait behind it, so after a requeue they are published
+ * in their original order.
+ */
+@RestController
+@RequestMapping("/api/admin/outbox")
+public class OutboxAdminController {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxAdminController.class);
+
+    @Autowired
+    private CustomerOutboxClaimRepository claimRepository;
+
+    @Autowired
+    private CustomerOutboxSignal outboxSignal;
+
+    @Value("${customer.outbox.requeue.max-events:1000}")
+    private int maxRequeue;
+
+    // ---------- Dead-letter depth ----------
+    @GetMapping("/dead-letter")
+    public ResponseEntity<OutboxRequeueResponseDto> deadLetter() {
+        return ResponseEntity.ok(new OutboxRequeueResponseDto(0, claimRepository.countFailed()));
+    }
+
+    // ---------- Requeue: the given ids, or the oldest max-events FAILED events when no body is sent ----------
+    @PostMapping("/requeue")
+    public ResponseEntity<OutboxRequeueResponseDto> requeue(@RequestBody(required = false) List<Long> ids) {
+        if (ids != null && ids.size() > maxRequeue) {
+            throw new BusinessException("REQUEUE_TOO_LARGE", "At most " + maxRequeue + " outbox events can be requeued per call");
+        }
+        int requeued = ids == null || ids.isEmpty()
+                ? claimRepository.requeueAllFailed(maxRequeue)
+                : claimRepository.requeueFailed(ids);
+        if (requeued > 0) {
+            outboxSignal.signal();
+        }
+        long remaining = claimRepository.countFailed();
+        log.info("POST /api/admin/outbox/requeue | requested={} | requeued={} | deadLettered={}",
+                ids == null || ids.isEmpty() ? "all" : ids.size(), requeued, remaining);
+        return ResponseEntity.ok(new OutboxRequeueResponseDto(requeued, remaining));
+    }
+}
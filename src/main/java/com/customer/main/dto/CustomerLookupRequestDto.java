@@ -0,0 +1,21 @@
+package com.customer.main.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Multi-get request: any mix of customer ids, UUIDs and PANs (each list may be null or empty).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerLookupRequestDto {
+    private List<Long> ids;
+    private List<String> uuids;
+    private List<String> pans;
+}
@@ -0,0 +1,23 @@
+package com.customer.main.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response for the multi-get lookup: one result per requested key (ids, then uuids, then pans,
+ * each in request order) plus totals.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerLookupResponseDto {
+    private int total;
+    private int found;
+    private int notFound;
+    private List<CustomerLookupResultDto> results;
+}
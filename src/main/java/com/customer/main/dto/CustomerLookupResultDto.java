@@ -0,0 +1,33 @@
+package com.customer.main.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of one requested key in a multi-get. PAN keys are echoed masked; customer is null
+ * when the status is NOT_FOUND.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerLookupResultDto {
+
+    public enum KeyType {
+        ID,
+        UUID,
+        PAN
+    }
+
+    public enum Status {
+        FOUND,
+        NOT_FOUND
+    }
+
+    private KeyType type;
+    private String key;
+    private Status status;
+    private CustomerResponseDto customer;
+}
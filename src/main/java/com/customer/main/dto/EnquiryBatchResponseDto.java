@@ -0,0 +1,23 @@
+package com.customer.main.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response for bulk enquiry ingestion: per-row results in request order plus totals.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnquiryBatchResponseDto {
+    private int total;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private List<EnquiryBatchResultDto> results;
+}
@@ -0,0 +1,27 @@
+package com.customer.main.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Outcome of one row in a bulk enquiry request (index is the row's position in the request).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EnquiryBatchResultDto {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+
+    private int index;
+    private Status status;
+    private String customerUuid;
+    private String message;
+}
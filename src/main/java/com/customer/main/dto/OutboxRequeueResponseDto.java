@@ -0,0 +1,18 @@
+package com.customer.main.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Response for an outbox dead-letter requeue: events put back to NEW and FAILED events left.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxRequeueResponseDto {
+    private int requeued;
+    private long deadLettered;
+}
@@ -8,6 +8,7 @@ import java.util.List;
 
 /**
  * Standard paginated response for list APIs (industry standard).
+ * Cursor (keyset) pages set nextCursor and skip the COUNT, so totalElements/totalPages are -1.
  */
 @Getter
 @Setter
@@ -20,6 +21,7 @@ public class PageResponseDto<T> {
     private int totalPages;
     private boolean first;
     private boolean last;
+    private String nextCursor;   // pass back as ?cursor= for the next page; null on the last page
     
     
 	public PageResponseDto(List<T> content, int page, int size, long totalElements, int totalPages, boolean first,
@@ -75,10 +77,16 @@ public class PageResponseDto<T> {
 	public void setLast(boolean last) {
 		this.last = last;
 	}
+	public String getNextCursor() {
+		return nextCursor;
+	}
+	public void setNextCursor(String nextCursor) {
+		this.nextCursor = nextCursor;
+	}
 	@Override
 	public String toString() {
 		return "PageResponseDto [content=" + content + ", page=" + page + ", size=" + size + ", totalElements="
-				+ totalElements + ", totalPages=" + totalPages + ", first=" + first + ", last=" + last + "]";
+				+ totalElements + ", totalPages=" + totalPages + ", first=" + first + ", last=" + last + ", nextCursor=" + nextCursor + "]";
 	}
     
     
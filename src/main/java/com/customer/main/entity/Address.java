@@ -33,8 +33,10 @@ public class Address {
     @Pattern(regexp = "\\d{6}", message = "Invalid pincode")
     private String pincode;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Customer customer;
 
 	public Long getAddressId() {
@@ -12,11 +12,14 @@ import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -24,6 +27,7 @@ import jakarta.validation.constraints.Past;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 /**
@@ -31,6 +35,15 @@ import lombok.NoArgsConstructor;
  * Used for KYC registration and loan application eligibility.
  */
 @Entity
+@Table(name = "customer", indexes = {
+        // Keyset pages seek on (created_date, customer_id); see CustomerConstants.FIND_PAGE_AFTER
+        @Index(name = "idx_customer_created", columnList = "created_date, customer_id"),
+        @Index(name = "idx_customer_status_created", columnList = "status, created_date, customer_id"),
+        // Cache warm-up picks the most recently updated ACTIVE customers
+        @Index(name = "idx_customer_status_updated", columnList = "status, updated_date, customer_id"),
+        // Search index refresh picks up rows changed since its last pass
+        @Index(name = "idx_customer_updated", columnList = "updated_date, customer_id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -79,10 +92,15 @@ public class Customer {
     private LocalDateTime createdDate;
     private LocalDateTime updatedDate;
 
+    // Associations are lazy and left out of toString/equals/hashCode so neither logging nor a
+    // HashSet walks the graph; load them with CustomerRepository.findWithDetailsByCustomerId
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
+    @EqualsAndHashCode.Exclude
     private List<Address> addresses = new ArrayList<>();
 
-    @OneToOne(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Lazy on the mappedBy side needs bytecode enhancement (hibernate-enhance-maven-plugin)
+    @OneToOne(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @EqualsAndHashCode.Exclude
     private EmploymentDetails employmentDetails;
 
     
@@ -272,8 +290,7 @@ public class Customer {
 		return "Customer [customerId=" + customerId + ", customerUuid=" + customerUuid + ", firstName=" + firstName
 				+ ", lastName=" + lastName + ", gender=" + gender + ", dateOfBirth=" + dateOfBirth + ", mobile="
 				+ mobile + ", email=" + email + ", panNumber=" + panNumber + ", aadhaarNumber=" + aadhaarNumber
-				+ ", status=" + status + ", createdDate=" + createdDate + ", updatedDate=" + updatedDate
-				+ ", addresses=" + addresses + ", employmentDetails=" + employmentDetails + "]";
+				+ ", status=" + status + ", createdDate=" + createdDate + ", updatedDate=" + updatedDate + "]";
 	}
     
     
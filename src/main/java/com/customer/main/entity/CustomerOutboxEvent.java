@@ -2,15 +2,20 @@ package com.customer.main.entity;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.Table;
 
 @Entity
-@Table(name = "customer_outbox_event")
+@Table(name = "customer_outbox_event", indexes = {
+        // Drain, backlog and retention queries filter on status and range over created_at
+        @Index(name = "idx_outbox_status_created", columnList = "status, created_at")
+})
 public class CustomerOutboxEvent {
 	@Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,18 +26,25 @@ public class CustomerOutboxEvent {
     private String eventType;    // CUSTOMER_CREATED
 
     @Lob
-    private String payload;      // JSON
+    private byte[] payload;      // CustomerEventCodec
 
-    private String status;       // NEW / SENT / FAILED
+    private String status;       // NEW / SENT / COMPACTED (merged into a later SENT message) / FAILED (retries exhausted)
 
-    private Integer retryCount = 0;
+    private Integer retryCount = 0;     // failed publish attempts so far
+    private LocalDateTime nextAttemptAt; // NEW rows are not claimed before this (retry backoff)
+
+    @Column(length = 500)
+    private String lastError;
 
     private LocalDateTime createdAt;
     private LocalDateTime processedAt;  // when event was sent to Kafka
 
+    private String claimedBy;           // outbox worker currently holding the lease
+    private LocalDateTime leaseUntil;   // NEW rows whose lease expired can be claimed again
+
     public CustomerOutboxEvent() {}
     
-	public CustomerOutboxEvent(Long id, String aggregateId, String eventType, String payload, String status,
+	public CustomerOutboxEvent(Long id, String aggregateId, String eventType, byte[] payload, String status,
 			LocalDateTime createdAt) {
 		super();
 		this.id = id;
@@ -67,11 +79,11 @@ public class CustomerOutboxEvent {
 		this.eventType = eventType;
 	}
 
-	public String getPayload() {
+	public byte[] getPayload() {
 		return payload;
 	}
 
-	public void setPayload(String payload) {
+	public void setPayload(byte[] payload) {
 		this.payload = payload;
 	}
 
@@ -99,6 +111,22 @@ public class CustomerOutboxEvent {
 		this.retryCount = retryCount;
 	}
 
+	public LocalDateTime getNextAttemptAt() {
+		return nextAttemptAt;
+	}
+
+	public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+		this.nextAttemptAt = nextAttemptAt;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+
+	public void setLastError(String lastError) {
+		this.lastError = lastError;
+	}
+
 	public LocalDateTime getProcessedAt() {
 		return processedAt;
 	}
@@ -106,4 +134,20 @@ public class CustomerOutboxEvent {
 	public void setProcessedAt(LocalDateTime processedAt) {
 		this.processedAt = processedAt;
 	}
+
+	public String getClaimedBy() {
+		return claimedBy;
+	}
+
+	public void setClaimedBy(String claimedBy) {
+		this.claimedBy = claimedBy;
+	}
+
+	public LocalDateTime getLeaseUntil() {
+		return leaseUntil;
+	}
+
+	public void setLeaseUntil(LocalDateTime leaseUntil) {
+		this.leaseUntil = leaseUntil;
+	}
 }
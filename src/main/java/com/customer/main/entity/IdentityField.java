@@ -0,0 +1,12 @@
+package com.customer.main.entity;
+
+/**
+ * Customer identity keys that must be unique (checked on registration, enforced by unique constraints).
+ * Declaration order is the order duplicates are reported in.
+ */
+public enum IdentityField {
+    PAN,
+    AADHAAR,
+    EMAIL,
+    MOBILE
+}
@@ -0,0 +1,288 @@
+package com.customer.main.event;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.customer.main.entity.MaskingUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Binary encoding of {@link CustomerEventPayload}, stored in the outbox and sent to Kafka as is.
+ *
+ * Layout: one schema version byte, then the fields in declaration order. Strings are a varint
+ * length + 1 (0 = null) followed by UTF-8 bytes; longs and timestamps are zigzag varints + 1
+ * (0 = null). Timestamps are the service's local wall-clock times as epoch millis read at UTC.
+ * Version 2 appends the transitions list: a varint count followed by that many strings.
+ *
+ * Versions only ever append fields, so a reader accepts any version from 1 up, reads the fields
+ * that version has and ignores the trailing bytes it does not know.
+ *
+ * Outbox rows written before this codec hold the Customer entity as JSON text (first byte '{',
+ * never a version byte). {@link #decode} reads those too, with the raw PAN and Aadhaar masked;
+ * the JSON has no event type or time, so {@link #upgrade} takes them from the outbox row.
+ */
+public final class CustomerEventCodec {
+
+    public static final byte SCHEMA_VERSION = 2;
+
+    private static final ObjectMapper LEGACY_JSON = new ObjectMapper();
+
+    private CustomerEventCodec() {}
+
+    public static byte[] encode(CustomerEventPayload event) {
+        Writer out = new Writer(128);
+        out.buf[out.pos++] = SCHEMA_VERSION;
+        out.writeString(event.eventType());
+        out.writeLong(event.customerId());
+        out.writeString(event.customerUuid());
+        out.writeString(event.firstName());
+        out.writeString(event.lastName());
+        out.writeString(event.email());
+        out.writeLong(event.mobile());
+        out.writeString(event.maskedPan());
+        out.writeString(event.maskedAadhaar());
+        out.writeString(event.status());
+        out.writeTimestamp(event.createdDate());
+        out.writeTimestamp(event.updatedDate());
+        out.writeTimestamp(event.occurredAt());
+        out.writeVarint(event.transitions().size());
+        for (String transition : event.transitions()) {
+            out.writeString(transition);
+        }
+        return Arrays.copyOf(out.buf, out.pos);
+    }
+
+    /**
+     * Returns the stored payload in the current binary format: as is when it already is, otherwise
+     * the legacy JSON transcoded with the row's event type and creation time.
+     */
+    public static byte[] upgrade(byte[] stored, String eventType, LocalDateTime occurredAt) {
+        if (!isLegacyJson(stored)) {
+            return stored;
+        }
+        CustomerEventPayload legacy = decodeLegacyJson(stored);
+        return encode(new CustomerEventPayload(eventType, legacy.customerId(), legacy.customerUuid(), legacy.firstName(),
+                legacy.lastName(), legacy.email(), legacy.mobile(), legacy.maskedPan(), legacy.maskedAadhaar(),
+                legacy.status(), legacy.createdDate(), legacy.updatedDate(), occurredAt));
+    }
+
+    public static boolean isLegacyJson(byte[] bytes) {
+        return bytes != null && bytes.length > 0 && bytes[0] == '{';
+    }
+
+    /**
+     * Decodes either format; a legacy JSON payload comes back without event type and occurredAt.
+     */
+    public static CustomerEventPayload decode(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            throw new IllegalArgumentException("Empty customer event");
+        }
+        if (isLegacyJson(bytes)) {
+            return decodeLegacyJson(bytes);
+        }
+        if (bytes[0] < 1) {
+            throw new IllegalArgumentException("Unsupported customer event version " + bytes[0]);
+        }
+        Reader in = new Reader(bytes, 1);
+        CustomerEventPayload event = new CustomerEventPayload(
+                in.readString(),
+                in.readLong(),
+                in.readString(),
+                in.readString(),
+                in.readString(),
+                in.readString(),
+                in.readLong(),
+                in.readString(),
+                in.readString(),
+                in.readString(),
+                in.readTimestamp(),
+                in.readTimestamp(),
+                in.readTimestamp());
+        if (bytes[0] < 2) {
+            return event;
+        }
+        long count = in.readVarint();
+        if (count > bytes.length) {
+            throw new IllegalArgumentException("Truncated customer event");
+        }
+        List<String> transitions = new ArrayList<>((int) count);
+        for (long i = 0; i < count; i++) {
+            String transition = in.readString();
+            if (transition == null) {
+                throw new IllegalArgumentException("Null transition in customer event");
+            }
+            transitions.add(transition);
+        }
+        return event.withTransitions(transitions);
+    }
+
+    // ---------- Legacy JSON ----------
+    private static CustomerEventPayload decodeLegacyJson(byte[] bytes) {
+        JsonNode customer;
+        try {
+            customer = LEGACY_JSON.readTree(bytes);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed legacy customer event: " + e.getMessage(), e);
+        }
+        String pan = text(customer, "panNumber");
+        String aadhaar = text(customer, "aadhaarNumber");
+        return new CustomerEventPayload(
+                null,
+                number(customer, "customerId"),
+                text(customer, "customerUuid"),
+                text(customer, "firstName"),
+                text(customer, "lastName"),
+                text(customer, "email"),
+                number(customer, "mobile"),
+                pan != null ? MaskingUtil.maskPan(pan) : null,
+                aadhaar != null ? MaskingUtil.maskAadhaar(aadhaar) : null,
+                text(customer, "status"),
+                dateTime(customer, "createdDate"),
+                dateTime(customer, "updatedDate"),
+                null);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static Long number(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asLong();
+    }
+
+    // ISO text with WRITE_DATES_AS_TIMESTAMPS off (Boot's default), [y, m, d, h, min, s, nanos] with it on
+    private static LocalDateTime dateTime(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        try {
+            if (value.isArray()) {
+                return LocalDateTime.of(value.path(0).asInt(), value.path(1).asInt(), value.path(2).asInt(),
+                        value.path(3).asInt(), value.path(4).asInt(), value.path(5).asInt(), value.path(6).asInt());
+            }
+            return LocalDateTime.parse(value.asText());
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Malformed " + field + " in legacy customer event: " + value, e);
+        }
+    }
+
+    // ---------- Writer ----------
+    private static final class Writer {
+        private byte[] buf;
+        private int pos;
+
+        Writer(int capacity) {
+            buf = new byte[capacity];
+        }
+
+        void writeString(String value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeVarint(utf8.length + 1L);
+            ensure(utf8.length);
+            System.arraycopy(utf8, 0, buf, pos, utf8.length);
+            pos += utf8.length;
+        }
+
+        void writeLong(Long value) {
+            if (value == null) {
+                writeVarint(0);
+                return;
+            }
+            if (value == Long.MIN_VALUE) {
+                throw new IllegalArgumentException("Long.MIN_VALUE cannot be encoded");
+            }
+            writeVarint(((value << 1) ^ (value >> 63)) + 1);
+        }
+
+        void writeTimestamp(LocalDateTime value) {
+            writeLong(value != null ? value.toInstant(ZoneOffset.UTC).toEpochMilli() : null);
+        }
+
+        // Unsigned LEB128
+        void writeVarint(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buf[pos++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buf[pos++] = (byte) value;
+        }
+
+        private void ensure(int extra) {
+            if (pos + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + extra));
+            }
+        }
+    }
+
+    // ---------- Reader ----------
+    private static final class Reader {
+        private final byte[] buf;
+        private int pos;
+
+        Reader(byte[] buf, int pos) {
+            this.buf = buf;
+            this.pos = pos;
+        }
+
+        String readString() {
+            long length = readVarint();
+            if (length == 0) {
+                return null;
+            }
+            int size = (int) (length - 1);
+            if (size < 0 || pos + size > buf.length) {
+                throw new IllegalArgumentException("Truncated customer event");
+            }
+            String value = new String(buf, pos, size, StandardCharsets.UTF_8);
+            pos += size;
+            return value;
+        }
+
+        Long readLong() {
+            long encoded = readVarint();
+            if (encoded == 0) {
+                return null;
+            }
+            long zigzag = encoded - 1;
+            return (zigzag >>> 1) ^ -(zigzag & 1);
+        }
+
+        LocalDateTime readTimestamp() {
+            Long millis = readLong();
+            return millis != null
+                    ? LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                            (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC)
+                    : null;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (pos >= buf.length) {
+                    throw new IllegalArgumentException("Truncated customer event");
+                }
+                byte b = buf[pos++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in customer event");
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.customer.main.event;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.MaskingUtil;
+
+/**
+ * What the outbox publishes for a customer change: the fields consumers read, with PAN and
+ * Aadhaar already masked. Encoded with {@link CustomerEventCodec}; the addresses and employment
+ * details are deliberately not part of the event.
+ *
+ * When the outbox compacts several pending events of one customer into a single message (see
+ * {@link CustomerOutboxCompactor}), the message carries the latest state and {@code transitions}
+ * lists the event types it stands for, oldest first. It is empty for a single event.
+ */
+public record CustomerEventPayload(
+        String eventType,
+        Long customerId,
+        String customerUuid,
+        String firstName,
+        String lastName,
+        String email,
+        Long mobile,
+        String maskedPan,
+        String maskedAadhaar,
+        String status,
+        LocalDateTime createdDate,
+        LocalDateTime updatedDate,
+        LocalDateTime occurredAt,
+        List<String> transitions) {
+
+    public CustomerEventPayload {
+        transitions = transitions == null ? List.of() : List.copyOf(transitions);
+    }
+
+    public CustomerEventPayload(String eventType, Long customerId, String customerUuid, String firstName,
+                                String lastName, String email, Long mobile, String maskedPan, String maskedAadhaar,
+                                String status, LocalDateTime createdDate, LocalDateTime updatedDate,
+                                LocalDateTime occurredAt) {
+        this(eventType, customerId, customerUuid, firstName, lastName, email, mobile, maskedPan, maskedAadhaar,
+                status, createdDate, updatedDate, occurredAt, List.of());
+    }
+
+    public static CustomerEventPayload from(Customer customer, String eventType, LocalDateTime occurredAt) {
+        return new CustomerEventPayload(
+                eventType,
+                customer.getCustomerId(),
+                customer.getCustomerUuid(),
+                customer.getFirstName(),
+                customer.getLastName(),
+                customer.getEmail(),
+                customer.getMobile(),
+                customer.getPanNumber() != null ? MaskingUtil.maskPan(customer.getPanNumber()) : null,
+                customer.getAadhaarNumber() != null ? MaskingUtil.maskAadhaar(customer.getAadhaarNumber()) : null,
+                customer.getStatus() != null ? customer.getStatus().name() : null,
+                customer.getCreatedDate(),
+                customer.getUpdatedDate(),
+                occurredAt);
+    }
+
+    /**
+     * This payload standing for the given event types, oldest first.
+     */
+    public CustomerEventPayload withTransitions(List<String> transitions) {
+        return new CustomerEventPayload(eventType, customerId, customerUuid, firstName, lastName, email, mobile,
+                maskedPan, maskedAadhaar, status, createdDate, updatedDate, occurredAt, transitions);
+    }
+}
@@ -0,0 +1,144 @@
+package com.customer.main.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.customer.main.entity.CustomerOutboxEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Optional compaction stage of the outbox drain. Within a claimed batch, consecutive pending
+ * events of one aggregate whose types are all in event-types are merged into one message: the
+ * newest event's payload (every payload is a full customer snapshot) with the types of the whole
+ * run as its transitions. Any other type ends the run and goes out on its own, so consumers see
+ * the same sequence of types per customer, only in fewer messages.
+ *
+ * The message is sent under the newest event's id; when it is acknowledged the older rows of the
+ * run are marked COMPACTED instead of SENT. If it fails, every row of the run is retried.
+ */
+@Component
+public class CustomerOutboxCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerOutboxCompactor.class);
+
+    private final boolean enabled;
+    private final Set<String> compactableTypes;
+    private final Counter merged;
+    private final Counter saved;
+
+    public CustomerOutboxCompactor(MeterRegistry meterRegistry,
+                                   @Value("${customer.outbox.compaction.enabled:false}") boolean enabled,
+                                   @Value("${customer.outbox.compaction.event-types:CUSTOMER_REGISTERED,CUSTOMER_CREATED,CUSTOMER_UPDATED}")
+                                   String[] compactableTypes) {
+        this.enabled = enabled;
+        this.compactableTypes = Arrays.stream(compactableTypes).map(String::trim).collect(Collectors.toUnmodifiableSet());
+        this.merged = Counter.builder("customer.outbox.compaction.merged")
+                .description("Outbox messages that stand for more than one event")
+                .register(meterRegistry);
+        this.saved = Counter.builder("customer.outbox.compaction.saved")
+                .description("Kafka messages saved by merging pending events of one aggregate")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Turns a claimed batch (id order) into the messages to send. Per aggregate the messages keep
+     * the events' order; with compaction disabled every event is its own message.
+     */
+    public List<OutboxMessage> compact(List<CustomerOutboxEvent> events) {
+        List<OutboxMessage> messages = new ArrayList<>(events.size());
+        if (!enabled) {
+            events.forEach(event -> messages.add(OutboxMessage.of(event)));
+            return messages;
+        }
+        Map<String, List<CustomerOutboxEvent>> byAggregate = new LinkedHashMap<>();
+        for (CustomerOutboxEvent event : events) {
+            byAggregate.computeIfAbsent(event.getAggregateId(), k -> new ArrayList<>()).add(event);
+        }
+        for (List<CustomerOutboxEvent> aggregateEvents : byAggregate.values()) {
+            List<CustomerOutboxEvent> run = new ArrayList<>();
+            for (CustomerOutboxEvent event : aggregateEvents) {
+                if (compactableTypes.contains(event.getEventType())) {
+                    run.add(event);
+                    continue;
+                }
+                flush(run, messages);
+                messages.add(OutboxMessage.of(event));
+            }
+            flush(run, messages);
+        }
+        return messages;
+    }
+
+    private void flush(List<CustomerOutboxEvent> run, List<OutboxMessage> messages) {
+        if (run.isEmpty()) {
+            return;
+        }
+        if (run.size() == 1) {
+            messages.add(OutboxMessage.of(run.get(0)));
+            run.clear();
+            return;
+        }
+        CustomerOutboxEvent newest = run.get(run.size() - 1);
+        try {
+            List<String> transitions = run.stream().map(CustomerOutboxEvent::getEventType).toList();
+            byte[] payload = CustomerEventCodec.encode(
+                    CustomerEventCodec.decode(OutboxMessage.payloadOf(newest)).withTransitions(transitions));
+            messages.add(new OutboxMessage(newest, payload, List.copyOf(run.subList(0, run.size() - 1))));
+            merged.increment();
+            saved.increment(run.size() - 1);
+        } catch (IllegalArgumentException e) {
+            log.warn("Outbox compaction skipped | aggregateId={} | id={} | message={}",
+                    newest.getAggregateId(), newest.getId(), e.getMessage());
+            run.forEach(event -> messages.add(OutboxMessage.of(event)));
+        }
+        run.clear();
+    }
+
+    /**
+     * One Kafka message: sent with {@code event}'s id and aggregate key, standing also for the
+     * older {@code superseded} rows (empty unless compacted).
+     */
+    public record OutboxMessage(CustomerOutboxEvent event, byte[] payload, List<CustomerOutboxEvent> superseded) {
+
+        static OutboxMessage of(CustomerOutboxEvent event) {
+            return new OutboxMessage(event, payloadOf(event), List.of());
+        }
+
+        // Rows written before the binary codec still hold entity JSON; they go out as binary events too.
+        // Spilled CustomerRegisteredEvents are JSON on purpose and go out as stored
+        static byte[] payloadOf(CustomerOutboxEvent event) {
+            if (CustomerRegisteredEvent.OUTBOX_EVENT_TYPE.equals(event.getEventType())) {
+                return event.getPayload();
+            }
+            try {
+                return CustomerEventCodec.upgrade(event.getPayload(), event.getEventType(), event.getCreatedAt());
+            } catch (IllegalArgumentException e) {
+                log.warn("Legacy outbox payload not transcoded, sending as stored | aggregateId={} | id={} | message={}",
+                        event.getAggregateId(), event.getId(), e.getMessage());
+                return event.getPayload();
+            }
+        }
+
+        /** All rows this message stands for, oldest first. */
+        public List<CustomerOutboxEvent> events() {
+            if (superseded.isEmpty()) {
+                return List.of(event);
+            }
+            List<CustomerOutboxEvent> events = new ArrayList<>(superseded);
+            events.add(event);
+            return events;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.customer.main.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs the outbox drain on a dedicated thread. The thread sleeps until a writer's commit
+ * signals {@link CustomerOutboxSignal} and then drains right away, so an event reaches Kafka
+ * milliseconds after its transaction commits instead of on the next poll.
+ *
+ * Without a signal it still drains every fallback-poll-ms, which covers rows committed by other
+ * replicas, rows whose lease expired after a crash and failed sends whose retry backoff has passed.
+ */
+@Component
+public class CustomerOutboxDrainer {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerOutboxDrainer.class);
+
+    private final CustomerOutboxProcessor processor;
+    private final CustomerOutboxSignal signal;
+    private final long fallbackPollMs;
+
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    public CustomerOutboxDrainer(CustomerOutboxProcessor processor,
+                                 CustomerOutboxSignal signal,
+                                 @Value("${customer.outbox.fallback-poll-ms:30000}") long fallbackPollMs) {
+        this.processor = processor;
+        this.signal = signal;
+        this.fallbackPollMs = Math.max(1, fallbackPollMs);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::drainLoop, "outbox-drainer");
+        thread.setDaemon(true);
+        thread.start();
+        log.info("Outbox drainer started | fallbackPollMs={}", fallbackPollMs);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        Thread current = thread;
+        if (current != null) {
+            current.interrupt();
+        }
+    }
+
+    private void drainLoop() {
+        // Rows left over from before the restart are drained immediately
+        boolean signalled = true;
+        while (running) {
+            try {
+                long startTime = System.currentTimeMillis();
+                processor.processOutboxEvents();
+                log.debug("Outbox drain | trigger={} | executionTime={}ms", signalled ? "signal" : "fallback-poll",
+                        System.currentTimeMillis() - startTime);
+            } catch (Exception e) {
+                log.error("Outbox drain failed | message={}", e.getMessage(), e);
+            }
+            try {
+                signalled = signal.await(fallbackPollMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.customer.main.event;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.customer.main.repository.CustomerOutboxClaimRepository;
+import com.customer.main.repository.CustomerOutboxClaimRepository.OutboxBacklog;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Outbox backlog gauges: number of NEW events, age of the oldest NEW event and number of
+ * dead-lettered (FAILED) events.
+ *
+ * The backlog is read on a schedule rather than on every scrape so Prometheus never drives
+ * queries against customer_outbox_event; the age gauge is computed at scrape time from the
+ * last seen oldest created_at, so it keeps growing if the drain stalls between refreshes.
+ */
+@Component
+public class CustomerOutboxMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerOutboxMetrics.class);
+
+    private final CustomerOutboxClaimRepository claimRepository;
+    private volatile OutboxBacklog backlog = new OutboxBacklog(0, null);
+    private volatile long deadLettered;
+
+    public CustomerOutboxMetrics(CustomerOutboxClaimRepository claimRepository, MeterRegistry meterRegistry) {
+        this.claimRepository = claimRepository;
+        Gauge.builder("customer.outbox.queue.depth", this, m -> m.backlog.depth())
+                .description("Outbox events with status NEW")
+                .register(meterRegistry);
+        Gauge.builder("customer.outbox.oldest.age", this, CustomerOutboxMetrics::oldestAgeSeconds)
+                .description("Age of the oldest NEW outbox event (0 when drained)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("customer.outbox.dead.letter.depth", this, m -> m.deadLettered)
+                .description("Outbox events with status FAILED (retries exhausted, waiting for requeue)")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${customer.outbox.metrics-refresh-ms:15000}")
+    public void refresh() {
+        try {
+            backlog = claimRepository.findBacklog();
+            deadLettered = claimRepository.countFailed();
+        } catch (Exception e) {
+            log.warn("Outbox backlog refresh failed | message={}", e.getMessage());
+        }
+    }
+
+    double oldestAgeSeconds() {
+        LocalDateTime oldest = backlog.oldestCreatedAt();
+        if (oldest == null) {
+            return 0;
+        }
+        return Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0);
+    }
+}
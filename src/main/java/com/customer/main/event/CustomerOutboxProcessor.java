@@ -1,62 +1,412 @@
 package com.customer.main.event;
 
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.mapping.AbstractJavaTypeMapper;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
+import com.customer.main.config.KafkaConfig;
 import com.customer.main.entity.CustomerOutboxEvent;
+import com.customer.main.event.CustomerOutboxCompactor.OutboxMessage;
+import com.customer.main.repository.CustomerOutboxClaimRepository;
+import com.customer.main.repository.CustomerOutboxClaimRepository.OutboxRetry;
 import com.customer.main.repository.CustomerOutboxEventRepository;
-import com.customer.main.serviceImpl.CustomerServiceImpl;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Polls the outbox table and publishes NEW events to Kafka.
- * Runs every 5 seconds. Status must match saveOutboxEvent: "NEW".
+ * Driven by CustomerOutboxDrainer (on commit, plus a fallback poll). Status must match saveOutboxEvent: "NEW".
+ * Payloads are CustomerEventCodec bytes and go out unchanged through the byte[] outbox template.
+ * Events CustomerEventPublisher spilled (CustomerRegisteredEvent JSON) go to customer-registered-topic
+ * instead, with the type header the JSON template would have set.
+ *
+ * Each batch is pipelined across aggregates (bounded by max-in-flight) but sent one event at a time
+ * per aggregate, so a newer event is never acked while an older one of the same aggregate fails;
+ * only acknowledged ids are marked SENT, with one bulk UPDATE, and only while this worker still
+ * holds their lease.
+ * Events whose send fails or times out stay NEW with a backoff from CustomerOutboxRetryPolicy
+ * (next_attempt_at), so a poison event is skipped by later claims instead of heading every batch;
+ * after max-attempts failures it is dead-lettered as FAILED (requeue via /api/admin/outbox) and its
+ * aggregate's newer events wait behind it.
+ * With compaction enabled, consecutive pending events of one aggregate may go out as one message
+ * (CustomerOutboxCompactor); the rows it supersedes end up COMPACTED.
+ *
+ * Several replicas can run this concurrently: each run leases rows through
+ * CustomerOutboxClaimRepository (SKIP LOCKED + claimed_by/lease_until), so a row is published by
+ * one worker only. A lease is split into lanes by aggregateId and the lanes are published in
+ * parallel; all events of one aggregate stay in one lane, in id order.
  */
 @Component
 @Slf4j
 public class CustomerOutboxProcessor {
 
 	 private static final Logger log = LoggerFactory.getLogger(CustomerOutboxProcessor.class);
-	 
-    private static final String OUTBOX_STATUS_PENDING = "NEW";
+
+    private static final String OUTBOX_STATUS_NEW = "NEW";
     private static final String OUTBOX_STATUS_SENT = "SENT";
+    private static final String OUTBOX_STATUS_FAILED = "FAILED";
+    private static final String OUTBOX_STATUS_COMPACTED = "COMPACTED";
+    private static final int LAST_ERROR_LENGTH = 500;
     private static final String KAFKA_TOPIC = "customer-topic";
 
     private final CustomerOutboxEventRepository repository;
-    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final CustomerOutboxClaimRepository claimRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final String customerRegisteredTopic;
+    private final CustomerOutboxRetryPolicy retryPolicy;
+    private final CustomerOutboxCompactor compactor;
+    private final Counter retried;
+    private final Counter deadLettered;
+    private final String workerId;
+    private final int batchSize;
+    private final int maxInFlight;
+    private final long sendTimeoutMs;
+    private final int parallelism;
+    private final long leaseMs;
+    private final ExecutorService laneExecutor;
 
     public CustomerOutboxProcessor(CustomerOutboxEventRepository repository,
-                                  KafkaTemplate<String, String> kafkaTemplate) {
+                                  CustomerOutboxClaimRepository claimRepository,
+                                  @Qualifier(KafkaConfig.OUTBOX_KAFKA_TEMPLATE) KafkaTemplate<String, byte[]> kafkaTemplate,
+                                  @Value("${customer.events.customer-registered-topic:customer.registered}") String customerRegisteredTopic,
+                                  CustomerOutboxRetryPolicy retryPolicy,
+                                  CustomerOutboxCompactor compactor,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${customer.outbox.worker-id:}") String workerId,
+                                  @Value("${customer.outbox.batch-size:50}") int batchSize,
+                                  @Value("${customer.outbox.max-in-flight:50}") int maxInFlight,
+                                  @Value("${customer.outbox.send-timeout-ms:10000}") long sendTimeoutMs,
+                                  @Value("${customer.outbox.parallelism:4}") int parallelism,
+                                  @Value("${customer.outbox.lease-ms:60000}") long leaseMs) {
         this.repository = repository;
+        this.claimRepository = claimRepository;
         this.kafkaTemplate = kafkaTemplate;
+        this.customerRegisteredTopic = customerRegisteredTopic;
+        this.retryPolicy = retryPolicy;
+        this.compactor = compactor;
+        this.retried = Counter.builder("customer.outbox.publish.failures")
+                .description("Outbox events whose publish failed, by what happened to them")
+                .tag("result", "retry").register(meterRegistry);
+        this.deadLettered = Counter.builder("customer.outbox.publish.failures")
+                .tag("result", "dead_letter").register(meterRegistry);
+        this.workerId = workerId == null || workerId.isBlank() ? defaultWorkerId() : workerId;
+        this.batchSize = batchSize;
+        this.maxInFlight = maxInFlight;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.parallelism = Math.max(1, parallelism);
+        this.leaseMs = leaseMs;
+        AtomicInteger laneNumber = new AtomicInteger();
+        this.laneExecutor = this.parallelism == 1 ? null : Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "outbox-lane-" + laneNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
-    @Scheduled(fixedDelay = 5000)
-    @Transactional
     public void processOutboxEvents() {
-        List<CustomerOutboxEvent> events = repository.findTop50ByStatusOrderByCreatedAtAsc(OUTBOX_STATUS_PENDING);
-        if (events.isEmpty()) {
-            return;
+        int claimSize = batchSize * parallelism;
+        // Keep draining while leases come back full and the broker acknowledges something; failed
+        // events are backed off, so the next claim moves past them
+        while (true) {
+            LocalDateTime now = LocalDateTime.now();
+            List<CustomerOutboxEvent> events = claimRepository.claimBatch(
+                    workerId, claimSize, now, now.plusNanos(TimeUnit.MILLISECONDS.toNanos(leaseMs)));
+            if (events.isEmpty()) {
+                return;
+            }
+            int sent = publishLeased(events);
+            if (events.size() < claimSize || sent == 0) {
+                return;
+            }
         }
+    }
 
+    @PreDestroy
+    public void shutdown() {
+        if (laneExecutor != null) {
+            laneExecutor.shutdownNow();
+        }
+    }
+
+    String getWorkerId() {
+        return workerId;
+    }
+
+    /**
+     * Splits a lease into per-aggregate lanes and publishes the lanes in parallel.
+     * Returns the number of settled events.
+     */
+    int publishLeased(List<CustomerOutboxEvent> events) {
+        List<List<CustomerOutboxEvent>> lanes = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            lanes.add(new ArrayList<>());
+        }
         for (CustomerOutboxEvent event : events) {
+            lanes.get(Math.floorMod(event.getAggregateId().hashCode(), parallelism)).add(event);
+        }
+        if (laneExecutor == null) {
+            return publishBatch(lanes.get(0));
+        }
+
+        List<Future<Integer>> results = new ArrayList<>(parallelism);
+        for (List<CustomerOutboxEvent> lane : lanes) {
+            if (!lane.isEmpty()) {
+                results.add(laneExecutor.submit(() -> publishBatch(lane)));
+            }
+        }
+        int sent = 0;
+        for (Future<Integer> result : results) {
             try {
-                kafkaTemplate.send(KAFKA_TOPIC, event.getAggregateId(), event.getPayload());
-                event.setStatus(OUTBOX_STATUS_SENT);
-                event.setProcessedAt(LocalDateTime.now());
-                repository.save(event);
-                log.info("Event sent to Kafka | id={} | aggregateId={}", event.getId(), event.getAggregateId());
-            } catch (Exception ex) {
-                log.error("Kafka publish failed | id={} | will retry", event.getId(), ex);
+                sent += result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return sent;
+            } catch (ExecutionException e) {
+                // Lane's leases expire and the events are claimed again
+                log.error("Outbox lane failed | workerId={} | message={}", workerId, e.getCause().getMessage(), e.getCause());
+            }
+        }
+        return sent;
+    }
+
+    /**
+     * Sends the batch (after optional compaction) in rounds: round n sends the n-th message of every
+     * aggregate still going, pipelined across aggregates (bounded by max-in-flight), and waits for
+     * its acks before the next round. A message that fails or is not acked ends its aggregate for
+     * this batch: its events are rescheduled with backoff (or dead-lettered once out of attempts),
+     * and the aggregate's later events are released unsent, so nothing newer is acked ahead of it.
+     * Acknowledged events are marked SENT in one UPDATE, and the rows their messages superseded
+     * COMPACTED. Returns the number of events settled (SENT or COMPACTED); rows whose lease expired
+     * and was taken by another worker are left to it.
+     */
+    int publishBatch(List<CustomerOutboxEvent> events) {
+        long startTime = System.currentTimeMillis();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        Map<String, List<OutboxMessage>> byAggregate = new LinkedHashMap<>();
+        for (OutboxMessage message : compactor.compact(events)) {
+            byAggregate.computeIfAbsent(message.event().getAggregateId(), k -> new ArrayList<>()).add(message);
+        }
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Map<Long, String> errors = new ConcurrentHashMap<>();
+        List<OutboxMessage> acked = new ArrayList<>();
+        List<OutboxMessage> failed = new ArrayList<>();
+        List<OutboxMessage> released = new ArrayList<>();
+        int messages = 0;
+
+        List<List<OutboxMessage>> open = new ArrayList<>(byAggregate.values());
+        for (int round = 0; !open.isEmpty(); round++) {
+            List<CompletableFuture<?>> futures = new ArrayList<>(open.size());
+            for (List<OutboxMessage> chain : open) {
+                CompletableFuture<?> future = send(chain.get(round), inFlight, errors);
+                if (future == null) {
+                    break;
+                }
+                futures.add(future);
+            }
+            messages += futures.size();
+            boolean stop = futures.size() < open.size() || !awaitAcks(futures, deadline);
+
+            List<List<OutboxMessage>> next = new ArrayList<>(open.size());
+            for (int i = 0; i < open.size(); i++) {
+                List<OutboxMessage> chain = open.get(i);
+                if (i >= futures.size()) {
+                    released.addAll(chain.subList(round, chain.size()));
+                    continue;
+                }
+                CompletableFuture<?> future = futures.get(i);
+                if (!future.isDone() || future.isCompletedExceptionally()) {
+                    failed.add(chain.get(round));
+                    released.addAll(chain.subList(round + 1, chain.size()));
+                    continue;
+                }
+                acked.add(chain.get(round));
+                if (chain.size() > round + 1) {
+                    if (stop) {
+                        released.addAll(chain.subList(round + 1, chain.size()));
+                    } else {
+                        next.add(chain);
+                    }
+                }
+            }
+            open = next;
+        }
+
+        List<Long> sentIds = new ArrayList<>(acked.size());
+        List<Long> compactedIds = new ArrayList<>();
+        for (OutboxMessage message : acked) {
+            sentIds.add(message.event().getId());
+            message.superseded().forEach(event -> compactedIds.add(event.getId()));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int settled = markSettled(sentIds, OUTBOX_STATUS_SENT, now) + markSettled(compactedIds, OUTBOX_STATUS_COMPACTED, now);
+        if (!failed.isEmpty()) {
+            List<CustomerOutboxEvent> failedEvents = new ArrayList<>();
+            Map<Long, String> failedErrors = new HashMap<>();
+            for (OutboxMessage message : failed) {
+                String error = errors.get(message.event().getId());
+                for (CustomerOutboxEvent event : message.events()) {
+                    failedEvents.add(event);
+                    if (error != null) {
+                        failedErrors.put(event.getId(), error);
+                    }
+                }
+            }
+            scheduleRetries(failedEvents, failedErrors);
+        }
+        List<Long> releasedIds = new ArrayList<>();
+        released.forEach(message -> message.events().forEach(event -> releasedIds.add(event.getId())));
+        if (!releasedIds.isEmpty()) {
+            // Not attempted: no retry counted, claimable again once the older event is settled
+            claimRepository.releaseClaims(workerId, releasedIds);
+        }
+        int acknowledged = sentIds.size() + compactedIds.size();
+        log.info("Outbox batch published | workerId={} | batch={} | messages={} | acked={} | compacted={} | failed={} | released={} | leaseLost={} | executionTime={}ms",
+                workerId, events.size(), messages, sentIds.size(), compactedIds.size(),
+                events.size() - acknowledged - releasedIds.size(), releasedIds.size(), acknowledged - settled,
+                System.currentTimeMillis() - startTime);
+        return settled;
+    }
+
+    /**
+     * Marks acknowledged rows, but only those this worker still holds. A row whose lease expired
+     * may already be reclaimed by another worker, which then publishes it again (at-least-once).
+     */
+    private int markSettled(List<Long> ids, String status, LocalDateTime now) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int updated = repository.updateStatusByIds(ids, status, workerId, now);
+        if (updated < ids.size()) {
+            log.warn("Outbox lease lost before marking | workerId={} | status={} | ids={} | marked={}",
+                    workerId, status, ids.size(), updated);
+        }
+        return updated;
+    }
+
+    /**
+     * Issues one send once a slot is free. Returns a future that completes after the outcome is
+     * recorded (failed if the send threw), or null if interrupted before sending.
+     */
+    private CompletableFuture<?> send(OutboxMessage message, Semaphore inFlight, Map<Long, String> errors) {
+        CustomerOutboxEvent event = message.event();
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        try {
+            return sendRecord(event, message.payload())
+                    .whenComplete((result, ex) -> {
+                        inFlight.release();
+                        if (ex != null) {
+                            errors.put(event.getId(), describe(ex));
+                            log.error("Kafka publish failed | id={} | will retry | message={}", event.getId(), ex.getMessage());
+                        }
+                    });
+        } catch (Exception ex) {
+            inFlight.release();
+            errors.put(event.getId(), describe(ex));
+            log.error("Kafka publish failed | id={} | will retry", event.getId(), ex);
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private CompletableFuture<SendResult<String, byte[]>> sendRecord(CustomerOutboxEvent event, byte[] payload) {
+        if (!CustomerRegisteredEvent.OUTBOX_EVENT_TYPE.equals(event.getEventType())) {
+            return kafkaTemplate.send(KAFKA_TOPIC, event.getAggregateId(), payload);
+        }
+        ProducerRecord<String, byte[]> record = new ProducerRecord<>(customerRegisteredTopic, event.getAggregateId(), payload);
+        record.headers().add(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME,
+                CustomerRegisteredEvent.class.getName().getBytes(StandardCharsets.UTF_8));
+        return kafkaTemplate.send(record);
+    }
+
+    /**
+     * Waits for a round's sends until the batch deadline. False when the deadline passed or the
+     * thread was interrupted, which ends the batch after this round.
+     */
+    private boolean awaitAcks(List<CompletableFuture<?>> futures, long deadline) {
+        try {
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                    .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (TimeoutException e) {
+            log.warn("Kafka acks timed out | workerId={} | timeoutMs={} | unacknowledged events are retried", workerId, sendTimeoutMs);
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            // Individual failures were recorded in send(); acknowledged messages are still marked
+            return true;
+        }
+    }
+
+    private void scheduleRetries(List<CustomerOutboxEvent> failed, Map<Long, String> errors) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxRetry> retries = new ArrayList<>(failed.size());
+        for (CustomerOutboxEvent event : failed) {
+            int attempts = (event.getRetryCount() != null ? event.getRetryCount() : 0) + 1;
+            String error = errors.getOrDefault(event.getId(), "no broker ack within " + sendTimeoutMs + "ms");
+            if (retryPolicy.exhausted(attempts)) {
+                retries.add(new OutboxRetry(event.getId(), OUTBOX_STATUS_FAILED, attempts, null, error));
+                deadLettered.increment();
+                log.warn("Outbox event dead-lettered | id={} | aggregateId={} | attempts={} | lastError={}",
+                        event.getId(), event.getAggregateId(), attempts, error);
+            } else {
+                retries.add(new OutboxRetry(event.getId(), OUTBOX_STATUS_NEW, attempts,
+                        retryPolicy.nextAttemptAt(attempts, now), error));
+                retried.increment();
             }
         }
+        claimRepository.scheduleRetries(workerId, retries);
+    }
+
+    private static String describe(Throwable ex) {
+        Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+        String error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        return error.length() <= LAST_ERROR_LENGTH ? error : error.substring(0, LAST_ERROR_LENGTH);
+    }
+
+    private static String defaultWorkerId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "customer-service";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
     }
 }
@@ -0,0 +1,123 @@
+package com.customer.main.event;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.customer.main.repository.CustomerOutboxRetentionRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps customer_outbox_event from growing without bound: SENT and COMPACTED rows older than
+ * the retention period are deleted in small batches, each in its own short transaction, with a
+ * pause between batches so purging never competes with the drainers for long.
+ *
+ * A run stops after max-batches and the rest is picked up by the next run, so a large backlog
+ * after enabling retention is worked off gradually.
+ */
+@Component
+public class CustomerOutboxRetention {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerOutboxRetention.class);
+
+    // Rows that are done with: published, or folded into a published message by compaction
+    private static final List<String> PURGED_STATUSES = List.of("SENT", "COMPACTED");
+
+    private final CustomerOutboxRetentionRepository retentionRepository;
+    private final boolean enabled;
+    private final long sentRetentionHours;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long pauseMs;
+    private final Map<String, Counter> purged = new HashMap<>();
+
+    public CustomerOutboxRetention(CustomerOutboxRetentionRepository retentionRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${customer.outbox.retention.enabled:true}") boolean enabled,
+                                   @Value("${customer.outbox.retention.sent-hours:168}") long sentRetentionHours,
+                                   @Value("${customer.outbox.retention.batch-size:1000}") int batchSize,
+                                   @Value("${customer.outbox.retention.max-batches:500}") int maxBatches,
+                                   @Value("${customer.outbox.retention.pause-ms:50}") long pauseMs) {
+        this.retentionRepository = retentionRepository;
+        this.enabled = enabled;
+        this.sentRetentionHours = sentRetentionHours;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+        this.pauseMs = pauseMs;
+        for (String status : PURGED_STATUSES) {
+            purged.put(status, Counter.builder("customer.outbox.purged")
+                    .description("Outbox rows deleted by retention")
+                    .tag("status", status)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${customer.outbox.retention.purge-delay-ms:600000}",
+               initialDelayString = "${customer.outbox.retention.purge-delay-ms:600000}")
+    public void purgeExpired() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            purgeSentBefore(LocalDateTime.now().minusHours(sentRetentionHours));
+        } catch (Exception e) {
+            log.error("Outbox purge failed | message={}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deletes SENT, then COMPACTED rows created before {@code cutoff}, batch by batch, at most
+     * max-batches in total. Returns the number of rows deleted.
+     */
+    long purgeSentBefore(LocalDateTime cutoff) {
+        long deleted = 0;
+        int batches = 0;
+        for (String status : PURGED_STATUSES) {
+            if (Thread.currentThread().isInterrupted()) {
+                break;
+            }
+            long startTime = System.currentTimeMillis();
+            long statusDeleted = 0;
+            int statusBatches = 0;
+            while (batches < maxBatches) {
+                int count = retentionRepository.purgeBatch(status, cutoff, batchSize);
+                batches++;
+                statusBatches++;
+                statusDeleted += count;
+                purged.get(status).increment(count);
+                if (count < batchSize || !pause()) {
+                    break;
+                }
+            }
+            deleted += statusDeleted;
+            if (statusDeleted > 0) {
+                log.info("Outbox purge | status={} | cutoff={} | deleted={} | batches={} | executionTime={}ms",
+                        status, cutoff, statusDeleted, statusBatches, System.currentTimeMillis() - startTime);
+            }
+        }
+        return deleted;
+    }
+
+    // False when interrupted, which ends the run
+    private boolean pause() {
+        if (pauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
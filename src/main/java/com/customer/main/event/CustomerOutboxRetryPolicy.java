@@ -0,0 +1,55 @@
+package com.customer.main.event;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backoff for outbox events whose publish failed. The n-th failure waits between half and all of
+ * min(max-ms, base-ms * 2^(n-1)) ("equal jitter"), so events that failed together do not all
+ * come back in the same drain. After max-attempts failures the event is dead-lettered (FAILED)
+ * and only an operator requeue puts it back.
+ */
+@Component
+public class CustomerOutboxRetryPolicy {
+
+    private final long baseMs;
+    private final long maxMs;
+    private final int maxAttempts;
+
+    public CustomerOutboxRetryPolicy(@Value("${customer.outbox.retry.base-ms:1000}") long baseMs,
+                                     @Value("${customer.outbox.retry.max-ms:300000}") long maxMs,
+                                     @Value("${customer.outbox.retry.max-attempts:10}") int maxAttempts) {
+        this.baseMs = Math.max(1, baseMs);
+        this.maxMs = Math.max(this.baseMs, maxMs);
+        this.maxAttempts = Math.max(1, maxAttempts);
+    }
+
+    /**
+     * True when an event that has now failed {@code attempts} times should be dead-lettered.
+     */
+    public boolean exhausted(int attempts) {
+        return attempts >= maxAttempts;
+    }
+
+    /**
+     * Earliest time an event that has failed {@code attempts} times may be claimed again.
+     */
+    public LocalDateTime nextAttemptAt(int attempts, LocalDateTime now) {
+        return now.plusNanos(TimeUnit.MILLISECONDS.toNanos(delayMs(attempts)));
+    }
+
+    long delayMs(int attempts) {
+        int shift = Math.min(Math.max(0, attempts - 1), 30);
+        long ceiling = Math.min(maxMs, baseMs << shift);
+        long half = ceiling / 2;
+        return half + ThreadLocalRandom.current().nextLong(ceiling - half + 1);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+}
@@ -0,0 +1,53 @@
+package com.customer.main.event;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * In-process wake-up for the outbox drainer. Writers call {@link #signalAfterCommit()} after
+ * saving outbox rows; the signal fires once the surrounding transaction commits (never on
+ * rollback) so the drainer only wakes up for rows it can actually see.
+ *
+ * Signals coalesce: any number of commits while the drainer is busy leave a single pending
+ * wake-up, and the next drain picks up all of their rows.
+ */
+@Component
+public class CustomerOutboxSignal {
+
+    private final Semaphore pending = new Semaphore(0);
+
+    /**
+     * Signals after the current transaction commits, or right away when there is none.
+     */
+    public void signalAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            signal();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                signal();
+            }
+        });
+    }
+
+    public void signal() {
+        if (pending.availablePermits() == 0) {
+            pending.release();
+        }
+    }
+
+    /**
+     * Waits until signalled or until the timeout passes. Returns true when signalled.
+     */
+    boolean await(long timeoutMs) throws InterruptedException {
+        boolean signalled = pending.tryAcquire(timeoutMs, TimeUnit.MILLISECONDS);
+        pending.drainPermits();
+        return signalled;
+    }
+}
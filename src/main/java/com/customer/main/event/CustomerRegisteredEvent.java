@@ -19,11 +19,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class CustomerRegisteredEvent {
 
-    public CustomerRegisteredEvent(Long customerId2, String customerUuid2, String firstName2, String lastName2,
-			String panNumber2, String aadhaarNumber2, String email2, Object object, CustomerStatus status2,
-			LocalDateTime createdDate2) {
-		// TODO Auto-generated constructor stub
-	}
+	// Outbox event type of an event CustomerEventPublisher spilled; the payload is this class as JSON
+	public static final String OUTBOX_EVENT_TYPE = "CUSTOMER_REGISTERED_NOTIFICATION";
+
 	private Long customerId;
     private String customerUuid;
     private String firstName;
@@ -0,0 +1,118 @@
+package com.customer.main.mapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.customer.main.dto.AddressDto;
+import com.customer.main.dto.CustomerRequestDto;
+import com.customer.main.dto.CustomerResponseDto;
+import com.customer.main.dto.EmploymentDetailsDto;
+import com.customer.main.entity.Address;
+import com.customer.main.entity.AddressType;
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerStatus;
+import com.customer.main.entity.EmploymentDetails;
+import com.customer.main.entity.MaskingUtil;
+import com.customer.main.repository.CustomerSummary;
+
+/**
+ * Hand-written Customer entity/DTO mappers (plain getters and setters, no reflection).
+ * Responses always carry masked PAN and Aadhaar.
+ */
+public final class CustomerMapper {
+
+    private CustomerMapper() {}
+
+    public static CustomerResponseDto toResponse(Customer customer) {
+        CustomerResponseDto dto = new CustomerResponseDto();
+        dto.setCustomerId(customer.getCustomerId());
+        dto.setCustomerUuid(customer.getCustomerUuid());
+        dto.setFirstName(customer.getFirstName());
+        dto.setLastName(customer.getLastName());
+        dto.setGender(customer.getGender());
+        dto.setDateOfBirth(customer.getDateOfBirth());
+        dto.setEmail(customer.getEmail());
+        dto.setMobileNumber(customer.getMobile() != null ? customer.getMobile().toString() : null);
+        dto.setPanNumber(MaskingUtil.maskPan(customer.getPanNumber()));
+        dto.setAadhaarNumber(MaskingUtil.maskAadhaar(customer.getAadhaarNumber()));
+        dto.setStatus(customer.getStatus());
+        dto.setActive(customer.getStatus() == CustomerStatus.ACTIVE);
+        dto.setCreatedDate(customer.getCreatedDate());
+        dto.setUpdatedDate(customer.getUpdatedDate());
+        return dto;
+    }
+
+    /**
+     * Same response as {@link #toResponse(Customer)}, from a list/search projection row.
+     */
+    public static CustomerResponseDto toResponse(CustomerSummary summary) {
+        CustomerResponseDto dto = new CustomerResponseDto();
+        dto.setCustomerId(summary.customerId());
+        dto.setCustomerUuid(summary.customerUuid());
+        dto.setFirstName(summary.firstName());
+        dto.setLastName(summary.lastName());
+        dto.setGender(summary.gender());
+        dto.setDateOfBirth(summary.dateOfBirth());
+        dto.setEmail(summary.email());
+        dto.setMobileNumber(summary.mobile() != null ? summary.mobile().toString() : null);
+        dto.setPanNumber(MaskingUtil.maskPan(summary.panNumber()));
+        dto.setAadhaarNumber(MaskingUtil.maskAadhaar(summary.aadhaarNumber()));
+        dto.setStatus(summary.status());
+        dto.setActive(summary.status() == CustomerStatus.ACTIVE);
+        dto.setCreatedDate(summary.createdDate());
+        dto.setUpdatedDate(summary.updatedDate());
+        return dto;
+    }
+
+    public static Customer toEntity(CustomerRequestDto dto) {
+        Customer customer = new Customer();
+        customer.setFirstName(dto.getFirstName());
+        customer.setLastName(dto.getLastName());
+        customer.setGender(dto.getGender());
+        customer.setDateOfBirth(dto.getDateOfBirth());
+        customer.setEmail(dto.getEmail());
+        customer.setMobile(Long.parseLong(dto.getMobileNumber()));
+        customer.setPanNumber(dto.getPanNumber());
+        customer.setAadhaarNumber(dto.getAadhaarNumber());
+        applyAddressAndEmployment(dto, customer);
+        return customer;
+    }
+
+    /**
+     * Copies address and employment details from the DTO into the entity and maintains the
+     * bi-directional relationships.
+     */
+    public static void applyAddressAndEmployment(CustomerRequestDto dto, Customer customer) {
+        // Address (convert single DTO to list of addresses)
+        AddressDto addressDto = dto.getAddress();
+        List<Address> addresses = new ArrayList<>();
+        if (addressDto != null) {
+            Address address = new Address();
+            address.setType(AddressType.CURRENT);
+            address.setHouseNo(addressDto.getHouseNo());
+            address.setCity(addressDto.getCity());
+            address.setState(addressDto.getState());
+            address.setPincode(addressDto.getPincode());
+            address.setCustomer(customer);
+            addresses.add(address);
+        }
+        customer.setAddresses(addresses);
+
+        // Employment details
+        EmploymentDetailsDto empDto = dto.getEmploymentDetails();
+        if (empDto != null) {
+            EmploymentDetails employmentDetails = customer.getEmploymentDetails();
+            if (employmentDetails == null) {
+                employmentDetails = new EmploymentDetails();
+            }
+            employmentDetails.setEmploymentType(empDto.getEmploymentType());
+            employmentDetails.setCompanyName(empDto.getCompanyName());
+            employmentDetails.setMonthlyIncome(empDto.getMonthlyIncome());
+            employmentDetails.setTotalExperience(empDto.getTotalExperience());
+            employmentDetails.setCustomer(customer);
+            customer.setEmploymentDetails(employmentDetails);
+        } else {
+            customer.setEmploymentDetails(null);
+        }
+    }
+}
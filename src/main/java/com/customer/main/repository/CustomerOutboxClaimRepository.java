@@ -0,0 +1,228 @@
+package com.customer.main.repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.customer.main.constant.CustomerConstants;
+import com.customer.main.entity.CustomerOutboxEvent;
+
+/**
+ * Lease-based claiming of outbox rows so several service replicas can drain the outbox
+ * without publishing the same event twice.
+ *
+ * A claim locks candidate NEW rows with FOR UPDATE SKIP LOCKED, keeps only events that
+ * preserve per-aggregate ordering (see {@link #orderedPrefix}), and stamps them with the
+ * worker id and a lease expiry. A worker that dies simply lets its lease expire.
+ *
+ * Events that failed to publish are not claimable before their next_attempt_at, and dead-lettered
+ * (FAILED) events not until they are requeued. Both still count as pending for their aggregate, so
+ * they hold back only their own aggregate's newer events, never other aggregates, and a requeued
+ * event goes out before them.
+ */
+@Repository
+public class CustomerOutboxClaimRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerOutboxClaimRepository.class);
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Claims up to {@code limit} NEW events for {@code workerId} until {@code leaseUntil}.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public List<CustomerOutboxEvent> claimBatch(String workerId, int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("now", now);
+        params.put("limit", limit);
+        List<CustomerOutboxEvent> candidates = namedParameterJdbcTemplate.query(
+                CustomerConstants.FIND_CLAIMABLE_OUTBOX_EVENTS, params, (rs, rowNum) -> mapEvent(rs));
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        Set<String> aggregateIds = new HashSet<>();
+        long maxId = 0;
+        for (CustomerOutboxEvent event : candidates) {
+            aggregateIds.add(event.getAggregateId());
+            maxId = Math.max(maxId, event.getId());
+        }
+        Map<String, Object> pendingParams = new HashMap<>();
+        pendingParams.put("aggregateIds", aggregateIds);
+        pendingParams.put("maxId", maxId);
+        Map<String, List<Long>> pendingIds = new HashMap<>();
+        namedParameterJdbcTemplate.query(CustomerConstants.FIND_PENDING_OUTBOX_IDS_FOR_AGGREGATES, pendingParams,
+                rs -> {
+                    pendingIds.computeIfAbsent(rs.getString("aggregate_id"), k -> new ArrayList<>()).add(rs.getLong("id"));
+                });
+
+        List<CustomerOutboxEvent> claimed = orderedPrefix(candidates, pendingIds);
+        if (!claimed.isEmpty()) {
+            Map<String, Object> claimParams = new HashMap<>();
+            claimParams.put("workerId", workerId);
+            claimParams.put("leaseUntil", leaseUntil);
+            claimParams.put("ids", claimed.stream().map(CustomerOutboxEvent::getId).toList());
+            namedParameterJdbcTemplate.update(CustomerConstants.CLAIM_OUTBOX_EVENTS, claimParams);
+            claimed.forEach(event -> {
+                event.setClaimedBy(workerId);
+                event.setLeaseUntil(leaseUntil);
+            });
+        }
+        log.debug("claimBatch | workerId={} | candidates={} | claimed={}", workerId, candidates.size(), claimed.size());
+        return claimed;
+    }
+
+    /**
+     * Writes the outcome of failed publishes in one JDBC batch: each event goes back to NEW with a
+     * next_attempt_at (backoff) or to FAILED (dead-lettered), and this worker's lease is dropped.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int scheduleRetries(String workerId, List<OutboxRetry> retries) {
+        if (retries.isEmpty()) {
+            return 0;
+        }
+        SqlParameterSource[] params = new SqlParameterSource[retries.size()];
+        for (int i = 0; i < retries.size(); i++) {
+            OutboxRetry retry = retries.get(i);
+            params[i] = new MapSqlParameterSource()
+                    .addValue("id", retry.id())
+                    .addValue("workerId", workerId)
+                    .addValue("status", retry.status())
+                    .addValue("retryCount", retry.retryCount())
+                    .addValue("nextAttemptAt", retry.nextAttemptAt())
+                    .addValue("lastError", retry.lastError());
+        }
+        int updated = 0;
+        for (int count : namedParameterJdbcTemplate.batchUpdate(CustomerConstants.RESCHEDULE_OUTBOX_EVENT, params)) {
+            updated += Math.max(0, count);
+        }
+        return updated;
+    }
+
+    /**
+     * Drops this worker's lease on events it did not attempt (held back behind an older event of
+     * their aggregate that failed), leaving retry_count and next_attempt_at untouched.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int releaseClaims(String workerId, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> params = new HashMap<>();
+        params.put("workerId", workerId);
+        params.put("ids", ids);
+        return namedParameterJdbcTemplate.update(CustomerConstants.RELEASE_OUTBOX_CLAIMS, params);
+    }
+
+    /**
+     * Puts the given dead-lettered events back to NEW with a fresh retry budget. Ids that are not
+     * FAILED are ignored. Returns the number of requeued events.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int requeueFailed(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update(CustomerConstants.REQUEUE_FAILED_OUTBOX_EVENTS_BY_IDS, Map.of("ids", ids));
+    }
+
+    /**
+     * Requeues up to {@code limit} dead-lettered events, oldest first.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int requeueAllFailed(int limit) {
+        return namedParameterJdbcTemplate.update(CustomerConstants.REQUEUE_FAILED_OUTBOX_EVENTS, Map.of("limit", limit));
+    }
+
+    @Transactional(readOnly = true)
+    public long countFailed() {
+        Long count = namedParameterJdbcTemplate.queryForObject(CustomerConstants.COUNT_FAILED_OUTBOX_EVENTS, Map.of(), Long.class);
+        return count != null ? count : 0;
+    }
+
+    /**
+     * Number of NEW events and the creation time of the oldest one (null when the outbox is drained).
+     */
+    @Transactional(readOnly = true)
+    public OutboxBacklog findBacklog() {
+        return namedParameterJdbcTemplate.queryForObject(CustomerConstants.FIND_OUTBOX_BACKLOG, Map.of(),
+                (rs, rowNum) -> {
+                    Timestamp oldest = rs.getTimestamp("oldest_created_at");
+                    return new OutboxBacklog(rs.getLong("depth"), oldest != null ? oldest.toLocalDateTime() : null);
+                });
+    }
+
+    /**
+     * Keeps, per aggregate, only the candidates that form an unbroken run from that aggregate's
+     * oldest pending (NEW or FAILED) event. If an older event is leased by (or locked by) another worker, none of the
+     * aggregate's newer events are claimed, so one aggregate is only ever drained by one worker
+     * and in id order.
+     *
+     * @param candidates     events locked by this claim, ordered by id
+     * @param pendingIds     all NEW and FAILED event ids per aggregate up to the highest candidate id, ascending
+     */
+    public static List<CustomerOutboxEvent> orderedPrefix(List<CustomerOutboxEvent> candidates,
+                                                          Map<String, List<Long>> pendingIds) {
+        Map<String, List<CustomerOutboxEvent>> byAggregate = new LinkedHashMap<>();
+        for (CustomerOutboxEvent event : candidates) {
+            byAggregate.computeIfAbsent(event.getAggregateId(), k -> new ArrayList<>()).add(event);
+        }
+        Set<Long> claimable = new HashSet<>();
+        for (Map.Entry<String, List<CustomerOutboxEvent>> entry : byAggregate.entrySet()) {
+            Iterator<Long> pending = pendingIds.getOrDefault(entry.getKey(), List.of()).iterator();
+            for (CustomerOutboxEvent event : entry.getValue()) {
+                if (!pending.hasNext() || !pending.next().equals(event.getId())) {
+                    break;
+                }
+                claimable.add(event.getId());
+            }
+        }
+        List<CustomerOutboxEvent> claimed = new ArrayList<>(claimable.size());
+        for (CustomerOutboxEvent event : candidates) {
+            if (claimable.contains(event.getId())) {
+                claimed.add(event);
+            }
+        }
+        return claimed;
+    }
+
+    private static CustomerOutboxEvent mapEvent(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        CustomerOutboxEvent event = new CustomerOutboxEvent(rs.getLong("id"), rs.getString("aggregate_id"),
+                rs.getString("event_type"), rs.getBytes("payload"), rs.getString("status"),
+                createdAt != null ? createdAt.toLocalDateTime() : null);
+        event.setRetryCount(rs.getInt("retry_count"));
+        Timestamp nextAttemptAt = rs.getTimestamp("next_attempt_at");
+        event.setNextAttemptAt(nextAttemptAt != null ? nextAttemptAt.toLocalDateTime() : null);
+        return event;
+    }
+
+    /**
+     * Outcome of one failed publish: status NEW with nextAttemptAt, or FAILED once retries are exhausted.
+     */
+    public record OutboxRetry(long id, String status, int retryCount, LocalDateTime nextAttemptAt, String lastError) {
+    }
+
+    public record OutboxBacklog(long depth, LocalDateTime oldestCreatedAt) {
+    }
+}
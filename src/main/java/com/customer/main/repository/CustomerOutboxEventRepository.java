@@ -1,13 +1,31 @@
 package com.customer.main.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.customer.main.constant.CustomerConstants;
 import com.customer.main.entity.CustomerOutboxEvent;
 
 public interface CustomerOutboxEventRepository extends JpaRepository<CustomerOutboxEvent, Long> {
 	
-	List<CustomerOutboxEvent> findTop50ByStatusOrderByCreatedAtAsc(String status);
+	// Oldest first; batch size comes from the Pageable (customer.outbox.batch-size)
+	List<CustomerOutboxEvent> findByStatusOrderByCreatedAtAsc(String status, Pageable pageable);
+
+	// Skips rows whose lease this worker lost; returns the number of rows actually marked
+	@Modifying
+	@Transactional
+	@Query(value = CustomerConstants.UPDATE_OUTBOX_STATUS_BY_IDS, nativeQuery = true)
+	int updateStatusByIds(@Param("ids") Collection<Long> ids,
+	        @Param("status") String status,
+	        @Param("workerId") String workerId,
+	        @Param("processedAt") LocalDateTime processedAt);
 
 }
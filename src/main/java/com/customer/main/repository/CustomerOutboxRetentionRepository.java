@@ -0,0 +1,46 @@
+package com.customer.main.repository;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.customer.main.constant.CustomerConstants;
+
+/**
+ * Deletes outbox rows past their retention, one small batch per transaction.
+ *
+ * Ids are read through idx_outbox_status_created and deleted by primary key, so a batch only
+ * locks the rows it removes and never the NEW rows the drainers are claiming.
+ */
+@Repository
+public class CustomerOutboxRetentionRepository {
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    /**
+     * Deletes up to {@code limit} rows in {@code status} created before {@code cutoff}, oldest first.
+     * Returns the number of rows deleted; fewer than {@code limit} means nothing older is left.
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int purgeBatch(String status, LocalDateTime cutoff, int limit) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("status", status);
+        params.put("cutoff", cutoff);
+        params.put("limit", limit);
+        List<Long> ids = namedParameterJdbcTemplate.queryForList(CustomerConstants.FIND_EXPIRED_OUTBOX_IDS, params, Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        Map<String, Object> deleteParams = new HashMap<>();
+        deleteParams.put("ids", ids);
+        deleteParams.put("status", status);
+        return namedParameterJdbcTemplate.update(CustomerConstants.DELETE_OUTBOX_EVENTS_BY_IDS, deleteParams);
+    }
+}
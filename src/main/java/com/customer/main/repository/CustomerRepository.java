@@ -2,10 +2,11 @@ package com.customer.main.repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -15,7 +16,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 import com.customer.main.constant.CustomerConstants;
 import com.customer.main.entity.Customer;
-import com.customer.main.entity.CustomerStatus;
 
 /**
  * Repository for Customer entity. All SQL is defined in {@link CustomerConstants}.
@@ -80,6 +80,12 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
         return countByMobile(mobile) > 0;
     }
 
+    // ---------- Fetch plans ----------
+    // Plain finders load the customer row only (associations are lazy). Paths that read or replace
+    // addresses / employment details load the whole aggregate in one joined select instead.
+    @EntityGraph(attributePaths = {"addresses", "employmentDetails"})
+    Optional<Customer> findWithDetailsByCustomerId(Long customerId);
+
     // ---------- Find by unique keys ----------
     @Query(value = CustomerConstants.FIND_BY_PAN_NUMBER, nativeQuery = true)
     Optional<Customer> findByPanNumber(@Param("panNumber") String panNumber);
@@ -90,22 +96,19 @@ public interface CustomerRepository extends JpaRepository<Customer, Long> {
     @Query(value = CustomerConstants.FIND_BY_CUSTOMER_UUID, nativeQuery = true)
     Optional<Customer> findByCustomerUuid(@Param("customerUuid") String customerUuid);
 
-    // ---------- Find by status (paginated) ----------
-    @Query(value = CustomerConstants.FIND_BY_STATUS,
-           countQuery = CustomerConstants.COUNT_BY_STATUS,
-           nativeQuery = true)
-    Page<Customer> findByStatus(@Param("status") String status, Pageable pageable);
-
-    // ---------- Search by name, PAN, or email ----------
-    @Query(value = CustomerConstants.SEARCH_BY_NAME_PAN_EMAIL,
-           countQuery = CustomerConstants.COUNT_SEARCH_BY_NAME_PAN_EMAIL,
-           nativeQuery = true)
-    Page<Customer> searchByNameOrPanOrEmail(@Param("q") String searchTerm, Pageable pageable);
-
-    // Helper: pass enum name for native query (status column is string)
-    default Page<Customer> findByStatus(CustomerStatus status, Pageable pageable) {
-        return findByStatus(status.name(), pageable);
-    }
+    @Query(value = CustomerConstants.FIND_BY_CUSTOMER_UUIDS, nativeQuery = true)
+    List<Customer> findByCustomerUuidIn(@Param("customerUuids") Collection<String> customerUuids);
+
+    @Query(value = CustomerConstants.FIND_BY_PAN_NUMBERS, nativeQuery = true)
+    List<Customer> findByPanNumberIn(@Param("panNumbers") Collection<String> panNumbers);
+
+    // ---------- Cache warm-up ----------
+    @Query(value = CustomerConstants.FIND_RECENTLY_UPDATED_IDS_BY_STATUS, nativeQuery = true)
+    List<Long> findRecentlyUpdatedIdsByStatus(@Param("status") String status, @Param("limit") int limit);
+
+    @Query(value = CustomerConstants.FIND_BY_IDS_AND_STATUS, nativeQuery = true)
+    List<Customer> findByCustomerIdInAndStatus(@Param("customerIds") Collection<Long> customerIds,
+                                               @Param("status") String status);
 
     @Query(value = CustomerConstants.COUNT_BY_UID, nativeQuery = true)
     long countByUId(@Param("aadhaarnumber") String uid);
@@ -1,49 +1,96 @@
 package com.customer.main.repository;
 
+import java.sql.Savepoint;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.customer.main.constant.CustomerConstants;
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerOutboxEvent;
+import com.customer.main.entity.IdentityField;
 import com.customer.main.entity.MaskingUtil;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
- * Custom implementation for native SQL operations on Customer entity with comprehensive logging.
- * Provides INSERT and UPDATE operations with real-time SQL execution logging.
+ * Custom implementation for native SQL operations on Customer entity.
+ * Every statement is timed through {@link RepositoryInstrumentation}; only slow, failed or
+ * sampled calls are logged, plus a periodic per-statement summary.
  */
 @Repository
 public class CustomerRepositoryImpl {
 
     private static final Logger log = LoggerFactory.getLogger(CustomerRepositoryImpl.class);
 
+    // ---------- Instrumented statements (SQL formatted for logs once, here) ----------
+    static final SqlStatement INSERT_CUSTOMER = SqlStatement.of("INSERT_CUSTOMER", CustomerConstants.INSERT_CUSTOMER);
+    static final SqlStatement UPDATE_CUSTOMER = SqlStatement.of("UPDATE_CUSTOMER", CustomerConstants.UPDATE_CUSTOMER);
+    static final SqlStatement COUNT_BY_PAN_NUMBER = SqlStatement.of("COUNT_BY_PAN_NUMBER", CustomerConstants.COUNT_BY_PAN_NUMBER);
+    static final SqlStatement COUNT_BY_EMAIL = SqlStatement.of("COUNT_BY_EMAIL", CustomerConstants.COUNT_BY_EMAIL);
+    static final SqlStatement COUNT_BY_MOBILE = SqlStatement.of("COUNT_BY_MOBILE", CustomerConstants.COUNT_BY_MOBILE);
+    static final SqlStatement FIND_IDENTITY_CONFLICTS =
+            SqlStatement.of("FIND_IDENTITY_CONFLICTS", CustomerConstants.FIND_IDENTITY_CONFLICTS);
+    static final SqlStatement FIND_IDENTITY_CONFLICTS_EXCLUDING =
+            SqlStatement.of("FIND_IDENTITY_CONFLICTS_EXCLUDING", CustomerConstants.FIND_IDENTITY_CONFLICTS_EXCLUDING);
+    static final SqlStatement FIND_IDENTITY_KEYS_IN = SqlStatement.of("FIND_IDENTITY_KEYS_IN", CustomerConstants.FIND_IDENTITY_KEYS_IN);
+    static final SqlStatement FIND_IDENTITY_KEYS_AFTER_ID =
+            SqlStatement.of("FIND_IDENTITY_KEYS_AFTER_ID", CustomerConstants.FIND_IDENTITY_KEYS_AFTER_ID);
+    static final SqlStatement FIND_SEARCH_FIELDS_AFTER_ID =
+            SqlStatement.of("FIND_SEARCH_FIELDS_AFTER_ID", CustomerConstants.FIND_SEARCH_FIELDS_AFTER_ID);
+    static final SqlStatement FIND_SEARCH_FIELDS_UPDATED_AFTER =
+            SqlStatement.of("FIND_SEARCH_FIELDS_UPDATED_AFTER", CustomerConstants.FIND_SEARCH_FIELDS_UPDATED_AFTER);
+    static final SqlStatement FIND_SUMMARY_PAGE = SqlStatement.of("FIND_SUMMARY_PAGE", CustomerConstants.FIND_SUMMARY_PAGE);
+    static final SqlStatement FIND_SUMMARY_PAGE_BY_STATUS =
+            SqlStatement.of("FIND_SUMMARY_PAGE_BY_STATUS", CustomerConstants.FIND_SUMMARY_PAGE_BY_STATUS);
+    static final SqlStatement FIND_FIRST_PAGE = SqlStatement.of("FIND_FIRST_PAGE", CustomerConstants.FIND_FIRST_PAGE);
+    static final SqlStatement FIND_PAGE_AFTER = SqlStatement.of("FIND_PAGE_AFTER", CustomerConstants.FIND_PAGE_AFTER);
+    static final SqlStatement FIND_FIRST_PAGE_BY_STATUS =
+            SqlStatement.of("FIND_FIRST_PAGE_BY_STATUS", CustomerConstants.FIND_FIRST_PAGE_BY_STATUS);
+    static final SqlStatement FIND_PAGE_BY_STATUS_AFTER =
+            SqlStatement.of("FIND_PAGE_BY_STATUS_AFTER", CustomerConstants.FIND_PAGE_BY_STATUS_AFTER);
+    static final SqlStatement SEARCH_SUMMARIES = SqlStatement.of("SEARCH_SUMMARIES", CustomerConstants.SEARCH_SUMMARIES);
+    static final SqlStatement FIND_SUMMARIES_BY_UUIDS =
+            SqlStatement.of("FIND_SUMMARIES_BY_UUIDS", CustomerConstants.FIND_SUMMARIES_BY_UUIDS);
+    static final SqlStatement COUNT_CUSTOMERS = SqlStatement.of("COUNT_CUSTOMERS", CustomerConstants.COUNT_CUSTOMERS);
+    static final SqlStatement COUNT_BY_STATUS = SqlStatement.of("COUNT_BY_STATUS", CustomerConstants.COUNT_BY_STATUS);
+    static final SqlStatement COUNT_SEARCH = SqlStatement.of("COUNT_SEARCH", CustomerConstants.COUNT_SEARCH_BY_NAME_PAN_EMAIL);
+    static final SqlStatement BATCH_INSERT_ENQUIRIES =
+            SqlStatement.of("BATCH_INSERT_ENQUIRIES", CustomerConstants.INSERT_CUSTOMER + "; " + CustomerConstants.INSERT_OUTBOX_EVENT);
+
     @Autowired
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
 
+    @Autowired
+    private RepositoryInstrumentation instrumentation;
+
     /**
-     * Save customer with custom SQL INSERT and comprehensive logging
+     * Save customer with custom SQL INSERT
      */
     @Transactional(rollbackFor = Exception.class)
     public void saveCustomerNative(String firstName, String lastName, String gender, LocalDate dateOfBirth,
             String email, Long mobile, String panNumber, String aadhaarNumber, String customerUuid,
             String status, LocalDateTime createdDate, LocalDateTime updatedDate) {
 
-        log.info("========== REPOSITORY: saveCustomerNative EXECUTED ==========");
-        log.info("Query: INSERT_CUSTOMER");
-        log.info("SQL Query: {}", formatSql(CustomerConstants.INSERT_CUSTOMER));
-        log.info("Parameters: firstName={}, lastName={}, gender={}, dateOfBirth={}, email={}, mobile={}, panNumber={}, aadhaarNumber={}, customerUuid={}, status={}, createdDate={}, updatedDate={}",
-                firstName, lastName, gender, dateOfBirth, email, mobile,
-                MaskingUtil.maskPan(panNumber), MaskingUtil.maskAadhaar(aadhaarNumber), customerUuid, status,
-                createdDate, updatedDate);
-
-        long startTime = System.currentTimeMillis();
+        long startTime = instrumentation.start();
         try {
             Map<String, Object> params = new HashMap<>();
             params.put("firstName", firstName);
@@ -59,37 +106,23 @@ public class CustomerRepositoryImpl {
             params.put("createdDate", createdDate);
             params.put("updatedDate", updatedDate);
 
-            namedParameterJdbcTemplate.update(CustomerConstants.INSERT_CUSTOMER, params);
-
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.info("Status: SUCCESS | Execution Time: {}ms | customerUuid: {} | Record Inserted", executionTime, customerUuid);
-            log.info("========== REPOSITORY: saveCustomerNative END ==========");
+            namedParameterJdbcTemplate.update(INSERT_CUSTOMER.getSql(), params);
+            instrumentation.success(INSERT_CUSTOMER, startTime, customerUuid);
         } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.error("Status: FAILED | Exception: {} | Message: {} | Execution Time: {}ms",
-                    e.getClass().getSimpleName(), e.getMessage(), executionTime);
-            log.error("Stack Trace: ", e);
-            log.info("========== REPOSITORY: saveCustomerNative END (WITH ERROR) ==========");
+            instrumentation.failure(INSERT_CUSTOMER, startTime, customerUuid, e);
             throw new RuntimeException("Failed to save customer", e);
         }
     }
 
     /**
-     * Update customer with custom SQL UPDATE and comprehensive logging
+     * Update customer with custom SQL UPDATE
      */
     @Transactional(rollbackFor = Exception.class)
     public int updateCustomerNative(Long customerId, String firstName, String lastName, String gender,
             LocalDate dateOfBirth, String email, Long mobile, String panNumber, String aadhaarNumber,
             String status, LocalDateTime updatedDate) {
 
-        log.info("========== REPOSITORY: updateCustomerNative EXECUTED ==========");
-        log.info("SQL Constant: UPDATE_CUSTOMER");
-        log.info("SQL Query: {}", formatSql(CustomerConstants.UPDATE_CUSTOMER));
-        log.info("Parameters: customerId={}, firstName={}, lastName={}, gender={}, dateOfBirth={}, email={}, mobile={}, panNumber={}, aadhaarNumber={}, status={}, updatedDate={}",
-                customerId, firstName, lastName, gender, dateOfBirth, email, mobile,
-                MaskingUtil.maskPan(panNumber), MaskingUtil.maskAadhaar(aadhaarNumber), status, updatedDate);
-
-        long startTime = System.currentTimeMillis();
+        long startTime = instrumentation.start();
         try {
             Map<String, Object> params = new HashMap<>();
             params.put("customerId", customerId);
@@ -104,60 +137,24 @@ public class CustomerRepositoryImpl {
             params.put("status", status);
             params.put("updatedDate", updatedDate);
 
-            int rowsAffected = namedParameterJdbcTemplate.update(CustomerConstants.UPDATE_CUSTOMER, params);
-
-            long executionTime = System.currentTimeMillis() - startTime;
-            
-            if (rowsAffected > 0) {
-                log.info("Status: SUCCESS | Rows Affected: {} | Execution Time: {}ms | customerId: {} | Record Updated", rowsAffected, executionTime, customerId);
-            } else {
-                log.warn("Status: NO ROWS AFFECTED | Rows Affected: 0 | Execution Time: {}ms | customerId: {} | No matching record found", executionTime, customerId);
+            int rowsAffected = namedParameterJdbcTemplate.update(UPDATE_CUSTOMER.getSql(), params);
+            instrumentation.success(UPDATE_CUSTOMER, startTime, customerId);
+            if (rowsAffected == 0) {
+                log.warn("updateCustomerNative | customerId={} | No matching record found", customerId);
             }
-            
-            log.info("========== REPOSITORY: updateCustomerNative END ==========");
             return rowsAffected;
         } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.error("Status: FAILED | Exception: {} | Message: {} | Execution Time: {}ms | customerId: {}",
-                    e.getClass().getSimpleName(), e.getMessage(), executionTime, customerId);
-            log.error("Stack Trace: ", e);
-            log.info("========== REPOSITORY: updateCustomerNative END (WITH ERROR) ==========");
+            instrumentation.failure(UPDATE_CUSTOMER, startTime, customerId, e);
             throw new RuntimeException("Failed to update customer", e);
         }
     }
 
     /**
-     * Format SQL for better readability in logs
-     */
-    private String formatSql(String sql) {
-        if (sql == null) return "";
-        return sql.replaceAll("\\s+", " ").trim();
-    }
-
-    /**
-     * Count customers by PAN number with logging
+     * Count customers by PAN number
      */
     @Transactional(readOnly = true)
     public long countByPanNumber(String panNumber) {
-        log.debug("ENTER :: countByPanNumber | panNumber={}", MaskingUtil.maskPan(panNumber));
-        long startTime = System.currentTimeMillis();
-        try {
-            Map<String, Object> params = new HashMap<>();
-            params.put("panNumber", panNumber);
-            
-            Long count = namedParameterJdbcTemplate.queryForObject(
-                    CustomerConstants.COUNT_BY_PAN_NUMBER, params, Long.class);
-            
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.debug("EXIT :: countByPanNumber | panNumber={} | count={} | executionTime={}ms", 
-                    MaskingUtil.maskPan(panNumber), count != null ? count : 0, executionTime);
-            return count != null ? count : 0;
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.error("ERROR :: countByPanNumber | panNumber={} | Exception: {} | ExecutionTime={}ms",
-                    MaskingUtil.maskPan(panNumber), e.getClass().getSimpleName(), executionTime);
-            return 0;
-        }
+        return count(COUNT_BY_PAN_NUMBER, "panNumber", panNumber, MaskingUtil.maskPan(panNumber));
     }
 
     /**
@@ -172,29 +169,11 @@ public class CustomerRepositoryImpl {
     }
 
     /**
-     * Count customers by email with logging
+     * Count customers by email
      */
     @Transactional(readOnly = true)
     public long countByEmail(String email) {
-        log.debug("ENTER :: countByEmail | email={}", email);
-        long startTime = System.currentTimeMillis();
-        try {
-            Map<String, Object> params = new HashMap<>();
-            params.put("email", email);
-            
-            Long count = namedParameterJdbcTemplate.queryForObject(
-                    CustomerConstants.COUNT_BY_EMAIL, params, Long.class);
-            
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.debug("EXIT :: countByEmail | email={} | count={} | executionTime={}ms", 
-                    email, count != null ? count : 0, executionTime);
-            return count != null ? count : 0;
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.error("ERROR :: countByEmail | email={} | Exception: {} | ExecutionTime={}ms",
-                    email, e.getClass().getSimpleName(), executionTime);
-            return 0;
-        }
+        return count(COUNT_BY_EMAIL, "email", email, email);
     }
 
     /**
@@ -209,29 +188,11 @@ public class CustomerRepositoryImpl {
     }
 
     /**
-     * Count customers by mobile number with logging
+     * Count customers by mobile number
      */
     @Transactional(readOnly = true)
     public long countByMobile(Long mobile) {
-        log.debug("ENTER :: countByMobile | mobile={}", mobile);
-        long startTime = System.currentTimeMillis();
-        try {
-            Map<String, Object> params = new HashMap<>();
-            params.put("mobile", mobile);
-            
-            Long count = namedParameterJdbcTemplate.queryForObject(
-                    CustomerConstants.COUNT_BY_MOBILE, params, Long.class);
-            
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.debug("EXIT :: countByMobile | mobile={} | count={} | executionTime={}ms", 
-                    mobile, count != null ? count : 0, executionTime);
-            return count != null ? count : 0;
-        } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.error("ERROR :: countByMobile | mobile={} | Exception: {} | ExecutionTime={}ms",
-                    mobile, e.getClass().getSimpleName(), executionTime);
-            return 0;
-        }
+        return count(COUNT_BY_MOBILE, "mobile", mobile, mobile);
     }
 
     /**
@@ -244,4 +205,283 @@ public class CustomerRepositoryImpl {
         log.debug("EXIT :: existsByMobile | mobile={} | exists={}", mobile, exists);
         return exists;
     }
+
+    // COUNT lookups degrade to 0 on failure, as before; the failure is still recorded and logged
+    private long count(SqlStatement statement, String paramName, Object value, Object logKey) {
+        long startTime = instrumentation.start();
+        try {
+            Map<String, Object> params = new HashMap<>();
+            params.put(paramName, value);
+            Long count = namedParameterJdbcTemplate.queryForObject(statement.getSql(), params, Long.class);
+            instrumentation.success(statement, startTime, logKey);
+            return count != null ? count : 0;
+        } catch (Exception e) {
+            instrumentation.failure(statement, startTime, logKey, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Single-query duplicate check: returns every identity field (PAN, Aadhaar, email, mobile)
+     * already used by some customer, replacing four sequential COUNT queries.
+     */
+    @Transactional(readOnly = true)
+    public Set<IdentityField> findIdentityConflicts(String panNumber, String aadhaarNumber, String email, Long mobile) {
+        return identityConflicts(FIND_IDENTITY_CONFLICTS, identityParams(panNumber, aadhaarNumber, email, mobile), panNumber);
+    }
+
+    /**
+     * As {@link #findIdentityConflicts}, ignoring customer {@code customerId}'s own row (update path).
+     */
+    @Transactional(readOnly = true)
+    public Set<IdentityField> findIdentityConflicts(Long customerId, String panNumber, String aadhaarNumber,
+                                                    String email, Long mobile) {
+        Map<String, Object> params = identityParams(panNumber, aadhaarNumber, email, mobile);
+        params.put("customerId", customerId);
+        return identityConflicts(FIND_IDENTITY_CONFLICTS_EXCLUDING, params, panNumber);
+    }
+
+    private static Map<String, Object> identityParams(String panNumber, String aadhaarNumber, String email, Long mobile) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("panNumber", panNumber);
+        params.put("aadhaarNumber", aadhaarNumber);
+        params.put("email", email);
+        params.put("mobile", mobile);
+        return params;
+    }
+
+    private Set<IdentityField> identityConflicts(SqlStatement statement, Map<String, Object> params, String panNumber) {
+        long startTime = instrumentation.start();
+        Set<IdentityField> conflicts = namedParameterJdbcTemplate.queryForObject(
+                statement.getSql(), params, (rs, rowNum) -> {
+                    Set<IdentityField> found = EnumSet.noneOf(IdentityField.class);
+                    if (rs.getLong("pan_count") > 0) {
+                        found.add(IdentityField.PAN);
+                    }
+                    if (rs.getLong("aadhaar_count") > 0) {
+                        found.add(IdentityField.AADHAAR);
+                    }
+                    if (rs.getLong("email_count") > 0) {
+                        found.add(IdentityField.EMAIL);
+                    }
+                    if (rs.getLong("mobile_count") > 0) {
+                        found.add(IdentityField.MOBILE);
+                    }
+                    return found;
+                });
+
+        instrumentation.success(statement, startTime, MaskingUtil.maskPan(panNumber));
+        return conflicts != null ? conflicts : EnumSet.noneOf(IdentityField.class);
+    }
+
+    /**
+     * Stream identity columns (customer_id, PAN, Aadhaar, email, mobile) for up to {@code limit}
+     * customers with customer_id greater than {@code lastId}, in id order.
+     */
+    @Transactional(readOnly = true)
+    public void findIdentityKeysAfter(long lastId, int limit, RowCallbackHandler handler) {
+        long startTime = instrumentation.start();
+        Map<String, Object> params = new HashMap<>();
+        params.put("lastId", lastId);
+        params.put("limit", limit);
+        namedParameterJdbcTemplate.query(FIND_IDENTITY_KEYS_AFTER_ID.getSql(), params, handler);
+        instrumentation.success(FIND_IDENTITY_KEYS_AFTER_ID, startTime, lastId);
+    }
+
+    /**
+     * Stream searchable columns (customer_id, uuid, names, PAN, email) for up to {@code limit}
+     * customers with customer_id greater than {@code lastId}, in id order.
+     */
+    @Transactional(readOnly = true)
+    public void findSearchFieldsAfter(long lastId, int limit, RowCallbackHandler handler) {
+        long startTime = instrumentation.start();
+        Map<String, Object> params = new HashMap<>();
+        params.put("lastId", lastId);
+        params.put("limit", limit);
+        namedParameterJdbcTemplate.query(FIND_SEARCH_FIELDS_AFTER_ID.getSql(), params, handler);
+        instrumentation.success(FIND_SEARCH_FIELDS_AFTER_ID, startTime, lastId);
+    }
+
+    /**
+     * Stream searchable columns plus updated_date for up to {@code limit} customers updated after
+     * ({@code updatedDate}, {@code lastId}), in (updated_date, customer_id) order.
+     */
+    @Transactional(readOnly = true)
+    public void findSearchFieldsUpdatedAfter(LocalDateTime updatedDate, long lastId, int limit, RowCallbackHandler handler) {
+        long startTime = instrumentation.start();
+        Map<String, Object> params = new HashMap<>();
+        params.put("updatedDate", updatedDate);
+        params.put("lastId", lastId);
+        params.put("limit", limit);
+        namedParameterJdbcTemplate.query(FIND_SEARCH_FIELDS_UPDATED_AFTER.getSql(), params, handler);
+        instrumentation.success(FIND_SEARCH_FIELDS_UPDATED_AFTER, startTime, updatedDate);
+    }
+
+    // ---------- List / search pages as CustomerSummary projections ----------
+    @Transactional(readOnly = true)
+    public List<CustomerSummary> findSummaryPage(long offset, int limit) {
+        return summaries(FIND_SUMMARY_PAGE, Map.of("offset", offset, "limit", limit), offset);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerSummary> findSummaryPageByStatus(String status, long offset, int limit) {
+        return summaries(FIND_SUMMARY_PAGE_BY_STATUS, Map.of("status", status, "offset", offset, "limit", limit), status);
+    }
+
+    /**
+     * Keyset page, newest first; a null {@code createdDate} returns the first page.
+     */
+    @Transactional(readOnly = true)
+    public List<CustomerSummary> findSummariesAfter(LocalDateTime createdDate, Long customerId, int limit) {
+        if (createdDate == null) {
+            return summaries(FIND_FIRST_PAGE, Map.of("limit", limit), "first");
+        }
+        return summaries(FIND_PAGE_AFTER,
+                Map.of("createdDate", createdDate, "customerId", customerId, "limit", limit), customerId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerSummary> findSummariesByStatusAfter(String status, LocalDateTime createdDate, Long customerId,
+            int limit) {
+        if (createdDate == null) {
+            return summaries(FIND_FIRST_PAGE_BY_STATUS, Map.of("status", status, "limit", limit), status);
+        }
+        return summaries(FIND_PAGE_BY_STATUS_AFTER,
+                Map.of("status", status, "createdDate", createdDate, "customerId", customerId, "limit", limit), customerId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerSummary> searchSummaries(String searchTerm, long offset, int limit) {
+        return summaries(SEARCH_SUMMARIES, Map.of("q", searchTerm, "offset", offset, "limit", limit), offset);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CustomerSummary> findSummariesByUuids(Collection<String> customerUuids) {
+        return summaries(FIND_SUMMARIES_BY_UUIDS, Map.of("customerUuids", customerUuids), "uuids=" + customerUuids.size());
+    }
+
+    @Transactional(readOnly = true)
+    public long countCustomers() {
+        return pageCount(COUNT_CUSTOMERS, Map.of(), "all");
+    }
+
+    @Transactional(readOnly = true)
+    public long countCustomersByStatus(String status) {
+        return pageCount(COUNT_BY_STATUS, Map.of("status", status), status);
+    }
+
+    @Transactional(readOnly = true)
+    public long countSearchMatches(String searchTerm) {
+        return pageCount(COUNT_SEARCH, Map.of("q", searchTerm), "search");
+    }
+
+    private List<CustomerSummary> summaries(SqlStatement statement, Map<String, ?> params, Object logKey) {
+        long startTime = instrumentation.start();
+        try {
+            List<CustomerSummary> rows = namedParameterJdbcTemplate.query(statement.getSql(), params, CustomerSummary.ROW_MAPPER);
+            instrumentation.success(statement, startTime, logKey);
+            return rows;
+        } catch (RuntimeException e) {
+            instrumentation.failure(statement, startTime, logKey, e);
+            throw e;
+        }
+    }
+
+    // Unlike count(...), page totals must not silently turn into 0
+    private long pageCount(SqlStatement statement, Map<String, ?> params, Object logKey) {
+        long startTime = instrumentation.start();
+        try {
+            Long count = namedParameterJdbcTemplate.queryForObject(statement.getSql(), params, Long.class);
+            instrumentation.success(statement, startTime, logKey);
+            return count != null ? count : 0;
+        } catch (RuntimeException e) {
+            instrumentation.failure(statement, startTime, logKey, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Bulk duplicate check for the enquiry batch: one IN query per call. Returns the registered
+     * values per identity field (email lower-cased, mobile as string). Every list must be non-empty.
+     */
+    @Transactional(readOnly = true)
+    public Map<IdentityField, Set<String>> findExistingIdentityKeys(Collection<String> panNumbers,
+            Collection<String> aadhaarNumbers, Collection<String> emails, Collection<Long> mobiles) {
+        long startTime = instrumentation.start();
+        Map<String, Object> params = new HashMap<>();
+        params.put("panNumbers", panNumbers);
+        params.put("aadhaarNumbers", aadhaarNumbers);
+        params.put("emails", emails);
+        params.put("mobiles", mobiles);
+
+        Map<IdentityField, Set<String>> existing = new EnumMap<>(IdentityField.class);
+        for (IdentityField field : IdentityField.values()) {
+            existing.put(field, new HashSet<>());
+        }
+        namedParameterJdbcTemplate.query(FIND_IDENTITY_KEYS_IN.getSql(), params, rs -> {
+            existing.get(IdentityField.PAN).add(rs.getString("pan_number"));
+            existing.get(IdentityField.AADHAAR).add(rs.getString("aadhaar_number"));
+            String email = rs.getString("email");
+            if (email != null) {
+                existing.get(IdentityField.EMAIL).add(email.toLowerCase(Locale.ROOT));
+            }
+            existing.get(IdentityField.MOBILE).add(rs.getString("mobile"));
+        });
+        instrumentation.success(FIND_IDENTITY_KEYS_IN, startTime, "probedPans=" + panNumbers.size());
+        return existing;
+    }
+
+    /**
+     * Inserts enquiry customers and their outbox rows with two JDBC batches in one transaction
+     * (set rewriteBatchedStatements=true on the MySQL URL to get multi-row INSERTs).
+     * A unique-key violation rolls back the whole batch, to a savepoint on the transaction's
+     * connection: a caller's transaction stays usable, so it can re-check and retry. (Spring's
+     * NESTED propagation is not available here: HibernateJpaDialect does not do savepoints.)
+     */
+    @Transactional(rollbackFor = Exception.class, noRollbackFor = DataIntegrityViolationException.class)
+    public void batchInsertEnquiries(List<Customer> customers, List<CustomerOutboxEvent> outboxEvents) {
+        long startTime = instrumentation.start();
+        SqlParameterSource[] customerParams = new SqlParameterSource[customers.size()];
+        for (int i = 0; i < customers.size(); i++) {
+            Customer c = customers.get(i);
+            customerParams[i] = new MapSqlParameterSource()
+                    .addValue("firstName", c.getFirstName())
+                    .addValue("lastName", c.getLastName())
+                    .addValue("gender", c.getGender())
+                    .addValue("dateOfBirth", c.getDateOfBirth())
+                    .addValue("email", c.getEmail())
+                    .addValue("mobile", c.getMobile())
+                    .addValue("panNumber", c.getPanNumber())
+                    .addValue("aadhaarNumber", c.getAadhaarNumber())
+                    .addValue("customerUuid", c.getCustomerUuid())
+                    .addValue("status", c.getStatus().name())
+                    .addValue("createdDate", c.getCreatedDate())
+                    .addValue("updatedDate", c.getUpdatedDate());
+        }
+        SqlParameterSource[] outboxParams = new SqlParameterSource[outboxEvents.size()];
+        for (int i = 0; i < outboxEvents.size(); i++) {
+            CustomerOutboxEvent e = outboxEvents.get(i);
+            outboxParams[i] = new MapSqlParameterSource()
+                    .addValue("aggregateId", e.getAggregateId())
+                    .addValue("eventType", e.getEventType())
+                    .addValue("payload", e.getPayload())
+                    .addValue("status", e.getStatus())
+                    .addValue("retryCount", e.getRetryCount())
+                    .addValue("createdAt", e.getCreatedAt());
+        }
+
+        namedParameterJdbcTemplate.getJdbcOperations().execute((ConnectionCallback<Void>) connection -> {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                namedParameterJdbcTemplate.batchUpdate(CustomerConstants.INSERT_CUSTOMER, customerParams);
+                namedParameterJdbcTemplate.batchUpdate(CustomerConstants.INSERT_OUTBOX_EVENT, outboxParams);
+            } catch (DataIntegrityViolationException e) {
+                connection.rollback(savepoint);
+                throw e;
+            }
+            connection.releaseSavepoint(savepoint);
+            return null;
+        });
+        instrumentation.success(BATCH_INSERT_ENQUIRIES, startTime, "customers=" + customers.size());
+    }
 }
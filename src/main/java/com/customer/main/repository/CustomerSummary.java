@@ -0,0 +1,47 @@
+package com.customer.main.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import com.customer.main.entity.CustomerStatus;
+
+/**
+ * Read-only row for list and search pages: the customer columns CustomerResponseDto needs
+ * (CustomerConstants.CUSTOMER_SUMMARY_COLUMNS), mapped straight from JDBC. No persistence
+ * context, no dirty-check snapshot and no association loading.
+ */
+public record CustomerSummary(
+        Long customerId,
+        String customerUuid,
+        String firstName,
+        String lastName,
+        String gender,
+        LocalDate dateOfBirth,
+        String email,
+        Long mobile,
+        String panNumber,
+        String aadhaarNumber,
+        CustomerStatus status,
+        LocalDateTime createdDate,
+        LocalDateTime updatedDate) {
+
+    static final RowMapper<CustomerSummary> ROW_MAPPER = (rs, rowNum) -> {
+        String status = rs.getString("status");
+        return new CustomerSummary(
+                rs.getLong("customer_id"),
+                rs.getString("customer_uuid"),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getString("gender"),
+                rs.getObject("date_of_birth", LocalDate.class),
+                rs.getString("email"),
+                rs.getObject("mobile", Long.class),
+                rs.getString("pan_number"),
+                rs.getString("aadhaar_number"),
+                status != null ? CustomerStatus.valueOf(status) : null,
+                rs.getObject("created_date", LocalDateTime.class),
+                rs.getObject("updated_date", LocalDateTime.class));
+    };
+}
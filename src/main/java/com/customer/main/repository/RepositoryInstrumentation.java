@@ -0,0 +1,114 @@
+package com.customer.main.repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records per-statement timings for CustomerRepositoryImpl and decides what gets logged:
+ * slow statements (WARN, with the pre-formatted SQL), one sampled call in every
+ * {@code log-sample-every} (INFO), failures (ERROR), and a periodic one-line summary
+ * per statement. Nothing else is logged on the hot path.
+ *
+ * Each statement also feeds a {@code customer.repository.query} timer (tags: query, outcome)
+ * with a percentile histogram, so the same latencies are available at /actuator/prometheus.
+ */
+@Component
+public class RepositoryInstrumentation {
+
+    private static final Logger log = LoggerFactory.getLogger(RepositoryInstrumentation.class);
+
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final long sampleEvery;
+    private final Map<SqlStatement, Long> lastReportedCount = new HashMap<>();
+    private final ReentrantLock summaryLock = new ReentrantLock();
+    private final Map<SqlStatement, Timer> successTimers = new ConcurrentHashMap<>();
+    private final Map<SqlStatement, Timer> failureTimers = new ConcurrentHashMap<>();
+
+    public RepositoryInstrumentation(
+            MeterRegistry meterRegistry,
+            @Value("${customer.repository.slow-query-ms:200}") long slowQueryMs,
+            @Value("${customer.repository.log-sample-every:1000}") long sampleEvery) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMs);
+        this.sampleEvery = sampleEvery;
+    }
+
+    public long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * @param key short, already-masked identifier for the log line (uuid, id, masked PAN)
+     */
+    public void success(SqlStatement statement, long startNanos, Object key) {
+        long elapsed = System.nanoTime() - startNanos;
+        statement.getLatency().record(elapsed);
+        successTimers.computeIfAbsent(statement, s -> timer(s, "success")).record(elapsed, TimeUnit.NANOSECONDS);
+        long call = statement.nextCall();
+        if (elapsed >= slowQueryNanos) {
+            log.warn("Slow query | query={} | elapsedMs={} | key={} | sql={}",
+                    statement.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed), key, statement.getFormattedSql());
+        } else if (sampleEvery > 0 && call % sampleEvery == 0) {
+            log.info("Query sample | query={} | elapsedUs={} | key={} | calls={}",
+                    statement.getName(), TimeUnit.NANOSECONDS.toMicros(elapsed), key, call);
+        }
+    }
+
+    public void failure(SqlStatement statement, long startNanos, Object key, Exception e) {
+        long elapsed = System.nanoTime() - startNanos;
+        statement.getLatency().record(elapsed);
+        failureTimers.computeIfAbsent(statement, s -> timer(s, "failure")).record(elapsed, TimeUnit.NANOSECONDS);
+        statement.nextCall();
+        statement.recordFailure();
+        log.error("Query failed | query={} | elapsedMs={} | key={} | errorType={} | message={} | sql={}",
+                statement.getName(), TimeUnit.NANOSECONDS.toMillis(elapsed), key, e.getClass().getSimpleName(),
+                e.getMessage(), statement.getFormattedSql(), e);
+    }
+
+    /**
+     * One line per statement that ran since the previous summary.
+     */
+    @Scheduled(fixedDelayString = "${customer.repository.stats-log-ms:60000}")
+    public void logSummary() {
+        summaryLock.lock();
+        try {
+            for (SqlStatement statement : SqlStatement.registered()) {
+                long count = statement.getLatency().count();
+                Long previous = lastReportedCount.put(statement, count);
+                if (count == 0 || (previous != null && previous == count)) {
+                    continue;
+                }
+                log.info("Query stats | query={} | count={} | failures={} | meanUs={} | p50Us={} | p99Us={} | maxUs={}",
+                        statement.getName(), count, statement.getFailures(),
+                        Math.round(statement.getLatency().meanNanos() / 1000),
+                        TimeUnit.NANOSECONDS.toMicros(statement.getLatency().percentileNanos(50)),
+                        TimeUnit.NANOSECONDS.toMicros(statement.getLatency().percentileNanos(99)),
+                        TimeUnit.NANOSECONDS.toMicros(statement.getLatency().maxNanos()));
+            }
+        } finally {
+            summaryLock.unlock();
+        }
+    }
+
+    private Timer timer(SqlStatement statement, String outcome) {
+        return Timer.builder("customer.repository.query")
+                .description("CustomerRepositoryImpl statement latency")
+                .tag("query", statement.getName())
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,69 @@
+package com.customer.main.repository;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.customer.main.util.LatencyHistogram;
+
+/**
+ * A named SQL statement with its one-line log form (formatted once, at class init of the
+ * declaring repository) and its process-wide timing statistics.
+ */
+public final class SqlStatement {
+
+    private static final List<SqlStatement> REGISTERED = new CopyOnWriteArrayList<>();
+
+    private final String name;
+    private final String sql;
+    private final String formattedSql;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder failures = new LongAdder();
+    private final AtomicLong calls = new AtomicLong();
+
+    private SqlStatement(String name, String sql) {
+        this.name = name;
+        this.sql = sql;
+        this.formattedSql = sql.replaceAll("\\s+", " ").trim();
+    }
+
+    public static SqlStatement of(String name, String sql) {
+        SqlStatement statement = new SqlStatement(name, sql);
+        REGISTERED.add(statement);
+        return statement;
+    }
+
+    public static List<SqlStatement> registered() {
+        return List.copyOf(REGISTERED);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public String getFormattedSql() {
+        return formattedSql;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /** Call sequence number, used to pick sampled log lines. */
+    long nextCall() {
+        return calls.incrementAndGet();
+    }
+
+    void recordFailure() {
+        failures.increment();
+    }
+}
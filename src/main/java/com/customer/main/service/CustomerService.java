@@ -1,8 +1,13 @@
 package com.customer.main.service;
 
+import java.util.List;
+
 import com.customer.main.dto.CustomerEnquiryRequestDto;
+import com.customer.main.dto.CustomerLookupRequestDto;
+import com.customer.main.dto.CustomerLookupResponseDto;
 import com.customer.main.dto.CustomerRequestDto;
 import com.customer.main.dto.CustomerResponseDto;
+import com.customer.main.dto.EnquiryBatchResponseDto;
 import com.customer.main.dto.PageResponseDto;
 import com.customer.main.entity.CustomerStatus;
 
@@ -17,6 +22,13 @@ public interface CustomerService {
      */
     CustomerResponseDto createCustomerEnquiry(CustomerEnquiryRequestDto dto);
 
+    /**
+     * Bulk enquiry ingestion for partner channels. Rows are validated and duplicate-checked in bulk;
+     * accepted rows are inserted with their outbox events in one JDBC batch. One bad row never fails
+     * the batch: each row is reported as CREATED, DUPLICATE or INVALID.
+     */
+    EnquiryBatchResponseDto createCustomerEnquiries(List<CustomerEnquiryRequestDto> dtos);
+
     /**
      * Step 2: Complete KYC and enrich customer with address and employment details.
      * Typically called by bank-side application after positive CIBIL / in-branch KYC.
@@ -36,10 +48,22 @@ public interface CustomerService {
 
     CustomerResponseDto getCustomerByEmail(String email);
 
+    /**
+     * Multi-get by any mix of ids, UUIDs and PANs. Cache hits are read in one bulk call and the
+     * misses are loaded with one IN query per key type; every requested key gets a result, in
+     * request order, marked FOUND or NOT_FOUND.
+     */
+    CustomerLookupResponseDto lookupCustomers(CustomerLookupRequestDto request);
+
     PageResponseDto<CustomerResponseDto> getAllCustomers(int page, int size);
 
     PageResponseDto<CustomerResponseDto> getCustomersByStatus(CustomerStatus status, int page, int size);
 
+    /** Keyset page, newest first; a blank cursor returns the first page. */
+    PageResponseDto<CustomerResponseDto> getAllCustomersAfter(String cursor, int size);
+
+    PageResponseDto<CustomerResponseDto> getCustomersByStatusAfter(CustomerStatus status, String cursor, int size);
+
     PageResponseDto<CustomerResponseDto> searchCustomers(String searchTerm, int page, int size);
 
     CustomerResponseDto updateCustomerStatus(Long id, CustomerStatus status);
@@ -0,0 +1,249 @@
+package com.customer.main.serviceImpl;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.customer.main.cache.CustomerIndexedCache;
+import com.customer.main.dto.CustomerResponseDto;
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerStatus;
+import com.customer.main.mapper.CustomerMapper;
+import com.customer.main.repository.CustomerRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pre-populates the customers cache after a deploy so the first minutes of uuid/PAN/email reads do
+ * not all fall through to MySQL.
+ *
+ * The warm set is the hot set persisted by the previous run (customer ids, hottest first, taken
+ * from the cache's own frequency sketch) topped up with the most recently updated ACTIVE
+ * customers. Batches load in parallel; readiness waits at most {@code deadline-ms} and anything
+ * still running finishes in the background. Entries go in with putIfAbsent so a value cached by
+ * a live request is never replaced.
+ */
+@Component
+public class CustomerCacheWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerCacheWarmer.class);
+
+    private final CustomerRepository customerRepository;
+    private final CustomerIndexedCache customerCache;
+    private final boolean enabled;
+    private final int maxCustomers;
+    private final int batchSize;
+    private final int parallelism;
+    private final long deadlineMs;
+    private final Path hotSetFile;
+
+    private volatile ExecutorService warmupExecutor;
+    // The hot set is only persisted once warm-up finished, otherwise a restart would save a cold cache
+    private volatile boolean warmed;
+
+    public CustomerCacheWarmer(
+            CustomerRepository customerRepository,
+            CustomerIndexedCache customerCache,
+            @Value("${customer.cache.warmup.enabled:true}") boolean enabled,
+            @Value("${customer.cache.warmup.max-customers:200}") int maxCustomers,
+            @Value("${customer.cache.warmup.batch-size:50}") int batchSize,
+            @Value("${customer.cache.warmup.parallelism:4}") int parallelism,
+            @Value("${customer.cache.warmup.deadline-ms:10000}") long deadlineMs,
+            @Value("${customer.cache.warmup.hot-set-file:}") String hotSetFile) {
+        this.customerRepository = customerRepository;
+        this.customerCache = customerCache;
+        this.enabled = enabled;
+        this.maxCustomers = Math.max(0, maxCustomers);
+        this.batchSize = Math.max(1, batchSize);
+        this.parallelism = Math.max(1, parallelism);
+        this.deadlineMs = deadlineMs;
+        this.hotSetFile = hotSetFile == null || hotSetFile.isBlank() ? null : Paths.get(hotSetFile);
+    }
+
+    /**
+     * Runs before readiness flips to ACCEPTING_TRAFFIC (listeners of ApplicationReadyEvent complete
+     * first), bounded by the deadline.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmOnStartup() {
+        if (!enabled || maxCustomers == 0) {
+            warmed = true;
+            log.info("Cache warm-up disabled");
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        CompletableFuture<Integer> warmup;
+        try {
+            warmup = startWarmup();
+        } catch (Exception e) {
+            warmed = true;
+            log.error("Cache warm-up failed | message={}", e.getMessage(), e);
+            return;
+        }
+        try {
+            int customers = warmup.get(deadlineMs, TimeUnit.MILLISECONDS);
+            log.info("Cache warm-up complete | customers={} | cacheEntries={} | executionTime={}ms",
+                    customers, customerCache.getNativeCache().estimatedSize(), System.currentTimeMillis() - startTime);
+        } catch (TimeoutException e) {
+            log.warn("Cache warm-up passed its deadline, continuing in background | deadlineMs={}", deadlineMs);
+        } catch (ExecutionException e) {
+            log.error("Cache warm-up failed | message={}", e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    CompletableFuture<Integer> startWarmup() {
+        List<Long> customerIds = selectWarmSet();
+        if (customerIds.isEmpty()) {
+            warmed = true;
+            return CompletableFuture.completedFuture(0);
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "cache-warmup-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        warmupExecutor = executor;
+        AtomicInteger warmedCustomers = new AtomicInteger();
+        List<CompletableFuture<Void>> batches = new ArrayList<>();
+        for (int from = 0; from < customerIds.size(); from += batchSize) {
+            List<Long> batch = customerIds.subList(from, Math.min(from + batchSize, customerIds.size()));
+            batches.add(CompletableFuture.runAsync(() -> warmedCustomers.addAndGet(warmBatch(batch)), executor));
+        }
+        return CompletableFuture.allOf(batches.toArray(CompletableFuture[]::new))
+                .handle((ignored, failure) -> {
+                    executor.shutdown();
+                    warmed = true;
+                    if (failure != null) {
+                        log.warn("Cache warm-up batch failed | customersWarmed={} | message={}",
+                                warmedCustomers.get(), failure.getMessage());
+                    }
+                    return warmedCustomers.get();
+                });
+    }
+
+    /**
+     * Persisted hot set first, then the most recently updated ACTIVE customers, up to max-customers.
+     */
+    List<Long> selectWarmSet() {
+        Set<Long> customerIds = new LinkedHashSet<>(readHotSet());
+        if (customerIds.size() < maxCustomers) {
+            customerIds.addAll(customerRepository.findRecentlyUpdatedIdsByStatus(
+                    CustomerStatus.ACTIVE.name(), maxCustomers));
+        }
+        List<Long> warmSet = new ArrayList<>(customerIds);
+        return warmSet.size() > maxCustomers ? warmSet.subList(0, maxCustomers) : warmSet;
+    }
+
+    private int warmBatch(List<Long> customerIds) {
+        long readToken = customerCache.readToken();
+        List<Customer> customers = customerRepository.findByCustomerIdInAndStatus(
+                customerIds, CustomerStatus.ACTIVE.name());
+        for (Customer customer : customers) {
+            customerCache.putIfAbsentUnderAllKeys(CustomerMapper.toResponse(customer), customer.getPanNumber(), readToken);
+        }
+        log.debug("Cache warm-up batch | requested={} | warmed={}", customerIds.size(), customers.size());
+        return customers.size();
+    }
+
+    // ---------- Hot set persistence ----------
+    @Scheduled(fixedDelayString = "${customer.cache.warmup.persist-ms:300000}",
+               initialDelayString = "${customer.cache.warmup.persist-ms:300000}")
+    public void persistHotSet() {
+        if (hotSetFile == null || !warmed) {
+            return;
+        }
+        List<Long> customerIds = hotCustomerIds();
+        if (customerIds.isEmpty()) {
+            return;
+        }
+        try {
+            Path parent = hotSetFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            // Write then rename so a crash mid-write never leaves a truncated hot set behind
+            Path temp = hotSetFile.resolveSibling(hotSetFile.getFileName() + ".tmp");
+            Files.write(temp, customerIds.stream().map(String::valueOf).toList(), StandardCharsets.UTF_8);
+            Files.move(temp, hotSetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.debug("Cache hot set persisted | customers={} | file={}", customerIds.size(), hotSetFile);
+        } catch (IOException e) {
+            log.warn("Cache hot set persist failed | file={} | message={}", hotSetFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ExecutorService executor = warmupExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        persistHotSet();
+    }
+
+    /**
+     * Customer ids behind the cache's most frequently used entries, hottest first. Each customer
+     * sits under up to four keys, so the sketch is sampled for four entries per customer.
+     */
+    List<Long> hotCustomerIds() {
+        Map<Object, Object> hottest = customerCache.getNativeCache().policy().eviction()
+                .map(eviction -> eviction.hottest(maxCustomers * 4))
+                .orElse(Collections.emptyMap());
+        Set<Long> customerIds = new LinkedHashSet<>();
+        for (Object value : hottest.values()) {
+            if (value instanceof CustomerResponseDto response && response.getCustomerId() != null) {
+                customerIds.add(response.getCustomerId());
+                if (customerIds.size() == maxCustomers) {
+                    break;
+                }
+            }
+        }
+        return new ArrayList<>(customerIds);
+    }
+
+    List<Long> readHotSet() {
+        if (hotSetFile == null || !Files.isReadable(hotSetFile)) {
+            return List.of();
+        }
+        List<Long> customerIds = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(hotSetFile, StandardCharsets.UTF_8)) {
+                String trimmed = line.trim();
+                if (!trimmed.isEmpty() && customerIds.size() < maxCustomers) {
+                    customerIds.add(Long.parseLong(trimmed));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Cache hot set unreadable, using recent customers only | file={} | message={}",
+                    hotSetFile, e.getMessage());
+            return List.of();
+        }
+        return customerIds;
+    }
+}
@@ -1,25 +1,48 @@
 package com.customer.main.serviceImpl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.stereotype.Service;
 
 import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerOutboxEvent;
 import com.customer.main.entity.MaskingUtil;
+import com.customer.main.event.CustomerOutboxSignal;
 import com.customer.main.event.CustomerRegisteredEvent;
+import com.customer.main.repository.CustomerOutboxEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
 
 /**
  * INDUSTRY-LEVEL Event Publisher with Async Processing
- * 
+ *
  * This implementation follows enterprise patterns:
  * 1. Database commit happens FIRST (synchronous)
  * 2. Event publishing happens ASYNC (doesn't block customer creation)
  * 3. Kafka failures don't rollback database transactions
  * 4. Failures are logged and monitored
- * 
+ *
+ * Events go through a bounded queue (queue-capacity) drained by one publisher thread in batches
+ * of up to batch-size, with at most max-in-flight unacknowledged sends. When Kafka slows down the
+ * queue fills and the overflow policy decides, in the caller's thread and within a fixed bound:
+ * BLOCK waits up to offer-timeout-ms for space and then drops the event (counted), SPILL writes
+ * it to the outbox table as the same JSON, so the outbox drainer publishes it to this topic instead.
+ *
  * Pattern: SAGA + Event Sourcing (Netflix, Amazon, Uber use this)
  * Benefit: System resilience, eventual consistency, microservices decoupling
  */
@@ -28,28 +51,80 @@ public class CustomerEventPublisher {
 
     private static final Logger log = LoggerFactory.getLogger(CustomerEventPublisher.class);
 
+    public enum OverflowPolicy { BLOCK, SPILL }
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final CustomerOutboxEventRepository outboxEventRepository;
+    private final CustomerOutboxSignal outboxSignal;
+    // Same body spring.kafka.producer.value-serializer (JsonSerializer) writes on the normal path
+    private final JsonSerializer<CustomerRegisteredEvent> spillSerializer = new JsonSerializer<>();
     private final String customerRegisteredTopic;
+    private final BlockingQueue<CustomerRegisteredEvent> queue;
+    private final int batchSize;
+    private final Semaphore inFlight;
+    private final OverflowPolicy overflowPolicy;
+    private final long offerTimeoutMs;
+    private final Counter publishedSuccess;
+    private final Counter publishedFailure;
+    private final Counter overflowSpilled;
+    private final Counter overflowDropped;
+    private final Thread publisherThread;
+    private volatile boolean running = true;
 
     public CustomerEventPublisher(
             KafkaTemplate<String, Object> kafkaTemplate,
-            @Value("${customer.events.customer-registered-topic:customer.registered}") String customerRegisteredTopic) {
+            CustomerOutboxEventRepository outboxEventRepository,
+            CustomerOutboxSignal outboxSignal,
+            MeterRegistry meterRegistry,
+            @Value("${customer.events.customer-registered-topic:customer.registered}") String customerRegisteredTopic,
+            @Value("${customer.events.publisher.queue-capacity:1024}") int queueCapacity,
+            @Value("${customer.events.publisher.batch-size:64}") int batchSize,
+            @Value("${customer.events.publisher.max-in-flight:256}") int maxInFlight,
+            @Value("${customer.events.publisher.overflow:SPILL}") OverflowPolicy overflowPolicy,
+            @Value("${customer.events.publisher.offer-timeout-ms:20}") long offerTimeoutMs) {
         this.kafkaTemplate = kafkaTemplate;
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSignal = outboxSignal;
         this.customerRegisteredTopic = customerRegisteredTopic;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.inFlight = new Semaphore(Math.max(1, maxInFlight));
+        this.overflowPolicy = overflowPolicy;
+        this.offerTimeoutMs = offerTimeoutMs;
+        // Counted on the broker ack, not on send(): send() only queues the record
+        this.publishedSuccess = Counter.builder("customer.events.published")
+                .description("CustomerRegistered events by broker outcome")
+                .tag("topic", customerRegisteredTopic).tag("result", "success").register(meterRegistry);
+        this.publishedFailure = Counter.builder("customer.events.published")
+                .tag("topic", customerRegisteredTopic).tag("result", "failure").register(meterRegistry);
+        this.overflowSpilled = Counter.builder("customer.events.publisher.overflow")
+                .description("Events that found the publisher queue full, by what happened to them")
+                .tag("result", "spilled").register(meterRegistry);
+        this.overflowDropped = Counter.builder("customer.events.publisher.overflow")
+                .tag("result", "dropped").register(meterRegistry);
+        Gauge.builder("customer.events.publisher.queue.size", queue, BlockingQueue::size)
+                .description("Events waiting for the publisher thread")
+                .register(meterRegistry);
+        Gauge.builder("customer.events.publisher.queue.utilization", queue,
+                        q -> (double) q.size() / (q.size() + q.remainingCapacity()))
+                .description("Publisher queue fill ratio (1 = overflow policy applies)")
+                .register(meterRegistry);
+        Gauge.builder("customer.events.publisher.inflight", inFlight,
+                        permits -> Math.max(1, maxInFlight) - permits.availablePermits())
+                .description("Sends waiting for a broker ack")
+                .register(meterRegistry);
+
+        this.publisherThread = new Thread(this::publishLoop, "event-publisher");
+        this.publisherThread.setDaemon(true);
+        this.publisherThread.start();
     }
 
     /**
-     * ASYNC event publishing - decoupled from database transaction
-     * Database transaction commits BEFORE this method is called
-     * If Kafka fails, database transaction is NOT rolled back
-     * 
-     * @Async: Runs in separate thread pool (non-blocking)
+     * Queues the event and returns; never throws into the caller. If the queue is full the
+     * overflow policy applies, so the call takes at most offer-timeout-ms (BLOCK) or one outbox
+     * insert (SPILL).
      */
-    @Async
     public void publishCustomerRegisteredAsync(Customer customer) {
-        log.debug("ASYNC EVENT PUBLISHING STARTED for customerUuid={}", customer.getCustomerUuid());
-        long startTime = System.currentTimeMillis();
-        
         try {
             CustomerRegisteredEvent event = new CustomerRegisteredEvent(
                     customer.getCustomerId(),
@@ -63,29 +138,16 @@ public class CustomerEventPublisher {
                     customer.getStatus(),
                     customer.getCreatedDate()
             );
-
-            kafkaTemplate.send(customerRegisteredTopic, event.getCustomerUuid(), event);
-            
-            long executionTime = System.currentTimeMillis() - startTime;
-            log.info("✅ SUCCESS :: Event Published | topic={} | customerUuid={} | panNumber={} | executionTime={}ms",
-                    customerRegisteredTopic, event.getCustomerUuid(), MaskingUtil.maskPan(customer.getPanNumber()), executionTime);
-            
+            if (queue.offer(event)) {
+                return;
+            }
+            overflow(customer, event);
         } catch (Exception e) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            
+            publishedFailure.increment();
             // ⚠️ IMPORTANT: Exception is caught - doesn't propagate to caller
             // Database transaction already committed - customer is SAVED
-            log.warn("⚠️ WARNING :: Event Publishing Failed | customerUuid={} | topic={} | exception={} | message={} | executionTime={}ms",
-                    customer.getCustomerUuid(), customerRegisteredTopic, e.getClass().getSimpleName(), e.getMessage(), executionTime);
-            
-            log.error("Stack Trace: ", e);
-            
-            // TODO: In production, store failed event in OUTBOX table for retry
-            // This enables eventual consistency pattern
-            // storeEventInOutbox(customer, event, e);
-            
-            // TODO: Send alert to monitoring system
-            // monitoringService.alertEventPublishingFailure(customer.getCustomerUuid());
+            log.warn("⚠️ WARNING :: Event Publishing Failed | customerUuid={} | topic={} | exception={} | message={}",
+                    customer.getCustomerUuid(), customerRegisteredTopic, e.getClass().getSimpleName(), e.getMessage(), e);
         }
     }
 
@@ -99,5 +161,95 @@ public class CustomerEventPublisher {
         log.warn("⚠️ DEPRECATED :: Using synchronous event publishing. Use publishCustomerRegisteredAsync() instead");
         publishCustomerRegisteredAsync(customer);
     }
-}
 
+    private void overflow(Customer customer, CustomerRegisteredEvent event) throws InterruptedException {
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            if (queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            overflowDropped.increment();
+            log.warn("Event publisher queue full, event dropped | customerUuid={} | waitedMs={}",
+                    customer.getCustomerUuid(), offerTimeoutMs);
+            return;
+        }
+        CustomerOutboxEvent outbox = new CustomerOutboxEvent(null, customer.getCustomerUuid(),
+                CustomerRegisteredEvent.OUTBOX_EVENT_TYPE, spillSerializer.serialize(customerRegisteredTopic, event),
+                "NEW", LocalDateTime.now());
+        outboxEventRepository.save(outbox);
+        outboxSignal.signalAfterCommit();
+        overflowSpilled.increment();
+        log.debug("Event publisher queue full, spilled to outbox | customerUuid={}", customer.getCustomerUuid());
+    }
+
+    // ---------- Publisher thread ----------
+    private void publishLoop() {
+        List<CustomerRegisteredEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                CustomerRegisteredEvent first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                for (CustomerRegisteredEvent event : batch) {
+                    send(event);
+                }
+            } catch (InterruptedException e) {
+                if (!running) {
+                    return;
+                }
+            } catch (Exception e) {
+                log.error("Event publisher batch failed | batch={} | message={}", batch.size(), e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Waits for an in-flight slot, so a slow broker holds back the drain and the queue absorbs the burst
+    private void send(CustomerRegisteredEvent event) throws InterruptedException {
+        inFlight.acquire();
+        try {
+            kafkaTemplate.send(customerRegisteredTopic, event.getCustomerUuid(), event)
+                    .whenComplete((result, ex) -> {
+                        inFlight.release();
+                        if (ex == null) {
+                            publishedSuccess.increment();
+                        } else {
+                            publishedFailure.increment();
+                            log.warn("Event publish not acknowledged | customerUuid={} | topic={} | message={}",
+                                    event.getCustomerUuid(), customerRegisteredTopic, ex.getMessage());
+                        }
+                    });
+            log.debug("Event Published | topic={} | customerUuid={} | panNumber={}",
+                    customerRegisteredTopic, event.getCustomerUuid(), MaskingUtil.maskPan(event.getPanNumber()));
+        } catch (Exception e) {
+            inFlight.release();
+            publishedFailure.increment();
+            log.warn("Event publish failed | customerUuid={} | topic={} | message={}",
+                    event.getCustomerUuid(), customerRegisteredTopic, e.getMessage());
+        }
+    }
+
+    /**
+     * Stops taking new work and gives the publisher thread up to five seconds to send what is queued.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            publisherThread.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (publisherThread.isAlive()) {
+            publisherThread.interrupt();
+            log.warn("Event publisher stopped with events still queued | queued={}", queue.size());
+        }
+    }
+
+    int queuedEvents() {
+        return queue.size();
+    }
+}
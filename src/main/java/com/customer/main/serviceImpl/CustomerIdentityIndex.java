@@ -0,0 +1,214 @@
+package com.customer.main.serviceImpl;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.customer.main.entity.IdentityField;
+import com.customer.main.repository.CustomerRepositoryImpl;
+import com.customer.main.util.BloomFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * In-memory uniqueness pre-check for the registration path: one Bloom filter per identity key
+ * (PAN, Aadhaar, email, mobile), loaded from the customer table at startup and fed by the write path.
+ *
+ * A negative answer means the value was never seen here, so the registration duplicate query can
+ * be skipped. A positive answer (or a filter that is not loaded yet) falls back to the database.
+ * The refresh only picks up rows inserted since the last load, not PAN/email/mobile changes made by
+ * updates on other replicas, so the filter is never the final answer: a missed duplicate hits the
+ * unique constraints on insert and is reported as a conflict, and the public exists checks and the
+ * update paths always query the database.
+ */
+@Component
+public class CustomerIdentityIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerIdentityIndex.class);
+
+    private final CustomerRepositoryImpl customerRepositoryImpl;
+    private final boolean enabled;
+    private final int loadBatchSize;
+    private final Map<IdentityField, BloomFilter> filters = new EnumMap<>(IdentityField.class);
+    private final Map<IdentityField, Counter> skippedChecks = new EnumMap<>(IdentityField.class);
+    private final Map<IdentityField, Counter> falsePositives = new EnumMap<>(IdentityField.class);
+    private final Map<IdentityField, Counter> truePositives = new EnumMap<>(IdentityField.class);
+    private final AtomicInteger loaded = new AtomicInteger();
+    // Not synchronized: the loader blocks on JDBC and a monitor would pin a virtual carrier thread
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile boolean ready;
+    private long lastLoadedCustomerId;
+
+    public CustomerIdentityIndex(
+            CustomerRepositoryImpl customerRepositoryImpl,
+            MeterRegistry meterRegistry,
+            @Value("${customer.identity-filter.enabled:true}") boolean enabled,
+            @Value("${customer.identity-filter.expected-insertions:1000000}") long expectedInsertions,
+            @Value("${customer.identity-filter.fpp:0.01}") double fpp,
+            @Value("${customer.identity-filter.load-batch-size:5000}") int loadBatchSize) {
+        this.customerRepositoryImpl = customerRepositoryImpl;
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+
+        for (IdentityField field : IdentityField.values()) {
+            BloomFilter filter = new BloomFilter(expectedInsertions, fpp);
+            filters.put(field, filter);
+            String tag = field.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("customer.identity.filter.fpp", filter, BloomFilter::expectedFpp)
+                    .description("False-positive rate implied by the current bit fill")
+                    .tag("field", tag).register(meterRegistry);
+            Gauge.builder("customer.identity.filter.memory", filter, BloomFilter::memoryBytes)
+                    .description("Bloom filter bit set size").baseUnit("bytes")
+                    .tag("field", tag).register(meterRegistry);
+            skippedChecks.put(field, Counter.builder("customer.identity.filter.checks")
+                    .description("Uniqueness checks by filter outcome")
+                    .tag("field", tag).tag("result", "skipped").register(meterRegistry));
+            falsePositives.put(field, Counter.builder("customer.identity.filter.checks")
+                    .tag("field", tag).tag("result", "false_positive").register(meterRegistry));
+            truePositives.put(field, Counter.builder("customer.identity.filter.checks")
+                    .tag("field", tag).tag("result", "exists").register(meterRegistry));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("Identity filter disabled | uniqueness checks go to the database");
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            loadNewCustomers();
+            ready = true;
+            log.info("Identity filter loaded | customers={} | memoryBytes={} | executionTime={}ms",
+                    loaded.get(), filters.get(IdentityField.PAN).memoryBytes() * filters.size(),
+                    System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("Identity filter load failed | uniqueness checks go to the database | message={}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Picks up customers inserted since the last load (e.g. by other replicas).
+     */
+    @Scheduled(fixedDelayString = "${customer.identity-filter.refresh-ms:60000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        try {
+            loadNewCustomers();
+        } catch (Exception e) {
+            log.warn("Identity filter refresh failed | message={}", e.getMessage());
+        }
+    }
+
+    /**
+     * False only when the value is certainly not registered (skip the DB query).
+     */
+    public boolean mightExist(IdentityField field, String value) {
+        if (!ready || value == null) {
+            return true;
+        }
+        if (filters.get(field).mightContain(normalize(field, value))) {
+            return true;
+        }
+        skippedChecks.get(field).increment();
+        return false;
+    }
+
+    /**
+     * Identity fields whose value might already be registered. Empty means the whole duplicate
+     * check can be skipped.
+     */
+    public Set<IdentityField> candidates(String panNumber, String aadhaarNumber, String email, Long mobile) {
+        Set<IdentityField> candidates = EnumSet.noneOf(IdentityField.class);
+        if (mightExist(IdentityField.PAN, panNumber)) {
+            candidates.add(IdentityField.PAN);
+        }
+        if (mightExist(IdentityField.AADHAAR, aadhaarNumber)) {
+            candidates.add(IdentityField.AADHAAR);
+        }
+        if (mightExist(IdentityField.EMAIL, email)) {
+            candidates.add(IdentityField.EMAIL);
+        }
+        if (mightExist(IdentityField.MOBILE, mobile != null ? mobile.toString() : null)) {
+            candidates.add(IdentityField.MOBILE);
+        }
+        return candidates;
+    }
+
+    /**
+     * Record what the database said after a positive filter answer (feeds the false-positive counter).
+     */
+    public void recordDatabaseAnswer(IdentityField field, boolean exists) {
+        if (!ready) {
+            return;
+        }
+        (exists ? truePositives : falsePositives).get(field).increment();
+    }
+
+    /**
+     * Called by the write path with the identity values being stored. Adding a value that is later
+     * rolled back only costs a false positive.
+     */
+    public void add(String panNumber, String aadhaarNumber, String email, Long mobile) {
+        put(IdentityField.PAN, panNumber);
+        put(IdentityField.AADHAAR, aadhaarNumber);
+        put(IdentityField.EMAIL, email);
+        put(IdentityField.MOBILE, mobile != null ? mobile.toString() : null);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    private void loadNewCustomers() {
+        loadLock.lock();
+        try {
+            int rows;
+            do {
+                long[] lastId = {lastLoadedCustomerId};
+                int[] count = {0};
+                customerRepositoryImpl.findIdentityKeysAfter(lastLoadedCustomerId, loadBatchSize, rs -> {
+                    lastId[0] = rs.getLong("customer_id");
+                    long mobileValue = rs.getLong("mobile");
+                    Long mobile = rs.wasNull() ? null : mobileValue;
+                    add(rs.getString("pan_number"), rs.getString("aadhaar_number"), rs.getString("email"), mobile);
+                    count[0]++;
+                });
+                lastLoadedCustomerId = lastId[0];
+                rows = count[0];
+                loaded.addAndGet(rows);
+            } while (rows == loadBatchSize);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void put(IdentityField field, String value) {
+        if (value != null) {
+            filters.get(field).put(normalize(field, value));
+        }
+    }
+
+    // MySQL's default collation compares email case-insensitively, so the filter must too
+    private static String normalize(IdentityField field, String value) {
+        return field == IdentityField.EMAIL ? value.trim().toLowerCase(Locale.ROOT) : value.trim();
+    }
+}
@@ -0,0 +1,215 @@
+package com.customer.main.serviceImpl;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.customer.main.repository.CustomerRepositoryImpl;
+import com.customer.main.util.TrigramIndex;
+
+/**
+ * Search engine behind CustomerService.searchCustomers: a trigram index over first name, last name,
+ * PAN and email keyed by customerUuid, loaded at startup and fed by the write path.
+ * The periodic refresh re-indexes every row whose updated_date moved (inserts and updates from other
+ * replicas), re-reading the last refresh-overlap-ms each time so transactions that committed late or
+ * replicas with skewed clocks are not missed.
+ *
+ * Matches follow SEARCH_PREDICATE (case-insensitive substring on any of the four fields).
+ * A query that is exactly a registered PAN or email returns that customer alone without touching
+ * the trigram postings. Queries the index cannot answer (shorter than three characters, LIKE
+ * wildcards, index not loaded) return null and the caller falls back to SQL.
+ */
+@Component
+public class CustomerSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerSearchIndex.class);
+
+    private static final Pattern PAN_PATTERN = Pattern.compile("[A-Za-z]{5}[0-9]{4}[A-Za-z]");
+
+    private final CustomerRepositoryImpl customerRepositoryImpl;
+    private final boolean enabled;
+    private final int loadBatchSize;
+    private final long refreshOverlapMs;
+    private final TrigramIndex index = new TrigramIndex();
+    private final Map<String, String> uuidByPan = new ConcurrentHashMap<>();
+    private final Map<String, String> uuidByEmail = new ConcurrentHashMap<>();
+    private final Map<String, String[]> exactKeysByUuid = new ConcurrentHashMap<>();
+    // Not synchronized: the loader blocks on JDBC and a monitor would pin a virtual carrier thread
+    private final ReentrantLock loadLock = new ReentrantLock();
+
+    private volatile boolean ready;
+    private LocalDateTime lastSeenUpdatedDate;
+
+    public CustomerSearchIndex(
+            CustomerRepositoryImpl customerRepositoryImpl,
+            @Value("${customer.search.index.enabled:true}") boolean enabled,
+            @Value("${customer.search.index.load-batch-size:5000}") int loadBatchSize,
+            @Value("${customer.search.index.refresh-overlap-ms:60000}") long refreshOverlapMs) {
+        this.customerRepositoryImpl = customerRepositoryImpl;
+        this.enabled = enabled;
+        this.loadBatchSize = loadBatchSize;
+        this.refreshOverlapMs = refreshOverlapMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (!enabled) {
+            log.info("Search index disabled | searches go to the database");
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        try {
+            loadAllCustomers();
+            ready = true;
+            log.info("Search index loaded | customers={} | postingBytes={} | executionTime={}ms",
+                    index.size(), index.postingBytes(), System.currentTimeMillis() - startTime);
+        } catch (Exception e) {
+            log.error("Search index load failed | searches go to the database | message={}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Re-indexes customers inserted or updated since the last pass (e.g. by other replicas).
+     */
+    @Scheduled(fixedDelayString = "${customer.search.index.refresh-ms:30000}")
+    public void refresh() {
+        if (!ready) {
+            return;
+        }
+        try {
+            loadChangedCustomers();
+        } catch (Exception e) {
+            log.warn("Search index refresh failed | message={}", e.getMessage());
+        }
+    }
+
+    /**
+     * Called by the write path (after commit) with the customer's current searchable fields.
+     */
+    public void index(String customerUuid, String firstName, String lastName, String panNumber, String email) {
+        if (customerUuid == null) {
+            return;
+        }
+        String pan = normalize(panNumber);
+        String mail = normalize(email);
+        String[] previous = exactKeysByUuid.put(customerUuid, new String[] {pan, mail});
+        if (previous != null) {
+            if (previous[0] != null && !previous[0].equals(pan)) {
+                uuidByPan.remove(previous[0], customerUuid);
+            }
+            if (previous[1] != null && !previous[1].equals(mail)) {
+                uuidByEmail.remove(previous[1], customerUuid);
+            }
+        }
+        if (pan != null) {
+            uuidByPan.put(pan, customerUuid);
+        }
+        if (mail != null) {
+            uuidByEmail.put(mail, customerUuid);
+        }
+        index.put(customerUuid, sortKey(firstName, lastName), firstName, lastName, panNumber, email);
+    }
+
+    /**
+     * Ranked customerUuids matching {@code query}, or null when the caller must use SQL instead.
+     */
+    public List<String> search(String query) {
+        if (!ready || query == null) {
+            return null;
+        }
+        String q = normalize(query);
+        if (PAN_PATTERN.matcher(q).matches() || q.indexOf('@') >= 0) {
+            String exact = PAN_PATTERN.matcher(q).matches() ? uuidByPan.get(q) : uuidByEmail.get(q);
+            if (exact != null) {
+                return List.of(exact);
+            }
+        }
+        // '%' and '_' are LIKE wildcards in the SQL path; keep those semantics there
+        if (!index.canSearch(q) || q.indexOf('%') >= 0 || q.indexOf('_') >= 0) {
+            return null;
+        }
+        return index.search(q);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    private void loadAllCustomers() {
+        loadLock.lock();
+        try {
+            // Anything updated while the full load runs is re-read by the first refresh
+            lastSeenUpdatedDate = LocalDateTime.now();
+            long lastLoadedCustomerId = 0;
+            int rows;
+            do {
+                long[] lastId = {lastLoadedCustomerId};
+                int[] count = {0};
+                customerRepositoryImpl.findSearchFieldsAfter(lastLoadedCustomerId, loadBatchSize, rs -> {
+                    lastId[0] = rs.getLong("customer_id");
+                    index(rs.getString("customer_uuid"), rs.getString("first_name"), rs.getString("last_name"),
+                            rs.getString("pan_number"), rs.getString("email"));
+                    count[0]++;
+                });
+                lastLoadedCustomerId = lastId[0];
+                rows = count[0];
+            } while (rows == loadBatchSize);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private void loadChangedCustomers() {
+        loadLock.lock();
+        try {
+            LocalDateTime[] updatedDate = {lastSeenUpdatedDate.minusNanos(TimeUnit.MILLISECONDS.toNanos(refreshOverlapMs))};
+            long[] lastId = {0};
+            LocalDateTime newest = lastSeenUpdatedDate;
+            int rows;
+            do {
+                int[] count = {0};
+                customerRepositoryImpl.findSearchFieldsUpdatedAfter(updatedDate[0], lastId[0], loadBatchSize, rs -> {
+                    lastId[0] = rs.getLong("customer_id");
+                    updatedDate[0] = rs.getObject("updated_date", LocalDateTime.class);
+                    index(rs.getString("customer_uuid"), rs.getString("first_name"), rs.getString("last_name"),
+                            rs.getString("pan_number"), rs.getString("email"));
+                    count[0]++;
+                });
+                rows = count[0];
+                if (rows > 0 && updatedDate[0].isAfter(newest)) {
+                    newest = updatedDate[0];
+                }
+            } while (rows == loadBatchSize);
+            lastSeenUpdatedDate = newest;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // Same order as the SQL path: ORDER BY first_name, last_name
+    private static String sortKey(String firstName, String lastName) {
+        return (firstName == null ? "" : firstName) + "\u0000" + (lastName == null ? "" : lastName);
+    }
+
+    // MySQL's default collation compares case-insensitively
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
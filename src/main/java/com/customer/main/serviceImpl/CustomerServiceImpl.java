@@ -4,45 +4,67 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.customer.main.cache.CustomerIndexedCache;
+import com.customer.main.cache.NegativeLookupCache;
 import com.customer.main.config.CacheConfig;
-import com.customer.main.dto.AddressDto;
 import com.customer.main.dto.CustomerEnquiryRequestDto;
+import com.customer.main.dto.CustomerLookupRequestDto;
+import com.customer.main.dto.CustomerLookupResponseDto;
+import com.customer.main.dto.CustomerLookupResultDto;
 import com.customer.main.dto.CustomerRequestDto;
 import com.customer.main.dto.CustomerResponseDto;
-import com.customer.main.dto.EmploymentDetailsDto;
+import com.customer.main.dto.EnquiryBatchResponseDto;
+import com.customer.main.dto.EnquiryBatchResultDto;
 import com.customer.main.dto.PageResponseDto;
-import com.customer.main.entity.Address;
-import com.customer.main.entity.AddressType;
 import com.customer.main.entity.Customer;
 import com.customer.main.entity.CustomerOutboxEvent;
 import com.customer.main.entity.CustomerStatus;
-import com.customer.main.entity.EmploymentDetails;
+import com.customer.main.entity.IdentityField;
 import com.customer.main.entity.MaskingUtil;
+import com.customer.main.event.CustomerEventCodec;
+import com.customer.main.event.CustomerEventPayload;
+import com.customer.main.event.CustomerOutboxSignal;
 import com.customer.main.exception.BusinessException;
 import com.customer.main.exception.CustomerAlreadyExistsException;
 import com.customer.main.exception.CustomerNotFoundException;
 import com.customer.main.exception.DatabaseException;
+import com.customer.main.mapper.CustomerMapper;
 import com.customer.main.repository.CustomerOutboxEventRepository;
 import com.customer.main.repository.CustomerRepository;
 import com.customer.main.repository.CustomerRepositoryImpl;
+import com.customer.main.repository.CustomerSummary;
 import com.customer.main.service.CustomerService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.customer.main.util.PageCursor;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 
 /**
  * Implementation of Home Loan Customer Service.
@@ -62,44 +84,38 @@ public class CustomerServiceImpl implements CustomerService {
     @Autowired
     private CustomerRepositoryImpl customerRepositoryImpl;
 
-    @Autowired
-    private ModelMapper modelMapper;
-
     @Autowired
     private CustomerEventPublisher eventPublisher;
-    @Autowired
-    private ObjectMapper objectMapper;
     @Autowired CustomerOutboxEventRepository customerOutboxEventRepository;
+    @Autowired
+    private CustomerOutboxSignal outboxSignal;
+    @Autowired
+    private CustomerIndexedCache customerCache;
+    @Autowired
+    private NegativeLookupCache negativeLookupCache;
+    @Autowired
+    private CustomerIdentityIndex identityIndex;
+    @Autowired
+    private CustomerSearchIndex searchIndex;
+    @Autowired
+    private Validator validator;
+
+    @Value("${customer.enquiry.batch.max-size:1000}")
+    private int maxEnquiryBatchSize;
+
+    @Value("${customer.lookup.max-keys:500}")
+    private int maxLookupKeys;
 
     // ---------- Step 1: customer enquiry / basic registration ----------
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = CacheConfig.CACHE_CUSTOMERS, allEntries = true)
     public CustomerResponseDto createCustomerEnquiry(CustomerEnquiryRequestDto dto) {
     	log.info("ENTER :: createCustomerEnquiry | pan={} | email={}", 	MaskingUtil.maskPan(dto.getPanNumber()), dto.getEmail());
 
-        // Uniqueness checks (same as full create)
-        if (existsByPan(dto.getPanNumber())) {
-        	log.warn("createCustomerEnquiry failed | duplicate PAN | pan={}", MaskingUtil.maskPan(dto.getPanNumber()));
-            throw new CustomerAlreadyExistsException("Pan: " + dto.getPanNumber());
-        }
-
-        if (exixstByUId(dto.getAadhaarNumber())) {
-            log.warn("createCustomerEnquiry failed | duplicate UID | UID={}", dto.getAadhaarNumber());
-            throw new CustomerAlreadyExistsException("Aadhaar no : " + MaskingUtil.maskAadhaar(dto.getAadhaarNumber()));
-        }
-
-        if (existsByEmail(dto.getEmail())) {
-            log.warn("createCustomerEnquiry failed | duplicate email | email={}", dto.getEmail());
-            throw new CustomerAlreadyExistsException("Email already registered: " + dto.getEmail());
-        }
-
+        // Uniqueness checks (same as full create): one query for PAN, Aadhaar, email and mobile
         Long mobile = Long.parseLong(dto.getMobileNumber());
-        if (customerRepository.existsByMobile(mobile)) {
-        	log.warn("createCustomerEnquiry failed | duplicate PAN | pan={}", MaskingUtil.maskPan(dto.getPanNumber()));
-
-            throw new CustomerAlreadyExistsException("Mobile already registered: " + dto.getMobileNumber());
-        }
+        checkRegistrationDuplicates("createCustomerEnquiry", dto.getPanNumber(), dto.getAadhaarNumber(),
+                MaskingUtil.maskAadhaar(dto.getAadhaarNumber()), dto.getEmail(), mobile, dto.getMobileNumber());
 
         try {
             Customer customer = new Customer();
@@ -132,11 +148,15 @@ public class CustomerServiceImpl implements CustomerService {
                     customer.getUpdatedDate()
             );
             log.info("Customer enquiry saved successfully | uuid={}", customer.getCustomerUuid());
+            identityIndex.add(customer.getPanNumber(), customer.getAadhaarNumber(), customer.getEmail(), mobile);
 
             // 🔥 OUTBOX SAVE
             saveOutboxEvent(customer, "CUSTOMER_REGISTERED");
+            evictCustomerCache(customer, null, null);
+            indexForSearch(customer);
             return mapEntityToResponse(customer);
         } catch (Exception e) {
+            rethrowIfDuplicate(e, dto.getPanNumber(), dto.getAadhaarNumber(), dto.getEmail(), mobile, dto.getMobileNumber());
         	log.error("ERROR :: createCustomerEnquiry | pan={} | message={}",  MaskingUtil.maskPan(dto.getPanNumber()),
         	        e.getMessage(), e);
             throw new DatabaseException("Failed to register customer enquiry", e);
@@ -151,41 +171,282 @@ public class CustomerServiceImpl implements CustomerService {
     log.info("Creating outbox event | type={} | uuid={}",
             eventType, customer.getCustomerUuid());
 
-    String payload;
-    try {
-        payload = objectMapper.writeValueAsString(customer);
-    } catch (Exception e) {
-        throw new RuntimeException("Failed to serialize customer", e);
-    }
+    customerOutboxEventRepository.save(newOutboxEvent(customer, eventType));
+    // Wakes the outbox drainer once this transaction commits
+    outboxSignal.signalAfterCommit();
+
+    log.info("Outbox event saved successfully | type={} | uuid={}",
+            eventType, customer.getCustomerUuid());
+}
 
+   private CustomerOutboxEvent newOutboxEvent(Customer customer, String eventType) {
+    LocalDateTime now = LocalDateTime.now();
     CustomerOutboxEvent outbox = new CustomerOutboxEvent();
     outbox.setAggregateId(customer.getCustomerUuid());
     outbox.setEventType(eventType);
-    outbox.setPayload(payload);
+    outbox.setPayload(CustomerEventCodec.encode(CustomerEventPayload.from(customer, eventType, now)));
     outbox.setStatus("NEW");   // Better: use ENUM
     outbox.setRetryCount(0);
-    outbox.setCreatedAt(LocalDateTime.now());
+    outbox.setCreatedAt(now);
+    return outbox;
+}
+
+    // ---------- Bulk enquiry (partner channels) ----------
+    // READ_COMMITTED: the re-check after a unique-key race must see the other writer's commit,
+    // which MySQL's default REPEATABLE READ snapshot would hide
+    @Override
+    @Transactional(rollbackFor = Exception.class, isolation = Isolation.READ_COMMITTED)
+    public EnquiryBatchResponseDto createCustomerEnquiries(List<CustomerEnquiryRequestDto> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new BusinessException("BATCH_EMPTY", "Enquiry batch must contain at least one row");
+        }
+        if (dtos.size() > maxEnquiryBatchSize) {
+            throw new BusinessException("BATCH_TOO_LARGE",
+                    "Enquiry batch must not exceed " + maxEnquiryBatchSize + " rows");
+        }
+        log.info("ENTER :: createCustomerEnquiries | rows={}", dtos.size());
+        long startTime = System.currentTimeMillis();
 
-    customerOutboxEventRepository.save(outbox);
+        EnquiryBatchResultDto[] results = new EnquiryBatchResultDto[dtos.size()];
+        List<Integer> pending = validateEnquiryBatch(dtos, results);
 
-    log.info("Outbox event saved successfully | type={} | uuid={}",
-            eventType, customer.getCustomerUuid());
-}
+        // A concurrent writer can take a value between our check and the insert: re-check and retry
+        // the batch once, then insert row by row so only the rows that lost the race are rejected
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            pending = markExistingDuplicates(dtos, pending, results, attempt == 1);
+            if (pending.isEmpty()) {
+                break;
+            }
+            List<Customer> customers = new ArrayList<>(pending.size());
+            List<CustomerOutboxEvent> outboxEvents = new ArrayList<>(pending.size());
+            for (int index : pending) {
+                Customer customer = newEnquiryCustomer(dtos.get(index));
+                customers.add(customer);
+                outboxEvents.add(newOutboxEvent(customer, "CUSTOMER_REGISTERED"));
+            }
+            if (attempt > 2) {
+                insertEnquiriesOneByOne(pending, customers, outboxEvents, results);
+                break;
+            }
+            try {
+                // Rolls back to its savepoint on failure, leaving this transaction usable for the retry
+                customerRepositoryImpl.batchInsertEnquiries(customers, outboxEvents);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("createCustomerEnquiries | unique key race on insert, re-checking | attempt={} | rows={}",
+                        attempt, pending.size());
+                continue;
+            }
+            outboxSignal.signalAfterCommit();
+            for (int i = 0; i < pending.size(); i++) {
+                enquiryCreated(pending.get(i), customers.get(i), results);
+            }
+            break;
+        }
 
+        EnquiryBatchResponseDto response = new EnquiryBatchResponseDto(dtos.size(), 0, 0, 0, List.of(results));
+        for (EnquiryBatchResultDto result : results) {
+            switch (result.getStatus()) {
+                case CREATED -> response.setCreated(response.getCreated() + 1);
+                case DUPLICATE -> response.setDuplicates(response.getDuplicates() + 1);
+                case INVALID -> response.setInvalid(response.getInvalid() + 1);
+            }
+        }
+        log.info("EXIT :: createCustomerEnquiries | rows={} | created={} | duplicates={} | invalid={} | executionTime={}ms",
+                response.getTotal(), response.getCreated(), response.getDuplicates(), response.getInvalid(),
+                System.currentTimeMillis() - startTime);
+        return response;
+    }
+
+    /**
+     * Fallback after the batch lost a unique-key race twice: each row is inserted on its own
+     * savepoint, and a row that still collides is reported with the field it collides on.
+     */
+    private void insertEnquiriesOneByOne(List<Integer> pending, List<Customer> customers,
+                                         List<CustomerOutboxEvent> outboxEvents, EnquiryBatchResultDto[] results) {
+        boolean inserted = false;
+        for (int i = 0; i < pending.size(); i++) {
+            int index = pending.get(i);
+            Customer customer = customers.get(i);
+            try {
+                customerRepositoryImpl.batchInsertEnquiries(List.of(customer), List.of(outboxEvents.get(i)));
+            } catch (DataIntegrityViolationException e) {
+                Set<IdentityField> conflicts = customerRepositoryImpl.findIdentityConflicts(customer.getPanNumber(),
+                        customer.getAadhaarNumber(), customer.getEmail(), customer.getMobile());
+                log.warn("createCustomerEnquiries | row rejected on insert | row={} | fields={} | pan={}",
+                        index, conflicts, MaskingUtil.maskPan(customer.getPanNumber()));
+                results[index] = conflicts.isEmpty()
+                        ? new EnquiryBatchResultDto(index, EnquiryBatchResultDto.Status.INVALID, null,
+                                "Rejected by a database constraint")
+                        : new EnquiryBatchResultDto(index, EnquiryBatchResultDto.Status.DUPLICATE, null,
+                                new CustomerAlreadyExistsException(duplicateMessage(conflicts.iterator().next(),
+                                        customer.getPanNumber(), MaskingUtil.maskAadhaar(customer.getAadhaarNumber()),
+                                        customer.getEmail(), String.valueOf(customer.getMobile()))).getMessage());
+                continue;
+            }
+            inserted = true;
+            enquiryCreated(index, customer, results);
+        }
+        if (inserted) {
+            outboxSignal.signalAfterCommit();
+        }
+    }
+
+    private void enquiryCreated(int index, Customer customer, EnquiryBatchResultDto[] results) {
+        // Added before commit on purpose: after a rollback it is only a false positive (one extra
+        // query), while adding after commit would let a racing request skip the uniqueness check
+        identityIndex.add(customer.getPanNumber(), customer.getAadhaarNumber(), customer.getEmail(), customer.getMobile());
+        // Eviction repeats after commit and the search index waits for it: neither may see an uncommitted row
+        evictCustomerCache(customer, null, null);
+        indexForSearch(customer);
+        results[index] = new EnquiryBatchResultDto(index, EnquiryBatchResultDto.Status.CREATED,
+                customer.getCustomerUuid(), null);
+    }
+
+    /**
+     * Bean-validates every row and flags rows that repeat an identity value of an earlier row.
+     * Returns the indexes still eligible for insert.
+     */
+    private List<Integer> validateEnquiryBatch(List<CustomerEnquiryRequestDto> dtos, EnquiryBatchResultDto[] results) {
+        Map<IdentityField, Map<String, Integer>> seen = new EnumMap<>(IdentityField.class);
+        for (IdentityField field : IdentityField.values()) {
+            seen.put(field, new HashMap<>());
+        }
+        List<Integer> pending = new ArrayList<>();
+        for (int i = 0; i < dtos.size(); i++) {
+            CustomerEnquiryRequestDto dto = dtos.get(i);
+            if (dto == null) {
+                results[i] = new EnquiryBatchResultDto(i, EnquiryBatchResultDto.Status.INVALID, null, "Row is empty");
+                continue;
+            }
+            Set<ConstraintViolation<CustomerEnquiryRequestDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                results[i] = new EnquiryBatchResultDto(i, EnquiryBatchResultDto.Status.INVALID, null,
+                        violations.iterator().next().getMessage());
+                continue;
+            }
+            Integer earlier = null;
+            Map<IdentityField, String> keys = identityKeysOf(dto);
+            for (Map.Entry<IdentityField, String> key : keys.entrySet()) {
+                earlier = seen.get(key.getKey()).get(key.getValue());
+                if (earlier != null) {
+                    break;
+                }
+            }
+            if (earlier != null) {
+                results[i] = new EnquiryBatchResultDto(i, EnquiryBatchResultDto.Status.DUPLICATE, null,
+                        "Duplicate of row " + earlier + " in this batch");
+                continue;
+            }
+            for (Map.Entry<IdentityField, String> key : keys.entrySet()) {
+                seen.get(key.getKey()).put(key.getValue(), i);
+            }
+            pending.add(i);
+        }
+        return pending;
+    }
+
+    /**
+     * One IN query for all pending rows (values the identity filter rules out are left out of the
+     * IN lists; with useFilter=false every value is probed). Marks rows that collide with a registered
+     * customer and returns the rest.
+     */
+    private List<Integer> markExistingDuplicates(List<CustomerEnquiryRequestDto> dtos, List<Integer> pending,
+                                                 EnquiryBatchResultDto[] results, boolean useFilter) {
+        Set<String> pans = new HashSet<>();
+        Set<String> aadhaars = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<Long> mobiles = new HashSet<>();
+        for (int index : pending) {
+            CustomerEnquiryRequestDto dto = dtos.get(index);
+            Long mobile = Long.parseLong(dto.getMobileNumber());
+            Set<IdentityField> candidates = useFilter
+                    ? identityIndex.candidates(dto.getPanNumber(), dto.getAadhaarNumber(), dto.getEmail(), mobile)
+                    : EnumSet.allOf(IdentityField.class);
+            if (candidates.contains(IdentityField.PAN)) {
+                pans.add(dto.getPanNumber());
+            }
+            if (candidates.contains(IdentityField.AADHAAR)) {
+                aadhaars.add(dto.getAadhaarNumber());
+            }
+            if (candidates.contains(IdentityField.EMAIL)) {
+                emails.add(dto.getEmail());
+            }
+            if (candidates.contains(IdentityField.MOBILE)) {
+                mobiles.add(mobile);
+            }
+        }
+        if (pans.isEmpty() && aadhaars.isEmpty() && emails.isEmpty() && mobiles.isEmpty()) {
+            log.debug("createCustomerEnquiries | duplicate check skipped (filter) | rows={}", pending.size());
+            return pending;
+        }
+        // IN () is not valid SQL; a null placeholder matches nothing
+        Map<IdentityField, Set<String>> existing = customerRepositoryImpl.findExistingIdentityKeys(
+                pans.isEmpty() ? Collections.singletonList(null) : pans,
+                aadhaars.isEmpty() ? Collections.singletonList(null) : aadhaars,
+                emails.isEmpty() ? Collections.singletonList(null) : emails,
+                mobiles.isEmpty() ? Collections.singletonList(null) : mobiles);
+
+        List<Integer> remaining = new ArrayList<>(pending.size());
+        for (int index : pending) {
+            CustomerEnquiryRequestDto dto = dtos.get(index);
+            IdentityField conflict = null;
+            for (Map.Entry<IdentityField, String> key : identityKeysOf(dto).entrySet()) {
+                if (existing.get(key.getKey()).contains(key.getValue())) {
+                    conflict = key.getKey();
+                    break;
+                }
+            }
+            if (conflict == null) {
+                remaining.add(index);
+            } else {
+                results[index] = new EnquiryBatchResultDto(index, EnquiryBatchResultDto.Status.DUPLICATE, null,
+                        new CustomerAlreadyExistsException(duplicateMessage(conflict, dto.getPanNumber(),
+                                MaskingUtil.maskAadhaar(dto.getAadhaarNumber()), dto.getEmail(), dto.getMobileNumber()))
+                                .getMessage());
+            }
+        }
+        return remaining;
+    }
+
+    private static Map<IdentityField, String> identityKeysOf(CustomerEnquiryRequestDto dto) {
+        Map<IdentityField, String> keys = new EnumMap<>(IdentityField.class);
+        keys.put(IdentityField.PAN, dto.getPanNumber());
+        keys.put(IdentityField.AADHAAR, dto.getAadhaarNumber());
+        keys.put(IdentityField.EMAIL, dto.getEmail().toLowerCase(Locale.ROOT));
+        keys.put(IdentityField.MOBILE, Long.valueOf(dto.getMobileNumber()).toString());
+        return keys;
+    }
+
+    private static Customer newEnquiryCustomer(CustomerEnquiryRequestDto dto) {
+        Customer customer = new Customer();
+        customer.setFirstName(dto.getFirstName());
+        customer.setLastName(dto.getLastName());
+        customer.setGender(dto.getGender());
+        customer.setDateOfBirth(dto.getDateOfBirth());
+        customer.setEmail(dto.getEmail());
+        customer.setMobile(Long.parseLong(dto.getMobileNumber()));
+        customer.setPanNumber(dto.getPanNumber());
+        customer.setAadhaarNumber(dto.getAadhaarNumber());
+        customer.setCustomerUuid(UUID.randomUUID().toString());
+        customer.setStatus(CustomerStatus.PENDING_KYC);
+        customer.setCreatedDate(LocalDateTime.now());
+        customer.setUpdatedDate(customer.getCreatedDate());
+        return customer;
+    }
 
 	// ---------- Step 2: complete KYC & enrich ----------
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = CacheConfig.CACHE_CUSTOMERS, allEntries = true)
     public CustomerResponseDto completeKyc(Long id, CustomerRequestDto dto) {
     	log.info("ENTER :: completeKyc | id={} | pan={}", id, MaskingUtil.maskPan(dto.getPanNumber()));
-        Customer customer = customerRepository.findById(id)
+        // KYC replaces addresses and employment details: fetch them with the customer in one select
+        Customer customer = customerRepository.findWithDetailsByCustomerId(id)
                 .orElseThrow(() -> new CustomerNotFoundException(id));
 
         validateAgeForHomeLoan(dto.getDateOfBirth());
 
         // Reuse uniqueness checks if fields are being changed
-        if (!customer.getPanNumber().equals(dto.getPanNumber()) && existsByPan(dto.getPanNumber())) {
+        if (!customer.getPanNumber().equals(dto.getPanNumber()) && panRegistered(dto.getPanNumber())) {
             log.warn("completeKyc failed | duplicate PAN | id={} | pan={}", id,  MaskingUtil.maskPan(dto.getPanNumber()));
             throw new CustomerAlreadyExistsException(dto.getPanNumber());
         }
@@ -194,11 +455,13 @@ public class CustomerServiceImpl implements CustomerService {
             throw new CustomerAlreadyExistsException("Email already registered: " + dto.getEmail());
         }
         Long mobile = Long.parseLong(dto.getMobileNumber());
-        if (!customer.getMobile().equals(mobile) && customerRepository.existsByMobile(mobile)) {
+        if (!customer.getMobile().equals(mobile) && existsByMobile(mobile)) {
             log.warn("completeKyc failed | duplicate mobile | id={} | mobile={}", id, dto.getMobileNumber());
             throw new CustomerAlreadyExistsException("Mobile already registered: " + dto.getMobileNumber());
         }
 
+        String previousPan = customer.getPanNumber();
+        String previousEmail = customer.getEmail();
         try {
             // Basic fields
             customer.setFirstName(dto.getFirstName());
@@ -211,7 +474,7 @@ public class CustomerServiceImpl implements CustomerService {
             customer.setAadhaarNumber(dto.getAadhaarNumber());
 
             // Address and employment details (full KYC)
-            applyAddressAndEmployment(dto, customer);
+            CustomerMapper.applyAddressAndEmployment(dto, customer);
 
             // Mark customer as ACTIVE after successful KYC completion
             customer.setStatus(CustomerStatus.ACTIVE);
@@ -231,8 +494,13 @@ public class CustomerServiceImpl implements CustomerService {
                     customer.getStatus().name(),
                     customer.getUpdatedDate()
             );
+            identityIndex.add(customer.getPanNumber(), customer.getAadhaarNumber(), customer.getEmail(), mobile);
+            evictCustomerCache(customer, previousPan, previousEmail);
+            indexForSearch(customer);
             return mapEntityToResponse(customer);
         } catch (Exception e) {
+            rethrowIfDuplicate(e, id, "completeKyc", dto.getPanNumber(), dto.getAadhaarNumber(), dto.getEmail(),
+                    mobile, dto.getMobileNumber());
         	log.error("ERROR :: completeKyc | id={} | message={} | errorType={}", id, e.getMessage(), e.getClass().getSimpleName(), e);
             throw new DatabaseException("Failed to complete KYC for customer", e);
         }
@@ -241,7 +509,6 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = CacheConfig.CACHE_CUSTOMERS, allEntries = true)
     public CustomerResponseDto createCustomer(CustomerRequestDto dto) {
         if (dto == null) {
             throw new IllegalArgumentException("CustomerRequestDto must not be null");
@@ -252,25 +519,9 @@ public class CustomerServiceImpl implements CustomerService {
         log.info("createCustomer started | pan={}", MaskingUtil.maskPan(dto.getPanNumber()));
         validateAgeForHomeLoan(dto.getDateOfBirth());
 
-        if (existsByPan(dto.getPanNumber())) {
-            log.warn("createCustomer failed | duplicate PAN | pan={}", MaskingUtil.maskPan(dto.getPanNumber()));
-            throw new CustomerAlreadyExistsException("Pan: "+dto.getPanNumber());
-        }
-        
-        if(exixstByUId(dto.getAadhaarNumber())) {
-        	log.warn("createCustomer failed | duplicate UID | UID={}", MaskingUtil.maskAadhaar(dto.getAadhaarNumber()));
-            throw new CustomerAlreadyExistsException("Aadhaar no : "+dto.getAadhaarNumber());
-        }
-        
-        if (existsByEmail(dto.getEmail())) {
-            log.warn("createCustomer failed | duplicate email | email={}", dto.getEmail());
-            throw new CustomerAlreadyExistsException("Email already registered: " + dto.getEmail());
-        }
         Long mobile = Long.parseLong(dto.getMobileNumber());
-        if (customerRepository.existsByMobile(mobile)) {
-            log.warn("createCustomer failed | duplicate mobile | mobile={}", dto.getMobileNumber());
-            throw new CustomerAlreadyExistsException("Mobile already registered: " + dto.getMobileNumber());
-        }
+        checkRegistrationDuplicates("createCustomer", dto.getPanNumber(), dto.getAadhaarNumber(),
+                dto.getAadhaarNumber(), dto.getEmail(), mobile, dto.getMobileNumber());
 
         try {
             Customer customer = mapRequestToEntity(dto);
@@ -301,12 +552,16 @@ public class CustomerServiceImpl implements CustomerService {
             );
             long executionTime = System.currentTimeMillis() - startTime;
             log.info("createCustomer success | customerId={} | uuid={} | executionTime={}ms", customer.getCustomerId(), customer.getCustomerUuid(), executionTime);
+            identityIndex.add(customer.getPanNumber(), customer.getAadhaarNumber(), customer.getEmail(), mobile);
 
             // Also publish event so downstream services can react if this path is used
             saveOutboxEvent(customer, "CUSTOMER_CREATED");
+            evictCustomerCache(customer, null, null);
+            indexForSearch(customer);
             
             return mapEntityToResponse(customer);
         } catch (Exception e) {
+            rethrowIfDuplicate(e, dto.getPanNumber(), dto.getAadhaarNumber(), dto.getEmail(), mobile, dto.getMobileNumber());
             log.error("createCustomer failed | pan={} | error={}", MaskingUtil.maskPan(dto.getPanNumber()), e.getMessage());
             throw new DatabaseException("Failed to create customer", e);
         }
@@ -314,14 +569,13 @@ public class CustomerServiceImpl implements CustomerService {
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = CacheConfig.CACHE_CUSTOMERS, allEntries = true)
     public CustomerResponseDto updateCustomer(Long id, CustomerRequestDto dto) {
         log.info("updateCustomer started | id={} | pan={}", id, MaskingUtil.maskPan(dto.getPanNumber()));
         Customer customer = customerRepository.findById(id)
                 .orElseThrow(() -> new CustomerNotFoundException(id));
         validateAgeForHomeLoan(dto.getDateOfBirth());
 
-        if (!customer.getPanNumber().equals(dto.getPanNumber()) && existsByPan(dto.getPanNumber())) {
+        if (!customer.getPanNumber().equals(dto.getPanNumber()) && panRegistered(dto.getPanNumber())) {
             log.warn("updateCustomer failed | duplicate PAN | id={} | pan={}", id, MaskingUtil.maskPan(dto.getPanNumber()));
             throw new CustomerAlreadyExistsException(dto.getPanNumber());
         }
@@ -330,11 +584,13 @@ public class CustomerServiceImpl implements CustomerService {
             throw new CustomerAlreadyExistsException("Email already registered: " + dto.getEmail());
         }
         Long mobile = Long.parseLong(dto.getMobileNumber());
-        if (!customer.getMobile().equals(mobile) && customerRepository.existsByMobile(mobile)) {
+        if (!customer.getMobile().equals(mobile) && existsByMobile(mobile)) {
             log.warn("updateCustomer failed | duplicate mobile | id={} | mobile={}", id, dto.getMobileNumber());
             throw new CustomerAlreadyExistsException("Mobile already registered: " + dto.getMobileNumber());
         }
 
+        String previousPan = customer.getPanNumber();
+        String previousEmail = customer.getEmail();
         try {
             customer.setFirstName(dto.getFirstName());
             customer.setLastName(dto.getLastName());
@@ -364,8 +620,13 @@ public class CustomerServiceImpl implements CustomerService {
                     customer.getStatus().name(),
                     customer.getUpdatedDate()
             );
+            identityIndex.add(customer.getPanNumber(), customer.getAadhaarNumber(), customer.getEmail(), mobile);
+            evictCustomerCache(customer, previousPan, previousEmail);
+            indexForSearch(customer);
             return mapEntityToResponse(customer);
         } catch (Exception e) {
+            rethrowIfDuplicate(e, id, "updateCustomer", dto.getPanNumber(), dto.getAadhaarNumber(), dto.getEmail(),
+                    mobile, dto.getMobileNumber());
             log.error("updateCustomer failed | id={} | error={} | errorType={}", id, e.getMessage(), e.getClass().getSimpleName(), e);
             throw new DatabaseException("Failed to update customer", e);
         }
@@ -387,18 +648,39 @@ public class CustomerServiceImpl implements CustomerService {
     @Cacheable(cacheNames = CacheConfig.CACHE_CUSTOMERS, key = "'uuid:' + #uuid")
     public CustomerResponseDto getCustomerByUuid(String uuid) {
         log.debug("getCustomerByUuid | uuid={}", MaskingUtil.maskPan(uuid));
+        String missKey = CustomerIndexedCache.uuidKey(uuid);
+        Supplier<CustomerNotFoundException> notFound =
+                () -> new CustomerNotFoundException("Customer not found with UUID: " + MaskingUtil.maskPan(uuid));
+        if (negativeLookupCache.isKnownMiss(missKey)) {
+            throw notFound.get();
+        }
+        long token = negativeLookupCache.lookupToken();
         Customer customer = customerRepository.findByCustomerUuid(uuid)
-                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with UUID: " + MaskingUtil.maskPan(uuid)));
+                .orElseThrow(() -> {
+                    negativeLookupCache.recordMiss(missKey, token);
+                    return notFound.get();
+                });
         return mapEntityToResponse(customer);
     }
 
     @Override
     @Transactional(readOnly = true)
-    @Cacheable(cacheNames = CacheConfig.CACHE_CUSTOMERS, key = "'pan:' + #panNumber")
+    @Cacheable(cacheNames = CacheConfig.CACHE_CUSTOMERS, key = "T(com.customer.main.cache.CustomerIndexedCache).panKey(#panNumber)")
     public CustomerResponseDto getCustomerByPan(String panNumber) {
-        log.debug("getCustomerByPan | pan={}", MaskingUtil.maskPan(panNumber));
-        Customer customer = customerRepository.findByPanNumber(panNumber)
-                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with PAN: " + MaskingUtil.maskPan(panNumber)));
+        String pan = CustomerIndexedCache.normalizePan(panNumber);
+        log.debug("getCustomerByPan | pan={}", MaskingUtil.maskPan(pan));
+        String missKey = CustomerIndexedCache.panKey(pan);
+        Supplier<CustomerNotFoundException> notFound =
+                () -> new CustomerNotFoundException("Customer not found with PAN: " + MaskingUtil.maskPan(pan));
+        if (negativeLookupCache.isKnownMiss(missKey)) {
+            throw notFound.get();
+        }
+        long token = negativeLookupCache.lookupToken();
+        Customer customer = customerRepository.findByPanNumber(pan)
+                .orElseThrow(() -> {
+                    negativeLookupCache.recordMiss(missKey, token);
+                    return notFound.get();
+                });
         return mapEntityToResponse(customer);
     }
 
@@ -407,41 +689,176 @@ public class CustomerServiceImpl implements CustomerService {
     @Cacheable(cacheNames = CacheConfig.CACHE_CUSTOMERS, key = "'email:' + #email")
     public CustomerResponseDto getCustomerByEmail(String email) {
         log.debug("getCustomerByEmail | email={}", email);
+        String missKey = CustomerIndexedCache.emailKey(email);
+        if (negativeLookupCache.isKnownMiss(missKey)) {
+            throw new CustomerNotFoundException("Customer not found with email: " + email);
+        }
+        long token = negativeLookupCache.lookupToken();
         Customer customer = customerRepository.findByEmail(email)
-                .orElseThrow(() -> new CustomerNotFoundException("Customer not found with email: " + email));
+                .orElseThrow(() -> {
+                    negativeLookupCache.recordMiss(missKey, token);
+                    return new CustomerNotFoundException("Customer not found with email: " + email);
+                });
         return mapEntityToResponse(customer);
     }
 
+    // ---------- Multi-get: one bulk cache read, at most one IN query per key type ----------
+    // Not @Transactional: a request served entirely from cache never borrows a connection
+    @Override
+    public CustomerLookupResponseDto lookupCustomers(CustomerLookupRequestDto request) {
+        List<Long> ids = request == null || request.getIds() == null ? List.of() : request.getIds();
+        List<String> uuids = request == null || request.getUuids() == null ? List.of() : request.getUuids();
+        List<String> pans = request == null || request.getPans() == null ? List.of()
+                : request.getPans().stream().map(CustomerIndexedCache::normalizePan).toList();
+        int total = ids.size() + uuids.size() + pans.size();
+        if (total == 0) {
+            throw new BusinessException("LOOKUP_EMPTY", "Lookup must contain at least one id, uuid or pan");
+        }
+        if (total > maxLookupKeys) {
+            throw new BusinessException("LOOKUP_TOO_LARGE", "Lookup must not exceed " + maxLookupKeys + " keys");
+        }
+        log.info("ENTER :: lookupCustomers | ids={} | uuids={} | pans={}", ids.size(), uuids.size(), pans.size());
+        long startTime = System.currentTimeMillis();
+
+        Set<Object> keys = new LinkedHashSet<>();
+        ids.stream().filter(Objects::nonNull).forEach(id -> keys.add(CustomerIndexedCache.idKey(id)));
+        uuids.stream().filter(Objects::nonNull).forEach(uuid -> keys.add(CustomerIndexedCache.uuidKey(uuid)));
+        pans.stream().filter(Objects::nonNull).forEach(pan -> keys.add(CustomerIndexedCache.panKey(pan)));
+        Map<Object, Object> found = new HashMap<>(customerCache.getAllPresent(keys));
+        int cacheHits = found.size();
+
+        // Misses per key type, minus keys already known not to exist
+        long token = negativeLookupCache.lookupToken();
+        long readToken = customerCache.readToken();
+        Set<Long> missingIds = new LinkedHashSet<>();
+        Set<String> missingUuids = new LinkedHashSet<>();
+        Set<String> missingPans = new LinkedHashSet<>();
+        for (Object key : keys) {
+            if (found.containsKey(key)) {
+                continue;
+            }
+            String cacheKey = (String) key;
+            if (cacheKey.startsWith(CustomerIndexedCache.KEY_ID)) {
+                missingIds.add(Long.valueOf(cacheKey.substring(CustomerIndexedCache.KEY_ID.length())));
+            } else if (!negativeLookupCache.isKnownMiss(cacheKey)) {
+                if (cacheKey.startsWith(CustomerIndexedCache.KEY_UUID)) {
+                    missingUuids.add(cacheKey.substring(CustomerIndexedCache.KEY_UUID.length()));
+                } else {
+                    missingPans.add(cacheKey.substring(CustomerIndexedCache.KEY_PAN.length()));
+                }
+            }
+        }
+        if (!missingIds.isEmpty()) {
+            customerRepository.findAllById(missingIds).forEach(customer -> cacheLookedUp(customer, found, readToken));
+        }
+        if (!missingUuids.isEmpty()) {
+            customerRepository.findByCustomerUuidIn(missingUuids).forEach(customer -> cacheLookedUp(customer, found, readToken));
+        }
+        if (!missingPans.isEmpty()) {
+            customerRepository.findByPanNumberIn(missingPans).forEach(customer -> cacheLookedUp(customer, found, readToken));
+        }
+        missingUuids.stream().map(CustomerIndexedCache::uuidKey).filter(key -> !found.containsKey(key))
+                .forEach(key -> negativeLookupCache.recordMiss(key, token));
+        missingPans.stream().map(CustomerIndexedCache::panKey).filter(key -> !found.containsKey(key))
+                .forEach(key -> negativeLookupCache.recordMiss(key, token));
+
+        List<CustomerLookupResultDto> results = new ArrayList<>(total);
+        ids.forEach(id -> results.add(lookupResult(CustomerLookupResultDto.KeyType.ID, String.valueOf(id),
+                id == null ? null : found.get(CustomerIndexedCache.idKey(id)))));
+        uuids.forEach(uuid -> results.add(lookupResult(CustomerLookupResultDto.KeyType.UUID, uuid,
+                uuid == null ? null : found.get(CustomerIndexedCache.uuidKey(uuid)))));
+        pans.forEach(pan -> results.add(lookupResult(CustomerLookupResultDto.KeyType.PAN, MaskingUtil.maskPan(pan),
+                pan == null ? null : found.get(CustomerIndexedCache.panKey(pan)))));
+        int foundCount = (int) results.stream()
+                .filter(result -> result.getStatus() == CustomerLookupResultDto.Status.FOUND).count();
+        log.info("EXIT :: lookupCustomers | keys={} | found={} | cacheHits={} | queried={} | executionTime={}ms",
+                total, foundCount, cacheHits, missingIds.size() + missingUuids.size() + missingPans.size(),
+                System.currentTimeMillis() - startTime);
+        return new CustomerLookupResponseDto(total, foundCount, total - foundCount, results);
+    }
+
+    /**
+     * Caches a customer loaded by the multi-get under all its keys and records it in {@code found}
+     * under the same keys, so a uuid request resolves even when the row was loaded by id.
+     */
+    private void cacheLookedUp(Customer customer, Map<Object, Object> found, long readToken) {
+        CustomerResponseDto response = mapEntityToResponse(customer);
+        customerCache.putIfAbsentUnderAllKeys(response, customer.getPanNumber(), readToken);
+        found.putIfAbsent(CustomerIndexedCache.idKey(customer.getCustomerId()), response);
+        if (customer.getCustomerUuid() != null) {
+            found.putIfAbsent(CustomerIndexedCache.uuidKey(customer.getCustomerUuid()), response);
+        }
+        if (customer.getPanNumber() != null) {
+            found.putIfAbsent(CustomerIndexedCache.panKey(customer.getPanNumber()), response);
+        }
+    }
+
+    private static CustomerLookupResultDto lookupResult(CustomerLookupResultDto.KeyType type, String key, Object value) {
+        return value instanceof CustomerResponseDto customer
+                ? new CustomerLookupResultDto(type, key, CustomerLookupResultDto.Status.FOUND, customer)
+                : new CustomerLookupResultDto(type, key, CustomerLookupResultDto.Status.NOT_FOUND, null);
+    }
+
+    // ---------- List / search: CustomerSummary projections, never Customer entities ----------
     @Override
     @Transactional(readOnly = true)
     public PageResponseDto<CustomerResponseDto> getAllCustomers(int page, int size) {
         log.debug("getAllCustomers | page={} | size={}", page, size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdDate").descending());
-        Page<Customer> customerPage = customerRepository.findAll(pageable);
-        return buildPageResponse(customerPage);
+        long offset = pageOffset(page, size);
+        return buildOffsetPage(customerRepositoryImpl.findSummaryPage(offset, size), page, size,
+                customerRepositoryImpl::countCustomers);
     }
 
     @Override
     @Transactional(readOnly = true)
     public PageResponseDto<CustomerResponseDto> getCustomersByStatus(CustomerStatus status, int page, int size) {
         log.debug("getCustomersByStatus | status={} | page={} | size={}", status, page, size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("createdDate").descending());
-        Page<Customer> customerPage = customerRepository.findByStatus(status, pageable);
-        return buildPageResponse(customerPage);
+        long offset = pageOffset(page, size);
+        return buildOffsetPage(customerRepositoryImpl.findSummaryPageByStatus(status.name(), offset, size), page, size,
+                () -> customerRepositoryImpl.countCustomersByStatus(status.name()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDto<CustomerResponseDto> getAllCustomersAfter(String cursor, int size) {
+        log.debug("getAllCustomersAfter | cursor={} | size={}", cursor, size);
+        PageCursor after = PageCursor.decode(cursor);
+        int limit = keysetLimit(size);
+        List<CustomerSummary> rows = after == null
+                ? customerRepositoryImpl.findSummariesAfter(null, null, limit)
+                : customerRepositoryImpl.findSummariesAfter(after.getCreatedDate(), after.getCustomerId(), limit);
+        return buildKeysetResponse(rows, size, after == null);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponseDto<CustomerResponseDto> getCustomersByStatusAfter(CustomerStatus status, String cursor, int size) {
+        log.debug("getCustomersByStatusAfter | status={} | cursor={} | size={}", status, cursor, size);
+        PageCursor after = PageCursor.decode(cursor);
+        int limit = keysetLimit(size);
+        List<CustomerSummary> rows = after == null
+                ? customerRepositoryImpl.findSummariesByStatusAfter(status.name(), null, null, limit)
+                : customerRepositoryImpl.findSummariesByStatusAfter(status.name(), after.getCreatedDate(),
+                        after.getCustomerId(), limit);
+        return buildKeysetResponse(rows, size, after == null);
     }
 
     @Override
     @Transactional(readOnly = true)
     public PageResponseDto<CustomerResponseDto> searchCustomers(String searchTerm, int page, int size) {
         log.debug("searchCustomers | q={} | page={} | size={}", searchTerm, page, size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("firstName", "lastName"));
-        Page<Customer> customerPage = customerRepository.searchByNameOrPanOrEmail(searchTerm.trim(), pageable);
-        return buildPageResponse(customerPage);
+        String q = searchTerm.trim();
+        List<String> ranked = searchIndex.search(q);
+        if (ranked != null) {
+            return buildRankedPage(ranked, page, size);
+        }
+        long offset = pageOffset(page, size);
+        return buildOffsetPage(customerRepositoryImpl.searchSummaries(q, offset, size), page, size,
+                () -> customerRepositoryImpl.countSearchMatches(q));
     }
 
     @Override
     @Transactional(rollbackFor = Exception.class)
-    @CacheEvict(cacheNames = CacheConfig.CACHE_CUSTOMERS, allEntries = true)
     public CustomerResponseDto updateCustomerStatus(Long id, CustomerStatus status) {
     	 log.info("ENTER :: updateCustomerStatus | id={} | status={}", id, status);
         Customer customer = customerRepository.findById(id)
@@ -465,6 +882,7 @@ public class CustomerServiceImpl implements CustomerService {
                 customer.getStatus().name(),
                 customer.getUpdatedDate()
         );
+        evictCustomerCache(customer, null, null);
         return mapEntityToResponse(customer);
     }
 
@@ -472,10 +890,26 @@ public class CustomerServiceImpl implements CustomerService {
     @Transactional(readOnly = true)
     public boolean existsByPan(String panNumber) {
     	log.debug("ENTER :: existsByPan | pan={}", panNumber);
-    	boolean exists = customerRepository.existsByPanNumber(panNumber);
+    	String missKey = CustomerIndexedCache.panKey(panNumber);
+    	if (negativeLookupCache.isKnownMiss(missKey)) {
+    	    log.debug("EXIT :: existsByPan | pan={} | exists=false (negative cache)", panNumber);
+    	    return false;
+    	}
+    	long token = negativeLookupCache.lookupToken();
+    	boolean exists = panRegistered(panNumber);
+    	if (!exists) {
+    	    negativeLookupCache.recordMiss(missKey, token);
+    	}
         log.debug("EXIT :: existsByPan | pan={} | exists={}", panNumber, exists);
         return exists;
     }
+
+    // Uniqueness checks on the write path skip the negative cache: a stale "not found" there would
+    // turn a 409 into a unique-constraint failure. They skip the identity filter too: it only knows
+    // values this replica has seen, not PAN/email/mobile changes made by other replicas
+    private boolean panRegistered(String panNumber) {
+        return customerRepository.existsByPanNumber(panNumber);
+    }
     @Override
 	@Transactional(readOnly = true)
 	public boolean exixstByUId(String uid) {
@@ -493,7 +927,139 @@ public class CustomerServiceImpl implements CustomerService {
         return exists;
     }
 
-    private void validateAgeForHomeLoan(LocalDate dateOfBirth) {
+    private boolean existsByMobile(Long mobile) {
+        return customerRepository.existsByMobile(mobile);
+    }
+
+    /**
+     * The identity filter only knows rows it has loaded, so a customer registered on another replica
+     * can pass the pre-check and hit a unique constraint on insert. Re-check against the database
+     * (bypassing the filter) and surface the same CustomerAlreadyExistsException as the pre-check.
+     */
+    private void rethrowIfDuplicate(Exception e, String panNumber, String aadhaarNumber, String email,
+                                    Long mobile, String mobileNumber) {
+        if (!isConstraintViolation(e)) {
+            return;
+        }
+        identityIndex.add(panNumber, aadhaarNumber, email, mobile);
+        throwIfConflict("insert", customerRepositoryImpl.findIdentityConflicts(panNumber, aadhaarNumber, email, mobile),
+                panNumber, MaskingUtil.maskAadhaar(aadhaarNumber), email, mobileNumber);
+    }
+
+    /**
+     * Update/KYC variant: another transaction can take the new PAN, email or mobile between the
+     * pre-check and the UPDATE. Ignores the customer's own row, which still holds the old values.
+     */
+    private void rethrowIfDuplicate(Exception e, Long customerId, String operation, String panNumber,
+                                    String aadhaarNumber, String email, Long mobile, String mobileNumber) {
+        if (!isConstraintViolation(e)) {
+            return;
+        }
+        throwIfConflict(operation, customerRepositoryImpl.findIdentityConflicts(customerId, panNumber, aadhaarNumber, email, mobile),
+                panNumber, MaskingUtil.maskAadhaar(aadhaarNumber), email, mobileNumber);
+    }
+
+    private static boolean isConstraintViolation(Exception e) {
+        Throwable cause = e;
+        while (cause != null && !(cause instanceof DataIntegrityViolationException)) {
+            cause = cause.getCause();
+        }
+        return cause != null;
+    }
+
+    /**
+     * Registration duplicate check in at most one round-trip: skipped entirely when the identity filter
+     * rules out all four values, otherwise a single query reports every colliding field.
+     */
+    private void checkRegistrationDuplicates(String operation, String panNumber, String aadhaarNumber,
+                                             String aadhaarLabel, String email, Long mobile, String mobileNumber) {
+        Set<IdentityField> candidates = identityIndex.candidates(panNumber, aadhaarNumber, email, mobile);
+        if (candidates.isEmpty()) {
+            log.debug("{} | duplicate check skipped (filter) | pan={}", operation, MaskingUtil.maskPan(panNumber));
+            return;
+        }
+        Set<IdentityField> conflicts = customerRepositoryImpl.findIdentityConflicts(panNumber, aadhaarNumber, email, mobile);
+        candidates.forEach(field -> identityIndex.recordDatabaseAnswer(field, conflicts.contains(field)));
+        throwIfConflict(operation, conflicts, panNumber, aadhaarLabel, email, mobileNumber);
+    }
+
+    /**
+     * Raises the first conflict in PAN, Aadhaar, email, mobile order with the established messages;
+     * all colliding fields are logged.
+     */
+    private void throwIfConflict(String operation, Set<IdentityField> conflicts, String panNumber,
+                                 String aadhaarLabel, String email, String mobileNumber) {
+        if (conflicts.isEmpty()) {
+            return;
+        }
+        log.warn("{} failed | duplicate identity | fields={} | pan={}", operation, conflicts, MaskingUtil.maskPan(panNumber));
+        throw new CustomerAlreadyExistsException(
+                duplicateMessage(conflicts.iterator().next(), panNumber, aadhaarLabel, email, mobileNumber));
+    }
+
+    private static String duplicateMessage(IdentityField field, String panNumber, String aadhaarLabel,
+                                           String email, String mobileNumber) {
+        return switch (field) {
+            case PAN -> "Pan: " + panNumber;
+            case AADHAAR -> "Aadhaar no : " + aadhaarLabel;
+            case EMAIL -> "Email already registered: " + email;
+            case MOBILE -> "Mobile already registered: " + mobileNumber;
+        };
+    }
+
+    /**
+     * Evicts only this customer's cache entries (indexed keys plus current and previous PAN/email)
+     * and any remembered not-found answers for its uuid, PAN and email.
+     * Runs again after commit so a read racing the transaction cannot leave the pre-commit row cached.
+     */
+    private void evictCustomerCache(Customer customer, String previousPan, String previousEmail) {
+        List<String> keys = new ArrayList<>();
+        keys.add(CustomerIndexedCache.uuidKey(customer.getCustomerUuid()));
+        keys.add(CustomerIndexedCache.panKey(customer.getPanNumber()));
+        keys.add(CustomerIndexedCache.emailKey(customer.getEmail()));
+        if (previousPan != null && !previousPan.equals(customer.getPanNumber())) {
+            keys.add(CustomerIndexedCache.panKey(previousPan));
+        }
+        if (previousEmail != null && !previousEmail.equals(customer.getEmail())) {
+            keys.add(CustomerIndexedCache.emailKey(previousEmail));
+        }
+        Long customerId = customer.getCustomerId();
+        int evicted = customerCache.evictCustomer(customerId, keys);
+        negativeLookupCache.invalidate(keys);
+        log.debug("Customer cache evicted | customerId={} | keys={}", customerId, evicted);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    customerCache.evictCustomer(customerId, keys);
+                    negativeLookupCache.invalidate(keys);
+                }
+            });
+        }
+    }
+
+    // Search index only sees committed data, so a rolled-back write never shows up in results
+    private void indexForSearch(Customer customer) {
+        String customerUuid = customer.getCustomerUuid();
+        String firstName = customer.getFirstName();
+        String lastName = customer.getLastName();
+        String panNumber = customer.getPanNumber();
+        String email = customer.getEmail();
+        Runnable index = () -> searchIndex.index(customerUuid, firstName, lastName, panNumber, email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index.run();
+                }
+            });
+        } else {
+            index.run();
+        }
+    }
+
+    static void validateAgeForHomeLoan(LocalDate dateOfBirth) {
     	 log.debug("Validating age for DOB={}", dateOfBirth);
         int age = Period.between(dateOfBirth, LocalDate.now()).getYears();
         if (age < MIN_AGE_HOME_LOAN || age > MAX_AGE_HOME_LOAN) {
@@ -504,72 +1070,77 @@ public class CustomerServiceImpl implements CustomerService {
     }
 
     private Customer mapRequestToEntity(CustomerRequestDto dto) {
-        Customer customer = modelMapper.map(dto, Customer.class);
-        customer.setMobile(Long.parseLong(dto.getMobileNumber()));
+        return CustomerMapper.toEntity(dto);
+    }
 
-        // Map address and employment details explicitly
-        applyAddressAndEmployment(dto, customer);
+    private CustomerResponseDto mapEntityToResponse(Customer customer) {
+    	 log.debug("Mapping entity to response | customerId={}", customer.getCustomerId());
+        return CustomerMapper.toResponse(customer);
+    }
 
-        return customer;
+    // One extra row tells us whether another page exists without a COUNT
+    private static int keysetLimit(int size) {
+        if (size < 1) {
+            throw new BusinessException("INVALID_PAGE_SIZE", "Page size must be at least 1");
+        }
+        return size + 1;
     }
 
-    /**
-     * Helper to copy address and employment details from DTO into Customer entity
-     * and maintain proper bi-directional relationships.
-     */
-    private void applyAddressAndEmployment(CustomerRequestDto dto, Customer customer) {
-        // Address (convert single DTO to list of addresses)
-        AddressDto addressDto = dto.getAddress();
-        List<Address> addresses = new ArrayList<>();
-        if (addressDto != null) {
-            Address address = new Address();
-            address.setType(AddressType.CURRENT);
-            address.setHouseNo(addressDto.getHouseNo());
-            address.setCity(addressDto.getCity());
-            address.setState(addressDto.getState());
-            address.setPincode(addressDto.getPincode());
-            address.setCustomer(customer);
-            addresses.add(address);
-        }
-        customer.setAddresses(addresses);
-
-        // Employment details
-        EmploymentDetailsDto empDto = dto.getEmploymentDetails();
-        if (empDto != null) {
-            EmploymentDetails employmentDetails = customer.getEmploymentDetails();
-            if (employmentDetails == null) {
-                employmentDetails = new EmploymentDetails();
-            }
-            employmentDetails.setEmploymentType(empDto.getEmploymentType());
-            employmentDetails.setCompanyName(empDto.getCompanyName());
-            employmentDetails.setMonthlyIncome(empDto.getMonthlyIncome());
-            employmentDetails.setTotalExperience(empDto.getTotalExperience());
-            employmentDetails.setCustomer(customer);
-            customer.setEmploymentDetails(employmentDetails);
-        } else {
-            customer.setEmploymentDetails(null);
+    private static long pageOffset(int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new BusinessException("INVALID_PAGE", "Page must be >= 0 and size >= 1");
         }
+        return (long) page * size;
     }
 
-    private CustomerResponseDto mapEntityToResponse(Customer customer) {
-    	 log.debug("Mapping entity to response | customerId={}", customer.getCustomerId());
-        CustomerResponseDto dto = modelMapper.map(customer, CustomerResponseDto.class);
-        dto.setMobileNumber(customer.getMobile() != null ? customer.getMobile().toString() : null);
-        dto.setActive(customer.getStatus() == CustomerStatus.ACTIVE);
-        dto.setPanNumber(MaskingUtil.maskPan(customer.getPanNumber()));
-        dto.setAadhaarNumber(MaskingUtil.maskAadhaar(customer.getAadhaarNumber()));
-        return dto;
+    private PageResponseDto<CustomerResponseDto> buildKeysetResponse(List<CustomerSummary> rows, int size, boolean first) {
+        boolean hasMore = rows.size() > size;
+        List<CustomerSummary> page = hasMore ? rows.subList(0, size) : rows;
+        PageResponseDto<CustomerResponseDto> response = new PageResponseDto<>(
+                page.stream().map(CustomerMapper::toResponse).toList(), 0, size, -1, -1, first, !hasMore);
+        if (hasMore) {
+            CustomerSummary lastRow = page.get(page.size() - 1);
+            response.setNextCursor(new PageCursor(lastRow.createdDate(), lastRow.customerId()).encode());
+        }
+        return response;
     }
 
-    private PageResponseDto<CustomerResponseDto> buildPageResponse(Page<Customer> page) {
+    // Loads one page of index hits in a single IN query and keeps the index's ranking
+    private PageResponseDto<CustomerResponseDto> buildRankedPage(List<String> rankedUuids, int page, int size) {
+        long offset = pageOffset(page, size);
+        int total = rankedUuids.size();
+        int from = (int) Math.min(offset, total);
+        List<String> pageUuids = rankedUuids.subList(from, Math.min(from + size, total));
+        Map<String, CustomerSummary> byUuid = new HashMap<>();
+        if (!pageUuids.isEmpty()) {
+            customerRepositoryImpl.findSummariesByUuids(pageUuids).forEach(c -> byUuid.put(c.customerUuid(), c));
+        }
+        List<CustomerResponseDto> content = new ArrayList<>(pageUuids.size());
+        for (String customerUuid : pageUuids) {
+            CustomerSummary customer = byUuid.get(customerUuid);
+            if (customer != null) {
+                content.add(CustomerMapper.toResponse(customer));
+            }
+        }
+        int totalPages = (total + size - 1) / size;
+        return new PageResponseDto<>(content, page, size, total, totalPages, page == 0, page >= totalPages - 1);
+    }
+
+    /**
+     * Offset page; the COUNT is skipped when the first page is already short (as Spring Data does).
+     */
+    private PageResponseDto<CustomerResponseDto> buildOffsetPage(List<CustomerSummary> rows, int page, int size,
+                                                                 LongSupplier count) {
+        long total = page == 0 && rows.size() < size ? rows.size() : count.getAsLong();
+        int totalPages = (int) ((total + size - 1) / size);
         return new PageResponseDto<>(
-                page.getContent().stream().map(this::mapEntityToResponse).toList(),
-                page.getNumber(),
-                page.getSize(),
-                page.getTotalElements(),
-                page.getTotalPages(),
-                page.isFirst(),
-                page.isLast()
+                rows.stream().map(CustomerMapper::toResponse).toList(),
+                page,
+                size,
+                total,
+                totalPages,
+                page == 0,
+                page >= totalPages - 1
         );
     }
 
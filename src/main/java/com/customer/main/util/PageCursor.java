@@ -0,0 +1,54 @@
+package com.customer.main.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import com.customer.main.exception.BusinessException;
+
+/**
+ * Opaque keyset-pagination cursor: the (createdDate, customerId) of the last row on a page,
+ * encoded as URL-safe Base64 so clients pass it back untouched.
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime createdDate;
+    private final long customerId;
+
+    public PageCursor(LocalDateTime createdDate, long customerId) {
+        this.createdDate = createdDate;
+        this.customerId = customerId;
+    }
+
+    public LocalDateTime getCreatedDate() {
+        return createdDate;
+    }
+
+    public long getCustomerId() {
+        return customerId;
+    }
+
+    public String encode() {
+        String raw = createdDate + SEPARATOR + customerId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Returns null for a blank cursor (first page).
+     */
+    public static PageCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BusinessException("INVALID_CURSOR", "Invalid page cursor");
+        }
+    }
+}
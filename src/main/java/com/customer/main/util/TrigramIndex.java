@@ -0,0 +1,262 @@
+package com.customer.main.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram inverted index for case-insensitive substring search over a few text fields
+ * per document (same semantics as {@code LOWER(field) LIKE CONCAT('%', LOWER(q), '%')}).
+ *
+ * Each document gets a dense int ordinal; posting lists hold ordinals per trigram. A search
+ * walks the shortest posting list of the query's trigrams and verifies every candidate against
+ * the stored fields. An update or removal leaves the trigrams a document lost as stale entries;
+ * each posting list counts them and is compacted once they reach half of it, so churn does not
+ * grow the postings. Queries shorter than {@link #MIN_QUERY_LENGTH} have no trigrams and cannot
+ * be answered.
+ */
+public class TrigramIndex {
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    private static final int SCORE_EQUALS = 4;
+    private static final int SCORE_PREFIX = 2;
+    private static final int SCORE_CONTAINS = 1;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinalByKey = new HashMap<>();
+    private final Map<Long, IntList> postings = new HashMap<>();
+    private Doc[] docs = new Doc[1024];
+    private int nextOrdinal;
+    private int liveDocs;
+
+    /**
+     * Adds or replaces a document. {@code sortKey} orders equally ranked results.
+     */
+    public void put(String key, String sortKey, String... fields) {
+        String[] normalized = new String[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            normalized[i] = fields[i] == null ? null : fields[i].toLowerCase(Locale.ROOT);
+        }
+        Doc doc = new Doc(key, sortKey == null ? "" : sortKey.toLowerCase(Locale.ROOT), normalized);
+
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalByKey.get(key);
+            Set<Long> previous = Set.of();
+            if (ordinal == null) {
+                ordinal = nextOrdinal++;
+                ordinalByKey.put(key, ordinal);
+                if (ordinal == docs.length) {
+                    docs = Arrays.copyOf(docs, docs.length * 2);
+                }
+                liveDocs++;
+            } else if (docs[ordinal] != null) {
+                previous = trigramsOf(docs[ordinal].fields);
+            } else {
+                liveDocs++;
+            }
+            docs[ordinal] = doc;
+            Set<Long> current = trigramsOf(normalized);
+            for (long trigram : current) {
+                if (!previous.contains(trigram)) {
+                    postings.computeIfAbsent(trigram, t -> new IntList()).add(ordinal);
+                }
+            }
+            for (long trigram : previous) {
+                if (!current.contains(trigram)) {
+                    markStale(trigram);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String key) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinalByKey.get(key);
+            if (ordinal != null && docs[ordinal] != null) {
+                Set<Long> trigrams = trigramsOf(docs[ordinal].fields);
+                docs[ordinal] = null;
+                liveDocs--;
+                trigrams.forEach(this::markStale);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean canSearch(String query) {
+        return query != null && query.length() >= MIN_QUERY_LENGTH;
+    }
+
+    /**
+     * Keys of all documents with a field containing {@code query}, best match first:
+     * field equals query, then field starts with query, then contains; ties by sort key.
+     */
+    public List<String> search(String query) {
+        if (!canSearch(query)) {
+            throw new IllegalArgumentException("Query must have at least " + MIN_QUERY_LENGTH + " characters");
+        }
+        String q = query.toLowerCase(Locale.ROOT);
+        List<Hit> hits = new ArrayList<>();
+
+        lock.readLock().lock();
+        try {
+            IntList shortest = null;
+            for (long trigram : trigramsOf(q)) {
+                IntList posting = postings.get(trigram);
+                if (posting == null) {
+                    return List.of();
+                }
+                if (shortest == null || posting.size < shortest.size) {
+                    shortest = posting;
+                }
+            }
+            BitSet seen = new BitSet(nextOrdinal);
+            for (int i = 0; i < shortest.size; i++) {
+                int ordinal = shortest.values[i];
+                Doc doc = docs[ordinal];
+                if (doc == null || seen.get(ordinal)) {
+                    continue;
+                }
+                seen.set(ordinal);
+                int score = score(doc, q);
+                if (score > 0) {
+                    hits.add(new Hit(doc.key, doc.sortKey, score));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        hits.sort(Comparator.comparingInt((Hit hit) -> -hit.score)
+                .thenComparing(hit -> hit.sortKey)
+                .thenComparing(hit -> hit.key));
+        List<String> keys = new ArrayList<>(hits.size());
+        hits.forEach(hit -> keys.add(hit.key));
+        return keys;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Approximate heap used by posting lists (4 bytes per entry plus array slack). */
+    public long postingBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            for (IntList posting : postings.values()) {
+                bytes += 4L * posting.values.length;
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the write lock
+    private void markStale(long trigram) {
+        IntList posting = postings.get(trigram);
+        if (posting == null) {
+            return;
+        }
+        posting.stale++;
+        if (posting.stale * 2 < posting.size) {
+            return;
+        }
+        // Keep each ordinal whose document still has this trigram, once
+        String gram = new String(new char[] {(char) (trigram >>> 32), (char) (trigram >>> 16), (char) trigram});
+        Arrays.sort(posting.values, 0, posting.size);
+        int kept = 0;
+        for (int i = 0; i < posting.size; i++) {
+            int ordinal = posting.values[i];
+            if ((kept == 0 || posting.values[kept - 1] != ordinal) && docs[ordinal] != null && contains(docs[ordinal], gram)) {
+                posting.values[kept++] = ordinal;
+            }
+        }
+        if (kept == 0) {
+            postings.remove(trigram);
+            return;
+        }
+        posting.values = Arrays.copyOf(posting.values, Math.max(4, kept));
+        posting.size = kept;
+        posting.stale = 0;
+    }
+
+    private static boolean contains(Doc doc, String gram) {
+        for (String field : doc.fields) {
+            if (field != null && field.contains(gram)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int score(Doc doc, String q) {
+        int best = 0;
+        for (String field : doc.fields) {
+            if (field == null) {
+                continue;
+            }
+            if (field.equals(q)) {
+                return SCORE_EQUALS;
+            }
+            if (field.startsWith(q)) {
+                best = Math.max(best, SCORE_PREFIX);
+            } else if (best == 0 && field.contains(q)) {
+                best = SCORE_CONTAINS;
+            }
+        }
+        return best;
+    }
+
+    private static Set<Long> trigramsOf(String... fields) {
+        Set<Long> trigrams = new HashSet<>();
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            for (int i = 0; i + MIN_QUERY_LENGTH <= field.length(); i++) {
+                trigrams.add(((long) field.charAt(i) << 32) | ((long) field.charAt(i + 1) << 16) | field.charAt(i + 2));
+            }
+        }
+        return trigrams;
+    }
+
+    private record Doc(String key, String sortKey, String[] fields) {
+    }
+
+    private record Hit(String key, String sortKey, int score) {
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int size;
+        private int stale;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
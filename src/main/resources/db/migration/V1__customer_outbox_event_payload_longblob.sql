@@ -0,0 +1,9 @@
+-- customer_outbox_event.payload changes from the Customer entity as JSON text (@Lob String, LONGTEXT)
+-- to a CustomerEventCodec binary event (@Lob byte[], LONGBLOB).
+--
+-- ddl-auto=update never changes the type of an existing column, so run this once per database
+-- before deploying the binary payload. It is safe to run again.
+--
+-- The outbox does not need to be drained first: rows still holding JSON keep their UTF-8 bytes,
+-- and CustomerEventCodec transcodes them to the binary event when they are sent.
+ALTER TABLE customer_outbox_event MODIFY payload LONGBLOB;
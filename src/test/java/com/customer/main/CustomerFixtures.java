@@ -0,0 +1,46 @@
+package com.customer.main;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerStatus;
+
+/**
+ * Customers for tests. Every identity value is derived from the id, so customers with different
+ * ids never collide on a unique key; tests override only the fields they are about.
+ */
+public final class CustomerFixtures {
+
+    private CustomerFixtures() {}
+
+    public static Customer customer(long id) {
+        Customer customer = new Customer();
+        customer.setCustomerId(id);
+        customer.setCustomerUuid(uuid(id));
+        customer.setFirstName("Asha");
+        customer.setLastName("Rao");
+        customer.setGender("F");
+        customer.setDateOfBirth(LocalDate.of(1990, 5, 17));
+        customer.setEmail(email(id));
+        customer.setMobile(9_000_000_000L + id);
+        customer.setPanNumber(panNumber(id));
+        customer.setAadhaarNumber(String.format("%012d", id));
+        customer.setStatus(CustomerStatus.ACTIVE);
+        customer.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        customer.setUpdatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        return customer;
+    }
+
+    public static String uuid(long id) {
+        return "uuid-" + id;
+    }
+
+    public static String panNumber(long id) {
+        return String.format("ABCDE%04dF", id);
+    }
+
+    public static String email(long id) {
+        return "c" + id + "@mail.com";
+    }
+}
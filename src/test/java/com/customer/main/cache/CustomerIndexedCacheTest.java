@@ -0,0 +1,252 @@
+package com.customer.main.cache;
+
+import static com.customer.main.CustomerFixtures.email;
+import static com.customer.main.CustomerFixtures.panNumber;
+import static com.customer.main.CustomerFixtures.uuid;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.junit.jupiter.api.Test;
+
+import com.customer.main.CustomerFixtures;
+import com.customer.main.dto.CustomerResponseDto;
+import com.customer.main.mapper.CustomerMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+class CustomerIndexedCacheTest {
+
+    private static CustomerIndexedCache newCache(int maxSize) {
+        return new CustomerIndexedCache("customers", Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .executor(Runnable::run)
+                .recordStats());
+    }
+
+    private static CustomerResponseDto customer(long id) {
+        return CustomerMapper.toResponse(CustomerFixtures.customer(id));
+    }
+
+    private static List<String> keysOf(long id) {
+        return List.of(CustomerIndexedCache.idKey(id), CustomerIndexedCache.uuidKey(uuid(id)),
+                CustomerIndexedCache.panKey(panNumber(id)), CustomerIndexedCache.emailKey(email(id)));
+    }
+
+    @Test
+    void evictCustomerRemovesOnlyThatCustomersKeys() {
+        CustomerIndexedCache cache = newCache(100);
+        keysOf(1).forEach(k -> cache.put(k, customer(1)));
+        keysOf(2).forEach(k -> cache.put(k, customer(2)));
+
+        cache.evictCustomer(1L, List.of());
+
+        keysOf(1).forEach(k -> assertThat(cache.get(k)).isNull());
+        keysOf(2).forEach(k -> assertThat(cache.get(k)).isNotNull());
+        assertThat(cache.indexedKeys(1L)).isEmpty();
+    }
+
+    @Test
+    void evictCustomerRemovesPreviousPanAndEmailEntries() {
+        CustomerIndexedCache cache = newCache(100);
+        cache.put(CustomerIndexedCache.panKey("OLDPN1234X"), customer(7));
+        cache.put(CustomerIndexedCache.emailKey("old@mail.com"), customer(7));
+
+        cache.evictCustomer(7L, List.of());
+
+        assertThat(cache.get(CustomerIndexedCache.panKey("OLDPN1234X"))).isNull();
+        assertThat(cache.get(CustomerIndexedCache.emailKey("old@mail.com"))).isNull();
+    }
+
+    @Test
+    void panKeysInAnyCaseAreReachedByEvictionOfTheStoredPan() {
+        CustomerIndexedCache cache = newCache(100);
+        cache.put(CustomerIndexedCache.panKey(" abcde1234f "), customer(8));
+
+        assertThat(cache.get(CustomerIndexedCache.panKey("ABCDE1234F"))).isNotNull();
+        cache.evictCustomer(null, List.of(CustomerIndexedCache.panKey("ABCDE1234F")));
+        assertThat(cache.get(CustomerIndexedCache.panKey("abcde1234f"))).isNull();
+    }
+
+    @Test
+    void sizeEvictionPrunesIndex() {
+        CustomerIndexedCache cache = newCache(10);
+        for (long id = 0; id < 500; id++) {
+            cache.put(CustomerIndexedCache.idKey(id), customer(id));
+        }
+        cache.getNativeCache().cleanUp();
+
+        assertThat(cache.indexedCustomerCount()).isLessThanOrEqualTo(10);
+    }
+
+    @Test
+    void concurrentPutsAndEvictionsLeaveNoUnindexedEntries() throws Exception {
+        CustomerIndexedCache cache = newCache(10_000);
+        int customers = 64;
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            boolean writer = t % 4 == 0;
+            pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    long id = random.nextInt(customers);
+                    if (writer) {
+                        cache.evictCustomer(id, List.of());
+                    } else {
+                        List<String> keys = keysOf(id);
+                        cache.put(keys.get(random.nextInt(keys.size())), customer(id));
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // Evicting by id alone must reach every key that survived the race
+        for (long id = 0; id < customers; id++) {
+            cache.evictCustomer(id, List.of());
+        }
+        cache.getNativeCache().cleanUp();
+        assertThat(cache.getNativeCache().estimatedSize()).isZero();
+        assertThat(cache.indexedCustomerCount()).isZero();
+    }
+
+    @Test
+    void readThatMissedBeforeAnEvictionCannotCacheTheOldRow() {
+        CustomerIndexedCache cache = newCache(100);
+        String key = CustomerIndexedCache.idKey(3L);
+
+        assertThat(cache.get(key)).isNull();        // @Cacheable miss, then the database read
+        cache.evictCustomer(3L, List.of());          // a writer commits and evicts meanwhile
+        cache.put(key, customer(3));                 // the read's (pre-update) result arrives
+
+        assertThat(cache.get(key)).isNull();
+        cache.put(key, customer(3));
+        assertThat(cache.get(key)).isNotNull();
+    }
+
+    @Test
+    void bulkPutWithATokenFromBeforeTheEvictionIsDropped() {
+        CustomerIndexedCache cache = newCache(100);
+        long staleToken = cache.readToken();
+        cache.evictCustomer(4L, keysOf(4).subList(1, 4));
+
+        cache.putIfAbsentUnderAllKeys(customer(4), panNumber(4), staleToken);
+        keysOf(4).forEach(k -> assertThat(cache.get(k)).isNull());
+
+        cache.putIfAbsentUnderAllKeys(customer(4), panNumber(4), cache.readToken());
+        keysOf(4).forEach(k -> assertThat(cache.get(k)).isNotNull());
+    }
+
+    @Test
+    void racingReadsNeverLeaveAnOlderVersionCached() throws Exception {
+        CustomerIndexedCache cache = newCache(10_000);
+        int customers = 16;
+        AtomicIntegerArray versions = new AtomicIntegerArray(customers);
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            boolean writer = t % 4 == 0;
+            pool.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 20_000; i++) {
+                    int id = random.nextInt(customers);
+                    if (writer) {
+                        // updateCustomer: commit the row, then evict the customer's keys
+                        versions.incrementAndGet(id);
+                        cache.evictCustomer((long) id, keysOf(id).subList(1, 4));
+                    } else {
+                        // @Cacheable: miss, read the row, put
+                        String key = keysOf(id).get(random.nextInt(4));
+                        if (cache.get(key) == null) {
+                            CustomerResponseDto row = customer(id);
+                            row.setFirstName("v" + versions.get(id));
+                            Thread.yield();
+                            cache.put(key, row);
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        for (int id = 0; id < customers; id++) {
+            for (String key : keysOf(id)) {
+                Object cached = cache.getNativeCache().getIfPresent(key);
+                if (cached != null) {
+                    assertThat(((CustomerResponseDto) cached).getFirstName()).as(key).isEqualTo("v" + versions.get(id));
+                }
+            }
+        }
+    }
+
+    @Test
+    void perCustomerEvictionKeepsHitRatioUnderMixedLoad() {
+        double indexed = simulateHitRatio(false);
+        double clearAll = simulateHitRatio(true);
+
+        // 200 customers x 4 keys fit in the cache, so only writes to the same customer cause misses
+        assertThat(indexed).isGreaterThan(0.6);
+        assertThat(indexed).isGreaterThan(clearAll * 10);
+    }
+
+    @Test
+    void countsHitsMissesAndEvictionsPerKeyPrefix() {
+        CustomerIndexedCache cache = newCache(4);
+        cache.put(CustomerIndexedCache.idKey(1L), customer(1));
+
+        cache.get(CustomerIndexedCache.idKey(1L));
+        cache.get(CustomerIndexedCache.idKey(2L));
+        cache.get(CustomerIndexedCache.panKey(panNumber(9)));
+        for (long id = 10; id < 20; id++) {
+            cache.put(CustomerIndexedCache.emailKey(email(id)), customer(id));
+        }
+        cache.getNativeCache().cleanUp();
+
+        assertThat(cache.hitCount(CustomerIndexedCache.KEY_ID)).isEqualTo(1);
+        assertThat(cache.missCount(CustomerIndexedCache.KEY_ID)).isEqualTo(1);
+        assertThat(cache.hitRatio(CustomerIndexedCache.KEY_ID)).isEqualTo(0.5);
+        assertThat(cache.missCount(CustomerIndexedCache.KEY_PAN)).isEqualTo(1);
+        assertThat(cache.hitCount(CustomerIndexedCache.KEY_UUID)).isZero();
+        long evictions = CustomerIndexedCache.KEY_PREFIXES.stream().mapToLong(cache::evictionCount).sum();
+        assertThat(evictions).isEqualTo(7);
+    }
+
+    private static double simulateHitRatio(boolean clearAllOnWrite) {
+        CustomerIndexedCache cache = newCache(1000);
+        Random random = new Random(42);
+        for (int i = 0; i < 200_000; i++) {
+            long id = random.nextInt(200);
+            if (random.nextInt(10) == 0) {
+                if (clearAllOnWrite) {
+                    cache.clear();
+                } else {
+                    cache.evictCustomer(id, List.of());
+                }
+            } else {
+                List<String> keys = keysOf(id);
+                String key = keys.get(random.nextInt(keys.size()));
+                if (cache.get(key) == null) {
+                    cache.put(key, customer(id));
+                }
+            }
+        }
+        return cache.getNativeCache().stats().hitRate();
+    }
+}
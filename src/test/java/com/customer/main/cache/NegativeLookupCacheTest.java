@@ -0,0 +1,52 @@
+package com.customer.main.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+class NegativeLookupCacheTest {
+
+    private final NegativeLookupCache cache = new NegativeLookupCache(Caffeine.newBuilder().maximumSize(100));
+
+    @Test
+    void recordedMissIsAnsweredAndCountedPerPrefix() {
+        String pan = CustomerIndexedCache.panKey("ABCDE1234F");
+        assertThat(cache.isKnownMiss(pan)).isFalse();
+
+        cache.recordMiss(pan, cache.lookupToken());
+
+        assertThat(cache.isKnownMiss(pan)).isTrue();
+        assertThat(cache.isKnownMiss(CustomerIndexedCache.panKey("abcde1234f"))).isTrue();
+        assertThat(cache.absorbedCount(CustomerIndexedCache.KEY_PAN)).isEqualTo(2);
+        assertThat(cache.absorbedCount(CustomerIndexedCache.KEY_UUID)).isZero();
+    }
+
+    @Test
+    void writeOfThatCustomerDropsOnlyItsKeys() {
+        String pan = CustomerIndexedCache.panKey("ABCDE1234F");
+        String otherPan = CustomerIndexedCache.panKey("ZZZZZ9999Z");
+        cache.recordMiss(pan, cache.lookupToken());
+        cache.recordMiss(otherPan, cache.lookupToken());
+
+        cache.invalidate(List.of(CustomerIndexedCache.uuidKey("u-1"), CustomerIndexedCache.panKey("abcde1234f")));
+
+        assertThat(cache.isKnownMiss(pan)).isFalse();
+        assertThat(cache.isKnownMiss(otherPan)).isTrue();
+    }
+
+    @Test
+    void missReadBeforeAConcurrentRegistrationIsNotStored() {
+        String uuid = CustomerIndexedCache.uuidKey("u-1");
+        long token = cache.lookupToken();
+        // Registration commits and invalidates while the lookup's SELECT is still returning "no row"
+        cache.invalidate(List.of(uuid));
+
+        cache.recordMiss(uuid, token);
+
+        assertThat(cache.isKnownMiss(uuid)).isFalse();
+    }
+}
@@ -0,0 +1,179 @@
+package com.customer.main.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache.ValueWrapper;
+
+import com.customer.main.dto.CustomerResponseDto;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Several TwoLevelCustomerCache instances act as service nodes sharing the embedded remote tier
+ * and the in-process invalidation bus; a map stands in for MySQL.
+ */
+class TwoLevelCustomerCacheTest {
+
+    private final Map<Long, Integer> database = new HashMap<>();
+    private int databaseReads;
+
+    private static TwoLevelCustomerCache node(String nodeId, RemoteCacheTier remote, CacheInvalidationBus bus) {
+        return new TwoLevelCustomerCache("customers", Caffeine.newBuilder()
+                .maximumSize(1000)
+                .executor(Runnable::run)
+                .recordStats(), remote, Duration.ofMinutes(15), bus, nodeId);
+    }
+
+    private static List<String> keysOf(long id) {
+        return List.of(CustomerIndexedCache.idKey(id), CustomerIndexedCache.uuidKey("uuid-" + id),
+                CustomerIndexedCache.panKey("ABCDE" + id), CustomerIndexedCache.emailKey("c" + id + "@mail.com"));
+    }
+
+    // What @Cacheable does around getCustomerBy*: cache first, then the database, then put
+    private String read(CustomerIndexedCache cache, String key, long id) {
+        ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            return ((CustomerResponseDto) cached.get()).getFirstName();
+        }
+        databaseReads++;
+        CustomerResponseDto dto = new CustomerResponseDto();
+        dto.setCustomerId(id);
+        dto.setFirstName("v" + database.get(id));
+        cache.put(key, dto);
+        return dto.getFirstName();
+    }
+
+    // What updateCustomer does: write the row, then evict the customer's keys
+    private void write(CustomerIndexedCache cache, long id) {
+        database.merge(id, 1, Integer::sum);
+        cache.evictCustomer(id, keysOf(id).subList(1, 4));
+    }
+
+    @Test
+    void staleReadIsNotWrittenToTheRemoteTier() {
+        InMemoryRemoteCacheTier remote = new InMemoryRemoteCacheTier();
+        InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        TwoLevelCustomerCache nodeA = node("a", remote, bus);
+        TwoLevelCustomerCache nodeB = node("b", remote, bus);
+        String key = CustomerIndexedCache.idKey(5L);
+        CustomerResponseDto stale = new CustomerResponseDto();
+        stale.setCustomerId(5L);
+
+        long token = nodeA.readToken();
+        write(nodeB, 5);
+        nodeA.put(key, stale, token);
+
+        assertThat(remote.get(key)).isNull();
+        assertThat(nodeA.get(key)).isNull();
+    }
+
+    @Test
+    void writeOnOneNodeIsVisibleOnEveryOtherNode() {
+        InMemoryRemoteCacheTier remote = new InMemoryRemoteCacheTier();
+        InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        TwoLevelCustomerCache nodeA = node("a", remote, bus);
+        TwoLevelCustomerCache nodeB = node("b", remote, bus);
+        database.put(1L, 1);
+        String panKey = CustomerIndexedCache.panKey("ABCDE1");
+        assertThat(read(nodeA, panKey, 1)).isEqualTo("v1");
+        assertThat(read(nodeB, panKey, 1)).isEqualTo("v1");
+
+        write(nodeA, 1);
+
+        assertThat(read(nodeB, panKey, 1)).isEqualTo("v2");
+        assertThat(read(nodeA, panKey, 1)).isEqualTo("v2");
+        assertThat(nodeB.invalidationsReceived()).isEqualTo(1);
+        assertThat(nodeA.invalidationsReceived()).isZero();
+    }
+
+    @Test
+    void withoutBroadcastAnotherNodeServesTheStaleEntry() {
+        TwoLevelCustomerCache nodeA = node("a", RemoteCacheTier.NONE, CacheInvalidationBus.LOCAL);
+        TwoLevelCustomerCache nodeB = node("b", RemoteCacheTier.NONE, CacheInvalidationBus.LOCAL);
+        database.put(1L, 1);
+        String panKey = CustomerIndexedCache.panKey("ABCDE1");
+        read(nodeA, panKey, 1);
+        read(nodeB, panKey, 1);
+
+        write(nodeA, 1);
+
+        assertThat(read(nodeA, panKey, 1)).isEqualTo("v2");
+        assertThat(read(nodeB, panKey, 1)).isEqualTo("v1");
+    }
+
+    @Test
+    void coldNodeIsFilledFromTheRemoteTier() {
+        InMemoryRemoteCacheTier remote = new InMemoryRemoteCacheTier();
+        InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        TwoLevelCustomerCache warm = node("warm", remote, bus);
+        for (long id = 1; id <= 100; id++) {
+            database.put(id, 1);
+            read(warm, CustomerIndexedCache.idKey(id), id);
+        }
+        int readsBefore = databaseReads;
+
+        TwoLevelCustomerCache cold = node("cold", remote, bus);
+        for (long id = 1; id <= 100; id++) {
+            assertThat(read(cold, CustomerIndexedCache.idKey(id), id)).isEqualTo("v1");
+        }
+
+        assertThat(databaseReads).isEqualTo(readsBefore);
+        assertThat(cold.remoteHitCount()).isEqualTo(100);
+        // Second pass is served locally
+        for (long id = 1; id <= 100; id++) {
+            read(cold, CustomerIndexedCache.idKey(id), id);
+        }
+        assertThat(cold.remoteHitCount()).isEqualTo(100);
+        assertThat(cold.indexedKeys(1L)).contains(CustomerIndexedCache.idKey(1L));
+    }
+
+    @Test
+    void remoteTierEntriesAreEvictedOnWrite() {
+        InMemoryRemoteCacheTier remote = new InMemoryRemoteCacheTier();
+        TwoLevelCustomerCache nodeA = node("a", remote, new InMemoryCacheInvalidationBus());
+        database.put(1L, 1);
+        keysOf(1).forEach(key -> read(nodeA, key, 1));
+        assertThat(remote.size()).isEqualTo(4);
+
+        write(nodeA, 1);
+
+        assertThat(remote.size()).isZero();
+    }
+
+    @Test
+    void sharedTierCutsDatabaseReadsAcrossNodesWithoutStaleReads() {
+        int localOnly = simulateDatabaseReads(RemoteCacheTier.NONE);
+        int twoLevel = simulateDatabaseReads(new InMemoryRemoteCacheTier());
+
+        // Every node warms itself from MySQL without the shared tier; with it, roughly one node does
+        assertThat(twoLevel).isLessThan(localOnly * 6 / 10);
+    }
+
+    private int simulateDatabaseReads(RemoteCacheTier remote) {
+        database.clear();
+        databaseReads = 0;
+        InMemoryCacheInvalidationBus bus = new InMemoryCacheInvalidationBus();
+        List<TwoLevelCustomerCache> nodes = List.of(node("a", remote, bus), node("b", remote, bus), node("c", remote, bus));
+        for (long id = 0; id < 200; id++) {
+            database.put(id, 1);
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 60_000; i++) {
+            long id = random.nextInt(200);
+            TwoLevelCustomerCache node = nodes.get(random.nextInt(nodes.size()));
+            if (random.nextInt(50) == 0) {
+                write(node, id);
+            } else {
+                List<String> keys = keysOf(id);
+                assertThat(read(node, keys.get(random.nextInt(keys.size())), id)).isEqualTo("v" + database.get(id));
+            }
+        }
+        return databaseReads;
+    }
+}
@@ -0,0 +1,135 @@
+package com.customer.main.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.customer.main.CustomerFixtures;
+import com.customer.main.entity.Customer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+class CustomerEventCodecTest {
+
+    private static final LocalDateTime OCCURRED_AT = LocalDateTime.of(2024, 1, 1, 10, 0, 1, 250_000_000);
+
+    /** A fixture customer with a production-shaped UUID and a surname outside Latin-1. */
+    private static Customer customer() {
+        Customer customer = CustomerFixtures.customer(42);
+        customer.setCustomerUuid("6f1c2d7e-9b0a-4c55-8e8f-0f3a1b2c3d4e");
+        customer.setLastName("R\u0101o");
+        return customer;
+    }
+
+    @Test
+    void roundTripsEveryFieldWithIdentityNumbersMasked() {
+        CustomerEventPayload event = CustomerEventPayload.from(customer(), "CUSTOMER_REGISTERED", OCCURRED_AT);
+
+        byte[] bytes = CustomerEventCodec.encode(event);
+
+        assertThat(bytes[0]).isEqualTo(CustomerEventCodec.SCHEMA_VERSION);
+        assertThat(CustomerEventCodec.decode(bytes)).isEqualTo(event);
+        assertThat(event.maskedPan()).isEqualTo("ABC*****F");
+        assertThat(event.maskedAadhaar()).isEqualTo("********0042");
+        String raw = new String(bytes, StandardCharsets.ISO_8859_1);
+        assertThat(raw).doesNotContain(CustomerFixtures.panNumber(42)).doesNotContain("000000000042");
+    }
+
+    @Test
+    void roundTripsNullFields() {
+        CustomerEventPayload event = new CustomerEventPayload("CUSTOMER_UPDATED", 7L, "uuid-7", null, null, null,
+                null, null, null, null, null, null, OCCURRED_AT);
+
+        assertThat(CustomerEventCodec.decode(CustomerEventCodec.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    void roundTripsCompactionTransitions() {
+        CustomerEventPayload event = CustomerEventPayload.from(customer(), "CUSTOMER_UPDATED", OCCURRED_AT)
+                .withTransitions(List.of("CUSTOMER_REGISTERED", "CUSTOMER_UPDATED", "CUSTOMER_UPDATED"));
+
+        assertThat(CustomerEventCodec.decode(CustomerEventCodec.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    void readsVersionOnePayloadsWithoutTransitions() {
+        CustomerEventPayload event = CustomerEventPayload.from(customer(), "CUSTOMER_REGISTERED", OCCURRED_AT);
+        byte[] v2 = CustomerEventCodec.encode(event);
+        // Version 1 is version 2 without the trailing empty transitions count
+        byte[] v1 = Arrays.copyOf(v2, v2.length - 1);
+        v1[0] = 1;
+
+        assertThat(CustomerEventCodec.decode(v1)).isEqualTo(event);
+    }
+
+    @Test
+    void readsNewerVersionsThatAppendFields() {
+        byte[] current = CustomerEventCodec.encode(CustomerEventPayload.from(customer(), "CUSTOMER_REGISTERED", OCCURRED_AT));
+        byte[] newer = Arrays.copyOf(current, current.length + 3);
+        newer[0] = CustomerEventCodec.SCHEMA_VERSION + 1;
+        newer[current.length] = 3;
+
+        assertThat(CustomerEventCodec.decode(newer)).isEqualTo(CustomerEventCodec.decode(current));
+    }
+
+    @Test
+    void upgradesLegacyEntityJsonRowsToTheBinaryEvent() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        // What saveOutboxEvent stored before this codec: entity JSON text, read back from the LONGBLOB column
+        byte[] legacy = objectMapper.writeValueAsString(customer()).getBytes(StandardCharsets.UTF_8);
+
+        byte[] upgraded = CustomerEventCodec.upgrade(legacy, "CUSTOMER_REGISTERED", OCCURRED_AT);
+
+        assertThat(upgraded[0]).isEqualTo(CustomerEventCodec.SCHEMA_VERSION);
+        assertThat(CustomerEventCodec.decode(upgraded))
+                .isEqualTo(CustomerEventPayload.from(customer(), "CUSTOMER_REGISTERED", OCCURRED_AT));
+        assertThat(CustomerEventCodec.upgrade(upgraded, "CUSTOMER_REGISTERED", OCCURRED_AT)).isSameAs(upgraded);
+    }
+
+    @Test
+    void decodesLegacyJsonWrittenWithTimestampArrays() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        byte[] legacy = objectMapper.writeValueAsBytes(customer());
+
+        CustomerEventPayload event = CustomerEventCodec.decode(legacy);
+
+        assertThat(event.eventType()).isNull();
+        assertThat(event.occurredAt()).isNull();
+        assertThat(event.createdDate()).isEqualTo(LocalDateTime.of(2024, 1, 1, 10, 0));
+        assertThat(event.maskedPan()).isEqualTo("ABC*****F");
+        assertThat(event.maskedAadhaar()).isEqualTo("********0042");
+    }
+
+    @Test
+    void rejectsEmptyTruncatedAndUnknownOlderPayloads() {
+        byte[] bytes = CustomerEventCodec.encode(CustomerEventPayload.from(customer(), "CUSTOMER_REGISTERED", OCCURRED_AT));
+
+        assertThatThrownBy(() -> CustomerEventCodec.decode(new byte[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CustomerEventCodec.decode(Arrays.copyOf(bytes, bytes.length / 2)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CustomerEventCodec.decode(new byte[] {0, 1}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CustomerEventCodec.decode("{\"customerId\":".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void binaryEventIsLessThanHalfTheJsonEntityPayload() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        Customer customer = customer();
+        // What the broker used to receive: entity JSON stored as a String, then JSON-encoded again on send
+        byte[] json = objectMapper.writeValueAsBytes(objectMapper.writeValueAsString(customer));
+        byte[] binary = CustomerEventCodec.encode(CustomerEventPayload.from(customer, "CUSTOMER_REGISTERED", OCCURRED_AT));
+
+        // Encode time per event is measured in CustomerEventCodecBenchmark
+        assertThat(binary.length * 2).isLessThan(json.length);
+    }
+}
@@ -0,0 +1,111 @@
+package com.customer.main.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.customer.main.entity.CustomerOutboxEvent;
+import com.customer.main.event.CustomerOutboxCompactor.OutboxMessage;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CustomerOutboxCompactorTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CustomerOutboxCompactor compactor(boolean enabled) {
+        return new CustomerOutboxCompactor(meterRegistry, enabled,
+                new String[] {"CUSTOMER_REGISTERED", " CUSTOMER_UPDATED"});
+    }
+
+    private static CustomerOutboxEvent event(long id, String aggregateId, String eventType) {
+        byte[] payload = CustomerEventCodec.encode(new CustomerEventPayload(eventType, id, aggregateId, "Asha", null,
+                null, null, null, null, "ACTIVE", null, null, NOW.plusSeconds(id)));
+        return new CustomerOutboxEvent(id, aggregateId, eventType, payload, "NEW", NOW);
+    }
+
+    private static List<Long> ids(List<OutboxMessage> messages) {
+        List<Long> ids = new ArrayList<>();
+        messages.forEach(message -> ids.add(message.event().getId()));
+        return ids;
+    }
+
+    @Test
+    void mergesConsecutiveCompactableEventsIntoTheNewestOne() {
+        List<OutboxMessage> messages = compactor(true).compact(List.of(
+                event(1, "agg-a", "CUSTOMER_REGISTERED"),
+                event(2, "agg-b", "CUSTOMER_REGISTERED"),
+                event(3, "agg-a", "CUSTOMER_UPDATED"),
+                event(4, "agg-a", "CUSTOMER_UPDATED")));
+
+        assertThat(ids(messages)).containsExactly(4L, 2L);
+        OutboxMessage merged = messages.get(0);
+        assertThat(merged.superseded()).extracting(CustomerOutboxEvent::getId).containsExactly(1L, 3L);
+        assertThat(merged.events()).extracting(CustomerOutboxEvent::getId).containsExactly(1L, 3L, 4L);
+        CustomerEventPayload payload = CustomerEventCodec.decode(merged.payload());
+        assertThat(payload.customerId()).isEqualTo(4L);
+        assertThat(payload.occurredAt()).isEqualTo(NOW.plusSeconds(4));
+        assertThat(payload.transitions()).containsExactly("CUSTOMER_REGISTERED", "CUSTOMER_UPDATED", "CUSTOMER_UPDATED");
+        assertThat(messages.get(1).payload()).isSameAs(messages.get(1).event().getPayload());
+        assertThat(meterRegistry.get("customer.outbox.compaction.saved").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("customer.outbox.compaction.merged").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void otherEventTypesEndARunAndGoOutAlone() {
+        List<OutboxMessage> messages = compactor(true).compact(List.of(
+                event(1, "agg-a", "CUSTOMER_REGISTERED"),
+                event(2, "agg-a", "CUSTOMER_UPDATED"),
+                event(3, "agg-a", "CUSTOMER_KYC_COMPLETED"),
+                event(4, "agg-a", "CUSTOMER_UPDATED"),
+                event(5, "agg-a", "CUSTOMER_UPDATED")));
+
+        assertThat(ids(messages)).containsExactly(2L, 3L, 5L);
+        assertThat(messages.get(1).superseded()).isEmpty();
+        assertThat(CustomerEventCodec.decode(messages.get(2).payload()).transitions())
+                .containsExactly("CUSTOMER_UPDATED", "CUSTOMER_UPDATED");
+    }
+
+    @Test
+    void legacyJsonRowGoesOutAsABinaryEvent() {
+        byte[] legacy = ("{\"customerId\":9,\"customerUuid\":\"agg-a\",\"firstName\":\"Asha\",\"panNumber\":\"ABCDE1234F\","
+                + "\"status\":\"ACTIVE\",\"createdDate\":\"2024-01-01T10:00:00\",\"addresses\":[]}").getBytes(StandardCharsets.UTF_8);
+        CustomerOutboxEvent row = new CustomerOutboxEvent(9L, "agg-a", "CUSTOMER_UPDATED", legacy, "NEW", NOW);
+
+        List<OutboxMessage> messages = compactor(false).compact(List.of(row));
+
+        CustomerEventPayload payload = CustomerEventCodec.decode(messages.get(0).payload());
+        assertThat(messages.get(0).payload()[0]).isEqualTo(CustomerEventCodec.SCHEMA_VERSION);
+        assertThat(payload.eventType()).isEqualTo("CUSTOMER_UPDATED");
+        assertThat(payload.occurredAt()).isEqualTo(NOW);
+        assertThat(payload.customerUuid()).isEqualTo("agg-a");
+        assertThat(payload.maskedPan()).isEqualTo("ABC*****F");
+    }
+
+    @Test
+    void undecodablePayloadIsSentUncompacted() {
+        CustomerOutboxEvent corrupt = new CustomerOutboxEvent(2L, "agg-a", "CUSTOMER_UPDATED", new byte[0], "NEW", NOW);
+
+        List<OutboxMessage> messages = compactor(true).compact(List.of(event(1, "agg-a", "CUSTOMER_UPDATED"), corrupt));
+
+        assertThat(ids(messages)).containsExactly(1L, 2L);
+        assertThat(messages).allSatisfy(message -> assertThat(message.superseded()).isEmpty());
+        assertThat(meterRegistry.get("customer.outbox.compaction.saved").counter().count()).isZero();
+    }
+
+    @Test
+    void disabledCompactionSendsEveryEvent() {
+        List<OutboxMessage> messages = compactor(false).compact(List.of(
+                event(1, "agg-a", "CUSTOMER_UPDATED"),
+                event(2, "agg-a", "CUSTOMER_UPDATED")));
+
+        assertThat(ids(messages)).containsExactly(1L, 2L);
+    }
+}
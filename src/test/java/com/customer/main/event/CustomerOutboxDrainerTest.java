@@ -0,0 +1,65 @@
+package com.customer.main.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+class CustomerOutboxDrainerTest {
+
+    @Test
+    void signalFiresOnlyAfterTheTransactionCommits() throws Exception {
+        CustomerOutboxSignal signal = new CustomerOutboxSignal();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            signal.signalAfterCommit();
+            assertThat(signal.await(0)).isFalse();
+            TransactionSynchronizationUtils.invokeAfterCommit(TransactionSynchronizationManager.getSynchronizations());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(signal.await(0)).isTrue();
+        assertThat(signal.await(0)).isFalse();
+    }
+
+    @Test
+    void rolledBackWriteDoesNotSignal() throws Exception {
+        CustomerOutboxSignal signal = new CustomerOutboxSignal();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            signal.signalAfterCommit();
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(signal.await(0)).isFalse();
+    }
+
+    @Test
+    void commitSignalWakesTheDrainerWithoutWaitingForThePoll() {
+        CustomerOutboxProcessor processor = mock(CustomerOutboxProcessor.class);
+        CustomerOutboxSignal signal = new CustomerOutboxSignal();
+        // A poll interval far beyond the verify timeouts: only the signal can trigger the second drain
+        CustomerOutboxDrainer drainer = new CustomerOutboxDrainer(processor, signal, 600_000);
+        drainer.start();
+        try {
+            verify(processor, timeout(5_000).times(1)).processOutboxEvents();
+
+            signal.signalAfterCommit();
+
+            verify(processor, timeout(5_000).times(2)).processOutboxEvents();
+        } finally {
+            drainer.stop();
+        }
+    }
+}
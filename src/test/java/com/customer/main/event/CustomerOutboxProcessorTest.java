@@ -0,0 +1,589 @@
+package com.customer.main.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import com.customer.main.entity.CustomerOutboxEvent;
+import com.customer.main.repository.CustomerOutboxClaimRepository;
+import com.customer.main.repository.CustomerOutboxClaimRepository.OutboxRetry;
+import com.customer.main.repository.CustomerOutboxEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CustomerOutboxProcessorTest {
+
+    private static final CustomerOutboxRetryPolicy DEFAULT_RETRY = new CustomerOutboxRetryPolicy(1_000, 300_000, 10);
+    private static final CustomerOutboxCompactor NO_COMPACTION =
+            new CustomerOutboxCompactor(new SimpleMeterRegistry(), false, new String[0]);
+
+    private static List<CustomerOutboxEvent> events(int count) {
+        List<CustomerOutboxEvent> events = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            events.add(new CustomerOutboxEvent(id, "uuid-" + id, "CUSTOMER_REGISTERED", new byte[0], "NEW", LocalDateTime.now()));
+        }
+        return events;
+    }
+
+    private static CustomerOutboxProcessor processor(CustomerOutboxEventRepository repository,
+                                                     CustomerOutboxClaimRepository claimRepository,
+                                                     KafkaTemplate<String, byte[]> kafkaTemplate,
+                                                     int batchSize, int maxInFlight, long sendTimeoutMs) {
+        return new CustomerOutboxProcessor(repository, claimRepository, kafkaTemplate, "customer.registered",
+                DEFAULT_RETRY, NO_COMPACTION, new SimpleMeterRegistry(), "test-worker", batchSize, maxInFlight, sendTimeoutMs, 1, 60_000);
+    }
+
+    /** Event repository whose worker still holds every lease, so each marked id is settled. */
+    private static CustomerOutboxEventRepository markingRepository() {
+        CustomerOutboxEventRepository repository = mock(CustomerOutboxEventRepository.class);
+        when(repository.updateStatusByIds(anyCollection(), anyString(), anyString(), any()))
+                .thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).size());
+        return repository;
+    }
+
+    /**
+     * Kafka stand-in: acks after a fixed broker latency, failing keys that end with the given suffix.
+     */
+    private static KafkaTemplate<String, byte[]> broker(long ackLatencyMs, String failingKeySuffix) {
+        return broker(ackLatencyMs, failingKeySuffix, null);
+    }
+
+    /**
+     * Same as above, also recording "key:payload" in send order (the order Kafka keeps per partition).
+     */
+    @SuppressWarnings("unchecked")
+    private static KafkaTemplate<String, byte[]> broker(long ackLatencyMs, String failingKeySuffix, Queue<String> sendLog) {
+        KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+        Executor delayed = CompletableFuture.delayedExecutor(ackLatencyMs, TimeUnit.MILLISECONDS);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenAnswer(invocation -> {
+            String key = invocation.getArgument(1);
+            if (sendLog != null) {
+                sendLog.add(key + ":" + new String((byte[]) invocation.getArgument(2), StandardCharsets.UTF_8));
+            }
+            CompletableFuture<SendResult<String, byte[]>> future = new CompletableFuture<>();
+            delayed.execute(() -> {
+                if (failingKeySuffix != null && key.endsWith(failingKeySuffix)) {
+                    future.completeExceptionally(new IllegalStateException("broker unavailable"));
+                } else {
+                    future.complete(null);
+                }
+            });
+            return future;
+        });
+        return kafkaTemplate;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void marksOnlyAcknowledgedEventsSentInOneUpdate() {
+        CustomerOutboxEventRepository repository = markingRepository();
+        CustomerOutboxClaimRepository claimRepository = mock(CustomerOutboxClaimRepository.class);
+        CustomerOutboxProcessor processor = processor(repository, claimRepository, broker(1, "3"), 50, 50, 5_000);
+
+        int sent = processor.publishBatch(events(10));
+
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(repository, times(1)).updateStatusByIds(ids.capture(), eq("SENT"), eq("test-worker"), any());
+        assertThat(ids.getValue()).containsExactlyInAnyOrder(1L, 2L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+        assertThat(sent).isEqualTo(9);
+
+        ArgumentCaptor<List<OutboxRetry>> retries = ArgumentCaptor.forClass(List.class);
+        verify(claimRepository).scheduleRetries(eq("test-worker"), retries.capture());
+        assertThat(retries.getValue()).singleElement().satisfies(retry -> {
+            assertThat(retry.id()).isEqualTo(3L);
+            assertThat(retry.status()).isEqualTo("NEW");
+            assertThat(retry.retryCount()).isEqualTo(1);
+            assertThat(retry.nextAttemptAt()).isAfter(LocalDateTime.now().plusNanos(400_000_000L));
+            assertThat(retry.lastError()).contains("broker unavailable");
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deadLettersAnEventOnItsLastAttempt() {
+        CustomerOutboxClaimRepository claimRepository = mock(CustomerOutboxClaimRepository.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CustomerOutboxProcessor processor = new CustomerOutboxProcessor(mock(CustomerOutboxEventRepository.class),
+                claimRepository, broker(1, ""), "customer.registered", new CustomerOutboxRetryPolicy(1_000, 300_000, 3), NO_COMPACTION, meterRegistry,
+                "test-worker", 50, 50, 5_000, 1, 60_000);
+        List<CustomerOutboxEvent> batch = events(2);
+        batch.get(0).setRetryCount(1);
+        batch.get(1).setRetryCount(2);
+
+        processor.publishBatch(batch);
+
+        ArgumentCaptor<List<OutboxRetry>> retries = ArgumentCaptor.forClass(List.class);
+        verify(claimRepository).scheduleRetries(eq("test-worker"), retries.capture());
+        assertThat(retries.getValue()).extracting(OutboxRetry::status, OutboxRetry::retryCount)
+                .containsExactly(tuple("NEW", 2), tuple("FAILED", 3));
+        assertThat(retries.getValue().get(1).nextAttemptAt()).isNull();
+        assertThat(meterRegistry.get("customer.outbox.publish.failures").tag("result", "dead_letter").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void newerEventsOfAnAggregateAreNotSentPastAnOlderFailure() {
+        // agg-1 holds ids 1, 3, 5 and agg-0 holds 2, 4, 6; only id 1 is rejected
+        InMemoryOutbox outbox = new InMemoryOutbox(6, 2);
+        Queue<String> sendLog = new ConcurrentLinkedQueue<>();
+        CustomerOutboxProcessor processor = new CustomerOutboxProcessor(outbox.eventRepository, outbox,
+                rejecting("1", sendLog), "customer.registered", DEFAULT_RETRY, NO_COMPACTION, new SimpleMeterRegistry(), "test-worker",
+                50, 50, 5_000, 1, 60_000);
+
+        processor.processOutboxEvents();
+
+        assertThat(sendLog).containsExactly("agg-1:1", "agg-0:2", "agg-0:4", "agg-0:6");
+        assertThat(outbox.rows("agg-0")).extracting(CustomerOutboxEvent::getStatus).containsOnly("SENT");
+        assertThat(outbox.rows("agg-1")).extracting(CustomerOutboxEvent::getId, CustomerOutboxEvent::getStatus,
+                CustomerOutboxEvent::getRetryCount, CustomerOutboxEvent::getClaimedBy)
+                .containsExactly(tuple(1L, "NEW", 1, null), tuple(3L, "NEW", 0, null), tuple(5L, "NEW", 0, null));
+        // Held back behind the backed-off event 1, not claimable on their own
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(outbox.claimBatch("other-worker", 50, now, now.plusMinutes(1))).isEmpty();
+    }
+
+    @Test
+    void deadLetteredEventHoldsBackItsAggregateUntilRequeued() throws Exception {
+        // agg-1 holds ids 1, 3, 5; id 1 is rejected until it is dead-lettered
+        InMemoryOutbox outbox = new InMemoryOutbox(6, 2);
+        CustomerOutboxProcessor rejecting = new CustomerOutboxProcessor(outbox.eventRepository, outbox,
+                rejecting("1", new ConcurrentLinkedQueue<>()), "customer.registered", new CustomerOutboxRetryPolicy(1, 2, 2), NO_COMPACTION,
+                new SimpleMeterRegistry(), "test-worker", 50, 50, 5_000, 1, 60_000);
+        for (int i = 0; i < 100 && !"FAILED".equals(outbox.rows("agg-1").get(0).getStatus()); i++) {
+            rejecting.processOutboxEvents();
+            Thread.sleep(5);
+        }
+
+        assertThat(outbox.rows("agg-1")).extracting(CustomerOutboxEvent::getStatus).containsExactly("FAILED", "NEW", "NEW");
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(outbox.claimBatch("other-worker", 50, now, now.plusMinutes(1))).isEmpty();
+
+        Queue<String> sendLog = new ConcurrentLinkedQueue<>();
+        outbox.requeueFailed(List.of(1L));
+        processor(outbox.eventRepository, outbox, broker(0, null, sendLog), 50, 50, 5_000).processOutboxEvents();
+
+        assertThat(sendLog).containsExactly("agg-1:1", "agg-1:3", "agg-1:5");
+        assertThat(outbox.rows("agg-1")).extracting(CustomerOutboxEvent::getStatus).containsOnly("SENT");
+    }
+
+    @Test
+    void leavesEverythingNewWhenBrokerRejectsAll() {
+        CustomerOutboxEventRepository repository = mock(CustomerOutboxEventRepository.class);
+        CustomerOutboxProcessor processor = processor(repository, mock(CustomerOutboxClaimRepository.class),
+                broker(1, ""), 50, 50, 5_000);
+
+        assertThat(processor.publishBatch(events(5))).isZero();
+        verify(repository, never()).updateStatusByIds(anyCollection(), anyString(), anyString(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void spilledRegisteredEventsGoToTheirTopicAsStoredJson() {
+        KafkaTemplate<String, byte[]> kafkaTemplate = broker(0, null);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        byte[] json = "{\"customerUuid\":\"uuid-2\"}".getBytes(StandardCharsets.UTF_8);
+        List<CustomerOutboxEvent> events = events(2);
+        events.get(1).setEventType(CustomerRegisteredEvent.OUTBOX_EVENT_TYPE);
+        events.get(1).setPayload(json);
+
+        assertThat(processor(markingRepository(), mock(CustomerOutboxClaimRepository.class), kafkaTemplate, 50, 50, 5_000)
+                .publishBatch(events)).isEqualTo(2);
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(record.capture());
+        assertThat(record.getValue().topic()).isEqualTo("customer.registered");
+        assertThat(record.getValue().key()).isEqualTo("uuid-2");
+        assertThat(record.getValue().value()).isEqualTo(json);
+        assertThat(new String(record.getValue().headers().lastHeader("__TypeId__").value(), StandardCharsets.UTF_8))
+                .isEqualTo(CustomerRegisteredEvent.class.getName());
+        verify(kafkaTemplate).send(eq("customer-topic"), eq("uuid-1"), any(byte[].class));
+    }
+
+    @Test
+    void rowsWhoseLeaseWasLostAreNotCountedAsSettled() {
+        CustomerOutboxEventRepository repository = mock(CustomerOutboxEventRepository.class);
+        // Another worker reclaimed two of the five rows after this worker's lease expired
+        when(repository.updateStatusByIds(anyCollection(), eq("SENT"), eq("test-worker"), any())).thenReturn(3);
+        CustomerOutboxProcessor processor = processor(repository, mock(CustomerOutboxClaimRepository.class),
+                broker(1, null), 50, 50, 5_000);
+
+        assertThat(processor.publishBatch(events(5))).isEqualTo(3);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void pipelinesSendsUpToMaxInFlight() {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+        Executor delayed = CompletableFuture.delayedExecutor(5, TimeUnit.MILLISECONDS);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenAnswer(invocation -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            CompletableFuture<SendResult<String, byte[]>> future = new CompletableFuture<>();
+            delayed.execute(() -> {
+                inFlight.decrementAndGet();
+                future.complete(null);
+            });
+            return future;
+        });
+        CustomerOutboxProcessor processor = processor(markingRepository(),
+                mock(CustomerOutboxClaimRepository.class), kafkaTemplate, 40, 4, 30_000);
+
+        assertThat(processor.publishBatch(events(40))).isEqualTo(40);
+        // Sends overlap instead of waiting for each ack, but never more than max-in-flight at once
+        assertThat(peak.get()).isEqualTo(4);
+    }
+
+    @Test
+    void concurrentDrainersPublishEachEventOnceInAggregateOrder() throws Exception {
+        Queue<String> sendLog = new ConcurrentLinkedQueue<>();
+        InMemoryOutbox outbox = new InMemoryOutbox(1_200, 100);
+
+        drain(outbox, 4, 2, broker(1, null, sendLog));
+
+        assertThat(outbox.pending()).isZero();
+        Map<String, Long> lastIdByAggregate = new HashMap<>();
+        Set<Long> published = new HashSet<>();
+        for (String entry : sendLog) {
+            String aggregateId = entry.substring(0, entry.indexOf(':'));
+            long id = Long.parseLong(entry.substring(entry.indexOf(':') + 1));
+            assertThat(published.add(id)).as("event %d published twice", id).isTrue();
+            Long previous = lastIdByAggregate.put(aggregateId, id);
+            assertThat(previous == null || previous < id).as("aggregate %s out of order at %d", aggregateId, id).isTrue();
+        }
+        assertThat(published).hasSize(1_200);
+    }
+
+    @Test
+    void poisonEventsBackOffWhileHealthyEventsDrain() throws Exception {
+        int healthy = 1_000;
+        // 50 events the broker always rejects, ahead of everything else in the table
+        InMemoryOutbox poisoned = new InMemoryOutbox(healthy, 200, 50);
+
+        drain(poisoned, 2, 4, broker(2, "-poison"), DEFAULT_RETRY, () -> poisoned.count("SENT") == healthy);
+
+        // Each poison event was tried once and is now waiting out its backoff, not re-claimed every batch
+        assertThat(poisoned.rows("-poison")).hasSize(50).allSatisfy(row -> {
+            assertThat(row.getStatus()).isEqualTo("NEW");
+            assertThat(row.getRetryCount()).isEqualTo(1);
+            assertThat(row.getNextAttemptAt()).isAfter(LocalDateTime.now());
+        });
+    }
+
+    @Test
+    void poisonEventsAreDeadLetteredAfterMaxAttempts() throws Exception {
+        InMemoryOutbox outbox = new InMemoryOutbox(200, 20, 5);
+
+        drain(outbox, 2, 4, broker(1, "-poison"), new CustomerOutboxRetryPolicy(1, 4, 3), () -> outbox.pending() == 0);
+
+        assertThat(outbox.count("SENT")).isEqualTo(200);
+        assertThat(outbox.rows("-poison")).hasSize(5).allSatisfy(row -> {
+            assertThat(row.getStatus()).isEqualTo("FAILED");
+            assertThat(row.getRetryCount()).isEqualTo(3);
+            assertThat(row.getLastError()).contains("broker unavailable");
+        });
+    }
+
+    @Test
+    void compactionSendsFewerMessagesAndKeepsEachCustomersEventSequence() {
+        int count = 600;
+        InMemoryOutbox outbox = new InMemoryOutbox(count, 5);
+        // KYC completion is not compactable, so it always goes out on its own between merged runs
+        outbox.encodeCustomerEvents(id -> id % 7 == 0 ? "CUSTOMER_KYC_COMPLETED" : id <= 5 ? "CUSTOMER_REGISTERED" : "CUSTOMER_UPDATED");
+        Queue<CustomerEventPayload> published = new ConcurrentLinkedQueue<>();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CustomerOutboxCompactor compactor = new CustomerOutboxCompactor(meterRegistry, true,
+                new String[] {"CUSTOMER_REGISTERED", "CUSTOMER_UPDATED"});
+
+        drain(outbox, 2, 4, decodingBroker(1, published), DEFAULT_RETRY, compactor, () -> outbox.pending() == 0);
+
+        Map<String, List<String>> seenTypes = new HashMap<>();
+        Map<String, Long> lastId = new HashMap<>();
+        for (CustomerEventPayload message : published) {
+            Long previous = lastId.put(message.customerUuid(), message.customerId());
+            assertThat(previous == null || previous < message.customerId())
+                    .as("aggregate %s out of order at %d", message.customerUuid(), message.customerId()).isTrue();
+            List<String> types = message.transitions().isEmpty() ? List.of(message.eventType()) : message.transitions();
+            assertThat(types.get(types.size() - 1)).isEqualTo(message.eventType());
+            if (types.size() > 1) {
+                assertThat(types).doesNotContain("CUSTOMER_KYC_COMPLETED");
+            }
+            seenTypes.computeIfAbsent(message.customerUuid(), k -> new ArrayList<>()).addAll(types);
+        }
+        double saved = meterRegistry.get("customer.outbox.compaction.saved").counter().count();
+
+        assertThat(seenTypes).isEqualTo(outbox.typesByAggregate());
+        assertThat(published.size() + (long) saved).isEqualTo(count);
+        assertThat(published.size()).isLessThan(count / 2);
+        assertThat(outbox.count("SENT")).isEqualTo(published.size());
+        assertThat(outbox.count("COMPACTED")).isEqualTo((long) saved);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void failedCompactedMessageRetriesEveryEventItStoodFor() {
+        InMemoryOutbox outbox = new InMemoryOutbox(3, 1);
+        outbox.encodeCustomerEvents(id -> "CUSTOMER_UPDATED");
+        CustomerOutboxClaimRepository claimRepository = mock(CustomerOutboxClaimRepository.class);
+        CustomerOutboxProcessor processor = new CustomerOutboxProcessor(outbox.eventRepository, claimRepository,
+                broker(1, ""), "customer.registered", DEFAULT_RETRY, new CustomerOutboxCompactor(new SimpleMeterRegistry(), true,
+                        new String[] {"CUSTOMER_UPDATED"}), new SimpleMeterRegistry(), "test-worker", 50, 50, 5_000, 1, 60_000);
+
+        assertThat(processor.publishBatch(outbox.rows("agg-0"))).isZero();
+
+        ArgumentCaptor<List<OutboxRetry>> retries = ArgumentCaptor.forClass(List.class);
+        verify(claimRepository).scheduleRetries(eq("test-worker"), retries.capture());
+        assertThat(retries.getValue()).extracting(OutboxRetry::id).containsExactly(1L, 2L, 3L);
+        assertThat(retries.getValue()).allSatisfy(retry -> assertThat(retry.lastError()).contains("broker unavailable"));
+        assertThat(outbox.pending()).isEqualTo(3);
+    }
+
+    /**
+     * Kafka stand-in that rejects only the given payload and records "key:payload" in send order.
+     */
+    @SuppressWarnings("unchecked")
+    private static KafkaTemplate<String, byte[]> rejecting(String payload, Queue<String> sendLog) {
+        KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenAnswer(invocation -> {
+            String sent = new String((byte[]) invocation.getArgument(2), StandardCharsets.UTF_8);
+            sendLog.add(invocation.getArgument(1) + ":" + sent);
+            return payload.equals(sent)
+                    ? CompletableFuture.failedFuture(new IllegalStateException("broker unavailable"))
+                    : CompletableFuture.completedFuture(null);
+        });
+        return kafkaTemplate;
+    }
+
+    /**
+     * Kafka stand-in that acks after a fixed latency and records every message decoded, in send order.
+     */
+    @SuppressWarnings("unchecked")
+    private static KafkaTemplate<String, byte[]> decodingBroker(long ackLatencyMs, Queue<CustomerEventPayload> sent) {
+        KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+        Executor delayed = CompletableFuture.delayedExecutor(ackLatencyMs, TimeUnit.MILLISECONDS);
+        when(kafkaTemplate.send(anyString(), anyString(), any(byte[].class))).thenAnswer(invocation -> {
+            sent.add(CustomerEventCodec.decode(invocation.getArgument(2)));
+            CompletableFuture<SendResult<String, byte[]>> future = new CompletableFuture<>();
+            delayed.execute(() -> future.complete(null));
+            return future;
+        });
+        return kafkaTemplate;
+    }
+
+    /**
+     * Runs {@code workers} processors (each with its own worker id) against the same outbox until it is empty.
+     */
+    private static void drain(InMemoryOutbox outbox, int workers, int maxInFlight, KafkaTemplate<String, byte[]> broker) {
+        drain(outbox, workers, maxInFlight, broker, DEFAULT_RETRY, () -> outbox.pending() == 0);
+    }
+
+    private static void drain(InMemoryOutbox outbox, int workers, int maxInFlight, KafkaTemplate<String, byte[]> broker,
+                              CustomerOutboxRetryPolicy retryPolicy, BooleanSupplier done) {
+        drain(outbox, workers, maxInFlight, broker, retryPolicy, NO_COMPACTION, done);
+    }
+
+    private static void drain(InMemoryOutbox outbox, int workers, int maxInFlight, KafkaTemplate<String, byte[]> broker,
+                              CustomerOutboxRetryPolicy retryPolicy, CustomerOutboxCompactor compactor, BooleanSupplier done) {
+        ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int w = 0; w < workers; w++) {
+                CustomerOutboxProcessor processor = new CustomerOutboxProcessor(outbox.eventRepository, outbox, broker,
+                        "customer.registered", retryPolicy, compactor, new SimpleMeterRegistry(), "worker-" + w, 20, maxInFlight, 30_000, 2, 60_000);
+                running.add(pool.submit(() -> {
+                    try {
+                        while (!done.getAsBoolean()) {
+                            processor.processOutboxEvents();
+                        }
+                    } finally {
+                        processor.shutdown();
+                    }
+                }));
+            }
+            for (Future<?> future : running) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Outbox table stand-in: claimBatch is atomic (as a SKIP LOCKED claim transaction would be)
+     * and applies the same per-aggregate ordering rule and retry backoff as the JDBC claim.
+     * The first {@code poison} rows get aggregate ids ending in "-poison", each its own aggregate.
+     */
+    private static class InMemoryOutbox extends CustomerOutboxClaimRepository {
+
+        private final TreeMap<Long, CustomerOutboxEvent> rows = new TreeMap<>();
+        private final CustomerOutboxEventRepository eventRepository = mock(CustomerOutboxEventRepository.class);
+
+        InMemoryOutbox(int count, int aggregates) {
+            this(count, aggregates, 0);
+        }
+
+        @SuppressWarnings("unchecked")
+        InMemoryOutbox(int count, int aggregates, int poison) {
+            for (long id = 1; id <= count + poison; id++) {
+                String aggregateId = id <= poison ? id + "-poison" : "agg-" + (id % aggregates);
+                rows.put(id, new CustomerOutboxEvent(id, aggregateId, "CUSTOMER_UPDATED",
+                        String.valueOf(id).getBytes(StandardCharsets.UTF_8), "NEW", LocalDateTime.now()));
+            }
+            when(eventRepository.updateStatusByIds(anyCollection(), anyString(), anyString(), any())).thenAnswer(invocation -> {
+                synchronized (this) {
+                    Collection<Long> ids = invocation.getArgument(0);
+                    String status = invocation.getArgument(1);
+                    String workerId = invocation.getArgument(2);
+                    int updated = 0;
+                    for (Long id : ids) {
+                        CustomerOutboxEvent row = rows.get(id);
+                        if (workerId.equals(row.getClaimedBy())) {
+                            row.setStatus(status);
+                            row.setClaimedBy(null);
+                            row.setLeaseUntil(null);
+                            updated++;
+                        }
+                    }
+                    return updated;
+                }
+            });
+        }
+
+        @Override
+        public synchronized List<CustomerOutboxEvent> claimBatch(String workerId, int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+            List<CustomerOutboxEvent> candidates = new ArrayList<>();
+            for (CustomerOutboxEvent row : rows.values()) {
+                if (candidates.size() == limit) {
+                    break;
+                }
+                if ("NEW".equals(row.getStatus()) && (row.getLeaseUntil() == null || row.getLeaseUntil().isBefore(now))
+                        && (row.getNextAttemptAt() == null || !row.getNextAttemptAt().isAfter(now))) {
+                    candidates.add(row);
+                }
+            }
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+            long maxId = candidates.get(candidates.size() - 1).getId();
+            Set<String> aggregateIds = new HashSet<>();
+            candidates.forEach(event -> aggregateIds.add(event.getAggregateId()));
+            Map<String, List<Long>> pendingIds = new HashMap<>();
+            for (CustomerOutboxEvent row : rows.headMap(maxId, true).values()) {
+                if (("NEW".equals(row.getStatus()) || "FAILED".equals(row.getStatus()))
+                        && aggregateIds.contains(row.getAggregateId())) {
+                    pendingIds.computeIfAbsent(row.getAggregateId(), k -> new ArrayList<>()).add(row.getId());
+                }
+            }
+            List<CustomerOutboxEvent> claimed = orderedPrefix(candidates, pendingIds);
+            claimed.forEach(event -> {
+                event.setClaimedBy(workerId);
+                event.setLeaseUntil(leaseUntil);
+            });
+            return new ArrayList<>(claimed);
+        }
+
+        @Override
+        public synchronized int scheduleRetries(String workerId, List<OutboxRetry> retries) {
+            for (OutboxRetry retry : retries) {
+                CustomerOutboxEvent row = rows.get(retry.id());
+                row.setStatus(retry.status());
+                row.setRetryCount(retry.retryCount());
+                row.setNextAttemptAt(retry.nextAttemptAt());
+                row.setLastError(retry.lastError());
+                row.setClaimedBy(null);
+                row.setLeaseUntil(null);
+            }
+            return retries.size();
+        }
+
+        @Override
+        public synchronized int releaseClaims(String workerId, Collection<Long> ids) {
+            for (Long id : ids) {
+                rows.get(id).setClaimedBy(null);
+                rows.get(id).setLeaseUntil(null);
+            }
+            return ids.size();
+        }
+
+        @Override
+        public synchronized int requeueFailed(Collection<Long> ids) {
+            int requeued = 0;
+            for (Long id : ids) {
+                CustomerOutboxEvent row = rows.get(id);
+                if ("FAILED".equals(row.getStatus())) {
+                    row.setStatus("NEW");
+                    row.setRetryCount(0);
+                    row.setNextAttemptAt(null);
+                    row.setLastError(null);
+                    requeued++;
+                }
+            }
+            return requeued;
+        }
+
+        /** Gives every row a real CustomerEventCodec payload (customerId = row id) of the given type. */
+        synchronized void encodeCustomerEvents(Function<Long, String> eventType) {
+            for (CustomerOutboxEvent row : rows.values()) {
+                row.setEventType(eventType.apply(row.getId()));
+                row.setPayload(CustomerEventCodec.encode(new CustomerEventPayload(row.getEventType(), row.getId(),
+                        row.getAggregateId(), null, null, null, null, null, null, "ACTIVE", null, null, row.getCreatedAt())));
+            }
+        }
+
+        synchronized Map<String, List<String>> typesByAggregate() {
+            Map<String, List<String>> types = new HashMap<>();
+            rows.values().forEach(row -> types.computeIfAbsent(row.getAggregateId(), k -> new ArrayList<>()).add(row.getEventType()));
+            return types;
+        }
+
+        synchronized long pending() {
+            return count("NEW");
+        }
+
+        synchronized long count(String status) {
+            return rows.values().stream().filter(row -> status.equals(row.getStatus())).count();
+        }
+
+        synchronized List<CustomerOutboxEvent> rows(String aggregateSuffix) {
+            return rows.values().stream().filter(row -> row.getAggregateId().endsWith(aggregateSuffix)).toList();
+        }
+    }
+}
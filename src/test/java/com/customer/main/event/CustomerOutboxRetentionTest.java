@@ -0,0 +1,82 @@
+package com.customer.main.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.customer.main.repository.CustomerOutboxRetentionRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CustomerOutboxRetentionTest {
+
+    private final CustomerOutboxRetentionRepository repository = mock(CustomerOutboxRetentionRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CustomerOutboxRetention retention(boolean enabled, int maxBatches) {
+        return new CustomerOutboxRetention(repository, meterRegistry, enabled, 168, 100, maxBatches, 0);
+    }
+
+    @Test
+    void purgesBatchByBatchUntilAShortBatch() {
+        when(repository.purgeBatch(eq("SENT"), any(), eq(100))).thenReturn(100, 100, 40);
+
+        long deleted = retention(true, 10).purgeSentBefore(LocalDateTime.now().minusDays(7));
+
+        assertThat(deleted).isEqualTo(240);
+        verify(repository, times(3)).purgeBatch(eq("SENT"), any(), eq(100));
+        assertThat(meterRegistry.get("customer.outbox.purged").tag("status", "SENT").counter().count()).isEqualTo(240);
+    }
+
+    @Test
+    void stopsAfterMaxBatchesAndLeavesTheRestForTheNextRun() {
+        when(repository.purgeBatch(eq("SENT"), any(), eq(100))).thenReturn(100);
+
+        long deleted = retention(true, 3).purgeSentBefore(LocalDateTime.now().minusDays(7));
+
+        assertThat(deleted).isEqualTo(300);
+        verify(repository, times(3)).purgeBatch(eq("SENT"), any(), eq(100));
+    }
+
+    @Test
+    void cutoffIsTheRetentionPeriodBeforeNow() {
+        when(repository.purgeBatch(eq("SENT"), any(), eq(100))).thenAnswer(invocation -> {
+            LocalDateTime cutoff = invocation.getArgument(1);
+            assertThat(cutoff).isBetween(LocalDateTime.now().minusHours(168).minusMinutes(1),
+                    LocalDateTime.now().minusHours(168));
+            return 0;
+        });
+
+        retention(true, 10).purgeExpired();
+
+        verify(repository).purgeBatch(eq("SENT"), any(), eq(100));
+    }
+
+    @Test
+    void purgesCompactedRowsAfterSentWithinTheSameBatchBudget() {
+        when(repository.purgeBatch(eq("SENT"), any(), eq(100))).thenReturn(100, 100, 10);
+        when(repository.purgeBatch(eq("COMPACTED"), any(), eq(100))).thenReturn(100);
+
+        long deleted = retention(true, 5).purgeSentBefore(LocalDateTime.now().minusDays(7));
+
+        assertThat(deleted).isEqualTo(410);
+        verify(repository, times(2)).purgeBatch(eq("COMPACTED"), any(), eq(100));
+        assertThat(meterRegistry.get("customer.outbox.purged").tag("status", "COMPACTED").counter().count()).isEqualTo(200);
+    }
+
+    @Test
+    void disabledRetentionDeletesNothing() {
+        retention(false, 10).purgeExpired();
+
+        verifyNoInteractions(repository);
+    }
+}
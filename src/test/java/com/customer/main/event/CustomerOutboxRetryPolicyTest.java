@@ -0,0 +1,44 @@
+package com.customer.main.event;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+class CustomerOutboxRetryPolicyTest {
+
+    private final CustomerOutboxRetryPolicy policy = new CustomerOutboxRetryPolicy(1_000, 60_000, 5);
+
+    @Test
+    void delayDoublesPerAttemptWithEqualJitter() {
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(policy.delayMs(1)).isBetween(500L, 1_000L);
+            assertThat(policy.delayMs(2)).isBetween(1_000L, 2_000L);
+            assertThat(policy.delayMs(4)).isBetween(4_000L, 8_000L);
+        }
+    }
+
+    @Test
+    void delayIsCappedAtMax() {
+        for (int attempts : new int[] {7, 40, Integer.MAX_VALUE}) {
+            assertThat(policy.delayMs(attempts)).isBetween(30_000L, 60_000L);
+        }
+    }
+
+    @Test
+    void jitterSpreadsEventsThatFailedTogether() {
+        LocalDateTime now = LocalDateTime.of(2024, 6, 1, 12, 0);
+        long distinct = IntStream.range(0, 100)
+                .mapToObj(i -> policy.nextAttemptAt(3, now))
+                .distinct().count();
+        assertThat(distinct).isGreaterThan(50);
+    }
+
+    @Test
+    void exhaustedAfterMaxAttempts() {
+        assertThat(policy.exhausted(4)).isFalse();
+        assertThat(policy.exhausted(5)).isTrue();
+    }
+}
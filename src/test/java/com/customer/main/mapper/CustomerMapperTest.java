@@ -0,0 +1,84 @@
+package com.customer.main.mapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import com.customer.main.dto.AddressDto;
+import com.customer.main.dto.CustomerRequestDto;
+import com.customer.main.dto.CustomerResponseDto;
+import com.customer.main.dto.EmploymentDetailsDto;
+import com.customer.main.entity.AddressType;
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerStatus;
+
+class CustomerMapperTest {
+
+    @Test
+    void toResponseCopiesFieldsAndMasksIdentity() {
+        Customer customer = new Customer();
+        customer.setCustomerId(42L);
+        customer.setCustomerUuid("uuid-42");
+        customer.setFirstName("Asha");
+        customer.setLastName("Rao");
+        customer.setGender("F");
+        customer.setDateOfBirth(LocalDate.of(1990, 5, 17));
+        customer.setEmail("asha@mail.com");
+        customer.setMobile(9876543210L);
+        customer.setPanNumber("ABCDE1234F");
+        customer.setAadhaarNumber("123412341234");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        customer.setCreatedDate(LocalDateTime.of(2024, 1, 1, 10, 0));
+        customer.setUpdatedDate(LocalDateTime.of(2024, 2, 1, 10, 0));
+
+        CustomerResponseDto dto = CustomerMapper.toResponse(customer);
+
+        assertThat(dto.getCustomerId()).isEqualTo(42L);
+        assertThat(dto.getCustomerUuid()).isEqualTo("uuid-42");
+        assertThat(dto.getFirstName()).isEqualTo("Asha");
+        assertThat(dto.getLastName()).isEqualTo("Rao");
+        assertThat(dto.getGender()).isEqualTo("F");
+        assertThat(dto.getDateOfBirth()).isEqualTo(LocalDate.of(1990, 5, 17));
+        assertThat(dto.getEmail()).isEqualTo("asha@mail.com");
+        assertThat(dto.getMobileNumber()).isEqualTo("9876543210");
+        assertThat(dto.getPanNumber()).isEqualTo("ABC*****F");
+        assertThat(dto.getAadhaarNumber()).isEqualTo("********1234");
+        assertThat(dto.getStatus()).isEqualTo(CustomerStatus.ACTIVE);
+        assertThat(dto.isActive()).isTrue();
+        assertThat(dto.getCreatedDate()).isEqualTo(LocalDateTime.of(2024, 1, 1, 10, 0));
+        assertThat(dto.getUpdatedDate()).isEqualTo(LocalDateTime.of(2024, 2, 1, 10, 0));
+    }
+
+    @Test
+    void toEntityBuildsAddressAndEmploymentWithBackReferences() {
+        AddressDto address = new AddressDto();
+        address.setHouseNo("12B");
+        address.setCity("Pune");
+        address.setState("MH");
+        address.setPincode("411001");
+        EmploymentDetailsDto employment = new EmploymentDetailsDto();
+        employment.setEmploymentType("SALARIED");
+        employment.setCompanyName("Acme");
+        employment.setMonthlyIncome(85_000.0);
+        employment.setTotalExperience(8);
+        CustomerRequestDto request = new CustomerRequestDto("Asha", "Rao", "F", LocalDate.of(1990, 5, 17),
+                "asha@mail.com", "9876543210", "ABCDE1234F", "123412341234", address, employment);
+
+        Customer customer = CustomerMapper.toEntity(request);
+
+        assertThat(customer.getMobile()).isEqualTo(9876543210L);
+        assertThat(customer.getPanNumber()).isEqualTo("ABCDE1234F");
+        assertThat(customer.getAadhaarNumber()).isEqualTo("123412341234");
+        assertThat(customer.getStatus()).isEqualTo(CustomerStatus.PENDING_KYC);
+        assertThat(customer.getAddresses()).singleElement().satisfies(a -> {
+            assertThat(a.getType()).isEqualTo(AddressType.CURRENT);
+            assertThat(a.getCity()).isEqualTo("Pune");
+            assertThat(a.getCustomer()).isSameAs(customer);
+        });
+        assertThat(customer.getEmploymentDetails().getCompanyName()).isEqualTo("Acme");
+        assertThat(customer.getEmploymentDetails().getCustomer()).isSameAs(customer);
+    }
+}
@@ -0,0 +1,83 @@
+package com.customer.main.repository;
+
+import static com.customer.main.CustomerFixtures.customer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerOutboxEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * batchInsertEnquiries inside a caller's transaction, as createCustomerEnquiries runs it: a batch
+ * that hits a unique key is rolled back to its savepoint and the retry commits with the caller.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({RepositoryInstrumentation.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerEnquiryBatchInsertTest {
+
+    @Autowired
+    private CustomerRepositoryImpl customerRepositoryImpl;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.getJdbcOperations().execute("DELETE FROM customer_outbox_event");
+        jdbc.getJdbcOperations().execute("DELETE FROM customer");
+    }
+
+    @Test
+    void failedBatchRollsBackToItsSavepointAndTheRetryCommitsWithTheCaller() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // Row 3 repeats row 1's identity: rows 1 and 2 are already inserted when it fails
+            List<Customer> racing = List.of(customer(1), customer(2), customer(1));
+            assertThatThrownBy(() -> customerRepositoryImpl.batchInsertEnquiries(racing, outboxEvents(racing)))
+                    .isInstanceOf(DataIntegrityViolationException.class);
+            assertThat(count("customer")).isZero();
+            assertThat(status.isRollbackOnly()).isFalse();
+
+            List<Customer> retry = List.of(customer(1), customer(2));
+            customerRepositoryImpl.batchInsertEnquiries(retry, outboxEvents(retry));
+        });
+
+        assertThat(count("customer")).isEqualTo(2);
+        assertThat(count("customer_outbox_event")).isEqualTo(2);
+    }
+
+    private long count(String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Map.of(), Long.class);
+    }
+
+    private static List<CustomerOutboxEvent> outboxEvents(List<Customer> customers) {
+        List<CustomerOutboxEvent> events = new ArrayList<>();
+        for (Customer customer : customers) {
+            events.add(new CustomerOutboxEvent(null, customer.getCustomerUuid(), "CUSTOMER_REGISTERED",
+                    new byte[] {1}, "NEW", LocalDateTime.now()));
+        }
+        return events;
+    }
+}
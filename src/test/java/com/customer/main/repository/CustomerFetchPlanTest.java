@@ -0,0 +1,142 @@
+package com.customer.main.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import com.customer.main.entity.Address;
+import com.customer.main.entity.AddressType;
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.CustomerStatus;
+import com.customer.main.entity.EmploymentDetails;
+import com.customer.main.mapper.CustomerMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Exact SQL statement counts (Hibernate statistics) for the entity fetch plans behind the detail
+ * endpoints. Relies on the bytecode-enhanced entity classes produced by the Maven build; run from
+ * an IDE without enhancement, the mappedBy employmentDetails side falls back to eager loading.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+// The JPA slice skips @Components; CustomerRepositoryImpl still needs its instrumentation
+@Import({RepositoryInstrumentation.class, SimpleMeterRegistry.class})
+class CustomerFetchPlanTest {
+
+    private static final String PAN = "ABCDE1234F";
+    private static final String EMAIL = "asha@mail.com";
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    private Statistics statistics;
+    private Customer saved;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        saved = entityManager.persistAndFlush(customerWithDetails());
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void getByIdLoadsOnlyTheCustomerRow() {
+        Customer customer = customerRepository.findById(saved.getCustomerId()).orElseThrow();
+        CustomerMapper.toResponse(customer);
+        customer.toString();
+        customer.hashCode();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(Hibernate.isPropertyInitialized(customer, "employmentDetails")).isFalse();
+    }
+
+    @Test
+    void getByUuidPanAndEmailIssueOneStatementEach() {
+        customerRepository.findByCustomerUuid(saved.getCustomerUuid()).map(CustomerMapper::toResponse).orElseThrow();
+        entityManager.clear();
+        customerRepository.findByPanNumber(PAN).map(CustomerMapper::toResponse).orElseThrow();
+        entityManager.clear();
+        customerRepository.findByEmail(EMAIL).map(CustomerMapper::toResponse).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void kycFetchPlanLoadsTheAggregateInOneStatement() {
+        Customer customer = customerRepository.findWithDetailsByCustomerId(saved.getCustomerId()).orElseThrow();
+
+        assertThat(customer.getAddresses()).hasSize(1);
+        assertThat(customer.getEmploymentDetails().getCompanyName()).isEqualTo("Acme");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void lazyAssociationsLoadOnlyWhenTouched() {
+        Customer customer = customerRepository.findById(saved.getCustomerId()).orElseThrow();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        assertThat(customer.getAddresses()).hasSize(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        assertThat(customer.getEmploymentDetails().getCompanyName()).isEqualTo("Acme");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    private static Customer customerWithDetails() {
+        Customer customer = new Customer();
+        customer.setCustomerUuid(UUID.randomUUID().toString());
+        customer.setFirstName("Asha");
+        customer.setLastName("Rao");
+        customer.setGender("F");
+        customer.setDateOfBirth(LocalDate.now().minusYears(30));
+        customer.setMobile(9876543210L);
+        customer.setEmail(EMAIL);
+        customer.setPanNumber(PAN);
+        customer.setAadhaarNumber("123456789012");
+        customer.setStatus(CustomerStatus.ACTIVE);
+        customer.setCreatedDate(LocalDateTime.now());
+        customer.setUpdatedDate(customer.getCreatedDate());
+
+        Address address = new Address();
+        address.setType(AddressType.CURRENT);
+        address.setHouseNo("12");
+        address.setCity("Pune");
+        address.setState("MH");
+        address.setPincode("411001");
+        address.setCustomer(customer);
+        List<Address> addresses = new ArrayList<>();
+        addresses.add(address);
+        customer.setAddresses(addresses);
+
+        EmploymentDetails employment = new EmploymentDetails();
+        employment.setEmploymentType("SALARIED");
+        employment.setCompanyName("Acme");
+        employment.setMonthlyIncome(90_000.0);
+        employment.setTotalExperience(6);
+        employment.setCustomer(customer);
+        customer.setEmploymentDetails(employment);
+        return customer;
+    }
+}
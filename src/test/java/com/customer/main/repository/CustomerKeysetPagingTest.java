@@ -0,0 +1,90 @@
+package com.customer.main.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.customer.main.constant.CustomerConstants;
+
+/**
+ * Keyset queries in {@link CustomerConstants} against offset paging, on an in-memory H2 table
+ * shaped like customer. Page latency by depth is measured in CustomerKeysetPagingBenchmark.
+ */
+class CustomerKeysetPagingTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 1_000;
+    private static final int ROWS = PAGE_SIZE * (DEEP_PAGE + 2);
+
+    // What findAll(PageRequest.of(page, size, Sort.by("createdDate").descending())) issues
+    private static final String OFFSET_PAGE =
+            "SELECT * FROM customer ORDER BY created_date DESC, customer_id DESC LIMIT :limit OFFSET :offset";
+
+    private static NamedParameterJdbcTemplate jdbc;
+
+    @BeforeAll
+    static void createTable() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:keyset;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new NamedParameterJdbcTemplate(dataSource);
+        jdbc.getJdbcOperations().execute("CREATE TABLE customer (customer_id BIGINT PRIMARY KEY, customer_uuid VARCHAR(36), "
+                + "first_name VARCHAR(50), last_name VARCHAR(50), gender VARCHAR(10), date_of_birth DATE, email VARCHAR(100), "
+                + "mobile BIGINT, pan_number VARCHAR(10), aadhaar_number VARCHAR(12), status VARCHAR(20), "
+                + "created_date TIMESTAMP, updated_date TIMESTAMP)");
+        jdbc.getJdbcOperations().execute("CREATE INDEX idx_customer_created ON customer (created_date DESC, customer_id DESC)");
+        // Ten rows share each timestamp so the customer_id tie-break is exercised
+        jdbc.getJdbcOperations().execute("INSERT INTO customer (customer_id, first_name, status, created_date) SELECT X, CONCAT('name', X), "
+                + "CASE WHEN MOD(X, 2) = 0 THEN 'ACTIVE' ELSE 'PENDING_KYC' END, "
+                + "DATEADD('SECOND', X / 10, TIMESTAMP '2024-01-01 00:00:00') FROM SYSTEM_RANGE(1, " + ROWS + ")");
+    }
+
+    @AfterAll
+    static void dropTable() {
+        jdbc.getJdbcOperations().execute("DROP TABLE customer");
+    }
+
+    @Test
+    void keysetPagesWalkEveryRowOnceInOrder() {
+        List<Map<String, Object>> page = jdbc.queryForList(CustomerConstants.FIND_FIRST_PAGE, Map.of("limit", PAGE_SIZE + 1));
+        long expectedId = ROWS;
+        for (int pages = 0; pages < 50; pages++) {
+            for (Map<String, Object> row : page.subList(0, PAGE_SIZE)) {
+                assertThat(((Number) row.get("CUSTOMER_ID")).longValue()).isEqualTo(expectedId--);
+            }
+            page = nextPage(page.get(PAGE_SIZE - 1));
+        }
+    }
+
+    @Test
+    void deepKeysetPageMatchesTheOffsetPageAtTheSameDepth() {
+        Map<String, Object> lastBeforeDeep = jdbc.queryForList(OFFSET_PAGE,
+                Map.of("limit", 1, "offset", DEEP_PAGE * PAGE_SIZE - 1)).get(0);
+
+        List<Map<String, Object>> offsetDeep = jdbc.queryForList(OFFSET_PAGE,
+                Map.of("limit", PAGE_SIZE, "offset", DEEP_PAGE * PAGE_SIZE));
+        List<Map<String, Object>> keysetDeep = nextPage(lastBeforeDeep);
+
+        assertThat(keysetDeep).hasSize(PAGE_SIZE + 1);
+        assertThat(keysetDeep.subList(0, PAGE_SIZE)).extracting(row -> row.get("CUSTOMER_ID"))
+                .containsExactlyElementsOf(offsetDeep.stream().map(row -> row.get("CUSTOMER_ID")).toList());
+    }
+
+    private static List<Map<String, Object>> nextPage(Map<String, Object> lastRow) {
+        return jdbc.queryForList(CustomerConstants.FIND_PAGE_AFTER, Map.of(
+                "createdDate", toLocalDateTime(lastRow.get("CREATED_DATE")),
+                "customerId", ((Number) lastRow.get("CUSTOMER_ID")).longValue(),
+                "limit", PAGE_SIZE + 1));
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof java.sql.Timestamp timestamp ? timestamp.toLocalDateTime() : (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,65 @@
+package com.customer.main.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import com.customer.main.constant.CustomerConstants;
+import com.customer.main.entity.CustomerOutboxEvent;
+
+class CustomerOutboxClaimRepositoryTest {
+
+    private static CustomerOutboxEvent event(long id, String aggregateId) {
+        return new CustomerOutboxEvent(id, aggregateId, "CUSTOMER_UPDATED", new byte[0], "NEW", LocalDateTime.now());
+    }
+
+    @Test
+    void claimsAggregateOnlyFromItsOldestPendingEvent() {
+        // Event 1 of agg-a is leased/locked elsewhere, so 3 and 5 must wait for it
+        List<CustomerOutboxEvent> candidates = List.of(event(2, "agg-b"), event(3, "agg-a"), event(4, "agg-b"), event(5, "agg-a"));
+        Map<String, List<Long>> pending = Map.of("agg-a", List.of(1L, 3L, 5L), "agg-b", List.of(2L, 4L));
+
+        List<CustomerOutboxEvent> claimed = CustomerOutboxClaimRepository.orderedPrefix(candidates, pending);
+
+        assertThat(claimed).extracting(CustomerOutboxEvent::getId).containsExactly(2L, 4L);
+    }
+
+    @Test
+    void stopsAtFirstGapInAnAggregate() {
+        // Event 3 was skipped (locked by a concurrent claim), so 4 must not overtake it
+        List<CustomerOutboxEvent> candidates = List.of(event(1, "agg-a"), event(4, "agg-a"));
+        Map<String, List<Long>> pending = Map.of("agg-a", List.of(1L, 3L, 4L));
+
+        List<CustomerOutboxEvent> claimed = CustomerOutboxClaimRepository.orderedPrefix(candidates, pending);
+
+        assertThat(claimed).extracting(CustomerOutboxEvent::getId).containsExactly(1L);
+    }
+
+    @Test
+    void markingSentSkipsRowsAnotherWorkerReclaimed() {
+        NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:outbox-mark;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbc.getJdbcOperations().execute("CREATE TABLE customer_outbox_event (id BIGINT PRIMARY KEY, status VARCHAR(20), "
+                + "processed_at TIMESTAMP, claimed_by VARCHAR(80), lease_until TIMESTAMP)");
+        // worker-a's lease on row 2 expired and worker-b claimed it
+        jdbc.getJdbcOperations().execute("INSERT INTO customer_outbox_event VALUES "
+                + "(1, 'NEW', NULL, 'worker-a', TIMESTAMP '2024-06-01 12:01:00'), "
+                + "(2, 'NEW', NULL, 'worker-b', TIMESTAMP '2024-06-01 12:02:00')");
+
+        int marked = jdbc.update(CustomerConstants.UPDATE_OUTBOX_STATUS_BY_IDS, Map.of("ids", List.of(1L, 2L),
+                "status", "SENT", "workerId", "worker-a", "processedAt", LocalDateTime.of(2024, 6, 1, 12, 1, 30)));
+
+        assertThat(marked).isEqualTo(1);
+        assertThat(jdbc.queryForList("SELECT id, status, claimed_by, lease_until FROM customer_outbox_event ORDER BY id", Map.of()))
+                .extracting(row -> row.get("STATUS"), row -> row.get("CLAIMED_BY"), row -> row.get("LEASE_UNTIL") != null)
+                .containsExactly(tuple("SENT", null, false), tuple("NEW", "worker-b", true));
+        jdbc.getJdbcOperations().execute("DROP TABLE customer_outbox_event");
+    }
+}
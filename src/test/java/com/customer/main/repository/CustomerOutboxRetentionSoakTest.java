@@ -0,0 +1,142 @@
+package com.customer.main.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.customer.main.constant.CustomerConstants;
+
+/**
+ * Outbox drain and backlog queries against a growing SENT history, on an H2 table shaped like
+ * customer_outbox_event with idx_outbox_status_created. History grows 10x per step from 100k rows;
+ * -Doutbox.soak.max-rows=20000000 extends the run to tens of millions (file-backed, needs a few GB
+ * of disk and several minutes). The soak test only runs with -Psoak; the purge test runs by default.
+ */
+class CustomerOutboxRetentionSoakTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CustomerOutboxRetentionSoakTest.class);
+
+    private static final int PENDING = 200;
+    // NEW rows are the newest ones, after any amount of history
+    private static final long PENDING_FIRST_ID = 10_000_000_000L;
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    // Row locking is not what is measured here, and H2 does not honour SKIP LOCKED
+    private static final String DRAIN_QUERY =
+            CustomerConstants.FIND_CLAIMABLE_OUTBOX_EVENTS.replace(" FOR UPDATE SKIP LOCKED", "");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @Tag("soak")
+    void drainQueryLatencyStaysFlatAsSentHistoryGrows() {
+        long maxRows = Long.getLong("outbox.soak.max-rows", 1_000_000L);
+        NamedParameterJdbcTemplate jdbc = outboxTable("jdbc:h2:file:" + tempDir.resolve("outbox-soak")
+                + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        insertRows(jdbc, PENDING_FIRST_ID, PENDING, "NEW", 0);
+
+        Map<Long, Double> drainMs = new LinkedHashMap<>();
+        long history = 0;
+        for (long target = 100_000; target <= maxRows; target *= 10) {
+            insertRows(jdbc, history + 1, target - history, "SENT", 30);
+            history = target;
+            drainMs.put(history, medianMs(() -> drain(jdbc)));
+            double backlogMs = medianMs(() -> jdbc.queryForMap(CustomerConstants.FIND_OUTBOX_BACKLOG, Map.of()));
+            log.info("Outbox soak | sentRows={} | drainMs={} | backlogMs={}", history, drainMs.get(history), backlogMs);
+        }
+
+        jdbc.getJdbcOperations().execute("DROP INDEX idx_outbox_status_created");
+        double unindexedMs = medianMs(() -> drain(jdbc));
+        log.info("Outbox soak without idx_outbox_status_created | sentRows={} | drainMs={}", history, unindexedMs);
+
+        double first = drainMs.values().iterator().next();
+        double last = drainMs.get(history);
+        assertThat(drain(jdbc)).isEqualTo(50);
+        assertThat(last).isLessThan(first * 3 + 1.0);
+        assertThat(last).isLessThan(unindexedMs);
+    }
+
+    @Test
+    void purgeDeletesOnlyExpiredSentRowsInBatches() {
+        NamedParameterJdbcTemplate jdbc = outboxTable("jdbc:h2:mem:outbox-purge;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        insertRows(jdbc, 1, 2_500, "SENT", 30);     // expired
+        insertRows(jdbc, 2_501, 100, "SENT", 0);    // inside retention
+        insertRows(jdbc, 2_601, 100, "NEW", 30);    // old but never published
+        CustomerOutboxRetentionRepository repository = new CustomerOutboxRetentionRepository();
+        ReflectionTestUtils.setField(repository, "namedParameterJdbcTemplate", jdbc);
+        LocalDateTime cutoff = NOW.minusDays(7);
+
+        int[] batches = {
+                repository.purgeBatch("SENT", cutoff, 1_000),
+                repository.purgeBatch("SENT", cutoff, 1_000),
+                repository.purgeBatch("SENT", cutoff, 1_000),
+                repository.purgeBatch("SENT", cutoff, 1_000)
+        };
+
+        assertThat(batches).containsExactly(1_000, 1_000, 500, 0);
+        assertThat(count(jdbc, "SENT")).isEqualTo(100);
+        assertThat(count(jdbc, "NEW")).isEqualTo(100);
+        jdbc.getJdbcOperations().execute("DROP TABLE customer_outbox_event");
+    }
+
+    private static NamedParameterJdbcTemplate outboxTable(String url) {
+        NamedParameterJdbcTemplate jdbc = new NamedParameterJdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbc.getJdbcOperations().execute("CREATE TABLE customer_outbox_event (id BIGINT PRIMARY KEY, "
+                + "aggregate_id VARCHAR(36), event_type VARCHAR(40), payload BLOB, status VARCHAR(20), "
+                + "retry_count INT, next_attempt_at TIMESTAMP, last_error VARCHAR(500), created_at TIMESTAMP, "
+                + "processed_at TIMESTAMP, claimed_by VARCHAR(80), lease_until TIMESTAMP)");
+        jdbc.getJdbcOperations().execute("CREATE INDEX idx_outbox_status_created ON customer_outbox_event (status, created_at)");
+        return jdbc;
+    }
+
+    // Rows fromId..fromId+count-1, created one second apart ending ageDays before NOW
+    private static void insertRows(NamedParameterJdbcTemplate jdbc, long fromId, long count, String status, int ageDays) {
+        long step = 1_000_000;
+        for (long from = fromId; from < fromId + count; from += step) {
+            long to = Math.min(from + step, fromId + count) - 1;
+            jdbc.update("INSERT INTO customer_outbox_event (id, aggregate_id, event_type, payload, status, retry_count, "
+                    + "created_at, processed_at) SELECT X, CONCAT('agg-', MOD(X, 5000)), 'CUSTOMER_REGISTERED', X'0113', "
+                    + ":status, 0, DATEADD('SECOND', X - CAST(:lastId AS BIGINT), CAST(:end AS TIMESTAMP)), NULL "
+                    + "FROM SYSTEM_RANGE(CAST(:from AS BIGINT), CAST(:to AS BIGINT))",
+                    Map.of("status", status, "lastId", fromId + count - 1, "end", NOW.minusDays(ageDays),
+                            "from", from, "to", to));
+        }
+    }
+
+    private static int drain(NamedParameterJdbcTemplate jdbc) {
+        return jdbc.queryForList(DRAIN_QUERY, Map.of("now", NOW, "limit", 50)).size();
+    }
+
+    private static long count(NamedParameterJdbcTemplate jdbc, String status) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM customer_outbox_event WHERE status = :status",
+                Map.of("status", status), Long.class);
+    }
+
+    private static double medianMs(Runnable query) {
+        for (int i = 0; i < 10; i++) {
+            query.run();
+        }
+        double[] samples = new double[21];
+        for (int i = 0; i < samples.length; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = (System.nanoTime() - start) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+}
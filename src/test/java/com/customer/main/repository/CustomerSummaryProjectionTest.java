@@ -0,0 +1,169 @@
+package com.customer.main.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.customer.main.constant.CustomerConstants;
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.EmploymentDetails;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * List pages through the CustomerSummary projection vs the entity path, on H2 tables shaped like
+ * customer, address and employment_details: statements per page at page size 100. Latency and
+ * allocation per page are measured in CustomerSummaryPageBenchmark.
+ */
+class CustomerSummaryProjectionTest {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int ROWS = 2_000;
+
+    // What findAll(PageRequest.of(page, 100, Sort.by("createdDate").descending())) on Customer issues:
+    // the page, then one employment_details select per row (the mappedBy @OneToOne side cannot be lazy)
+    private static final String ENTITY_PAGE =
+            "SELECT * FROM customer ORDER BY created_date DESC, customer_id DESC LIMIT :limit OFFSET :offset";
+    private static final String ENTITY_EMPLOYMENT =
+            "SELECT * FROM employment_details WHERE customer_id = :customerId";
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+    private static NamedParameterJdbcTemplate jdbc;
+    private static CustomerRepositoryImpl repository;
+
+    @BeforeAll
+    static void createTables() {
+        DriverManagerDataSource target = new DriverManagerDataSource(
+                "jdbc:h2:mem:summary;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbc = new NamedParameterJdbcTemplate(new DelegatingDataSource(target) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return recording(super.getConnection());
+            }
+        });
+        jdbc.getJdbcOperations().execute("CREATE TABLE customer (customer_id BIGINT PRIMARY KEY, customer_uuid VARCHAR(36), "
+                + "first_name VARCHAR(50), last_name VARCHAR(50), gender VARCHAR(10), date_of_birth DATE, email VARCHAR(100), "
+                + "mobile BIGINT, pan_number VARCHAR(10), aadhaar_number VARCHAR(12), status VARCHAR(20), "
+                + "created_date TIMESTAMP, updated_date TIMESTAMP)");
+        jdbc.getJdbcOperations().execute("CREATE TABLE address (address_id BIGINT PRIMARY KEY, customer_id BIGINT, "
+                + "type VARCHAR(20), house_no VARCHAR(20), city VARCHAR(50), state VARCHAR(50), pincode VARCHAR(6))");
+        jdbc.getJdbcOperations().execute("CREATE TABLE employment_details (employment_id BIGINT PRIMARY KEY, customer_id BIGINT, "
+                + "employment_type VARCHAR(20), company_name VARCHAR(100), monthly_income DOUBLE, total_experience INT)");
+        jdbc.getJdbcOperations().execute("CREATE INDEX idx_employment_customer ON employment_details (customer_id)");
+        jdbc.getJdbcOperations().execute("INSERT INTO customer SELECT X, CONCAT('uuid-', X), CONCAT('first', X), "
+                + "CONCAT('last', X), 'F', DATE '1990-01-01', CONCAT('c', X, '@mail.com'), 9000000000 + X, "
+                + "CONCAT('ABCDE', LPAD(X, 4, '0'), 'F'), LPAD(X, 12, '0'), "
+                + "CASE WHEN MOD(X, 2) = 0 THEN 'ACTIVE' ELSE 'PENDING_KYC' END, "
+                + "DATEADD('SECOND', X, TIMESTAMP '2024-01-01 00:00:00'), NULL FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbc.getJdbcOperations().execute("INSERT INTO address SELECT X, X, 'PERMANENT', '1', 'Pune', 'MH', '411001' "
+                + "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+        jdbc.getJdbcOperations().execute("INSERT INTO employment_details SELECT X, X, 'SALARIED', 'Acme', 50000, 5 "
+                + "FROM SYSTEM_RANGE(1, " + ROWS + ")");
+
+        repository = new CustomerRepositoryImpl();
+        ReflectionTestUtils.setField(repository, "namedParameterJdbcTemplate", jdbc);
+        ReflectionTestUtils.setField(repository, "instrumentation", new RepositoryInstrumentation(new SimpleMeterRegistry(), 200, 0));
+    }
+
+    @AfterAll
+    static void dropTables() {
+        jdbc.getJdbcOperations().execute("DROP TABLE customer");
+        jdbc.getJdbcOperations().execute("DROP TABLE address");
+        jdbc.getJdbcOperations().execute("DROP TABLE employment_details");
+    }
+
+    @BeforeEach
+    void clearStatements() {
+        statements.clear();
+    }
+
+    @Test
+    void listAndSearchPagesIssueNoAssociationQueries() {
+        List<CustomerSummary> first = repository.findSummariesAfter(null, null, PAGE_SIZE + 1);
+        CustomerSummary last = first.get(PAGE_SIZE - 1);
+        repository.findSummariesAfter(last.createdDate(), last.customerId(), PAGE_SIZE + 1);
+        repository.findSummariesByStatusAfter("ACTIVE", null, null, PAGE_SIZE + 1);
+        repository.findSummaryPage(PAGE_SIZE, PAGE_SIZE);
+        repository.findSummaryPageByStatus("ACTIVE", 0, PAGE_SIZE);
+        repository.searchSummaries("first1", 0, PAGE_SIZE);
+        repository.findSummariesByUuids(List.of("uuid-1", "uuid-2"));
+
+        assertThat(statements).hasSize(7);
+        assertThat(statements).noneMatch(sql -> sql.contains("address") || sql.contains("employment_details"));
+        assertThat(first).hasSize(PAGE_SIZE + 1);
+        assertThat(first.get(0).customerId()).isEqualTo(ROWS);
+        assertThat(first.get(0).mobile()).isEqualTo(9_000_000_000L + ROWS);
+    }
+
+    @Test
+    void projectionPageIsOneStatementWhereTheEntityPathIsOnePerRow() {
+        List<Customer> entities = entityPage(PAGE_SIZE * 5);
+        int entityStatements = statements.size();
+        statements.clear();
+        List<CustomerSummary> summaries = repository.findSummaryPage(PAGE_SIZE * 5, PAGE_SIZE);
+
+        assertThat(entityStatements).isEqualTo(1 + PAGE_SIZE);
+        assertThat(statements).hasSize(1);
+        assertThat(summaries).extracting(CustomerSummary::customerId)
+                .containsExactlyElementsOf(entities.stream().map(Customer::getCustomerId).toList());
+    }
+
+    // Replays the entity path over JDBC: page of customers, then each row's employment details
+    private static List<Customer> entityPage(int offset) {
+        List<Customer> customers = jdbc.query(ENTITY_PAGE, Map.of("limit", PAGE_SIZE, "offset", offset), (rs, rowNum) -> {
+            Customer customer = new Customer();
+            customer.setCustomerId(rs.getLong("customer_id"));
+            customer.setCustomerUuid(rs.getString("customer_uuid"));
+            customer.setFirstName(rs.getString("first_name"));
+            customer.setLastName(rs.getString("last_name"));
+            customer.setEmail(rs.getString("email"));
+            customer.setPanNumber(rs.getString("pan_number"));
+            customer.setCreatedDate(rs.getObject("created_date", LocalDateTime.class));
+            return customer;
+        });
+        for (Customer customer : customers) {
+            List<EmploymentDetails> details = jdbc.query(ENTITY_EMPLOYMENT, Map.of("customerId", customer.getCustomerId()),
+                    (rs, rowNum) -> {
+                        EmploymentDetails employment = new EmploymentDetails();
+                        employment.setEmploymentId(rs.getLong("employment_id"));
+                        employment.setCompanyName(rs.getString("company_name"));
+                        employment.setCustomer(customer);
+                        return employment;
+                    });
+            customer.setEmploymentDetails(details.isEmpty() ? null : details.get(0));
+        }
+        return customers;
+    }
+
+    private static Connection recording(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(CustomerSummaryProjectionTest.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement") && args != null && args[0] instanceof String sql
+                            && sql.trim().toUpperCase(Locale.ROOT).startsWith("SELECT")) {
+                        statements.add(sql.toLowerCase(Locale.ROOT));
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+}
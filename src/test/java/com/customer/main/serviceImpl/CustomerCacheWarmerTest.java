@@ -0,0 +1,143 @@
+package com.customer.main.serviceImpl;
+
+import static com.customer.main.CustomerFixtures.email;
+import static com.customer.main.CustomerFixtures.panNumber;
+import static com.customer.main.CustomerFixtures.uuid;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.customer.main.CustomerFixtures;
+import com.customer.main.cache.CustomerIndexedCache;
+import com.customer.main.dto.CustomerResponseDto;
+import com.customer.main.repository.CustomerRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+class CustomerCacheWarmerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private CustomerRepository customerRepository;
+    private CustomerIndexedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        customerRepository = mock(CustomerRepository.class);
+        cache = new CustomerIndexedCache("customers", Caffeine.newBuilder()
+                .maximumSize(1000)
+                .executor(Runnable::run));
+        when(customerRepository.findByCustomerIdInAndStatus(anyCollection(), eq("ACTIVE")))
+                .thenAnswer(invocation -> {
+                    Collection<Long> ids = invocation.getArgument(0);
+                    return ids.stream().map(CustomerFixtures::customer).toList();
+                });
+    }
+
+    private CustomerCacheWarmer warmer(int maxCustomers, long deadlineMs, Path hotSetFile) {
+        return new CustomerCacheWarmer(customerRepository, cache, true, maxCustomers, 3, 2, deadlineMs,
+                hotSetFile == null ? "" : hotSetFile.toString());
+    }
+
+    @Test
+    void warmsEveryLookupKeyOfRecentlyUpdatedCustomers() {
+        when(customerRepository.findRecentlyUpdatedIdsByStatus("ACTIVE", 10)).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+
+        warmer(10, 5_000, null).warmOnStartup();
+
+        for (long id = 1; id <= 5; id++) {
+            assertThat(cache.get(CustomerIndexedCache.idKey(id))).isNotNull();
+            assertThat(cache.get(CustomerIndexedCache.uuidKey(uuid(id)))).isNotNull();
+            assertThat(cache.get(CustomerIndexedCache.panKey(panNumber(id)))).isNotNull();
+            CustomerResponseDto byEmail = cache.get(CustomerIndexedCache.emailKey(email(id)),
+                    CustomerResponseDto.class);
+            assertThat(byEmail.getPanNumber()).doesNotContain(panNumber(id));
+        }
+    }
+
+    @Test
+    void neverReplacesAnEntryCachedByALiveRequest() {
+        CustomerResponseDto live = new CustomerResponseDto();
+        live.setCustomerId(1L);
+        live.setFirstName("fresh");
+        cache.put(CustomerIndexedCache.idKey(1L), live);
+        when(customerRepository.findRecentlyUpdatedIdsByStatus("ACTIVE", 10)).thenReturn(List.of(1L));
+
+        warmer(10, 5_000, null).warmOnStartup();
+
+        assertThat(cache.get(CustomerIndexedCache.idKey(1L), CustomerResponseDto.class).getFirstName())
+                .isEqualTo("fresh");
+    }
+
+    @Test
+    void persistedHotSetComesFirstAndIsToppedUpWithRecentCustomers() throws Exception {
+        Path hotSet = tempDir.resolve("hot-set.txt");
+        Files.write(hotSet, List.of("42", "7", "", "42"));
+        when(customerRepository.findRecentlyUpdatedIdsByStatus("ACTIVE", 4)).thenReturn(List.of(7L, 8L, 9L, 10L));
+
+        assertThat(warmer(4, 5_000, hotSet).selectWarmSet()).containsExactly(42L, 7L, 8L, 9L);
+    }
+
+    @Test
+    void hotSetRoundTripsThroughTheFile() {
+        Path hotSet = tempDir.resolve("nested/hot-set.txt");
+        when(customerRepository.findRecentlyUpdatedIdsByStatus("ACTIVE", 10)).thenReturn(List.of(1L, 2L, 3L));
+        CustomerCacheWarmer first = warmer(10, 5_000, hotSet);
+        first.warmOnStartup();
+        for (int i = 0; i < 20; i++) {
+            cache.get(CustomerIndexedCache.idKey(3L));
+        }
+
+        first.persistHotSet();
+
+        assertThat(hotSet).exists();
+        assertThat(warmer(10, 5_000, hotSet).readHotSet()).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void readinessIsNotHeldPastTheDeadline() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(customerRepository.findRecentlyUpdatedIdsByStatus("ACTIVE", 10)).thenReturn(List.of(1L, 2L, 3L));
+        when(customerRepository.findByCustomerIdInAndStatus(anyCollection(), eq("ACTIVE"))).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await();
+            return List.of();
+        });
+        CustomerCacheWarmer slow = warmer(10, 100, null);
+
+        try {
+            // The loads never finish on their own: only the deadline lets warmOnStartup return
+            assertTimeoutPreemptively(Duration.ofSeconds(10), slow::warmOnStartup);
+            assertThat(loading.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(cache.getNativeCache().estimatedSize()).isZero();
+        } finally {
+            release.countDown();
+            slow.shutdown();
+        }
+    }
+
+    @Test
+    void disabledWarmupTouchesNothing() {
+        new CustomerCacheWarmer(customerRepository, cache, false, 10, 3, 2, 5_000, "").warmOnStartup();
+
+        assertThat(cache.getNativeCache().estimatedSize()).isZero();
+        verifyNoInteractions(customerRepository);
+    }
+}
@@ -0,0 +1,138 @@
+package com.customer.main.serviceImpl;
+
+import static com.customer.main.CustomerFixtures.customer;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import com.customer.main.entity.CustomerOutboxEvent;
+import com.customer.main.entity.CustomerStatus;
+import com.customer.main.event.CustomerOutboxSignal;
+import com.customer.main.event.CustomerRegisteredEvent;
+import com.customer.main.repository.CustomerOutboxEventRepository;
+import com.customer.main.serviceImpl.CustomerEventPublisher.OverflowPolicy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CustomerEventPublisherTest {
+
+    private static final int REGISTRATIONS = 400;
+
+    private final CustomerOutboxEventRepository outboxRepository = mock(CustomerOutboxEventRepository.class);
+    private final CustomerOutboxSignal outboxSignal = mock(CustomerOutboxSignal.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private CustomerEventPublisher publisher;
+
+    @AfterEach
+    void tearDown() {
+        if (publisher != null) {
+            publisher.shutdown();
+        }
+    }
+
+    /**
+     * Stand-in for a broker that has slowed down: every send is acknowledged only after ackLatencyMs.
+     */
+    @SuppressWarnings("unchecked")
+    private static KafkaTemplate<String, Object> throttledBroker(long ackLatencyMs) {
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+        Executor delayed = CompletableFuture.delayedExecutor(ackLatencyMs, TimeUnit.MILLISECONDS);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            CompletableFuture<SendResult<String, Object>> future = new CompletableFuture<>();
+            delayed.execute(() -> future.complete(null));
+            return future;
+        });
+        return kafkaTemplate;
+    }
+
+    private CustomerEventPublisher publisher(KafkaTemplate<String, Object> kafkaTemplate, OverflowPolicy policy) {
+        publisher = new CustomerEventPublisher(kafkaTemplate, outboxRepository, outboxSignal, meterRegistry,
+                "customer.registered", 32, 8, 4, policy, 20);
+        return publisher;
+    }
+
+    /** Registers REGISTRATIONS customers back to back. */
+    private static void register(CustomerEventPublisher publisher) {
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            publisher.publishCustomerRegisteredAsync(customer(i));
+        }
+    }
+
+    private double counter(String name, String result) {
+        return meterRegistry.get(name).tag("result", result).counter().count();
+    }
+
+    @Test
+    void slowBrokerSpillsOverflowToTheOutbox() throws Exception {
+        CustomerEventPublisher publisher = publisher(throttledBroker(50), OverflowPolicy.SPILL);
+
+        register(publisher);
+
+        waitUntil(() -> publisher.queuedEvents() == 0
+                && counter("customer.events.published", "success") + counter("customer.events.publisher.overflow", "spilled")
+                        == REGISTRATIONS);
+        double spilled = counter("customer.events.publisher.overflow", "spilled");
+        assertThat(spilled).isGreaterThan(0);
+        ArgumentCaptor<CustomerOutboxEvent> outbox = ArgumentCaptor.forClass(CustomerOutboxEvent.class);
+        verify(outboxRepository, times((int) spilled)).save(outbox.capture());
+        verify(outboxSignal, atLeastOnce()).signalAfterCommit();
+        // Spilled as the JSON the publisher thread sends, under the type the outbox routes to customer.registered
+        CustomerOutboxEvent row = outbox.getValue();
+        assertThat(row.getEventType()).isEqualTo(CustomerRegisteredEvent.OUTBOX_EVENT_TYPE);
+        CustomerRegisteredEvent event = new JsonDeserializer<>(CustomerRegisteredEvent.class, false)
+                .deserialize("customer.registered", row.getPayload());
+        assertThat(event.getCustomerUuid()).isEqualTo(row.getAggregateId());
+        assertThat(event.getStatus()).isEqualTo(CustomerStatus.ACTIVE);
+    }
+
+    @Test
+    void slowBrokerDropsWhatStillFindsTheQueueFullAfterTheOfferTimeout() throws Exception {
+        CustomerEventPublisher publisher = publisher(throttledBroker(50), OverflowPolicy.BLOCK);
+
+        register(publisher);
+
+        waitUntil(() -> publisher.queuedEvents() == 0
+                && counter("customer.events.published", "success") + counter("customer.events.publisher.overflow", "dropped")
+                        == REGISTRATIONS);
+        assertThat(counter("customer.events.publisher.overflow", "dropped")).isGreaterThan(0);
+        verify(outboxRepository, never()).save(any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendFailuresNeverReachTheCaller() throws Exception {
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenThrow(new IllegalStateException("producer closed"));
+        CustomerEventPublisher publisher = publisher(kafkaTemplate, OverflowPolicy.SPILL);
+
+        publisher.publishCustomerRegisteredAsync(customer(1));
+
+        waitUntil(() -> counter("customer.events.published", "failure") == 1);
+    }
+
+    private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.customer.main.serviceImpl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.customer.main.repository.CustomerRepositoryImpl;
+
+class CustomerSearchIndexTest {
+
+    private CustomerSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        searchIndex = new CustomerSearchIndex(mock(CustomerRepositoryImpl.class), true, 100, 60_000);
+        searchIndex.loadOnStartup();
+        searchIndex.index("u1", "Asha", "Rao", "ABCDE1234F", "asha@mail.com");
+        searchIndex.index("u2", "Ashok", "Rao", "PQRST6789K", "ba.asha@mail.com");
+    }
+
+    @Test
+    void exactPanAndEmailShortCircuit() {
+        assertThat(searchIndex.search("abcde1234f")).containsExactly("u1");
+        assertThat(searchIndex.search(" ASHA@mail.com ")).containsExactly("u1");
+    }
+
+    @Test
+    void exactKeysFollowUpdates() {
+        searchIndex.index("u1", "Asha", "Rao", "ABCDE1234F", "asha.rao@mail.com");
+
+        assertThat(searchIndex.search("asha@mail.com")).containsExactly("u2");
+        assertThat(searchIndex.search("asha.rao@mail.com")).containsExactly("u1");
+    }
+
+    @Test
+    void leavesShortAndWildcardQueriesToSql() {
+        assertThat(searchIndex.search("as")).isNull();
+        assertThat(searchIndex.search("ash%")).isNull();
+        assertThat(searchIndex.search("a_ha")).isNull();
+        assertThat(searchIndex.search("rao")).containsExactly("u1", "u2");
+    }
+
+    @Test
+    void refreshReindexesRowsUpdatedOnAnotherReplica() throws Exception {
+        CustomerRepositoryImpl repository = mock(CustomerRepositoryImpl.class);
+        CustomerSearchIndex refreshed = new CustomerSearchIndex(repository, true, 100, 60_000);
+        refreshed.loadOnStartup();
+        refreshed.index("u1", "Asha", "Rao", "ABCDE1234F", "asha@mail.com");
+        ResultSet row = mock(ResultSet.class);
+        when(row.getLong("customer_id")).thenReturn(1L);
+        when(row.getObject("updated_date", LocalDateTime.class)).thenReturn(LocalDateTime.now());
+        when(row.getString("customer_uuid")).thenReturn("u1");
+        when(row.getString("first_name")).thenReturn("Asha");
+        when(row.getString("last_name")).thenReturn("Menon");
+        when(row.getString("pan_number")).thenReturn("ABCDE1234F");
+        when(row.getString("email")).thenReturn("asha.menon@mail.com");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(3).processRow(row);
+            return null;
+        }).when(repository).findSearchFieldsUpdatedAfter(any(), anyLong(), anyInt(), any());
+
+        refreshed.refresh();
+
+        assertThat(refreshed.search("menon")).containsExactly("u1");
+        assertThat(refreshed.search("rao")).isEmpty();
+        assertThat(refreshed.search("asha@mail.com")).isEmpty();
+        assertThat(refreshed.search("asha.menon@mail.com")).containsExactly("u1");
+    }
+
+    @Test
+    void notReadyBeforeLoad() {
+        CustomerSearchIndex unloaded = new CustomerSearchIndex(mock(CustomerRepositoryImpl.class), true, 100, 60_000);
+        assertThat(unloaded.search("asha")).isNull();
+    }
+}
@@ -0,0 +1,297 @@
+package com.customer.main.serviceImpl;
+
+import static com.customer.main.CustomerFixtures.customer;
+import static com.customer.main.CustomerFixtures.panNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.customer.main.cache.CustomerIndexedCache;
+import com.customer.main.cache.NegativeLookupCache;
+import com.customer.main.dto.AddressDto;
+import com.customer.main.dto.CustomerEnquiryRequestDto;
+import com.customer.main.dto.CustomerLookupRequestDto;
+import com.customer.main.dto.CustomerLookupResponseDto;
+import com.customer.main.dto.CustomerLookupResultDto;
+import com.customer.main.dto.CustomerRequestDto;
+import com.customer.main.dto.EmploymentDetailsDto;
+import com.customer.main.dto.EnquiryBatchResponseDto;
+import com.customer.main.dto.EnquiryBatchResultDto;
+import com.customer.main.entity.Customer;
+import com.customer.main.entity.IdentityField;
+import com.customer.main.exception.BusinessException;
+import com.customer.main.exception.CustomerAlreadyExistsException;
+import com.customer.main.exception.CustomerNotFoundException;
+import com.customer.main.event.CustomerOutboxSignal;
+import com.customer.main.mapper.CustomerMapper;
+import com.customer.main.repository.CustomerRepository;
+import com.customer.main.repository.CustomerRepositoryImpl;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.validation.Validation;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerServiceImplTest {
+
+    private static final String PAN = "ABCDE1234F";
+    private static final String AADHAAR = "123456789012";
+    private static final String EMAIL = "asha@mail.com";
+    private static final String MOBILE = "9876543210";
+
+    @Mock
+    private CustomerRepository customerRepository;
+    @Mock
+    private CustomerRepositoryImpl customerRepositoryImpl;
+    @Mock
+    private CustomerIdentityIndex identityIndex;
+    @Mock
+    private CustomerOutboxSignal outboxSignal;
+    @Mock
+    private CustomerSearchIndex searchIndex;
+
+    @InjectMocks
+    private CustomerServiceImpl customerService;
+
+    private CustomerEnquiryRequestDto enquiry;
+    private CustomerRequestDto request;
+
+    @BeforeEach
+    void setUp() {
+        LocalDate dob = LocalDate.now().minusYears(30);
+        enquiry = new CustomerEnquiryRequestDto("Asha", "Rao", "F", dob, EMAIL, MOBILE, PAN, AADHAAR);
+        request = new CustomerRequestDto("Asha", "Rao", "F", dob, EMAIL, MOBILE, PAN, AADHAAR,
+                new AddressDto(), new EmploymentDetailsDto());
+    }
+
+    private void conflictsOn(IdentityField... fields) {
+        when(identityIndex.candidates(PAN, AADHAAR, EMAIL, Long.parseLong(MOBILE)))
+                .thenReturn(EnumSet.allOf(IdentityField.class));
+        EnumSet<IdentityField> conflicts = EnumSet.noneOf(IdentityField.class);
+        for (IdentityField field : fields) {
+            conflicts.add(field);
+        }
+        when(customerRepositoryImpl.findIdentityConflicts(PAN, AADHAAR, EMAIL, Long.parseLong(MOBILE)))
+                .thenReturn(conflicts);
+    }
+
+    @Test
+    void enquiryReportsPanFirstWhenSeveralFieldsCollide() {
+        conflictsOn(IdentityField.MOBILE, IdentityField.EMAIL, IdentityField.PAN);
+
+        assertThatThrownBy(() -> customerService.createCustomerEnquiry(enquiry))
+                .isInstanceOf(CustomerAlreadyExistsException.class)
+                .hasMessage("Customer already exists with Pan: " + PAN);
+
+        verify(customerRepositoryImpl, times(1)).findIdentityConflicts(PAN, AADHAAR, EMAIL, Long.parseLong(MOBILE));
+        verify(customerRepositoryImpl, never()).saveCustomerNative(anyString(), anyString(), anyString(), any(),
+                anyString(), any(), anyString(), anyString(), anyString(), anyString(), any(), any());
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void enquiryMasksAadhaarInDuplicateMessage() {
+        conflictsOn(IdentityField.AADHAAR, IdentityField.EMAIL);
+
+        assertThatThrownBy(() -> customerService.createCustomerEnquiry(enquiry))
+                .isInstanceOf(CustomerAlreadyExistsException.class)
+                .hasMessage("Customer already exists with Aadhaar no : ********9012");
+    }
+
+    @Test
+    void enquiryReportsEmailThenMobile() {
+        conflictsOn(IdentityField.EMAIL, IdentityField.MOBILE);
+        assertThatThrownBy(() -> customerService.createCustomerEnquiry(enquiry))
+                .hasMessage("Customer already exists with Email already registered: " + EMAIL);
+    }
+
+    @Test
+    void createCustomerKeepsItsAadhaarAndMobileMessages() {
+        conflictsOn(IdentityField.AADHAAR);
+        assertThatThrownBy(() -> customerService.createCustomer(request))
+                .isInstanceOf(CustomerAlreadyExistsException.class)
+                .hasMessage("Customer already exists with Aadhaar no : " + AADHAAR);
+    }
+
+    @Test
+    void createCustomerReportsMobile() {
+        conflictsOn(IdentityField.MOBILE);
+        assertThatThrownBy(() -> customerService.createCustomer(request))
+                .hasMessage("Customer already exists with Mobile already registered: " + MOBILE);
+        verifyNoInteractions(customerRepository);
+    }
+
+    @Test
+    void existsChecksAskTheDatabaseNotTheIdentityFilter() {
+        ReflectionTestUtils.setField(customerService, "negativeLookupCache",
+                new NegativeLookupCache(Caffeine.newBuilder().maximumSize(100)));
+        when(customerRepository.existsByPanNumber(PAN)).thenReturn(true);
+        when(customerRepository.existsByEmail(EMAIL)).thenReturn(true);
+        when(customerRepository.exixstByUId(AADHAAR)).thenReturn(true);
+
+        assertThat(customerService.existsByPan(PAN)).isTrue();
+        assertThat(customerService.existsByEmail(EMAIL)).isTrue();
+        assertThat(customerService.exixstByUId(AADHAAR)).isTrue();
+
+        verifyNoInteractions(identityIndex);
+    }
+
+    @Test
+    void updateThatLosesAUniqueKeyRaceIsAConflictNotADatabaseError() {
+        Customer existing = customer(1L);
+        existing.setPanNumber(PAN);
+        existing.setEmail(EMAIL);
+        existing.setMobile(Long.parseLong(MOBILE));
+        when(customerRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(customerRepositoryImpl.updateCustomerNative(any(), any(), any(), any(), any(), any(), any(), any(), any(),
+                any(), any())).thenThrow(new DataIntegrityViolationException("Duplicate entry for key 'aadhaar_number'"));
+        when(customerRepositoryImpl.findIdentityConflicts(1L, PAN, AADHAAR, EMAIL, Long.parseLong(MOBILE)))
+                .thenReturn(EnumSet.of(IdentityField.AADHAAR));
+
+        assertThatThrownBy(() -> customerService.updateCustomer(1L, request))
+                .isInstanceOf(CustomerAlreadyExistsException.class)
+                .hasMessage("Customer already exists with Aadhaar no : ********9012");
+    }
+
+    @Test
+    void repeatedLookupOfUnregisteredPanQueriesDatabaseOnce() {
+        ReflectionTestUtils.setField(customerService, "negativeLookupCache",
+                new NegativeLookupCache(Caffeine.newBuilder().maximumSize(100)));
+        when(customerRepository.findByPanNumber(PAN)).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> customerService.getCustomerByPan(PAN))
+                    .isInstanceOf(CustomerNotFoundException.class);
+        }
+
+        verify(customerRepository, times(1)).findByPanNumber(PAN);
+    }
+
+    @Test
+    void lookupServesHitsFromCacheAndLoadsMissesOncePerKeyType() {
+        CustomerIndexedCache cache = new CustomerIndexedCache("customers", Caffeine.newBuilder().maximumSize(100));
+        ReflectionTestUtils.setField(customerService, "customerCache", cache);
+        ReflectionTestUtils.setField(customerService, "negativeLookupCache",
+                new NegativeLookupCache(Caffeine.newBuilder().maximumSize(100)));
+        ReflectionTestUtils.setField(customerService, "maxLookupKeys", 10);
+        cache.putIfAbsentUnderAllKeys(CustomerMapper.toResponse(customer(1L)), panNumber(1L), cache.readToken());
+        when(customerRepository.findAllById(Set.of(2L))).thenReturn(List.of(customer(2L)));
+        when(customerRepository.findByCustomerUuidIn(Set.of("uuid-3"))).thenReturn(List.of(customer(3L)));
+        when(customerRepository.findByPanNumberIn(Set.of("ZZZZZ9999Z"))).thenReturn(List.of());
+        CustomerLookupRequestDto lookup = new CustomerLookupRequestDto(
+                List.of(2L, 1L), List.of("uuid-3", "uuid-1"), List.of("zzzzz9999z"));
+
+        for (int i = 0; i < 2; i++) {
+            CustomerLookupResponseDto response = customerService.lookupCustomers(lookup);
+
+            assertThat(response.getTotal()).isEqualTo(5);
+            assertThat(response.getNotFound()).isEqualTo(1);
+            assertThat(response.getResults()).extracting(CustomerLookupResultDto::getKey)
+                    .containsExactly("2", "1", "uuid-3", "uuid-1", "ZZZ*****Z");
+            assertThat(response.getResults()).extracting(r -> r.getCustomer() == null ? null : r.getCustomer().getCustomerId())
+                    .containsExactly(2L, 1L, 3L, 1L, null);
+        }
+
+        // Second pass is all cache and negative-cache hits
+        verify(customerRepository, times(1)).findAllById(Set.of(2L));
+        verify(customerRepository, times(1)).findByCustomerUuidIn(Set.of("uuid-3"));
+        verify(customerRepository, times(1)).findByPanNumberIn(Set.of("ZZZZZ9999Z"));
+        assertThat(cache.get(CustomerIndexedCache.panKey(panNumber(3L)))).isNotNull();
+    }
+
+    @Test
+    void panCacheKeyAndQueryUseTheNormalizedPan() throws Exception {
+        Cacheable cacheable = CustomerServiceImpl.class.getMethod("getCustomerByPan", String.class)
+                .getAnnotation(Cacheable.class);
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("panNumber", " abcde1234f ");
+
+        assertThat(new SpelExpressionParser().parseExpression(cacheable.key()).getValue(context))
+                .isEqualTo(CustomerIndexedCache.panKey(PAN))
+                .isEqualTo("pan:" + PAN);
+
+        ReflectionTestUtils.setField(customerService, "negativeLookupCache",
+                new NegativeLookupCache(Caffeine.newBuilder().maximumSize(100)));
+        when(customerRepository.findByPanNumber(PAN)).thenReturn(Optional.of(customer(4L)));
+        assertThat(customerService.getCustomerByPan(" abcde1234f ").getCustomerId()).isEqualTo(4L);
+    }
+
+    @Test
+    void enquiryBatchThatLosesTheRaceTwiceRejectsOnlyTheConflictingRow() {
+        ReflectionTestUtils.setField(customerService, "validator", Validation.buildDefaultValidatorFactory().getValidator());
+        ReflectionTestUtils.setField(customerService, "maxEnquiryBatchSize", 10);
+        ReflectionTestUtils.setField(customerService, "customerCache",
+                new CustomerIndexedCache("customers", Caffeine.newBuilder().maximumSize(100)));
+        ReflectionTestUtils.setField(customerService, "negativeLookupCache",
+                new NegativeLookupCache(Caffeine.newBuilder().maximumSize(100)));
+        CustomerEnquiryRequestDto other = new CustomerEnquiryRequestDto("Ravi", "Kumar", "M", enquiry.getDateOfBirth(),
+                "ravi@mail.com", "9123456789", "FGHIJ5678K", "987654321098");
+        when(identityIndex.candidates(anyString(), anyString(), anyString(), any())).thenReturn(EnumSet.noneOf(IdentityField.class));
+        Map<IdentityField, Set<String>> nothingExisting = new EnumMap<>(IdentityField.class);
+        for (IdentityField field : IdentityField.values()) {
+            nothingExisting.put(field, new HashSet<>());
+        }
+        when(customerRepositoryImpl.findExistingIdentityKeys(any(), any(), any(), any())).thenReturn(nothingExisting);
+        // Another request keeps committing PAN between the re-check and the insert
+        doAnswer(invocation -> {
+            List<Customer> customers = invocation.getArgument(0);
+            if (customers.stream().anyMatch(customer -> PAN.equals(customer.getPanNumber()))) {
+                throw new DataIntegrityViolationException("Duplicate entry for key 'pan_number'");
+            }
+            return null;
+        }).when(customerRepositoryImpl).batchInsertEnquiries(anyList(), anyList());
+        when(customerRepositoryImpl.findIdentityConflicts(PAN, AADHAAR, EMAIL, Long.parseLong(MOBILE)))
+                .thenReturn(EnumSet.of(IdentityField.PAN));
+
+        EnquiryBatchResponseDto response = customerService.createCustomerEnquiries(List.of(enquiry, other));
+
+        assertThat(response.getResults()).extracting(EnquiryBatchResultDto::getStatus)
+                .containsExactly(EnquiryBatchResultDto.Status.DUPLICATE, EnquiryBatchResultDto.Status.CREATED);
+        assertThat(response.getResults().get(0).getMessage()).isEqualTo("Customer already exists with Pan: " + PAN);
+        assertThat(response.getCreated()).isEqualTo(1);
+        assertThat(response.getDuplicates()).isEqualTo(1);
+        // Two batch attempts, then one insert per row
+        verify(customerRepositoryImpl, times(4)).batchInsertEnquiries(anyList(), anyList());
+        verify(outboxSignal, times(1)).signalAfterCommit();
+    }
+
+    @Test
+    void lookupRejectsEmptyAndOversizedRequests() {
+        ReflectionTestUtils.setField(customerService, "maxLookupKeys", 2);
+
+        assertThatThrownBy(() -> customerService.lookupCustomers(new CustomerLookupRequestDto()))
+                .isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> customerService.lookupCustomers(
+                new CustomerLookupRequestDto(List.of(1L, 2L), List.of("uuid-1"), null)))
+                .isInstanceOf(BusinessException.class);
+        verifyNoInteractions(customerRepository);
+    }
+}
@@ -0,0 +1,39 @@
+package com.customer.main.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+    @Test
+    void neverReportsFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("ABCDE" + i + "F");
+        }
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("ABCDE" + i + "F")).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+        for (int i = 0; i < 100_000; i++) {
+            filter.put("customer" + i + "@mail.com");
+        }
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain("unknown" + i + "@mail.com")) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+
+        assertThat(observed).isLessThan(0.02);
+        assertThat(filter.expectedFpp()).isBetween(0.005, 0.02);
+        assertThat(filter.memoryBytes()).isLessThan(200_000);
+    }
+}
@@ -0,0 +1,73 @@
+package com.customer.main.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void everyValueFallsInsideItsBucket() {
+        long[] samples = {0, 1, 3, 4, 5, 7, 8, 1_000, 1_048_576, 123_456_789, Long.MAX_VALUE};
+        for (long value : samples) {
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertThat(LatencyHistogram.upperBound(bucket)).isGreaterThanOrEqualTo(value);
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.upperBound(bucket - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test
+    void percentilesStayWithinBucketResolution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 1_000; micros++) {
+            histogram.record(micros * 1_000);
+        }
+
+        assertThat(histogram.count()).isEqualTo(1_000);
+        assertThat(histogram.maxNanos()).isEqualTo(1_000_000);
+        assertThat(histogram.meanNanos()).isEqualTo(500_500.0);
+        assertThat(histogram.percentileNanos(50)).isBetween(500_000L, 625_000L);
+        assertThat(histogram.percentileNanos(99)).isBetween(990_000L, 1_000_000L);
+        assertThat(histogram.percentileNanos(100)).isEqualTo(1_000_000);
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        assertThat(histogram.percentileNanos(99)).isZero();
+        assertThat(histogram.meanNanos()).isZero();
+    }
+
+    @Test
+    void concurrentRecordingLosesNoSamples() throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            long offset = t;
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    histogram.record(i + offset);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(histogram.count()).isEqualTo(800_000);
+        assertThat(histogram.maxNanos()).isEqualTo(99_999 + 7);
+    }
+}
@@ -0,0 +1,137 @@
+package com.customer.main.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class TrigramIndexTest {
+
+    private static final String[] FIRST_NAMES = {"Asha", "Rahul", "Priya", "Vikram", "Sneha", "Arjun", "Meera", "Karan", "Divya", "Rohan"};
+    private static final String[] LAST_NAMES = {"Rao", "Sharma", "Iyer", "Patel", "Khan", "Reddy", "Nair", "Gupta", "Singh", "Das"};
+    private static final String[] DOMAINS = {"mail.com", "example.in", "bank.co.in"};
+
+    private record Row(String uuid, String firstName, String lastName, String pan, String email) {
+
+        // SEARCH_PREDICATE under MySQL's case-insensitive collation
+        boolean sqlMatches(String q) {
+            String needle = q.toLowerCase(Locale.ROOT);
+            return firstName.toLowerCase(Locale.ROOT).contains(needle)
+                    || lastName.toLowerCase(Locale.ROOT).contains(needle)
+                    || pan.toLowerCase(Locale.ROOT).contains(needle)
+                    || email.toLowerCase(Locale.ROOT).contains(needle);
+        }
+    }
+
+    private static List<Row> rows(int count, long seed) {
+        Random random = new Random(seed);
+        List<Row> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + (char) ('a' + random.nextInt(26));
+            String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            StringBuilder pan = new StringBuilder();
+            for (int c = 0; c < 5; c++) {
+                pan.append((char) ('A' + random.nextInt(26)));
+            }
+            pan.append(String.format("%04d", random.nextInt(10_000))).append((char) ('A' + random.nextInt(26)));
+            String email = first.toLowerCase(Locale.ROOT) + "." + last.toLowerCase(Locale.ROOT) + i + "@" + DOMAINS[random.nextInt(DOMAINS.length)];
+            rows.add(new Row("uuid-" + i, first, last, pan.toString(), email));
+        }
+        return rows;
+    }
+
+    private static TrigramIndex indexOf(List<Row> rows) {
+        TrigramIndex index = new TrigramIndex();
+        rows.forEach(row -> index.put(row.uuid(), row.firstName() + " " + row.lastName(),
+                row.firstName(), row.lastName(), row.pan(), row.email()));
+        return index;
+    }
+
+    private static List<String> queries(List<Row> rows, int count, long seed) {
+        Random random = new Random(seed);
+        List<String> queries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Row row = rows.get(random.nextInt(rows.size()));
+            String field = List.of(row.firstName(), row.lastName(), row.pan(), row.email()).get(random.nextInt(4));
+            int length = Math.min(field.length(), 3 + random.nextInt(6));
+            int start = random.nextInt(field.length() - length + 1);
+            String q = field.substring(start, start + length);
+            queries.add(random.nextBoolean() ? q.toUpperCase(Locale.ROOT) : q);
+        }
+        queries.addAll(List.of("zzz", "qxj", "@mail.com", ".co.in", "XYZ12"));
+        return queries;
+    }
+
+    @Test
+    void recallMatchesSqlLikeSemantics() {
+        List<Row> rows = rows(20_000, 7);
+        TrigramIndex index = indexOf(rows);
+
+        for (String q : queries(rows, 300, 11)) {
+            Set<String> expected = new HashSet<>();
+            rows.stream().filter(row -> row.sqlMatches(q)).forEach(row -> expected.add(row.uuid()));
+
+            List<String> actual = index.search(q);
+            assertThat(actual).as("query '%s'", q).doesNotHaveDuplicates();
+            assertThat(new HashSet<>(actual)).as("query '%s'", q).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void ranksEqualsThenPrefixThenContains() {
+        TrigramIndex index = new TrigramIndex();
+        index.put("contains", "a", "Vasharma", "x", "ABCDE1234F", "v@mail.com");
+        index.put("prefix", "b", "Sharmila", "x", "ABCDE1234G", "s@mail.com");
+        index.put("equals", "c", "Asha", "Sharma", "ABCDE1234H", "a@mail.com");
+
+        assertThat(index.search("sharm")).containsExactly("prefix", "equals", "contains");
+        assertThat(index.search("SHARMA")).containsExactly("equals", "contains");
+    }
+
+    @Test
+    void updatesAndRemovalsAreVisibleToSearch() {
+        TrigramIndex index = new TrigramIndex();
+        index.put("u1", "asha rao", "Asha", "Rao", "ABCDE1234F", "asha@old.com");
+
+        index.put("u1", "asha rao", "Asha", "Rao", "ABCDE1234F", "asha@new.com");
+        assertThat(index.search("old.com")).isEmpty();
+        assertThat(index.search("new.com")).containsExactly("u1");
+
+        index.remove("u1");
+        assertThat(index.search("asha")).isEmpty();
+        assertThat(index.size()).isZero();
+
+        index.put("u1", "asha rao", "Asha", "Rao", "ABCDE1234F", "asha@new.com");
+        assertThat(index.search("new.com")).containsExactly("u1");
+    }
+
+    @Test
+    void postingsAreCompactedAsDocumentsChange() {
+        TrigramIndex churned = new TrigramIndex();
+        TrigramIndex fresh = new TrigramIndex();
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 100; i++) {
+                churned.put("u" + i, "asha rao", "Asha", "Rao", "PAN" + round + "X" + i, "c" + i + ".v" + round + "@mail.com");
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            fresh.put("u" + i, "asha rao", "Asha", "Rao", "PAN49X" + i, "c" + i + ".v49@mail.com");
+        }
+
+        assertThat(churned.search("v48@")).isEmpty();
+        assertThat(churned.search("c7.v49@")).containsExactly("u7");
+        assertThat(churned.search("rao")).hasSize(100);
+        assertThat(churned.postingBytes()).isLessThanOrEqualTo(fresh.postingBytes() * 2);
+
+        for (int i = 0; i < 100; i++) {
+            churned.remove("u" + i);
+        }
+        assertThat(churned.postingBytes()).isZero();
+    }
+}